@@ -152,6 +152,18 @@ public final class MultiCurrencyAmount
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Returns a builder that can be used to total amounts.
+   * <p>
+   * The builder holds the amounts in primitive arrays, allowing amounts to be totalled
+   * without creating intermediate objects. The builder can be reused once built.
+   *
+   * @return the builder
+   */
+  public static MultiCurrencyAmountBuilder builder() {
+    return new MultiCurrencyAmountBuilder();
+  }
+
   /**
    * Returns a collector that can be used to create a multi-currency amount from a stream of amounts.
    * <p>
@@ -161,18 +173,14 @@ public final class MultiCurrencyAmount
    * @return the collector
    */
   public static Collector<CurrencyAmount, ?, MultiCurrencyAmount> toMultiCurrencyAmount() {
-    return Collector.<CurrencyAmount, Map<Currency, CurrencyAmount>, MultiCurrencyAmount>of(
-        // accumulate into a map
-        HashMap::new,
-        // merge two CurrencyAmounts if same currency
-        (map, ca) -> map.merge(ArgChecker.notNull(ca, "amount").getCurrency(), ca, CurrencyAmount::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmount::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmount, MultiCurrencyAmountBuilder, MultiCurrencyAmount>of(
+        // accumulate into a builder
+        MultiCurrencyAmountBuilder::new,
+        (builder, ca) -> builder.add(ArgChecker.notNull(ca, "amount")),
+        // combine two builders
+        (builder1, builder2) -> builder1.add(builder2),
         // convert to MultiCurrencyAmount
-        map -> new MultiCurrencyAmount(ImmutableSortedSet.copyOf(map.values())),
+        MultiCurrencyAmountBuilder::build,
         UNORDERED);
   }
 
@@ -192,6 +200,18 @@ public final class MultiCurrencyAmount
         MultiCurrencyAmount::new);
   }
 
+  /**
+   * Obtains an instance where the input is already validated.
+   * <p>
+   * This is used by {@link MultiCurrencyAmountBuilder}.
+   *
+   * @param amounts  the set of amounts, with no duplicate currencies
+   * @return the amount
+   */
+  static MultiCurrencyAmount ofValidated(ImmutableSortedSet<CurrencyAmount> amounts) {
+    return new MultiCurrencyAmount(amounts);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance where the input is already validated.
@@ -312,7 +332,7 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(CurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), Stream.of(amountToAdd)).collect(toMultiCurrencyAmount());
+    return builder().add(this).add(amountToAdd).build();
   }
 
   /**
@@ -330,7 +350,7 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(MultiCurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), amountToAdd.stream()).collect(toMultiCurrencyAmount());
+    return builder().add(this).add(amountToAdd).build();
   }
 
   //-------------------------------------------------------------------------
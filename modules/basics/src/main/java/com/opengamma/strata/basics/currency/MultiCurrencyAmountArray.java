@@ -139,6 +139,32 @@ public final class MultiCurrencyAmountArray
     return new MultiCurrencyAmountArray(size, values);
   }
 
+  /**
+   * Returns a builder that can be used to total arrays of amounts.
+   * <p>
+   * The builder holds the amounts in primitive arrays, allowing amounts to be totalled
+   * without creating intermediate objects. The builder can be reused once built.
+   *
+   * @param size  the size of the array
+   * @return the builder
+   */
+  public static MultiCurrencyAmountArrayBuilder builder(int size) {
+    return new MultiCurrencyAmountArrayBuilder(size);
+  }
+
+  /**
+   * Obtains an instance where the input is already validated.
+   * <p>
+   * This is used by {@link MultiCurrencyAmountArrayBuilder}.
+   *
+   * @param size  the size of the array
+   * @param values  the values, each of which has the specified size
+   * @return an instance containing the values from the map
+   */
+  static MultiCurrencyAmountArray ofValidated(int size, Map<Currency, DoubleArray> values) {
+    return new MultiCurrencyAmountArray(size, values);
+  }
+
   /**
    * Checks the size of the arrays are the same and throws an exception if not.
    *
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Builder to create the immutable {@code MultiCurrencyAmountArray}.
+ * <p>
+ * This builder allows arrays of amounts, such as one amount per scenario, to be totalled
+ * without creating intermediate objects. Each currency is assigned a dense index when first added,
+ * with the amounts for that currency held in a primitive array.
+ * Once all currencies have been seen, adding amounts does not allocate memory.
+ * <p>
+ * The builder may be reused by calling {@link #clear()}, which retains the allocated arrays.
+ * This is useful when totalling many sets of amounts, such as when aggregating across trades.
+ * <p>
+ * Use {@link MultiCurrencyAmountArray#builder(int)} to create an instance.
+ * This class is mutable and not thread-safe.
+ */
+public final class MultiCurrencyAmountArrayBuilder {
+
+  /**
+   * The initial capacity.
+   */
+  private static final int INITIAL_CAPACITY = 4;
+
+  /**
+   * The size of the array.
+   */
+  private final int size;
+  /**
+   * The currencies, in the order they were added.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts, at the index matching the currency.
+   * Arrays beyond the number of currencies may be retained for reuse.
+   */
+  private double[][] amounts = new double[INITIAL_CAPACITY][];
+  /**
+   * The number of currencies.
+   */
+  private int currencyCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * <p>
+   * Use {@link MultiCurrencyAmountArray#builder(int)}.
+   *
+   * @param size  the size of the array
+   */
+  MultiCurrencyAmountArrayBuilder(int size) {
+    this.size = ArgChecker.notNegative(size, "size");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the size of the array.
+   *
+   * @return the array size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the amount at the specified index associated with the specified currency, returning zero if not found.
+   *
+   * @param index  the zero-based index
+   * @param currency  the currency to find an amount for
+   * @return the amount
+   */
+  public double getAmountOrZero(int index, Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.inRange(index, 0, size, "index");
+    int currencyIndex = findIndex(currency);
+    return currencyIndex >= 0 ? amounts[currencyIndex][index] : 0d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount to the element at the specified index.
+   * <p>
+   * If the currency is already present, the amount is added to the existing amount.
+   *
+   * @param index  the zero-based index
+   * @param currency  the currency
+   * @param amount  the amount to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountArrayBuilder add(int index, Currency currency, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.inRange(index, 0, size, "index");
+    int currencyIndex = indexOf(currency);
+    amounts[currencyIndex][index] += amount;
+    return this;
+  }
+
+  /**
+   * Adds a multi-currency amount to the element at the specified index.
+   * <p>
+   * If a currency is already present, the amount is added to the existing amount.
+   *
+   * @param index  the zero-based index
+   * @param amount  the amount to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountArrayBuilder add(int index, MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    ArgChecker.inRange(index, 0, size, "index");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      int currencyIndex = indexOf(currencyAmount.getCurrency());
+      amounts[currencyIndex][index] += currencyAmount.getAmount();
+    }
+    return this;
+  }
+
+  /**
+   * Adds an array of amounts to the builder.
+   * <p>
+   * Each amount is added to the matching element in the builder.
+   *
+   * @param amounts  the amounts to add
+   * @return this builder
+   * @throws IllegalArgumentException if the array has a different size
+   */
+  public MultiCurrencyAmountArrayBuilder add(CurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    checkSize(amounts.size());
+    addValues(amounts.getCurrency(), amounts.getValues());
+    return this;
+  }
+
+  /**
+   * Adds an array of multi-currency amounts to the builder.
+   * <p>
+   * Each amount is added to the matching element in the builder.
+   *
+   * @param amounts  the amounts to add
+   * @return this builder
+   * @throws IllegalArgumentException if the array has a different size
+   */
+  public MultiCurrencyAmountArrayBuilder add(MultiCurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    checkSize(amounts.size());
+    for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
+      addValues(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the contents of another builder to this builder.
+   * <p>
+   * Each amount is added to the matching element in the builder.
+   * The other builder is unaffected by this method.
+   *
+   * @param other  the builder to add
+   * @return this builder
+   * @throws IllegalArgumentException if the builder has a different size
+   */
+  public MultiCurrencyAmountArrayBuilder add(MultiCurrencyAmountArrayBuilder other) {
+    ArgChecker.notNull(other, "other");
+    checkSize(other.size);
+    for (int i = 0; i < other.currencyCount; i++) {
+      int currencyIndex = indexOf(other.currencies[i]);
+      double[] target = amounts[currencyIndex];
+      double[] source = other.amounts[i];
+      for (int j = 0; j < size; j++) {
+        target[j] += source[j];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Clears the builder, allowing it to be reused.
+   *
+   * @return this builder
+   */
+  public MultiCurrencyAmountArrayBuilder clear() {
+    Arrays.fill(currencies, 0, currencyCount, null);
+    currencyCount = 0;
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the multi-currency amount array from the builder.
+   * <p>
+   * Each currency that has been added is included, even if the amounts are zero.
+   * The result has the size of this builder, even if no currencies have been added.
+   *
+   * @return the array
+   */
+  public MultiCurrencyAmountArray build() {
+    ImmutableMap.Builder<Currency, DoubleArray> builder = ImmutableMap.builder();
+    for (int i = 0; i < currencyCount; i++) {
+      builder.put(currencies[i], DoubleArray.copyOf(amounts[i]));
+    }
+    return MultiCurrencyAmountArray.ofValidated(size, builder.build());
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the size matches
+  private void checkSize(int otherSize) {
+    if (otherSize != size) {
+      throw new IllegalArgumentException(Messages.format(
+          "Sizes must be equal, builder size is {}, other size is {}", size, otherSize));
+    }
+  }
+
+  // adds the values for a currency
+  private void addValues(Currency currency, DoubleArray values) {
+    int currencyIndex = indexOf(currency);
+    double[] target = amounts[currencyIndex];
+    for (int i = 0; i < size; i++) {
+      target[i] += values.get(i);
+    }
+  }
+
+  // finds the index of the currency, returning -1 if not found
+  private int findIndex(Currency currency) {
+    // currencies are generally singletons, so check identity before equality
+    for (int i = 0; i < currencyCount; i++) {
+      if (currencies[i] == currency) {
+        return i;
+      }
+    }
+    for (int i = 0; i < currencyCount; i++) {
+      if (currencies[i].equals(currency)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // finds the index of the currency, adding it if not found, which may replace the arrays
+  private int indexOf(Currency currency) {
+    int index = findIndex(currency);
+    if (index >= 0) {
+      return index;
+    }
+    if (currencyCount == currencies.length) {
+      currencies = Arrays.copyOf(currencies, currencyCount * 2);
+      amounts = Arrays.copyOf(amounts, currencyCount * 2);
+    }
+    currencies[currencyCount] = currency;
+    // reuse an array retained from before the builder was cleared
+    if (amounts[currencyCount] == null) {
+      amounts[currencyCount] = new double[size];
+    } else {
+      Arrays.fill(amounts[currencyCount], 0d);
+    }
+    return currencyCount++;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64).append("MultiCurrencyAmountArrayBuilder[");
+    for (int i = 0; i < currencyCount; i++) {
+      buf.append(i == 0 ? "" : ", ").append(currencies[i]).append('=').append(Arrays.toString(amounts[i]));
+    }
+    return buf.append(']').toString();
+  }
+
+}
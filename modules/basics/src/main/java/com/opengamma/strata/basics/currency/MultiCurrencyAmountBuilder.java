@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.Arrays;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Builder to create the immutable {@code MultiCurrencyAmount}.
+ * <p>
+ * This builder allows amounts to be totalled without creating intermediate objects.
+ * Each currency is assigned a dense index when first added, with the amounts held in a primitive array.
+ * Once all currencies have been seen, adding amounts does not allocate memory.
+ * <p>
+ * The builder may be reused by calling {@link #clear()}, which retains the allocated arrays.
+ * This is useful when totalling many sets of amounts, such as when aggregating across trades.
+ * <p>
+ * The addition uses standard {@code double} arithmetic, adding the amounts in the order received.
+ * As such, the result is the same as that obtained by repeatedly calling
+ * {@link MultiCurrencyAmount#plus(CurrencyAmount)}.
+ * <p>
+ * Use {@link MultiCurrencyAmount#builder()} to create an instance.
+ * This class is mutable and not thread-safe.
+ */
+public final class MultiCurrencyAmountBuilder {
+
+  /**
+   * The initial capacity.
+   */
+  private static final int INITIAL_CAPACITY = 4;
+
+  /**
+   * The currencies, in the order they were added.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts, at the index matching the currency.
+   */
+  private double[] amounts = new double[INITIAL_CAPACITY];
+  /**
+   * The number of currencies.
+   */
+  private int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * <p>
+   * Use {@link MultiCurrencyAmount#builder()}.
+   */
+  MultiCurrencyAmountBuilder() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of currencies in the builder.
+   *
+   * @return the number of currencies
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the amount associated with the specified currency, returning zero if not found.
+   *
+   * @param currency  the currency to find an amount for
+   * @return the amount
+   */
+  public double getAmountOrZero(Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    int index = findIndex(currency);
+    return index >= 0 ? amounts[index] : 0d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount to the builder.
+   * <p>
+   * If the currency is already present, the amount is added to the existing amount.
+   *
+   * @param currency  the currency
+   * @param amount  the amount to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder add(Currency currency, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNaN(amount, "amount");
+    int index = indexOf(currency);
+    amounts[index] += amount;
+    return this;
+  }
+
+  /**
+   * Adds an amount to the builder.
+   * <p>
+   * If the currency is already present, the amount is added to the existing amount.
+   *
+   * @param amount  the amount to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder add(CurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    int index = indexOf(amount.getCurrency());
+    amounts[index] += amount.getAmount();
+    return this;
+  }
+
+  /**
+   * Adds a multi-currency amount to the builder.
+   * <p>
+   * If a currency is already present, the amount is added to the existing amount.
+   *
+   * @param amount  the amount to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder add(MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      int index = indexOf(currencyAmount.getCurrency());
+      amounts[index] += currencyAmount.getAmount();
+    }
+    return this;
+  }
+
+  /**
+   * Adds the contents of another builder to this builder.
+   * <p>
+   * If a currency is already present, the amount is added to the existing amount.
+   * The other builder is unaffected by this method.
+   *
+   * @param other  the builder to add
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder add(MultiCurrencyAmountBuilder other) {
+    ArgChecker.notNull(other, "other");
+    for (int i = 0; i < other.size; i++) {
+      int index = indexOf(other.currencies[i]);
+      amounts[index] += other.amounts[i];
+    }
+    return this;
+  }
+
+  /**
+   * Multiplies all the amounts in the builder by the specified factor.
+   *
+   * @param factor  the multiplicative factor
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder multiplyBy(double factor) {
+    for (int i = 0; i < size; i++) {
+      amounts[i] *= factor;
+    }
+    return this;
+  }
+
+  /**
+   * Clears the builder, allowing it to be reused.
+   *
+   * @return this builder
+   */
+  public MultiCurrencyAmountBuilder clear() {
+    Arrays.fill(currencies, 0, size, null);
+    size = 0;
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the multi-currency amount from the builder.
+   * <p>
+   * Each currency that has been added is included, even if the total amount is zero.
+   *
+   * @return the amount
+   * @throws IllegalArgumentException if any amount is NaN, as may occur when adding infinite amounts
+   */
+  public MultiCurrencyAmount build() {
+    if (size == 0) {
+      return MultiCurrencyAmount.empty();
+    }
+    if (size == 1) {
+      return MultiCurrencyAmount.of(currencies[0], amounts[0]);
+    }
+    CurrencyAmount[] result = new CurrencyAmount[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = CurrencyAmount.of(currencies[i], amounts[i]);
+    }
+    return MultiCurrencyAmount.ofValidated(ImmutableSortedSet.copyOf(result));
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the index of the currency, returning -1 if not found
+  private int findIndex(Currency currency) {
+    // currencies are generally singletons, so check identity before equality
+    for (int i = 0; i < size; i++) {
+      if (currencies[i] == currency) {
+        return i;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      if (currencies[i].equals(currency)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // finds the index of the currency, adding it if not found, which may replace the arrays
+  private int indexOf(Currency currency) {
+    int index = findIndex(currency);
+    if (index >= 0) {
+      return index;
+    }
+    if (size == currencies.length) {
+      currencies = Arrays.copyOf(currencies, size * 2);
+      amounts = Arrays.copyOf(amounts, size * 2);
+    }
+    currencies[size] = currency;
+    amounts[size] = 0d;
+    return size++;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64).append("MultiCurrencyAmountBuilder[");
+    for (int i = 0; i < size; i++) {
+      buf.append(i == 0 ? "" : ", ").append(currencies[i]).append(' ').append(amounts[i]);
+    }
+    return buf.append(']').toString();
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link MultiCurrencyAmountArrayBuilder}.
+ */
+public class MultiCurrencyAmountArrayBuilderTest {
+
+  private static final MultiCurrencyAmountArray ARRAY = MultiCurrencyAmountArray.of(
+      MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 20), CurrencyAmount.of(USD, 30)),
+      MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 21), CurrencyAmount.of(USD, 32)),
+      MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 22)));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    MultiCurrencyAmountArrayBuilder test = MultiCurrencyAmountArray.builder(3);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.getAmountOrZero(0, GBP)).isEqualTo(0d);
+    MultiCurrencyAmountArray built = test.build();
+    assertThat(built.size()).isEqualTo(3);
+    assertThat(built.getCurrencies()).isEmpty();
+    assertThatIllegalArgumentException().isThrownBy(() -> MultiCurrencyAmountArray.builder(-1));
+  }
+
+  @Test
+  public void test_add() {
+    MultiCurrencyAmountArrayBuilder test = MultiCurrencyAmountArray.builder(3)
+        .add(ARRAY)
+        .add(CurrencyAmountArray.of(EUR, DoubleArray.of(1, 2, 3)))
+        .add(1, GBP, 100)
+        .add(2, MultiCurrencyAmount.of(USD, 5));
+    assertThat(test.getAmountOrZero(1, GBP)).isEqualTo(121d);
+    MultiCurrencyAmountArray expected = ARRAY
+        .plus(MultiCurrencyAmountArray.of(
+            MultiCurrencyAmount.of(EUR, 1),
+            MultiCurrencyAmount.of(CurrencyAmount.of(EUR, 2), CurrencyAmount.of(GBP, 100)),
+            MultiCurrencyAmount.of(CurrencyAmount.of(EUR, 3), CurrencyAmount.of(USD, 5))));
+    assertThat(test.build()).isEqualTo(expected);
+    assertThat(test.toString()).startsWith("MultiCurrencyAmountArrayBuilder[GBP=[20.0, 121.0, 22.0]");
+  }
+
+  @Test
+  public void test_add_builder() {
+    MultiCurrencyAmountArrayBuilder other = MultiCurrencyAmountArray.builder(3).add(ARRAY);
+    MultiCurrencyAmountArrayBuilder test = MultiCurrencyAmountArray.builder(3).add(ARRAY).add(other);
+    assertThat(test.build()).isEqualTo(ARRAY.plus(ARRAY));
+    assertThat(other.build()).isEqualTo(ARRAY);
+  }
+
+  @Test
+  public void test_add_invalid() {
+    MultiCurrencyAmountArrayBuilder test = MultiCurrencyAmountArray.builder(2);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(ARRAY));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(CurrencyAmountArray.of(GBP, DoubleArray.of(1))));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(MultiCurrencyAmountArray.builder(3)));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(2, GBP, 1d));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(-1, MultiCurrencyAmount.of(GBP, 1d)));
+  }
+
+  @Test
+  public void test_clear() {
+    MultiCurrencyAmountArrayBuilder test = MultiCurrencyAmountArray.builder(3).add(ARRAY);
+    assertThat(test.build()).isEqualTo(ARRAY);
+    test.clear();
+    assertThat(test.build().getCurrencies()).isEmpty();
+    test.add(0, USD, 5);
+    assertThat(test.build()).isEqualTo(MultiCurrencyAmountArray.of(
+        MultiCurrencyAmount.of(USD, 5), MultiCurrencyAmount.of(USD, 0), MultiCurrencyAmount.of(USD, 0)));
+  }
+
+}
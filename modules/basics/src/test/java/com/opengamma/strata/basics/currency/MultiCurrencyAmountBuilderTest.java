@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.JPY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link MultiCurrencyAmountBuilder}.
+ */
+public class MultiCurrencyAmountBuilderTest {
+
+  private static final MultiCurrencyAmount AMOUNT = MultiCurrencyAmount.of(
+      CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 20), CurrencyAmount.of(EUR, 30));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.getAmountOrZero(GBP)).isEqualTo(0d);
+    assertThat(test.build()).isEqualTo(MultiCurrencyAmount.empty());
+  }
+
+  @Test
+  public void test_add() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder()
+        .add(GBP, 1)
+        .add(CurrencyAmount.of(USD, 2))
+        .add(AMOUNT)
+        .add(GBP, -11);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.getAmountOrZero(GBP)).isEqualTo(0d);
+    assertThat(test.getAmountOrZero(USD)).isEqualTo(22d);
+    assertThat(test.getAmountOrZero(JPY)).isEqualTo(0d);
+    assertThat(test.build()).isEqualTo(MultiCurrencyAmount.of(
+        CurrencyAmount.of(GBP, 0), CurrencyAmount.of(USD, 22), CurrencyAmount.of(EUR, 30)));
+    assertThat(test.toString()).isEqualTo("MultiCurrencyAmountBuilder[GBP 0.0, USD 22.0, EUR 30.0]");
+  }
+
+  @Test
+  public void test_add_builder() {
+    MultiCurrencyAmountBuilder other = MultiCurrencyAmount.builder().add(JPY, 100).add(GBP, 5);
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder().add(AMOUNT).add(other);
+    assertThat(test.build()).isEqualTo(AMOUNT.plus(JPY, 100).plus(GBP, 5));
+    assertThat(other.build()).isEqualTo(MultiCurrencyAmount.of(CurrencyAmount.of(JPY, 100), CurrencyAmount.of(GBP, 5)));
+  }
+
+  @Test
+  public void test_add_manyCurrencies() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    MultiCurrencyAmount expected = MultiCurrencyAmount.empty();
+    for (String code : new String[] {"AUD", "CAD", "CHF", "DKK", "EUR", "GBP", "JPY", "NOK", "NZD", "SEK", "USD"}) {
+      test.add(Currency.of(code), code.charAt(0));
+      expected = expected.plus(Currency.of(code), code.charAt(0));
+    }
+    assertThat(test.size()).isEqualTo(11);
+    assertThat(test.build()).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_add_invalid() {
+    assertThatIllegalArgumentException().isThrownBy(() -> MultiCurrencyAmount.builder().add(GBP, Double.NaN));
+    assertThatIllegalArgumentException().isThrownBy(() -> MultiCurrencyAmount.builder().add(null, 1d));
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder()
+        .add(GBP, Double.POSITIVE_INFINITY)
+        .add(GBP, Double.NEGATIVE_INFINITY);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.build());
+  }
+
+  @Test
+  public void test_multiplyBy() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder().add(AMOUNT).multiplyBy(2);
+    assertThat(test.build()).isEqualTo(AMOUNT.multipliedBy(2));
+  }
+
+  @Test
+  public void test_clear() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder().add(AMOUNT);
+    assertThat(test.build()).isEqualTo(AMOUNT);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.build()).isEqualTo(MultiCurrencyAmount.empty());
+    test.add(USD, 5);
+    assertThat(test.build()).isEqualTo(MultiCurrencyAmount.of(USD, 5));
+  }
+
+  @Test
+  public void test_roundTrip() {
+    assertThat(MultiCurrencyAmount.builder().add(AMOUNT).build()).isEqualTo(AMOUNT);
+    MultiCurrencyAmount negativeZero = MultiCurrencyAmount.of(GBP, 0d);
+    assertThat(MultiCurrencyAmount.builder().add(GBP, -0d).build()).isEqualTo(negativeZero);
+  }
+
+}
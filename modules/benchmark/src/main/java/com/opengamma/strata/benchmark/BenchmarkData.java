@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Data shared by the benchmarks.
+ * <p>
+ * The curves are calibrated from the USD example calibration data, which is available on the classpath.
+ * The portfolios are synthetic, with the trades generated deterministically.
+ */
+public final class BenchmarkData {
+
+  /**
+   * The valuation date of the example calibration data.
+   */
+  public static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The curve group name.
+   */
+  public static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M");
+
+  /**
+   * The location of the curve calibration groups file.
+   */
+  private static final ResourceLocator GROUPS_RESOURCE =
+      ResourceLocator.ofClasspath("example-calibration/curves/groups.csv");
+  /**
+   * The location of the curve calibration settings file.
+   */
+  private static final ResourceLocator SETTINGS_RESOURCE =
+      ResourceLocator.ofClasspath("example-calibration/curves/settings.csv");
+  /**
+   * The location of the curve calibration nodes file.
+   */
+  private static final ResourceLocator CALIBRATION_RESOURCE =
+      ResourceLocator.ofClasspath("example-calibration/curves/calibrations.csv");
+  /**
+   * The location of the market quotes file.
+   */
+  private static final ResourceLocator QUOTES_RESOURCE =
+      ResourceLocator.ofClasspath("example-calibration/quotes/quotes.csv");
+  /**
+   * The tenors used for the synthetic swaps.
+   */
+  private static final Tenor[] TENORS = {
+      Tenor.TENOR_2Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y, Tenor.TENOR_10Y, Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the definition of the curve group, filtered for the valuation date.
+   *
+   * @return the curve group definition
+   */
+  public static RatesCurveGroupDefinition curveGroupDefinition() {
+    Map<CurveGroupName, RatesCurveGroupDefinition> defns =
+        RatesCalibrationCsvLoader.load(GROUPS_RESOURCE, SETTINGS_RESOURCE, CALIBRATION_RESOURCE);
+    return defns.get(CURVE_GROUP_NAME).filtered(VAL_DATE, REF_DATA);
+  }
+
+  /**
+   * Loads the market quotes used to calibrate the curves.
+   *
+   * @return the market data
+   */
+  public static MarketData marketQuotes() {
+    ImmutableMap<QuoteId, Double> quotes = QuotesCsvLoader.load(VAL_DATE, QUOTES_RESOURCE);
+    return ImmutableMarketData.of(VAL_DATE, quotes);
+  }
+
+  /**
+   * Calibrates the curves.
+   *
+   * @return the calibrated rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider() {
+    return RatesCurveCalibrator.standard().calibrate(curveGroupDefinition(), marketQuotes(), REF_DATA);
+  }
+
+  /**
+   * Creates the market data containing the calibrated curves.
+   * <p>
+   * The curves are keyed by the identifiers used by {@link #CURVE_GROUP_NAME}.
+   *
+   * @param provider  the calibrated rates provider
+   * @return the market data
+   */
+  public static MarketData curveMarketData(ImmutableRatesProvider provider) {
+    return ImmutableMarketData.of(VAL_DATE, provider.getCurves(CURVE_GROUP_NAME));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a swap receiving or paying fixed against USD Libor 3M.
+   *
+   * @param tenor  the tenor of the swap
+   * @return the swap trade
+   */
+  public static SwapTrade swap(Tenor tenor) {
+    return FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(VAL_DATE, tenor, BuySell.BUY, 1_000_000, 0.02, REF_DATA);
+  }
+
+  /**
+   * Creates a synthetic portfolio of swaps.
+   * <p>
+   * The tenor, direction, notional, rate and forward start of the swaps vary with the index of the trade.
+   *
+   * @param tradeCount  the number of trades
+   * @return the swap trades
+   */
+  public static List<SwapTrade> swapPortfolio(int tradeCount) {
+    List<SwapTrade> trades = new ArrayList<>(tradeCount);
+    for (int i = 0; i < tradeCount; i++) {
+      Tenor tenor = TENORS[i % TENORS.length];
+      BuySell buySell = i % 2 == 0 ? BuySell.BUY : BuySell.SELL;
+      double notional = 1_000_000 * (1 + i % 10);
+      double fixedRate = 0.01 + 0.001 * (i % 20);
+      Period forwardStart = Period.ofMonths(i % 12);
+      SwapTrade trade = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+          .createTrade(VAL_DATE, forwardStart, tenor, buySell, notional, fixedRate, REF_DATA);
+      trades.add(trade.withInfo(TradeInfo.builder()
+          .id(StandardId.of("benchmark", Integer.toString(i)))
+          .tradeDate(VAL_DATE)
+          .build()));
+    }
+    return trades;
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Benchmarks the Black formula using {@link BlackFormulaRepository}.
+ * <p>
+ * Each invocation prices, or finds the implied volatility of, a strip of options with different strikes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlackFormulaBenchmark {
+
+  /**
+   * The forward.
+   */
+  private static final double FORWARD = 0.02;
+  /**
+   * The time to expiry.
+   */
+  private static final double EXPIRY = 2d;
+  /**
+   * The volatility.
+   */
+  private static final double VOLATILITY = 0.3;
+
+  /**
+   * The number of options.
+   */
+  @Param({"100"})
+  public int optionCount;
+
+  private double[] strikes;
+  private double[] prices;
+
+  /**
+   * Creates the strikes and prices.
+   */
+  @Setup
+  public void setup() {
+    strikes = new double[optionCount];
+    prices = new double[optionCount];
+    for (int i = 0; i < optionCount; i++) {
+      strikes[i] = FORWARD * (0.5 + i / (double) optionCount);
+      prices[i] = BlackFormulaRepository.price(FORWARD, strikes[i], EXPIRY, VOLATILITY, true);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each option.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void price(Blackhole blackhole) {
+    for (double strike : strikes) {
+      blackhole.consume(BlackFormulaRepository.price(FORWARD, strike, EXPIRY, VOLATILITY, true));
+    }
+  }
+
+  /**
+   * Calculates the implied volatility of each option.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void impliedVolatility(Blackhole blackhole) {
+    for (int i = 0; i < strikes.length; i++) {
+      blackhole.consume(BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, strikes[i], EXPIRY, true));
+    }
+  }
+
+}
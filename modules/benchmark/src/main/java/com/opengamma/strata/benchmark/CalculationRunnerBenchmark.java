@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Benchmarks the calculation engine using {@link CalculationRunner}.
+ * <p>
+ * The present value and PV01 of a synthetic swap portfolio are calculated for a number of scenarios,
+ * using either the standard multi-threaded runner or the work-stealing runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /**
+   * The columns to calculate.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01_CALIBRATED_SUM));
+
+  /**
+   * The number of trades.
+   */
+  @Param({"100", "1000"})
+  public int tradeCount;
+  /**
+   * The number of scenarios.
+   */
+  @Param({"1", "10"})
+  public int scenarioCount;
+  /**
+   * Whether the work-stealing runner is used.
+   */
+  @Param({"false", "true"})
+  public boolean workStealing;
+
+  private CalculationRunner runner;
+  private CalculationRules rules;
+  private List<SwapTrade> trades;
+  private ScenarioMarketData marketData;
+
+  /**
+   * Calibrates the curves and creates the portfolio and the runner.
+   */
+  @Setup
+  public void setup() {
+    ImmutableRatesProvider provider = BenchmarkData.ratesProvider();
+    CalculationFunctions functions = StandardComponents.calculationFunctions();
+    rules = CalculationRules.of(functions, RatesMarketDataLookup.of(BenchmarkData.curveGroupDefinition()));
+    trades = BenchmarkData.swapPortfolio(tradeCount);
+    marketData = ScenarioMarketData.of(scenarioCount, BenchmarkData.curveMarketData(provider));
+    runner = workStealing ? CalculationRunner.ofWorkStealing() : CalculationRunner.ofMultiThreaded();
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the measures for all trades and scenarios.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculateMultiScenario(rules, trades, COLUMNS, marketData, BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.FastCreditCurveCalibrator;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.pricer.credit.RecoveryRates;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.DatesCdsTemplate;
+import com.opengamma.strata.product.credit.type.ImmutableCdsConvention;
+
+/**
+ * Benchmarks the calibration of the credit curves of the constituents of a CDS index.
+ * <p>
+ * Each legal entity has par spread quotes for CDS with maturities of 6 months, and 1, 2, 3, 4, 5, 7 and 10 years.
+ * Calibrating each curve separately is compared with the bulk calibration
+ * of {@link FastCreditCurveCalibrator}, which calibrates the curves in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditCurveCalibrationBenchmark {
+
+  /**
+   * The calibrator.
+   */
+  private static final FastCreditCurveCalibrator CALIBRATOR = FastCreditCurveCalibrator.standard();
+  /**
+   * The valuation date.
+   */
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  /**
+   * The accrual start date, the previous IMM date.
+   */
+  private static final LocalDate START_DATE = LocalDate.of(2013, 12, 20);
+  /**
+   * The maturities of the node CDS, in months.
+   */
+  private static final int[] MATURITIES = {6, 12, 24, 36, 48, 60, 84, 120};
+  /**
+   * The CDS convention.
+   */
+  private static final CdsConvention CONVENTION = ImmutableCdsConvention.of(
+      "conv",
+      USD,
+      DayCounts.ACT_360,
+      Frequency.P3M,
+      BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, HolidayCalendarIds.SAT_SUN),
+      DaysAdjustment.ofBusinessDays(3, HolidayCalendarIds.SAT_SUN));
+
+  /**
+   * The number of legal entities.
+   */
+  @Param({"125"})
+  public int entityCount;
+  /**
+   * Whether the Jacobian matrices are computed.
+   */
+  @Param({"false", "true"})
+  public boolean computeJacobian;
+
+  private List<IsdaCreditCurveDefinition> curveDefinitions;
+  private ImmutableMarketData marketData;
+  private ImmutableCreditRatesProvider ratesProvider;
+
+  /**
+   * Creates the curve definitions and the market data.
+   */
+  @Setup
+  public void setup() {
+    ImmutableMarketDataBuilder marketDataBuilder = ImmutableMarketData.builder(VAL_DATE);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    curveDefinitions = new ArrayList<>();
+    for (int i = 0; i < entityCount; i++) {
+      StandardId legalEntity = StandardId.of("OG", "Entity" + i);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, VAL_DATE, 0.4));
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int j = 0; j < MATURITIES.length; j++) {
+        QuoteId quoteId = QuoteId.of(StandardId.of("OG", legalEntity.getValue() + "-" + MATURITIES[j] + "M"));
+        DatesCdsTemplate template =
+            DatesCdsTemplate.of(START_DATE, START_DATE.plusMonths(MATURITIES[j]), CONVENTION);
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(template, quoteId, legalEntity));
+        marketDataBuilder.addValue(quoteId, 0.004 + 0.00002 * i + 0.001 * j);
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("credit" + i), USD, VAL_DATE, DayCounts.ACT_365F, nodes, computeJacobian, false));
+    }
+    marketData = marketDataBuilder.build();
+    ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .discountCurves(ImmutableMap.of(USD, discountCurve()))
+        .recoveryRateCurves(recoveryRates.build())
+        .creditCurves(ImmutableMap.of())
+        .build();
+  }
+
+  // creates a zero rate curve with annual nodes
+  private static IsdaCreditDiscountFactors discountCurve() {
+    double[] times = new double[15];
+    double[] rates = new double[15];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = i + 1;
+      rates[i] = 0.005 + 0.001 * i;
+    }
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName("yield")
+        .dayCount(DayCounts.ACT_365F)
+        .build();
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        metadata,
+        DoubleArray.ofUnsafe(times),
+        DoubleArray.ofUnsafe(rates),
+        CurveInterpolators.PRODUCT_LINEAR,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.PRODUCT_LINEAR);
+    return IsdaCreditDiscountFactors.of(USD, VAL_DATE, curve);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates each curve separately.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void calibrateSingle(Blackhole blackhole) {
+    for (IsdaCreditCurveDefinition curveDefinition : curveDefinitions) {
+      blackhole.consume(CALIBRATOR.calibrate(curveDefinition, marketData, ratesProvider, BenchmarkData.REF_DATA));
+    }
+  }
+
+  /**
+   * Calibrates the curves in bulk.
+   *
+   * @return the curves
+   */
+  @Benchmark
+  public List<LegalEntitySurvivalProbabilities> calibrateBulk() {
+    return CALIBRATOR.calibrate(curveDefinitions, marketData, ratesProvider, BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks the calibration of a curve group using {@link RatesCurveCalibrator}.
+ * <p>
+ * The USD discounting and Libor 3M curves of the example calibration data are calibrated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  /**
+   * Whether the derivatives of the trades are computed in parallel.
+   */
+  @Param({"false", "true"})
+  public boolean parallelDerivatives;
+
+  private RatesCurveGroupDefinition curveGroupDefinition;
+  private MarketData marketData;
+  private RatesCurveCalibrator calibrator;
+
+  /**
+   * Loads the curve definitions and quotes.
+   */
+  @Setup
+  public void setup() {
+    curveGroupDefinition = BenchmarkData.curveGroupDefinition();
+    marketData = BenchmarkData.marketQuotes();
+    calibrator = RatesCurveCalibrator.standard().withParallelDerivatives(parallelDerivatives);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curve group.
+   *
+   * @return the calibrated rates provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return calibrator.calibrate(curveGroupDefinition, marketData, BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Benchmarks the expected exposure profile of a swap using {@link HullWhiteOneFactorMonteCarloEngine}.
+ * <p>
+ * The exposure of a 10 year swap is computed on a monthly grid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HullWhiteMonteCarloBenchmark {
+
+  /**
+   * The Hull-White model parameters.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.01, DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014), DoubleArray.of(0.5, 1.0, 2.0, 5.0));
+
+  /**
+   * The number of paths.
+   */
+  @Param({"16384"})
+  public int pathCount;
+  /**
+   * Whether the Sobol sequence is used.
+   */
+  @Param({"false", "true"})
+  public boolean sobol;
+  /**
+   * Whether antithetic variates are used.
+   */
+  @Param({"false", "true"})
+  public boolean antithetic;
+
+  private HullWhiteOneFactorMonteCarloEngine engine;
+  private ImmutableRatesProvider ratesProvider;
+  private HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider;
+  private ResolvedSwap swap;
+  private List<LocalDate> exposureDates;
+
+  /**
+   * Calibrates the curves and creates the swap and the exposure dates.
+   */
+  @Setup
+  public void setup() {
+    engine = sobol ?
+        HullWhiteOneFactorMonteCarloEngine.ofSobol(pathCount, 1L) :
+        HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(pathCount, 1L);
+    if (antithetic) {
+      engine = engine.withAntithetic();
+    }
+    ratesProvider = BenchmarkData.ratesProvider();
+    hwProvider = HullWhiteOneFactorPiecewiseConstantParametersProvider.of(
+        PARAMETERS, DayCounts.ACT_365F, BenchmarkData.VAL_DATE.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC));
+    swap = BenchmarkData.swap(Tenor.TENOR_10Y).getProduct().resolve(BenchmarkData.REF_DATA);
+    exposureDates = new ArrayList<>();
+    for (int i = 0; i <= 120; i++) {
+      exposureDates.add(BenchmarkData.VAL_DATE.plusMonths(i));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the expected exposure profile.
+   *
+   * @return the expected exposures
+   */
+  @Benchmark
+  public DoubleArray expectedExposure() {
+    return engine.expectedExposure(swap, exposureDates, ratesProvider, hwProvider);
+  }
+
+}
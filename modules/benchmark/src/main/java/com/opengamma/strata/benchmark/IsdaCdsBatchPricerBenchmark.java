@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.CreditRatesProvider;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCdsBatchProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCdsProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.pricer.credit.RecoveryRates;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks the pricing of a portfolio of CDS using {@link IsdaCdsBatchProductPricer}.
+ * <p>
+ * The portfolio contains CDS on standard IMM dates, with maturities of 1, 3, 5, 7 and 10 years
+ * for each legal entity.
+ * The result is compared with pricing each CDS separately using {@link IsdaCdsProductPricer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsdaCdsBatchPricerBenchmark {
+
+  /**
+   * The pricer for single CDS.
+   */
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  /**
+   * The pricer for portfolios of CDS.
+   */
+  private static final IsdaCdsBatchProductPricer BATCH_PRICER = IsdaCdsBatchProductPricer.DEFAULT;
+  /**
+   * The valuation date.
+   */
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  /**
+   * The accrual start date, the previous IMM date.
+   */
+  private static final LocalDate START_DATE = LocalDate.of(2013, 12, 20);
+  /**
+   * The maturities of the CDS of each legal entity, in years.
+   */
+  private static final int[] MATURITIES = {1, 3, 5, 7, 10};
+
+  /**
+   * The number of legal entities.
+   */
+  @Param({"125"})
+  public int entityCount;
+
+  private CreditRatesProvider provider;
+  private List<ResolvedCds> portfolio;
+  private LocalDate settlementDate;
+
+  /**
+   * Creates the curves and the portfolio.
+   */
+  @Setup
+  public void setup() {
+    ImmutableMap.Builder<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        ImmutableMap.builder();
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    portfolio = new ArrayList<>();
+    for (int i = 0; i < entityCount; i++) {
+      StandardId legalEntity = StandardId.of("OG", "Entity" + i);
+      creditCurves.put(
+          Pair.of(legalEntity, USD),
+          LegalEntitySurvivalProbabilities.of(legalEntity, curve("credit" + i, 0.005 + 0.0001 * i, 0.002)));
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, VAL_DATE, 0.4));
+      for (int maturity : MATURITIES) {
+        portfolio.add(Cds.of(
+            i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+            legalEntity,
+            USD,
+            1.0e7,
+            START_DATE,
+            START_DATE.plusYears(maturity),
+            Frequency.P3M,
+            HolidayCalendarIds.SAT_SUN,
+            0.01)
+            .resolve(BenchmarkData.REF_DATA));
+      }
+    }
+    provider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .creditCurves(creditCurves.build())
+        .discountCurves(ImmutableMap.of(USD, curve("yield", 0.005, 0.001)))
+        .recoveryRateCurves(recoveryRates.build())
+        .build();
+    settlementDate = portfolio.get(0).getSettlementDateOffset().adjust(VAL_DATE, BenchmarkData.REF_DATA);
+  }
+
+  // creates a zero rate curve with annual nodes, the rates increasing by the slope each year
+  private static IsdaCreditDiscountFactors curve(String name, double shortRate, double slope) {
+    double[] times = new double[15];
+    double[] rates = new double[15];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = i + 1;
+      rates[i] = shortRate + slope * i;
+    }
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName(name)
+        .dayCount(DayCounts.ACT_365F)
+        .build();
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        metadata,
+        DoubleArray.ofUnsafe(times),
+        DoubleArray.ofUnsafe(rates),
+        CurveInterpolators.PRODUCT_LINEAR,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.PRODUCT_LINEAR);
+    return IsdaCreditDiscountFactors.of(USD, VAL_DATE, curve);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each CDS separately.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void priceSingle(Blackhole blackhole) {
+    for (ResolvedCds cds : portfolio) {
+      blackhole.consume(PRICER.price(cds, provider, settlementDate, PriceType.DIRTY, BenchmarkData.REF_DATA));
+    }
+  }
+
+  /**
+   * Calculates the price of the portfolio.
+   *
+   * @return the prices
+   */
+  @Benchmark
+  public double[] priceBatch() {
+    return BATCH_PRICER.price(portfolio, provider, settlementDate, PriceType.DIRTY, BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.CreditRatesProvider;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCdsProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks the pricing of a single CDS using {@link IsdaCdsProductPricer}.
+ * <p>
+ * The yield and credit curves are synthetic, using the ISDA standard interpolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsdaCdsPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  /**
+   * The valuation date.
+   */
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  /**
+   * The legal entity.
+   */
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+
+  /**
+   * The maturity of the CDS, in years.
+   */
+  @Param({"1", "5", "10"})
+  public int years;
+
+  private CreditRatesProvider provider;
+  private ResolvedCds cds;
+  private LocalDate settlementDate;
+
+  /**
+   * Creates the curves and the CDS.
+   */
+  @Setup
+  public void setup() {
+    provider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD),
+            LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, curve("credit", 0.01, 0.002))))
+        .discountCurves(ImmutableMap.of(USD, curve("yield", 0.005, 0.001)))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VAL_DATE, 0.4)))
+        .build();
+    cds = Cds.of(
+        BuySell.BUY,
+        LEGAL_ENTITY,
+        USD,
+        1.0e7,
+        VAL_DATE.plusDays(1),
+        VAL_DATE.plusYears(years),
+        Frequency.P3M,
+        HolidayCalendarIds.SAT_SUN,
+        0.01)
+        .resolve(BenchmarkData.REF_DATA);
+    settlementDate = cds.getSettlementDateOffset().adjust(VAL_DATE, BenchmarkData.REF_DATA);
+  }
+
+  // creates a zero rate curve with annual nodes, the rates increasing by the slope each year
+  private static IsdaCreditDiscountFactors curve(String name, double shortRate, double slope) {
+    double[] times = new double[15];
+    double[] rates = new double[15];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = i + 1;
+      rates[i] = shortRate + slope * i;
+    }
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName(name)
+        .dayCount(DayCounts.ACT_365F)
+        .build();
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        metadata,
+        DoubleArray.ofUnsafe(times),
+        DoubleArray.ofUnsafe(rates),
+        CurveInterpolators.PRODUCT_LINEAR,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.PRODUCT_LINEAR);
+    return IsdaCreditDiscountFactors.of(USD, VAL_DATE, curve);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(cds, provider, settlementDate, PriceType.DIRTY, BenchmarkData.REF_DATA);
+  }
+
+  /**
+   * Calculates the present value sensitivity to the curves.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(cds, provider, settlementDate, BenchmarkData.REF_DATA).build();
+  }
+
+}
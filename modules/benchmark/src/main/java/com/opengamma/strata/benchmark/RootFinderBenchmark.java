@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
+import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
+
+/**
+ * Benchmarks the boxed and primitive forms of the one-dimensional root finders and integrators.
+ * <p>
+ * Run with the JMH option {@code -prof gc} to compare the allocation of each form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootFinderBenchmark {
+
+  /**
+   * The root finder.
+   */
+  private static final BrentSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder(1e-12);
+  /**
+   * The integrator.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR = new RungeKuttaIntegrator1D(1e-10, 1e-10, 1000);
+  /**
+   * The boxed function, a bond price as a function of yield.
+   */
+  private static final Function<Double, Double> BOXED = y -> price(y) - 0.95;
+  /**
+   * The primitive function, a bond price as a function of yield.
+   */
+  private static final DoubleUnaryOperator PRIMITIVE = y -> price(y) - 0.95;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the root of the boxed function.
+   *
+   * @return the root
+   */
+  @Benchmark
+  public Double rootBoxed() {
+    return ROOT_FINDER.getRoot(BOXED, -0.5, 0.5);
+  }
+
+  /**
+   * Finds the root of the primitive function.
+   *
+   * @return the root
+   */
+  @Benchmark
+  public double rootPrimitive() {
+    return ROOT_FINDER.getRoot(PRIMITIVE, -0.5, 0.5);
+  }
+
+  /**
+   * Integrates the boxed function.
+   *
+   * @return the integral
+   */
+  @Benchmark
+  public Double integrateBoxed() {
+    return INTEGRATOR.integrate(BOXED, 0d, 0.2);
+  }
+
+  /**
+   * Integrates the primitive function.
+   *
+   * @return the integral
+   */
+  @Benchmark
+  public double integratePrimitive() {
+    return INTEGRATOR.integrate(PRIMITIVE, 0d, 0.2);
+  }
+
+  //-------------------------------------------------------------------------
+  // the price of a ten year annual bond with a coupon of 5%
+  private static double price(double yield) {
+    double price = 0;
+    double df = 1;
+    for (int i = 0; i < 10; i++) {
+      df /= 1 + yield;
+      price += 0.05 * df;
+    }
+    return price + df;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Benchmarks the pricing of a single swap using {@link DiscountingSwapProductPricer}.
+ * <p>
+ * The present value and the PV01, the sum of the sensitivities to the curve parameters, are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The tenor of the swap.
+   */
+  @Param({"2Y", "10Y", "30Y"})
+  public String tenor;
+
+  private ImmutableRatesProvider provider;
+  private ResolvedSwap swap;
+
+  /**
+   * Calibrates the curves and creates the swap.
+   */
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    swap = BenchmarkData.swap(Tenor.parse(tenor)).getProduct().resolve(BenchmarkData.REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  /**
+   * Calculates the PV01, the present value sensitivity to a one basis point shift of all curve parameters.
+   *
+   * @return the PV01
+   */
+  @Benchmark
+  public MultiCurrencyAmount pv01() {
+    PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(swap, provider).build();
+    CurrencyParameterSensitivities sensitivity = provider.parameterSensitivity(pointSensitivity);
+    return sensitivity.multipliedBy(1e-4).total();
+  }
+
+}
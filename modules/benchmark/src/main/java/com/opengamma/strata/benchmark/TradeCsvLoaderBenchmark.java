@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+import com.opengamma.strata.loader.csv.TradeCsvLoader;
+import com.opengamma.strata.loader.csv.TradeCsvWriter;
+import com.opengamma.strata.product.Trade;
+
+/**
+ * Benchmarks the loading of trades using {@link TradeCsvLoader}.
+ * <p>
+ * The CSV file is created in memory from a synthetic swap portfolio, thus no I/O is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeCsvLoaderBenchmark {
+
+  /**
+   * The loader.
+   */
+  private static final TradeCsvLoader LOADER = TradeCsvLoader.standard();
+
+  /**
+   * The number of trades.
+   */
+  @Param({"1000", "10000"})
+  public int tradeCount;
+
+  private List<CharSource> csv;
+
+  /**
+   * Writes the portfolio in CSV format.
+   */
+  @Setup
+  public void setup() {
+    StringBuilder buf = new StringBuilder();
+    TradeCsvWriter.standard().write(BenchmarkData.swapPortfolio(tradeCount), buf);
+    csv = ImmutableList.of(CharSource.wrap(buf.toString()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the trades.
+   *
+   * @return the trades
+   */
+  @Benchmark
+  public ValueWithFailures<List<Trade>> parse() {
+    return LOADER.parse(csv);
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks tracking the performance of pricers, calibration and the calculation engine.
+ */
+package com.opengamma.strata.benchmark;
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Implementation of a time-series provider which sources time-series from a memory-mapped store.
+ * <p>
+ * The time-series are keyed in the store by the string form of the identifier.
+ */
+class MappedTimeSeriesProvider implements TimeSeriesProvider {
+
+  /** The store of time-series. */
+  private final MappedTimeSeriesStore store;
+
+  /**
+   * Creates an instance.
+   *
+   * @param store  the store of time-series
+   */
+  MappedTimeSeriesProvider(MappedTimeSeriesStore store) {
+    this.store = ArgChecker.notNull(store, "store");
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+    return store.find(id.toString())
+        .map(Result::success)
+        .orElseGet(() -> Result.failure(
+            FailureReason.MISSING_DATA,
+            "Unable to find time-series for '{}' in store: {}",
+            id,
+            store.getFile()));
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.marketdata;
 
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
 import com.opengamma.strata.data.ObservableId;
 
 /**
@@ -41,6 +42,20 @@ public interface TimeSeriesProvider {
     return EmptyTimeSeriesProvider.INSTANCE;
   }
 
+  /**
+   * Returns a time-series provider that sources time-series from a memory-mapped store.
+   * <p>
+   * The time-series in the store must be keyed by the string form of the identifier,
+   * as written by {@code FixingSeriesCsvLoader}.
+   * Requests for a time-series that is not in the store will return a failure.
+   *
+   * @param store  the store of time-series
+   * @return the time-series provider
+   */
+  public static TimeSeriesProvider of(MappedTimeSeriesStore store) {
+    return new MappedTimeSeriesProvider(store);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Provides the time-series for the specified identifier.
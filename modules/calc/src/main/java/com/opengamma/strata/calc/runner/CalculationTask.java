@@ -10,11 +10,14 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -36,6 +39,8 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -43,6 +48,10 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -203,15 +212,85 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, refData, new ScenarioFxRateProviderCache(marketData));
+  }
+
+  // executes the task, using FX rate providers shared with other tasks
+  CalculationResults execute(
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ScenarioFxRateProviderCache fxProviders) {
+
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
+    return createResults(results, fxProviders, refData);
+  }
+
+  /**
+   * Executes the task, splitting the scenarios into batches that are calculated in parallel.
+   * <p>
+   * This invokes the function once for each batch of scenarios, using a view of the market data
+   * restricted to the scenarios in the batch. The batches are calculated as fork-join tasks,
+   * thus if this method is invoked from a fork-join pool the batches are calculated in that pool.
+   * The scenario results of each batch are then merged to form the results for all scenarios.
+   * <p>
+   * This is intended for tasks where the number of scenarios is large and the number of targets is small.
+   * It relies on the function calculating each scenario independently of the others.
+   * A result that is not a {@link ScenarioArray} must be the same in every batch, otherwise it is a failure.
+   * If the market data has no more scenarios than the batch size, this is the same as
+   * {@link #execute(ScenarioMarketData, ReferenceData)}.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param scenarioBatchSize  the maximum number of scenarios to calculate in a single batch
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData, int scenarioBatchSize) {
+    return execute(marketData, refData, scenarioBatchSize, new ScenarioFxRateProviderCache(marketData));
+  }
+
+  // executes the task in batches, using FX rate providers shared with other tasks
+  CalculationResults execute(
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      int scenarioBatchSize,
+      ScenarioFxRateProviderCache fxProviders) {
+
+    ArgChecker.notNegativeOrZero(scenarioBatchSize, "scenarioBatchSize");
+    int scenarioCount = marketData.getScenarioCount();
+    if (scenarioCount <= scenarioBatchSize) {
+      return execute(marketData, refData, fxProviders);
+    }
+    // calculate each batch of scenarios as a fork-join task
+    List<ScenarioBatch> batches = new ArrayList<>();
+    for (int start = 0; start < scenarioCount; start += scenarioBatchSize) {
+      int end = Math.min(start + scenarioBatchSize, scenarioCount);
+      batches.add(new ScenarioBatch(marketData.scenarioRange(start, end), refData));
+    }
+    ForkJoinTask.invokeAll(batches);
+
+    // merge the results of the batches, using a normal loop for better stack traces
+    Map<Measure, Result<?>> results = new HashMap<>();
+    for (Measure measure : getMeasures()) {
+      List<Result<?>> batchResults = new ArrayList<>(batches.size());
+      for (ScenarioBatch batch : batches) {
+        batchResults.add(batch.join().get(measure));
+      }
+      results.put(measure, mergeScenarioBatches(batchResults));
+    }
+    return createResults(results, fxProviders, refData);
+  }
+
+  // converts the calculated results to the result of the task
+  @SuppressWarnings("unchecked")
+  private CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioFxRateProviderCache fxProviders,
+      ReferenceData refData) {
 
     // get a suitable FX provider
-    ScenarioFxRateProvider fxProvider = parameters.findParameter(FxRateLookup.class)
-        .map(lookup -> LookupScenarioFxRateProvider.of(marketData, lookup))
-        .orElse(ScenarioFxRateProvider.of(marketData));
+    ScenarioFxRateProvider fxProvider = fxProviders.fxRateProvider(parameters);
 
     // convert the results, using a normal loop for better stack traces
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
@@ -244,6 +323,49 @@ public final class CalculationTask implements ImmutableBean {
     }
   }
 
+  // merges the results of each batch of scenarios, with the batches in scenario order
+  private static Result<?> mergeScenarioBatches(List<Result<?>> batchResults) {
+    Optional<Result<?>> failure = batchResults.stream().filter(Result::isFailure).findFirst();
+    if (failure.isPresent()) {
+      return failure.get();
+    }
+    List<Object> values = batchResults.stream().map(Result::getValue).collect(toImmutableList());
+    if (!values.stream().allMatch(ScenarioArray.class::isInstance)) {
+      // the value is not scenario specific, so it can only be used if every batch calculated the same value
+      if (values.stream().distinct().count() == 1) {
+        return batchResults.get(0);
+      }
+      return Result.failure(
+          FailureReason.CALCULATION_FAILED,
+          "Result of type '{}' differs between batches of scenarios and cannot be merged, " +
+              "the calculation must not be split into scenario batches",
+          values.get(0).getClass().getSimpleName());
+    }
+    if (values.stream().allMatch(DoubleScenarioArray.class::isInstance)) {
+      DoubleArray merged = values.stream()
+          .map(value -> ((DoubleScenarioArray) value).getValues())
+          .reduce(DoubleArray.EMPTY, DoubleArray::concat);
+      return Result.success(DoubleScenarioArray.of(merged));
+    }
+    List<Object> merged = values.stream()
+        .flatMap(value -> ((ScenarioArray<?>) value).stream())
+        .collect(toImmutableList());
+    if (values.stream().allMatch(MultiCurrencyScenarioArray.class::isInstance)) {
+      return Result.success(MultiCurrencyScenarioArray.of(castList(merged)));
+    }
+    if (values.stream().allMatch(CurrencyScenarioArray.class::isInstance) &&
+        values.stream().map(value -> ((CurrencyScenarioArray) value).getCurrency()).distinct().count() == 1) {
+      return Result.success(CurrencyScenarioArray.of(castList(merged)));
+    }
+    return Result.success(ScenarioArray.of(merged));
+  }
+
+  // casts the list, where the element type is known to be correct
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> castList(List<Object> list) {
+    return (List<T>) list;
+  }
+
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
       Set<Measure> requestedMeasures,
@@ -325,6 +447,28 @@ public final class CalculationTask implements ImmutableBean {
     return "CalculationTask" + cells;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Fork-join task calculating the results for one batch of scenarios.
+   */
+  private final class ScenarioBatch extends RecursiveTask<Map<Measure, Result<?>>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ScenarioMarketData marketData;
+    private final ReferenceData refData;
+
+    private ScenarioBatch(ScenarioMarketData marketData, ReferenceData refData) {
+      this.marketData = marketData;
+      this.refData = refData;
+    }
+
+    @Override
+    protected Map<Measure, Result<?>> compute() {
+      return calculate(marketData, refData);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code CalculationTask}.
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * The estimated cost of executing calculation tasks.
+ * <p>
+ * This learns the cost of a task from the elapsed time of previous executions.
+ * Costs are held per combination of the {@link CalculationFunction} type and the target type,
+ * as an exponentially weighted moving average of the observed elapsed times.
+ * <p>
+ * This class is thread-safe, allowing costs to be recorded by multiple threads at once.
+ */
+final class CalculationTaskCosts {
+
+  /**
+   * The weight applied to the most recent observation.
+   */
+  private static final double WEIGHT = 0.25;
+
+  /**
+   * The estimated cost in nanoseconds, keyed by function type and target type.
+   */
+  private final ConcurrentHashMap<Pair<Class<?>, Class<?>>, Double> costs = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance with no knowledge of previous executions.
+   */
+  CalculationTaskCosts() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the estimated cost of executing the task, in nanoseconds.
+   * <p>
+   * If the cost of the task has never been observed, positive infinity is returned.
+   * This ensures that unknown tasks are run first, as they may be expensive.
+   *
+   * @param task  the task
+   * @return the estimated cost
+   */
+  double estimate(CalculationTask task) {
+    Double cost = costs.get(key(task));
+    return cost != null ? cost : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Records the observed cost of executing the task.
+   *
+   * @param task  the task
+   * @param elapsedNanos  the elapsed time of the execution, in nanoseconds
+   */
+  void record(CalculationTask task, long elapsedNanos) {
+    ArgChecker.notNegative(elapsedNanos, "elapsedNanos");
+    double observed = elapsedNanos;
+    costs.merge(key(task), observed, (previous, latest) -> previous + WEIGHT * (latest - previous));
+  }
+
+  /**
+   * Returns the tasks ordered by descending estimated cost.
+   * <p>
+   * The sort is stable, thus tasks with the same estimated cost stay in the order they were supplied.
+   *
+   * @param tasks  the tasks
+   * @return the tasks, most expensive first
+   */
+  List<CalculationTask> orderByCost(List<CalculationTask> tasks) {
+    // the estimates are captured first, as costs may be recorded by other threads during the sort
+    double[] estimates = new double[tasks.size()];
+    List<Integer> indices = new ArrayList<>(tasks.size());
+    for (int i = 0; i < estimates.length; i++) {
+      estimates[i] = estimate(tasks.get(i));
+      indices.add(i);
+    }
+    indices.sort(Comparator.comparingDouble((Integer i) -> estimates[i]).reversed());
+    return indices.stream()
+        .map(tasks::get)
+        .collect(toImmutableList());
+  }
+
+  // the key for the task
+  private static Pair<Class<?>, Class<?>> key(CalculationTask task) {
+    return Pair.of(task.getFunction().getClass(), task.getTarget().getClass());
+  }
+
+}
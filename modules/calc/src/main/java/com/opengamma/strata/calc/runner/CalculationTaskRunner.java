@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,60 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * The tasks are started in order of descending estimated cost, where the cost of each combination
+   * of function and target type is learned from previous runs of the same runner.
+   * This shortens the end of a run, when only a few long-running tasks would otherwise remain.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations, specifying the pool.
+   * <p>
+   * The tasks are started in order of descending estimated cost, where the cost of each combination
+   * of function and target type is learned from previous runs of the same runner.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(pool);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner that also splits the scenarios of each task into batches.
+   * <p>
+   * This is similar to {@link #ofWorkStealing(ForkJoinPool)}, but in addition the scenarios of
+   * each task are split into batches of the specified size, which are calculated in parallel.
+   * This allows runs with many scenarios but few targets to make use of all the threads in the pool.
+   * See {@link CalculationTask#execute(ScenarioMarketData, ReferenceData, int)}.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @param scenarioBatchSize  the maximum number of scenarios to calculate in a single batch
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(ForkJoinPool pool, int scenarioBatchSize) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(pool, scenarioBatchSize);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
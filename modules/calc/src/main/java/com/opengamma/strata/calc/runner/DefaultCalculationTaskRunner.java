@@ -11,6 +11,10 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -30,6 +34,14 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * Two scheduling modes are available.
+ * The standard mode submits each task to the executor in the order of the tasks.
+ * The work-stealing mode uses a {@link ForkJoinPool}, submitting the tasks in order of
+ * descending estimated cost, where the cost is learned from the elapsed time of previous runs.
+ * Starting the long-running tasks first reduces the time at the end of a run when only
+ * a few threads are busy. Optionally, the scenarios of each task can also be split into batches
+ * that are calculated in parallel, see {@link CalculationTask#execute(ScenarioMarketData, ReferenceData, int)}.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
@@ -38,6 +50,15 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The estimated costs of the tasks, null unless scheduling in work-stealing mode.
+   * When non-null, the executor is a {@link ForkJoinPool}.
+   */
+  private final CalculationTaskCosts costs;
+  /**
+   * The maximum number of scenarios calculated in a single batch in work-stealing mode.
+   */
+  private final int scenarioBatchSize;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +75,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null, Integer.MAX_VALUE);
   }
 
   /**
@@ -66,7 +87,54 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * Tasks are scheduled in order of descending estimated cost, learned from previous runs.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return ofWorkStealing(createForkJoinPool(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations, specifying the pool.
+   * <p>
+   * Tasks are scheduled in order of descending estimated cost, learned from previous runs.
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationTaskRunner(pool, new CalculationTaskCosts(), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner that splits the scenarios of each task into batches.
+   * <p>
+   * Tasks are scheduled in order of descending estimated cost, learned from previous runs.
+   * The scenarios of each task are split into batches of the specified size, which are calculated in parallel.
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the fork-join pool to use
+   * @param scenarioBatchSize  the maximum number of scenarios to calculate in a single batch
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ForkJoinPool pool, int scenarioBatchSize) {
+    ArgChecker.notNegativeOrZero(scenarioBatchSize, "scenarioBatchSize");
+    return new DefaultCalculationTaskRunner(pool, new CalculationTaskCosts(), scenarioBatchSize);
   }
 
   // create an executor with daemon threads
@@ -82,14 +150,28 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a fork-join pool, which uses daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    return new ForkJoinPool(threads, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param costs  the estimated costs of the tasks, null unless scheduling in work-stealing mode
+   * @param scenarioBatchSize  the maximum number of scenarios calculated in a single batch in work-stealing mode
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, CalculationTaskCosts costs, int scenarioBatchSize) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.costs = costs;
+    this.scenarioBatchSize = scenarioBatchSize;
   }
 
   //-------------------------------------------------------------------------
@@ -180,8 +262,17 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     Consumer<CalculationResults> consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
+    // the FX rates used to convert the results are shared by all the tasks
+    ScenarioFxRateProviderCache fxProviders = new ScenarioFxRateProviderCache(marketData);
+
     // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    if (costs == null) {
+      taskList.forEach(task -> runTask(task, marketData, refData, fxProviders, consumer));
+    } else if (!taskList.isEmpty()) {
+      List<CalculationTask> orderedTasks = costs.orderByCost(taskList);
+      ((ForkJoinPool) executor).execute(
+          new CostOrderedAction(orderedTasks, 0, 1, marketData, refData, fxProviders, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -189,14 +280,29 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       CalculationTask task,
       ScenarioMarketData marketData,
       ReferenceData refData,
+      ScenarioFxRateProviderCache fxProviders,
       Consumer<CalculationResults> consumer) {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData, fxProviders);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // runs a task in the current thread, recording the elapsed time
+  private void runTimedTask(
+      CalculationTask task,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ScenarioFxRateProviderCache fxProviders,
+      Consumer<CalculationResults> consumer) {
+
+    long start = System.nanoTime();
+    CalculationResults results = task.execute(marketData, refData, scenarioBatchSize, fxProviders);
+    costs.record(task, System.nanoTime() - start);
+    consumer.accept(results);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -204,6 +310,55 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Fork-join action that runs tasks ordered by descending estimated cost.
+   * <p>
+   * The action covers the tasks at indices {@code start}, {@code start + stride}, {@code start + 2 * stride} etc.
+   * It is split by interleaving, such that each half contains both expensive and cheap tasks.
+   * As a result, each thread that steals a half starts with one of the most expensive tasks not yet started.
+   */
+  private final class CostOrderedAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<CalculationTask> tasks;
+    private final int start;
+    private final int stride;
+    private final ScenarioMarketData marketData;
+    private final ReferenceData refData;
+    private final ScenarioFxRateProviderCache fxProviders;
+    private final Consumer<CalculationResults> consumer;
+
+    private CostOrderedAction(
+        List<CalculationTask> tasks,
+        int start,
+        int stride,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        ScenarioFxRateProviderCache fxProviders,
+        Consumer<CalculationResults> consumer) {
+
+      this.tasks = tasks;
+      this.start = start;
+      this.stride = stride;
+      this.marketData = marketData;
+      this.refData = refData;
+      this.fxProviders = fxProviders;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      if (start + stride >= tasks.size()) {
+        runTimedTask(tasks.get(start), marketData, refData, fxProviders, consumer);
+      } else {
+        int doubleStride = stride * 2;
+        invokeAll(
+            new CostOrderedAction(tasks, start, doubleStride, marketData, refData, fxProviders, consumer),
+            new CostOrderedAction(tasks, start + stride, doubleStride, marketData, refData, fxProviders, consumer));
+      }
+    }
+  }
 
   //-------------------------------------------------------------------------
   /**
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.scenario.CachedScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * The FX rate providers used to convert the results of tasks to the reporting currency.
+ * <p>
+ * A single instance is shared by all the tasks calculated using the same market data.
+ * Each provider caches the rates it finds, thus each rate is only found once for all the tasks,
+ * rather than once for each result that is converted.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ScenarioFxRateProviderCache {
+
+  /**
+   * The market data for a set of scenarios.
+   */
+  private final ScenarioMarketData marketData;
+  /**
+   * The provider used when the task parameters do not include an FX rate lookup.
+   */
+  private final ScenarioFxRateProvider defaultProvider;
+  /**
+   * The providers, keyed by FX rate lookup.
+   */
+  private final ConcurrentMap<FxRateLookup, ScenarioFxRateProvider> lookupProviders = new ConcurrentHashMap<>();
+
+  // creates an instance
+  ScenarioFxRateProviderCache(ScenarioMarketData marketData) {
+    this.marketData = ArgChecker.notNull(marketData, "marketData");
+    this.defaultProvider = CachedScenarioFxRateProvider.of(ScenarioFxRateProvider.of(marketData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the FX rate provider suitable for the specified task parameters.
+   *
+   * @param parameters  the task parameters
+   * @return the FX rate provider
+   */
+  ScenarioFxRateProvider fxRateProvider(CalculationParameters parameters) {
+    return parameters.findParameter(FxRateLookup.class)
+        .map(lookup -> lookupProviders.computeIfAbsent(
+            lookup, key -> CachedScenarioFxRateProvider.of(LookupScenarioFxRateProvider.of(marketData, key))))
+        .orElse(defaultProvider);
+  }
+
+}
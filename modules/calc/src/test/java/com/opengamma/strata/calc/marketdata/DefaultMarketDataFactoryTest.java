@@ -13,6 +13,8 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -214,6 +216,69 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data that depends on other market data, building each layer in parallel.
+   */
+  @Test
+  public void buildDataFromOtherDataInParallel() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 1)
+            .put(date(2011, 3, 9), 2)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 10)
+            .put(date(2011, 3, 9), 20)
+            .build();
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(timeSeriesMap);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          ImmutableList.of(builderB, builderC),
+          executor);
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+      assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+      assertThat(marketData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+
+      // the same data is built without an executor
+      MarketDataFactory serialFactory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          builderB,
+          builderC);
+      BuiltMarketData serialMarketData = serialFactory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+      assertThat(marketData).isEqualTo(serialMarketData);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Tests building market data that depends on other market data that is supplied by the user.
    *
@@ -306,6 +371,35 @@ public class DefaultMarketDataFactoryTest {
         .withMessageStartingWith("No market data function available for market data ID of type");
   }
 
+  /**
+   * Tests an exception is thrown when there is no builder for an ID type, building in parallel.
+   */
+  @Test
+  public void noMarketDataBuilderAvailableInParallel() {
+    TestMarketDataFunctionB builder = new TestMarketDataFunctionB();
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          ImmutableList.of(builder),
+          executor);
+
+      BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+      assertThatIllegalStateException()
+          .isThrownBy(
+              () -> factory.createMultiScenario(
+                  requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty()))
+          .withMessageStartingWith("No market data function available for market data ID of type");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Tests building a result and keeping the intermediate values.
    */
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
+
+/**
+ * Test {@link MappedTimeSeriesProvider}.
+ */
+public class MappedTimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final LocalDateDoubleTimeSeries SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2015, 1, 5), 1d)
+      .put(LocalDate.of(2015, 3, 5), 2d)
+      .build();
+
+  @Test
+  public void test_provideTimeSeries() throws IOException {
+    Path file = Files.createTempFile("mapped-time-series-provider-test", ".bin");
+    try {
+      MappedTimeSeriesStore.write(file, ImmutableMap.of(ID1.toString(), SERIES));
+      TimeSeriesProvider test = TimeSeriesProvider.of(MappedTimeSeriesStore.open(file));
+      Result<LocalDateDoubleTimeSeries> result1 = test.provideTimeSeries(ID1);
+      assertThat(result1.isSuccess()).isTrue();
+      assertThat(result1.getValue().stream()).containsExactlyElementsOf(SERIES.stream()::iterator);
+      Result<LocalDateDoubleTimeSeries> result2 = test.provideTimeSeries(ID2);
+      assertThat(result2.isFailure()).isTrue();
+      assertThat(result2.getFailure().getReason()).isEqualTo(FailureReason.MISSING_DATA);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
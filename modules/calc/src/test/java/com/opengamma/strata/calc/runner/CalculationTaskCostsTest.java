@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.calc.runner.DefaultCalculationTaskRunnerTest.HangingFunction;
+
+/**
+ * Test {@link CalculationTaskCosts}.
+ */
+public class CalculationTaskCostsTest {
+
+  private static final CalculationTaskCell CELL = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+  private static final CalculationTask TASK1 = CalculationTask.of(new TestTarget(), new TestFunction(), CELL);
+  private static final CalculationTask TASK2 = CalculationTask.of(new TestTarget(), new HangingFunction(), CELL);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void estimate_unknown() {
+    CalculationTaskCosts test = new CalculationTaskCosts();
+    assertThat(test.estimate(TASK1)).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  public void estimate_recorded() {
+    CalculationTaskCosts test = new CalculationTaskCosts();
+    test.record(TASK1, 100);
+    assertThat(test.estimate(TASK1)).isEqualTo(100d);
+    test.record(TASK1, 500);
+    assertThat(test.estimate(TASK1)).isCloseTo(200d, within(1e-10));
+    assertThat(test.estimate(TASK2)).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  public void estimate_sameFunctionAndTargetType() {
+    CalculationTaskCosts test = new CalculationTaskCosts();
+    test.record(TASK1, 100);
+    CalculationTask other = CalculationTask.of(new TestTarget(), new TestFunction(), CELL);
+    assertThat(test.estimate(other)).isEqualTo(100d);
+  }
+
+  @Test
+  public void record_negative() {
+    CalculationTaskCosts test = new CalculationTaskCosts();
+    assertThatIllegalArgumentException().isThrownBy(() -> test.record(TASK1, -1));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void orderByCost() {
+    CalculationTaskCosts test = new CalculationTaskCosts();
+    CalculationTask task3 = CalculationTask.of(new TestTarget(), new TestFunction(), CELL);
+    assertThat(test.orderByCost(ImmutableList.of(TASK1, TASK2, task3))).containsExactly(TASK1, TASK2, task3);
+    test.record(TASK1, 100);
+    assertThat(test.orderByCost(ImmutableList.of(TASK1, TASK2, task3))).containsExactly(TASK2, TASK1, task3);
+    test.record(TASK2, 10);
+    assertThat(test.orderByCost(ImmutableList.of(TASK1, TASK2, task3))).containsExactly(TASK1, task3, TASK2);
+  }
+
+}
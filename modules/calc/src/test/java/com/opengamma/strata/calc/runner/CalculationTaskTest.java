@@ -14,6 +14,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.util.HashMap;
 import java.util.List;
@@ -48,7 +49,9 @@ import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.ObservableSource;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -114,6 +117,75 @@ public class CalculationTaskTest {
     assertThat(result).hasValue(expectedArray);
   }
 
+  /**
+   * Test that the scenarios can be calculated in batches, with the results merged in scenario order.
+   */
+  @Test
+  public void executeScenarioBatches() {
+    List<FxRate> rates = ImmutableList.of(1.61, 1.63, 1.64, 1.65, 1.66).stream()
+        .map(rate -> FxRate.of(GBP, USD, rate))
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(GBP, USD), rates)
+        .build();
+    ScenarioFunction fn = new ScenarioFunction();
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(0, 1, TestingMeasures.PAR_RATE, NATURAL);
+    CalculationTaskCell cell3 = CalculationTaskCell.of(0, 2, TestingMeasures.CASH_FLOWS, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell1, cell2, cell3);
+
+    CalculationResults expected = task.execute(marketData, REF_DATA);
+    assertThat(expected.getCells().get(0).getResult())
+        .hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(1.61, 1.63, 1.64, 1.65, 1.66)));
+    assertThat(expected.getCells().get(1).getResult())
+        .hasValue(DoubleScenarioArray.of(DoubleArray.of(1.61, 1.63, 1.64, 1.65, 1.66)));
+    assertThat(expected.getCells().get(2).getResult()).hasValue("NotScenarioSpecific");
+    for (int batchSize = 1; batchSize <= 6; batchSize++) {
+      assertThat(task.execute(marketData, REF_DATA, batchSize)).isEqualTo(expected);
+    }
+    assertThatIllegalArgumentException().isThrownBy(() -> task.execute(marketData, REF_DATA, 0));
+  }
+
+  /**
+   * Test that a failure in one batch of scenarios results in a failure.
+   */
+  @Test
+  public void executeScenarioBatchesFailure() {
+    List<FxRate> rates = ImmutableList.of(1.61, 1.62, 1.63).stream()
+        .map(rate -> FxRate.of(GBP, USD, rate))
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(GBP, USD), rates)
+        .build();
+    ScenarioFunction fn = new ScenarioFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+
+    Result<?> result = task.execute(marketData, REF_DATA, 1).getCells().get(0).getResult();
+    assertThat(result).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  /**
+   * Test that a value that is not scenario specific and differs between batches results in a failure.
+   */
+  @Test
+  public void executeScenarioBatchesDifferentValues() {
+    List<FxRate> rates = ImmutableList.of(1.61, 1.62, 1.63).stream()
+        .map(rate -> FxRate.of(GBP, USD, rate))
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(GBP, USD), rates)
+        .build();
+    ScenarioFunction fn = new ScenarioFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.BUCKETED_PV01, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+
+    assertThat(task.execute(marketData, REF_DATA).getCells().get(0).getResult()).hasValue("ScenarioCount3");
+    assertThat(task.execute(marketData, REF_DATA, 3).getCells().get(0).getResult()).hasValue("ScenarioCount3");
+    Result<?> result = task.execute(marketData, REF_DATA, 2).getCells().get(0).getResult();
+    assertThat(result).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
   /**
    * Test that the result is not converted if the isCurrencyConvertible flag on the measure is false.
    */
@@ -677,6 +749,65 @@ public class CalculationTaskTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Function that returns a value for each scenario based on the GBP/USD rate.
+   * The calculation fails if only the scenario with a rate of 1.62 is calculated.
+   * The bucketed PV01 is not scenario specific, but depends on the number of scenarios calculated.
+   */
+  private static final class ScenarioFunction implements CalculationFunction<TestTarget> {
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(
+          TestingMeasures.PRESENT_VALUE,
+          TestingMeasures.PAR_RATE,
+          TestingMeasures.CASH_FLOWS,
+          TestingMeasures.BUCKETED_PV01);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return GBP;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      int scenarioCount = marketData.getScenarioCount();
+      MarketDataBox<FxRate> rates = marketData.getValue(FxRateId.of(GBP, USD));
+      if (scenarioCount == 1 && rates.getValue(0).fxRate(GBP, USD) == 1.62) {
+        throw new IllegalArgumentException("Failed");
+      }
+      DoubleScenarioArray values = DoubleScenarioArray.of(scenarioCount, i -> rates.getValue(i).fxRate(GBP, USD));
+      return ImmutableMap.of(
+          TestingMeasures.PRESENT_VALUE, Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.filled(scenarioCount, 1))),
+          TestingMeasures.PAR_RATE, Result.success(values),
+          TestingMeasures.CASH_FLOWS, Result.success("NotScenarioSpecific"),
+          TestingMeasures.BUCKETED_PV01, Result.success("ScenarioCount" + scenarioCount));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Function that returns a value from a Supplier.
@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -157,6 +158,50 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void workStealing() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 10; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      // run twice, the second run being ordered by the costs learned in the first
+      for (int run = 0; run < 2; run++) {
+        Results results = test.calculate(tasks, marketData, REF_DATA);
+        assertThat(results.getRowCount()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+          assertThat(results.get(i, 0)).hasValue("foo");
+        }
+        Results scenarioResults = test.calculateMultiScenario(tasks, ScenarioMarketData.of(1, marketData), REF_DATA);
+        assertThat(scenarioResults.get(9, 0)).hasValue(scenarioResult);
+      }
+    }
+  }
+
+  @Test
+  public void workStealing_noTasks() {
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(), ImmutableList.of(column));
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing(pool);
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(0);
+      assertThat(results.getColumnCount()).isEqualTo(1);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
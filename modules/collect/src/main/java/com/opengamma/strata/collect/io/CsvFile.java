@@ -11,6 +11,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +35,7 @@ import com.opengamma.strata.collect.Unchecked;
  * <p>
  * This class loads the entire CSV file into memory.
  * To process the CSV file row-by-row, use {@link CsvIterator}.
+ * To parse a large CSV file using multiple threads, use one of the {@code ofParallel} methods.
  * <p>
  * The CSV file format is a general-purpose comma-separated value format.
  * The format is parsed line-by-line, with lines separated by CR, LF or CRLF.
@@ -169,6 +171,88 @@ public final class CsvFile {
     return parseAll(lines, 0, separator, ImmutableList.of(), ImmutableMap.of());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the specified source as a CSV file using multiple threads, using a comma as the separator.
+   * <p>
+   * The source is read in full, split into chunks at line boundaries, and the chunks are parsed in parallel.
+   * The result is the same as {@link #of(CharSource, boolean)}, but large files are parsed more quickly.
+   * Small sources are parsed using a single thread.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param source  the CSV file resource
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvFile ofParallel(CharSource source, boolean headerRow) {
+    return ofParallel(source, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified source as a CSV file using multiple threads, where the separator is specified.
+   * <p>
+   * The source is read in full, split into chunks at line boundaries, and the chunks are parsed in parallel.
+   * The result is the same as {@link #of(CharSource, boolean, char)}, but large files are parsed more quickly.
+   * Small sources are parsed using a single thread.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param source  the file resource
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvFile ofParallel(CharSource source, boolean headerRow, char separator) {
+    ArgChecker.notNull(source, "source");
+    String content = Unchecked.wrap(() -> source.read());
+    return ParallelCsvParser.parse(content, headerRow, separator, ParallelCsvParser.DEFAULT_MIN_CHUNK_SIZE);
+  }
+
+  /**
+   * Parses the specified UTF-8 file as a CSV file using multiple threads, using a comma as the separator.
+   * <p>
+   * The file is mapped into memory, split into chunks at line boundaries, and the chunks are decoded
+   * and parsed in parallel. The file must be encoded in UTF-8. A UTF-8 Byte Order Mark is skipped.
+   * The result is otherwise the same as {@link #of(CharSource, boolean)}.
+   * Small files are parsed using a single thread.
+   * 
+   * @param file  the CSV file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvFile ofParallel(Path file, boolean headerRow) {
+    return ofParallel(file, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified UTF-8 file as a CSV file using multiple threads, where the separator is specified.
+   * <p>
+   * The file is mapped into memory, split into chunks at line boundaries, and the chunks are decoded
+   * and parsed in parallel. The file must be encoded in UTF-8. A UTF-8 Byte Order Mark is skipped.
+   * The result is otherwise the same as {@link #of(CharSource, boolean, char)}.
+   * Small files are parsed using a single thread.
+   * 
+   * @param file  the CSV file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvFile ofParallel(Path file, boolean headerRow, char separator) {
+    ArgChecker.notNull(file, "file");
+    return ParallelCsvParser.parse(file, headerRow, separator, ParallelCsvParser.DEFAULT_MIN_CHUNK_SIZE);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Finds the separator used by the specified CSV file.
@@ -422,7 +506,7 @@ public final class CsvFile {
    * @param searchHeaders  the headers transformed for searching
    * @param rows  the data rows
    */
-  private CsvFile(
+  CsvFile(
       ImmutableList<String> headers,
       ImmutableMap<String, Integer> searchHeaders,
       ImmutableList<CsvRow> rows) {
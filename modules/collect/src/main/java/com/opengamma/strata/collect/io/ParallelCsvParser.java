@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Parser that splits a CSV file into chunks and parses the chunks in parallel.
+ * <p>
+ * The CSV format parsed by {@link CsvFile} is line-based, with each line parsed independently.
+ * As such, the file can be safely split at any line terminator.
+ * Each chunk is parsed on the common fork-join pool into a batch of fields,
+ * with the batches combined in order to create the {@code CsvFile}.
+ * <p>
+ * The parsed result is identical to that of {@link CsvFile#of(com.google.common.io.CharSource, boolean, char)}.
+ */
+final class ParallelCsvParser {
+
+  /**
+   * The default minimum size of each chunk, in characters or bytes.
+   * Files smaller than this are parsed in a single chunk.
+   */
+  static final int DEFAULT_MIN_CHUNK_SIZE = 1024 * 1024;
+  /**
+   * The number of chunks per processor, allowing for an uneven distribution of work.
+   */
+  private static final int CHUNKS_PER_PROCESSOR = 4;
+  /**
+   * The size of the buffer used to find line terminators in a file.
+   */
+  private static final int SEARCH_BUFFER_SIZE = 8192;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the specified text.
+   *
+   * @param content  the CSV content
+   * @param headerRow  whether the source has a header row
+   * @param separator  the separator used to separate each field
+   * @param minChunkSize  the minimum size of each chunk
+   * @return the CSV file
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  static CsvFile parse(String content, boolean headerRow, char separator, int minChunkSize) {
+    int chunkSize = chunkSize(content.length(), minChunkSize);
+    List<int[]> ranges = new ArrayList<>();
+    int start = 0;
+    while (start < content.length()) {
+      int end = content.indexOf('\n', Math.min(start + chunkSize, content.length()) - 1);
+      end = (end < 0 ? content.length() : end + 1);
+      ranges.add(new int[] {start, end});
+      start = end;
+    }
+    List<Chunk> chunks = ranges.parallelStream()
+        .map(range -> Chunk.parse(content, range[0], range[1], separator))
+        .collect(toImmutableList());
+    return combine(chunks, headerRow);
+  }
+
+  /**
+   * Parses the specified file, mapping it into memory.
+   * <p>
+   * The file is decoded as UTF-8, skipping any UTF-8 byte order mark.
+   *
+   * @param file  the CSV file
+   * @param headerRow  whether the source has a header row
+   * @param separator  the separator used to separate each field
+   * @param minChunkSize  the minimum size of each chunk
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  static CsvFile parse(Path file, boolean headerRow, char separator, int minChunkSize) {
+    // the chunks are split on LF, which cannot occur within a multi-byte UTF-8 sequence
+    List<MappedByteBuffer> buffers = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long chunkSize = chunkSize(size, minChunkSize);
+      long start = bomLength(channel);
+      while (start < size) {
+        long end = findLineEnd(channel, Math.min(start + chunkSize, size) - 1);
+        if (end - start > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("CSV file contains a line that is too long to be parsed: " + file);
+        }
+        buffers.add(channel.map(MapMode.READ_ONLY, start, end - start));
+        start = end;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    // mapped buffers remain valid after the channel is closed
+    List<Chunk> chunks = buffers.parallelStream()
+        .map(buffer -> Chunk.parse(decode(buffer), separator))
+        .collect(toImmutableList());
+    return combine(chunks, headerRow);
+  }
+
+  //-------------------------------------------------------------------------
+  // determines the size of each chunk, which is at least the minimum size
+  private static int chunkSize(long size, int minChunkSize) {
+    int maxChunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR;
+    long chunkCount = Math.max(1, Math.min(maxChunks, size / Math.max(minChunkSize, 1)));
+    return (int) Math.min((size + chunkCount - 1) / chunkCount, Integer.MAX_VALUE);
+  }
+
+  // finds the length of the UTF-8 byte order mark at the start of the file
+  private static long bomLength(FileChannel channel) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(3);
+    while (buf.hasRemaining() && channel.read(buf, buf.position()) >= 0) {
+      // read until the buffer is full or the end of the file
+    }
+    byte[] bytes = buf.array();
+    boolean bom = buf.position() == 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF;
+    return bom ? 3 : 0;
+  }
+
+  // finds the position after the first LF at or after the specified position, or the file size if none
+  private static long findLineEnd(FileChannel channel, long position) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+    long pos = position;
+    while (true) {
+      buf.clear();
+      int read = channel.read(buf, pos);
+      if (read < 0) {
+        return channel.size();
+      }
+      for (int i = 0; i < read; i++) {
+        if (buf.get(i) == '\n') {
+          return pos + i + 1;
+        }
+      }
+      pos += read;
+    }
+  }
+
+  // decodes a chunk of the file, replacing invalid input as per InputStreamReader
+  private static String decode(ByteBuffer buffer) {
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    try {
+      CharBuffer chars = decoder.decode(buffer);
+      return chars.toString();
+    } catch (CharacterCodingException ex) {
+      // not possible when replacing invalid input
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  // combines the parsed chunks into a file
+  private static CsvFile combine(List<Chunk> chunks, boolean headerRow) {
+    ImmutableList<String> headers = ImmutableList.of();
+    ImmutableMap<String, Integer> searchHeaders = ImmutableMap.of();
+    boolean headerFound = !headerRow;
+    ImmutableList.Builder<CsvRow> rows = ImmutableList.builder();
+    int lineOffset = 0;
+    for (Chunk chunk : chunks) {
+      for (int i = 0; i < chunk.fields.size(); i++) {
+        if (!headerFound) {
+          headers = chunk.fields.get(i);
+          searchHeaders = CsvFile.buildSearchHeaders(headers);
+          headerFound = true;
+        } else {
+          rows.add(new CsvRow(headers, searchHeaders, lineOffset + chunk.lineIndices[i] + 1, chunk.fields.get(i)));
+        }
+      }
+      lineOffset += chunk.lineCount;
+    }
+    if (!headerFound) {
+      throw new IllegalArgumentException("Could not read header row from empty CSV file");
+    }
+    return new CsvFile(headers, searchHeaders, rows.build());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private ParallelCsvParser() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A batch of parsed lines from one chunk of the file.
+   */
+  private static final class Chunk {
+    /**
+     * The number of lines in the chunk, including blank and comment lines.
+     */
+    private final int lineCount;
+    /**
+     * The zero-based index of each line with content, relative to the start of the chunk.
+     */
+    private final int[] lineIndices;
+    /**
+     * The fields of each line with content.
+     */
+    private final List<ImmutableList<String>> fields;
+
+    // parses the whole of the text
+    private static Chunk parse(String text, char separator) {
+      return parse(text, 0, text.length(), separator);
+    }
+
+    // parses part of the text, with lines separated by CR, LF or CRLF as per CharSource.readLines()
+    private static Chunk parse(String text, int start, int end, char separator) {
+      int[] lineIndices = new int[16];
+      List<ImmutableList<String>> fields = new ArrayList<>();
+      int lineCount = 0;
+      int lineStart = start;
+      int pos = start;
+      while (pos <= end) {
+        boolean endOfText = pos == end;
+        char ch = endOfText ? '\n' : text.charAt(pos);
+        if (ch == '\n' || ch == '\r') {
+          // a final line without a terminator only exists if it has characters
+          if (!endOfText || lineStart < end) {
+            ImmutableList<String> lineFields = CsvFile.parseLine(text.substring(lineStart, pos), separator);
+            if (!lineFields.isEmpty()) {
+              if (fields.size() == lineIndices.length) {
+                lineIndices = Arrays.copyOf(lineIndices, lineIndices.length * 2);
+              }
+              lineIndices[fields.size()] = lineCount;
+              fields.add(lineFields);
+            }
+            lineCount++;
+          }
+          if (ch == '\r' && pos + 1 < end && text.charAt(pos + 1) == '\n') {
+            pos++;
+          }
+          lineStart = pos + 1;
+        }
+        pos++;
+      }
+      return new Chunk(lineCount, lineIndices, fields);
+    }
+
+    private Chunk(int lineCount, int[] lineIndices, List<ImmutableList<String>> fields) {
+      this.lineCount = lineCount;
+      this.lineIndices = lineIndices;
+      this.fields = fields;
+    }
+  }
+
+}
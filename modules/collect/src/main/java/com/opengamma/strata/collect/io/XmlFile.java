@@ -7,8 +7,13 @@ package com.opengamma.strata.collect.io;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
 import javax.xml.stream.XMLInputFactory;
@@ -30,7 +35,8 @@ import com.opengamma.strata.collect.Unchecked;
  * This uses the standard StAX API to parse the file.
  * Once parsed, the XML is represented as a DOM-like structure, see {@link XmlElement}.
  * This approach is suitable for XML files where the size of the parsed XML file is
- * known to be manageable in memory.
+ * known to be manageable in memory. For larger files, {@link #parseSelected(ByteSource, String, Predicate, Consumer)}
+ * can be used to parse selected elements one at a time.
  * <p>
  * Note that the {@link XmlElement} representation does not express all XML features.
  * No support is provided for processing instructions, comments or mixed content.
@@ -147,6 +153,67 @@ public final class XmlFile {
     });
   }
 
+  /**
+   * Parses selected elements from the specified XML, passing each to the consumer as it is parsed.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * The file is read as a stream, with only the selected elements parsed to an in-memory structure.
+   * This approach allows very large files to be processed with flat memory usage.
+   * <p>
+   * The filter function is passed the path to each element, which is the list of element names
+   * from the root element to the element being tested inclusive. The list must not be retained.
+   * If the function returns true, the element and its children are parsed and passed to the consumer.
+   * Elements within a selected element are not passed to the filter function.
+   * <p>
+   * Each selected element is passed to the consumer as an {@code XmlFile}, where the root is the selected element.
+   * The references, as described in {@link #of(ByteSource, String)}, only include elements within
+   * the selected element.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param filterFn  the filter function, passed the path to the element and returning true to select the element
+   * @param consumer  the consumer of the selected elements
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void parseSelected(
+      ByteSource source,
+      String refAttrName,
+      Predicate<List<String>> filterFn,
+      Consumer<XmlFile> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(filterFn, "filterFn");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = XML_FACTORY.createXMLStreamReader(in);
+        try {
+          List<String> path = new ArrayList<>();
+          List<String> pathView = Collections.unmodifiableList(path);
+          while (xmlReader.hasNext()) {
+            int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+              path.add(xmlReader.getLocalName());
+              if (filterFn.test(pathView)) {
+                // parsing consumes the matching end element
+                HashMap<String, XmlElement> refs = new HashMap<>();
+                XmlElement element = parse(xmlReader, refAttrName, refs);
+                path.remove(path.size() - 1);
+                consumer.accept(new XmlFile(element, refs));
+              }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+              path.remove(path.size() - 1);
+            }
+          }
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
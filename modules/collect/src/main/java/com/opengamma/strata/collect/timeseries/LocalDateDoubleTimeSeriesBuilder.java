@@ -289,6 +289,25 @@ public final class LocalDateDoubleTimeSeriesBuilder {
         createSparseSeries();
   }
 
+  /**
+   * Build the time-series from the builder, storing sparse data compactly.
+   * <p>
+   * This is an alternative to {@link #build()} intended for large amounts of long-lived data,
+   * such as fixing histories. Dense data is stored as per {@code build()}.
+   * Sparse data is stored with each date as a primitive epoch-day, rather than as a {@code LocalDate}.
+   *
+   * @return a time-series containing the entries from the builder
+   * @throws IllegalArgumentException if a date is too far from 1970 to be stored as an {@code int} epoch-day
+   */
+  public LocalDateDoubleTimeSeries buildCompact() {
+    if (entries.isEmpty()) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    return density() > DENSITY_THRESHOLD ?
+        createDenseSeries() :
+        EpochDayLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+  }
+
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
         entries.firstKey(),
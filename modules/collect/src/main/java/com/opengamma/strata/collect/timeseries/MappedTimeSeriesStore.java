@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A read-only store of time-series held in a memory-mapped file.
+ * <p>
+ * The store is written once using {@link #write(Path, Map)}, typically from data loaded from CSV.
+ * It can then be opened using {@link #open(Path)}, which maps the file into memory and reads
+ * the index of names. Opening the store is fast, as no time-series data is read at that point.
+ * The data of each time-series remains off-heap until it is requested using {@link #get(String)},
+ * at which point it is copied in bulk into a compact time-series that stores dates as epoch-days.
+ * The time-series is not cached by the store.
+ * <p>
+ * The file consists of a header, an index mapping each name to the location of the data,
+ * and a block of data for each time-series consisting of the values followed by the epoch-days.
+ * The total size of the file is limited to 2Gb.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MappedTimeSeriesStore {
+
+  /**
+   * The magic number at the start of the file, 'OGTS'.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The size of the header, consisting of the magic number, version, series count and index size.
+   */
+  private static final int HEADER_SIZE = 16;
+
+  /**
+   * The file.
+   */
+  private final Path file;
+  /**
+   * The mapped file.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The location of each time-series, keyed by name.
+   */
+  private final ImmutableMap<String, Location> locations;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a store containing the specified time-series.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write
+   * @param series  the time-series to write, keyed by name
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the store would be too large, or a date cannot be stored
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> series) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(series, "series");
+    // build the index, with data offsets relative to the start of the data
+    ByteArrayDataOutput index = ByteStreams.newDataOutput();
+    long dataSize = 0;
+    for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+      index.writeUTF(entry.getKey());
+      index.writeInt(entry.getValue().size());
+      index.writeLong(dataSize);
+      dataSize += align(entry.getValue().size() * 12L);
+    }
+    byte[] indexBytes = index.toByteArray();
+    long dataStart = align(HEADER_SIZE + indexBytes.length);
+    if (dataStart + dataSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(Messages.format("Time-series store is too large: {}", file));
+    }
+    // write the file
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(series.size());
+      out.writeInt(indexBytes.length);
+      out.write(indexBytes);
+      pad(out, dataStart - HEADER_SIZE - indexBytes.length);
+      for (LocalDateDoubleTimeSeries ts : series.values()) {
+        double[] values = ts.values().toArray();
+        for (double value : values) {
+          out.writeDouble(value);
+        }
+        ts.forEach((date, value) -> writeEpochDay(out, date));
+        pad(out, align(values.length * 12L) - values.length * 12L);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes the epoch-day of the date
+  private static void writeEpochDay(DataOutputStream out, LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(Messages.format("Date is outside the supported range: {}", date));
+    }
+    try {
+      out.writeInt((int) epochDay);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes zero bytes
+  private static void pad(DataOutputStream out, long count) throws IOException {
+    for (long i = 0; i < count; i++) {
+      out.writeByte(0);
+    }
+  }
+
+  // aligns the size to a multiple of eight, allowing doubles to be read efficiently
+  private static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a store that was previously written.
+   * <p>
+   * The file is mapped into memory and the index of names is read.
+   * The file must not be altered while the store is in use.
+   *
+   * @param file  the file to open
+   * @return the store
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not a valid store
+   */
+  public static MappedTimeSeriesStore open(Path file) {
+    ArgChecker.notNull(file, "file");
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(Messages.format("File is not a valid time-series store: {}", file));
+      }
+      // mapped buffers remain valid after the channel is closed
+      buffer = channel.map(MapMode.READ_ONLY, 0, size);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return new MappedTimeSeriesStore(file, buffer, readIndex(file, buffer));
+  }
+
+  // reads the index
+  private static ImmutableMap<String, Location> readIndex(Path file, ByteBuffer buffer) {
+    int magic = buffer.getInt(0);
+    int version = buffer.getInt(4);
+    int count = buffer.getInt(8);
+    int indexSize = buffer.getInt(12);
+    if (magic != MAGIC || version != VERSION || count < 0 || indexSize < 0 ||
+        indexSize > buffer.capacity() - HEADER_SIZE) {
+      throw new IllegalArgumentException(Messages.format("File is not a valid time-series store: {}", file));
+    }
+    long dataStart = align(HEADER_SIZE + indexSize);
+    byte[] indexBytes = new byte[indexSize];
+    ByteBuffer indexBuffer = buffer.duplicate();
+    indexBuffer.position(HEADER_SIZE);
+    indexBuffer.get(indexBytes);
+    ImmutableMap.Builder<String, Location> builder = ImmutableMap.builder();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(indexBytes))) {
+      for (int i = 0; i < count; i++) {
+        String name = in.readUTF();
+        int size = in.readInt();
+        long offset = dataStart + in.readLong();
+        if (size < 0 || offset < dataStart || offset + size * 12L > buffer.capacity()) {
+          throw new IllegalArgumentException(Messages.format("File is not a valid time-series store: {}", file));
+        }
+        builder.put(name, new Location((int) offset, size));
+      }
+    } catch (IOException ex) {
+      throw new IllegalArgumentException(Messages.format("File is not a valid time-series store: {}", file), ex);
+    }
+    return builder.build();
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesStore(Path file, ByteBuffer buffer, ImmutableMap<String, Location> locations) {
+    this.file = file;
+    this.buffer = buffer;
+    this.locations = locations;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the file that the store was opened from.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Gets the names of the time-series in the store.
+   *
+   * @return the names
+   */
+  public ImmutableSet<String> getNames() {
+    return locations.keySet();
+  }
+
+  /**
+   * Checks if the store contains a time-series with the specified name.
+   *
+   * @param name  the name to check
+   * @return true if the store contains the time-series
+   */
+  public boolean contains(String name) {
+    return locations.containsKey(name);
+  }
+
+  /**
+   * Gets the time-series with the specified name.
+   * <p>
+   * The data is copied from the mapped file each time this method is called.
+   *
+   * @param name  the name to find
+   * @return the time-series
+   * @throws IllegalArgumentException if the name is not found
+   */
+  public LocalDateDoubleTimeSeries get(String name) {
+    return find(name).orElseThrow(
+        () -> new IllegalArgumentException(Messages.format("Unable to find time-series: {}", name)));
+  }
+
+  /**
+   * Finds the time-series with the specified name.
+   * <p>
+   * The data is copied from the mapped file each time this method is called.
+   *
+   * @param name  the name to find
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> find(String name) {
+    Location location = locations.get(name);
+    if (location == null) {
+      return Optional.empty();
+    }
+    if (location.size == 0) {
+      return Optional.of(LocalDateDoubleTimeSeries.empty());
+    }
+    // duplicate the buffer to ensure thread-safety
+    double[] values = new double[location.size];
+    int[] epochDays = new int[location.size];
+    ByteBuffer data = buffer.duplicate();
+    data.position(location.offset);
+    data.asDoubleBuffer().get(values);
+    data.position(location.offset + location.size * 8);
+    data.asIntBuffer().get(epochDays);
+    return Optional.of(EpochDayLocalDateDoubleTimeSeries.of(epochDays, values));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesStore[" + file + ", " + locations.size() + " series]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The location of a time-series in the file.
+   */
+  private static final class Location {
+    /**
+     * The offset of the data from the start of the file.
+     */
+    private final int offset;
+    /**
+     * The number of points in the time-series.
+     */
+    private final int size;
+
+    private Location(int offset, int size) {
+      this.offset = offset;
+      this.size = size;
+    }
+  }
+
+}
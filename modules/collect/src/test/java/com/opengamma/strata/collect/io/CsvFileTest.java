@@ -10,9 +10,12 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -517,6 +520,86 @@ public class CsvFileTest {
     assertThat(withNewHeaders.rows().get(0).fields()).isEqualTo(csvFile.row(0).fields());
   }
 
+  //-------------------------------------------------------------------------
+  public static Object[][] data_parallel() {
+    return new Object[][] {
+        {CSV1, ','},
+        {CSV1T, '\t'},
+        {CSV2, ','},
+        {CSV3, ','},
+        {CSV4, ','},
+        {CSV4B, ','},
+        {CSV5, ','},
+        {CSV6, ','},
+        {CSV7, ','},
+        {CSV2.replace("\n", "\r\n"), ','},
+        {CSV2.replace("\n", "\r"), ','},
+        {"h1,h2\r\n\r\nr11,r12\rr21,r22\n\nr31,\"r32\r\n", ','},
+        {"# only a comment\n\nh1,\"h\u00e92\"\nr\u65e5\u672c,r12\n", ','},
+    };
+  }
+
+  @ParameterizedTest
+  @MethodSource("data_parallel")
+  public void test_ofParallel(String input, char separator) {
+    for (boolean headerRow : new boolean[] {true, false}) {
+      CsvFile expected = CsvFile.of(CharSource.wrap(input), headerRow, separator);
+      assertParallel(CsvFile.ofParallel(CharSource.wrap(input), headerRow, separator), expected);
+      for (int chunkSize = 1; chunkSize < 10; chunkSize++) {
+        assertParallel(ParallelCsvParser.parse(input, headerRow, separator, chunkSize), expected);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("data_parallel")
+  public void test_ofParallel_file(String input, char separator) throws IOException {
+    Path file = java.nio.file.Files.createTempFile("csv-file-test", ".csv");
+    try {
+      for (boolean bom : new boolean[] {true, false}) {
+        String content = bom ? "\uFEFF" + input : input;
+        java.nio.file.Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        for (boolean headerRow : new boolean[] {true, false}) {
+          CsvFile expected = CsvFile.of(CharSource.wrap(input), headerRow, separator);
+          assertParallel(CsvFile.ofParallel(file, headerRow, separator), expected);
+          for (int chunkSize = 1; chunkSize < 10; chunkSize++) {
+            assertParallel(ParallelCsvParser.parse(file, headerRow, separator, chunkSize), expected);
+          }
+        }
+      }
+    } finally {
+      java.nio.file.Files.delete(file);
+    }
+  }
+
+  // checks the content and line numbers match
+  private static void assertParallel(CsvFile test, CsvFile expected) {
+    assertThat(test).isEqualTo(expected);
+    for (int i = 0; i < expected.rowCount(); i++) {
+      assertThat(test.row(i).lineNumber()).isEqualTo(expected.row(i).lineNumber());
+    }
+  }
+
+  @Test
+  public void test_ofParallel_defaultSeparator() {
+    assertThat(CsvFile.ofParallel(CharSource.wrap(CSV1), true)).isEqualTo(CsvFile.of(CharSource.wrap(CSV1), true));
+  }
+
+  @Test
+  public void test_ofParallel_empty_with_header() {
+    assertThatIllegalArgumentException().isThrownBy(() -> CsvFile.ofParallel(CharSource.wrap(""), true));
+    assertThatIllegalArgumentException().isThrownBy(() -> CsvFile.ofParallel(CharSource.wrap("#comment\n\n"), true));
+  }
+
+  @Test
+  public void test_ofParallel_ioException() {
+    CharSource directory = Files.asCharSource(new File("src/test/resources"), StandardCharsets.UTF_8);
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> CsvFile.ofParallel(directory, false));
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> CsvFile.ofParallel(Paths.get("src/test/resources/does-not-exist.csv"), false));
+  }
+
   //-------------------------------------------------------------------------
   public static Object[][] data_findSeparator() {
     return new Object[][] {
@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -207,6 +208,51 @@ public class XmlFileTest {
         .isThrownBy(() -> XmlFile.parseElements(source, name -> Integer.MAX_VALUE));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_parseSelected_ByteSource() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> selected = new ArrayList<>();
+    XmlFile.parseSelected(source, "key", path -> path.equals(ImmutableList.of("base", "test")), selected::add);
+    assertThat(selected).hasSize(1);
+    XmlFile test = selected.get(0);
+    assertThat(test.getRoot()).isEqualTo(XmlElement.ofChildren("test", ATTR_MAP, CHILD_LIST_MULTI));
+    assertThat(test.getReferences()).isEqualTo(ImmutableMap.of("value", test.getRoot()));
+  }
+
+  @Test
+  public void test_parseSelected_ByteSource_multiple() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> selected = new ArrayList<>();
+    XmlFile.parseSelected(
+        source, "key", path -> path.get(path.size() - 1).startsWith("leaf"), file -> selected.add(file.getRoot()));
+    assertThat(selected).containsExactly(LEAF1, LEAF2A, LEAF2B, LEAF3);
+  }
+
+  @Test
+  public void test_parseSelected_ByteSource_nested() {
+    // elements within a selected element are not passed to the filter
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> selected = new ArrayList<>();
+    XmlFile.parseSelected(
+        source, "key", path -> path.size() >= 3, file -> selected.add(file.getRoot()));
+    assertThat(selected).containsExactly(LEAF1, LEAF2A, LEAF2B, OBJ);
+  }
+
+  @Test
+  public void test_parseSelected_ByteSource_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> XmlFile.parseSelected(source, "key", path -> path.size() == 2, file -> {}));
+  }
+
+  @Test
+  public void test_parseSelected_ByteSource_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> XmlFile.parseSelected(source, "key", path -> true, file -> {}));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_equalsHashCodeToString() {
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link EpochDayLocalDateDoubleTimeSeries}.
+ */
+public class EpochDayLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2011_06_01 = date(2011, 6, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final LocalDate DATE_2014_01_01 = date(2014, 1, 1);
+  private static final ImmutableList<LocalDate> DATES_2010_14 = ImmutableList.of(
+      DATE_2010_01_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01, DATE_2014_01_01);
+  private static final ImmutableList<Double> VALUES_10_14 = ImmutableList.of(10d, 11d, 12d, 13d, 14d);
+  private static final EpochDayLocalDateDoubleTimeSeries SERIES =
+      EpochDayLocalDateDoubleTimeSeries.of(DATES_2010_14, VALUES_10_14);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    assertThat(SERIES.isEmpty()).isFalse();
+    assertThat(SERIES.size()).isEqualTo(5);
+    assertThat(SERIES.containsDate(DATE_2011_01_01)).isTrue();
+    assertThat(SERIES.containsDate(DATE_2011_06_01)).isFalse();
+    assertThat(SERIES.get(DATE_2012_01_01)).isEqualTo(OptionalDouble.of(12d));
+    assertThat(SERIES.get(DATE_2011_06_01)).isEqualTo(OptionalDouble.empty());
+    assertThat(SERIES.get(LocalDate.MIN)).isEqualTo(OptionalDouble.empty());
+    assertThat(SERIES.get(LocalDate.MAX)).isEqualTo(OptionalDouble.empty());
+    assertThat(SERIES.getEarliestDate()).isEqualTo(DATE_2010_01_01);
+    assertThat(SERIES.getLatestDate()).isEqualTo(DATE_2014_01_01);
+    assertThat(SERIES.getLatestValue()).isEqualTo(14d);
+    assertThat(SERIES.dates()).containsExactlyElementsOf(DATES_2010_14);
+    assertThat(SERIES.values().boxed()).containsExactlyElementsOf(VALUES_10_14);
+    assertThat(SERIES.stream()).contains(LocalDateDoublePoint.of(DATE_2013_01_01, 13d));
+  }
+
+  @Test
+  public void test_of_arrays() {
+    EpochDayLocalDateDoubleTimeSeries test = EpochDayLocalDateDoubleTimeSeries.of(
+        new int[] {(int) DATE_2010_01_01.toEpochDay(), (int) DATE_2011_01_01.toEpochDay()}, new double[] {1d, 2d});
+    assertThat(test.get(DATE_2010_01_01)).isEqualTo(OptionalDouble.of(1d));
+    assertThat(test.get(DATE_2011_01_01)).isEqualTo(OptionalDouble.of(2d));
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EpochDayLocalDateDoubleTimeSeries.of(
+            ImmutableList.of(DATE_2011_01_01, DATE_2010_01_01), ImmutableList.of(1d, 2d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EpochDayLocalDateDoubleTimeSeries.of(
+            ImmutableList.of(DATE_2010_01_01, DATE_2010_01_01), ImmutableList.of(1d, 2d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EpochDayLocalDateDoubleTimeSeries.of(ImmutableList.of(DATE_2010_01_01), ImmutableList.of()));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EpochDayLocalDateDoubleTimeSeries.of(ImmutableList.of(LocalDate.MAX), ImmutableList.of(1d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EpochDayLocalDateDoubleTimeSeries.of(new int[] {2, 1}, new double[] {1d, 2d}));
+  }
+
+  @Test
+  public void test_empty() {
+    EpochDayLocalDateDoubleTimeSeries test = EpochDayLocalDateDoubleTimeSeries.EMPTY;
+    assertThat(test.isEmpty()).isTrue();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.get(DATE_2010_01_01)).isEqualTo(OptionalDouble.empty());
+    assertThat(test.subSeries(DATE_2010_01_01, DATE_2014_01_01)).isSameAs(test);
+    assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> test.getLatestDate());
+    assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> test.getLatestValue());
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_immutableViaBeanBuilder() {
+    int[] epochDays = {(int) DATE_2010_01_01.toEpochDay(), (int) DATE_2011_01_01.toEpochDay()};
+    double[] values = {6, 5};
+    BeanBuilder<? extends LocalDateDoubleTimeSeries> builder = EpochDayLocalDateDoubleTimeSeries.meta().builder();
+    builder.set("epochDays", epochDays);
+    builder.set("values", values);
+    LocalDateDoubleTimeSeries test = builder.build();
+    epochDays[0] = 0;
+    values[0] = -1;
+    assertThat(test.stream())
+        .containsExactly(LocalDateDoublePoint.of(DATE_2010_01_01, 6d), LocalDateDoublePoint.of(DATE_2011_01_01, 5d));
+  }
+
+  @Test
+  public void test_immutableViaBeanGet() {
+    int[] epochDays = (int[]) ((Bean) SERIES).property("epochDays").get();
+    epochDays[0] = 0;
+    double[] values = (double[]) ((Bean) SERIES).property("values").get();
+    values[0] = -1;
+    assertThat(SERIES.getEarliestDate()).isEqualTo(DATE_2010_01_01);
+    assertThat(SERIES.getEarliestValue()).isEqualTo(10d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_subSeries() {
+    assertThat(SERIES.subSeries(DATE_2011_01_01, DATE_2013_01_01).dates())
+        .containsExactly(DATE_2011_01_01, DATE_2012_01_01);
+    assertThat(SERIES.subSeries(DATE_2011_06_01, LocalDate.MAX).dates())
+        .containsExactly(DATE_2012_01_01, DATE_2013_01_01, DATE_2014_01_01);
+    assertThat(SERIES.subSeries(LocalDate.MIN, DATE_2011_06_01).dates())
+        .containsExactly(DATE_2010_01_01, DATE_2011_01_01);
+    assertThat(SERIES.subSeries(DATE_2011_01_01, DATE_2011_01_01).isEmpty()).isTrue();
+    assertThatIllegalArgumentException().isThrownBy(() -> SERIES.subSeries(DATE_2011_01_01, DATE_2010_01_01));
+  }
+
+  @Test
+  public void test_headTailSeries() {
+    assertThat(SERIES.headSeries(2).dates()).containsExactly(DATE_2010_01_01, DATE_2011_01_01);
+    assertThat(SERIES.headSeries(0).isEmpty()).isTrue();
+    assertThat(SERIES.headSeries(6)).isSameAs(SERIES);
+    assertThat(SERIES.tailSeries(2).dates()).containsExactly(DATE_2013_01_01, DATE_2014_01_01);
+    assertThat(SERIES.tailSeries(0).isEmpty()).isTrue();
+    assertThat(SERIES.tailSeries(6)).isSameAs(SERIES);
+    assertThatIllegalArgumentException().isThrownBy(() -> SERIES.headSeries(-1));
+    assertThatIllegalArgumentException().isThrownBy(() -> SERIES.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_mapDates() {
+    LocalDateDoubleTimeSeries test = SERIES.mapDates(date -> date.plusYears(1));
+    assertThat(test.getEarliestDate()).isEqualTo(DATE_2011_01_01);
+    assertThat(test.getLatestDate()).isEqualTo(date(2015, 1, 1));
+    assertThat(test.values().boxed()).containsExactlyElementsOf(VALUES_10_14);
+    assertThatIllegalArgumentException().isThrownBy(() -> SERIES.mapDates(date -> DATE_2010_01_01));
+  }
+
+  @Test
+  public void test_mapValues() {
+    LocalDateDoubleTimeSeries test = SERIES.mapValues(value -> value * 2);
+    assertThat(test.dates()).containsExactlyElementsOf(DATES_2010_14);
+    assertThat(test.values()).containsExactly(20d, 22d, 24d, 26d, 28d);
+  }
+
+  @Test
+  public void test_filter() {
+    LocalDateDoubleTimeSeries test = SERIES.filter((date, value) -> date.getYear() >= 2012 && value % 2 == 0);
+    assertThat(test.dates()).containsExactly(DATE_2012_01_01, DATE_2014_01_01);
+    assertThat(test.values()).containsExactly(12d, 14d);
+  }
+
+  @Test
+  public void test_toBuilder() {
+    LocalDateDoubleTimeSeries test = SERIES.toBuilder().put(DATE_2011_06_01, 1d).buildCompact();
+    assertThat(test.size()).isEqualTo(6);
+    assertThat(test.get(DATE_2011_06_01)).isEqualTo(OptionalDouble.of(1d));
+    assertThat(SERIES.toBuilder().buildCompact()).isEqualTo(SERIES);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_equals() {
+    EpochDayLocalDateDoubleTimeSeries other = EpochDayLocalDateDoubleTimeSeries.of(DATES_2010_14, VALUES_10_14);
+    assertThat(SERIES).isEqualTo(other);
+    assertThat(SERIES.hashCode()).isEqualTo(other.hashCode());
+    assertThat(SERIES).isNotEqualTo(SERIES.mapValues(value -> value + 1));
+    assertThat(SERIES).isNotEqualTo(SERIES.mapDates(date -> date.plusDays(1)));
+    assertThat(SERIES.equals("")).isFalse();
+    assertThat(SERIES.equals(null)).isFalse();
+    assertThat(SERIES.toString()).isEqualTo(
+        LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build().toString());
+  }
+
+  @Test
+  public void coverage() {
+    coverImmutableBean(SERIES);
+    EpochDayLocalDateDoubleTimeSeries test2 = EpochDayLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2011_06_01, DATE_2012_01_01), ImmutableList.of(2d, 3d));
+    coverBeanEquals(SERIES, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(SERIES);
+  }
+
+  //-------------------------------------------------------------------------
+  private static LocalDate date(int year, int month, int day) {
+    return LocalDate.of(year, month, day);
+  }
+
+}
@@ -217,6 +217,28 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertThat(series5.getClass()).isEqualTo(DenseLocalDateDoubleTimeSeries.class);
   }
 
+  @Test
+  public void densityChoosesImplementation_compact() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 5), 14) // Monday
+        .put(date(2015, 1, 12), 12)
+        .put(date(2015, 1, 19), 13);
+    LocalDateDoubleTimeSeries series1 = builder.buildCompact();
+    assertThat(series1.getClass()).isEqualTo(EpochDayLocalDateDoubleTimeSeries.class);
+    assertThat(series1.stream()).containsExactlyElementsOf(builder.build().stream()::iterator);
+
+    // Add in enough data to be dense
+    builder.put(date(2015, 1, 6), 14)
+        .put(date(2015, 1, 7), 13)
+        .put(date(2015, 1, 8), 12)
+        .put(date(2015, 1, 9), 13)
+        .put(date(2015, 1, 13), 11);
+    assertThat(builder.buildCompact()).isEqualTo(builder.build());
+    assertThat(builder.buildCompact().getClass()).isEqualTo(DenseLocalDateDoubleTimeSeries.class);
+
+    assertThat(LocalDateDoubleTimeSeries.builder().buildCompact()).isEqualTo(LocalDateDoubleTimeSeries.empty());
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link MappedTimeSeriesStore}.
+ */
+public class MappedTimeSeriesStoreTest {
+
+  private static final LocalDate DATE_2015_01_05 = LocalDate.of(2015, 1, 5);
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_05, 1d)
+      .put(DATE_2015_01_05.plusMonths(1), 2d)
+      .put(DATE_2015_01_05.plusMonths(2), 3d)
+      .build();
+  private static final LocalDateDoubleTimeSeries DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_05, 1.5d)
+      .put(DATE_2015_01_05.plusDays(1), 2.5d)
+      .put(DATE_2015_01_05.plusDays(2), 3.5d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SINGLE = LocalDateDoubleTimeSeries.of(DATE_2015_01_05, 4d);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writeOpen() throws IOException {
+    Path file = Files.createTempFile("mapped-time-series-store-test", ".bin");
+    try {
+      ImmutableMap<String, LocalDateDoubleTimeSeries> series = ImmutableMap.of(
+          "Sparse", SPARSE,
+          "Dense", DENSE,
+          "Single", SINGLE,
+          "Empty", LocalDateDoubleTimeSeries.empty());
+      MappedTimeSeriesStore.write(file, series);
+      MappedTimeSeriesStore test = MappedTimeSeriesStore.open(file);
+      assertThat(test.getFile()).isEqualTo(file);
+      assertThat(test.getNames()).containsExactly("Sparse", "Dense", "Single", "Empty");
+      assertThat(test.contains("Sparse")).isTrue();
+      assertThat(test.contains("Unknown")).isFalse();
+      series.forEach((name, expected) -> {
+        LocalDateDoubleTimeSeries loaded = test.get(name);
+        assertThat(loaded.stream()).containsExactlyElementsOf(expected.stream()::iterator);
+        assertThat(test.find(name)).hasValue(loaded);
+      });
+      assertThat(test.get("Sparse")).isInstanceOf(EpochDayLocalDateDoubleTimeSeries.class);
+      assertThat(test.find("Unknown")).isEqualTo(Optional.empty());
+      assertThatIllegalArgumentException().isThrownBy(() -> test.get("Unknown"));
+      assertThat(test.toString()).contains("4 series");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void test_write_noSeries() throws IOException {
+    Path file = Files.createTempFile("mapped-time-series-store-test", ".bin");
+    try {
+      MappedTimeSeriesStore.write(file, ImmutableMap.of());
+      assertThat(MappedTimeSeriesStore.open(file).getNames()).isEmpty();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void test_write_dateOutOfRange() throws IOException {
+    Path file = Files.createTempFile("mapped-time-series-store-test", ".bin");
+    try {
+      assertThatIllegalArgumentException().isThrownBy(() -> MappedTimeSeriesStore.write(
+          file, ImmutableMap.of("Max", LocalDateDoubleTimeSeries.of(LocalDate.MAX, 1d))));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void test_open_invalid() throws IOException {
+    Path file = Files.createTempFile("mapped-time-series-store-test", ".bin");
+    try {
+      Files.write(file, new byte[] {1, 2, 3});
+      assertThatIllegalArgumentException().isThrownBy(() -> MappedTimeSeriesStore.open(file));
+      Files.write(file, "Reference,Date,Value\nA,2015-01-01,1\n".getBytes("UTF-8"));
+      assertThatIllegalArgumentException().isThrownBy(() -> MappedTimeSeriesStore.open(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A provider of FX rates for scenarios that caches the rates of another provider.
+ * <p>
+ * Converting results to a reporting currency typically requests the same small set of rates many times.
+ * Each request to a provider backed by market data looks up, and possibly triangulates, the rate.
+ * This provider queries the underlying provider once for each currency pair and scenario,
+ * and then returns the cached rate.
+ * <p>
+ * Each currency is assigned a dense ordinal when first seen, which is used to index a table of
+ * cross rates held in a primitive array for each scenario. Once cached, finding a rate takes
+ * constant time and does not allocate.
+ * <p>
+ * The rates are cached exactly as returned by the underlying provider, thus the rates match it.
+ * If the underlying provider cannot provide a rate, nothing is cached and the exception is propagated.
+ * <p>
+ * This class is thread-safe. The underlying provider must return the same rate each time it is queried.
+ */
+public final class CachedScenarioFxRateProvider
+    implements ScenarioFxRateProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final ScenarioFxRateProvider underlying;
+  /**
+   * The ordinals of the currencies, assigned when first seen.
+   */
+  private final ConcurrentMap<Currency, Integer> ordinals = new ConcurrentHashMap<>();
+  /**
+   * The next ordinal to be assigned.
+   */
+  private final AtomicInteger nextOrdinal = new AtomicInteger();
+  /**
+   * The tables of cross rates, one for each scenario, null until first used.
+   */
+  private final AtomicReferenceArray<RateTable> tables;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the rates of the specified provider.
+   * <p>
+   * If the provider is already caching, it is returned.
+   *
+   * @param underlying  the underlying provider
+   * @return the caching provider
+   */
+  public static CachedScenarioFxRateProvider of(ScenarioFxRateProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachedScenarioFxRateProvider) {
+      return (CachedScenarioFxRateProvider) underlying;
+    }
+    return new CachedScenarioFxRateProvider(underlying);
+  }
+
+  // restricted constructor
+  private CachedScenarioFxRateProvider(ScenarioFxRateProvider underlying) {
+    this.underlying = underlying;
+    this.tables = new AtomicReferenceArray<>(underlying.getScenarioCount());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return underlying.getScenarioCount();
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1;
+    }
+    if (scenarioIndex < 0 || scenarioIndex >= tables.length()) {
+      // the underlying provider is responsible for the exception
+      return underlying.fxRate(baseCurrency, counterCurrency, scenarioIndex);
+    }
+    int baseOrdinal = ordinal(baseCurrency);
+    int counterOrdinal = ordinal(counterCurrency);
+    RateTable table = tables.get(scenarioIndex);
+    if (table != null) {
+      double rate = table.rate(baseOrdinal, counterOrdinal);
+      if (!Double.isNaN(rate)) {
+        return rate;
+      }
+    }
+    double rate = underlying.fxRate(baseCurrency, counterCurrency, scenarioIndex);
+    if (!Double.isNaN(rate)) {
+      store(scenarioIndex, baseOrdinal, counterOrdinal, rate);
+    }
+    return rate;
+  }
+
+  @Override
+  public FxRateProvider fxRateProvider(int scenarioIndex) {
+    return (baseCurrency, counterCurrency) -> fxRate(baseCurrency, counterCurrency, scenarioIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the ordinal of the currency, assigning one if necessary
+  private int ordinal(Currency currency) {
+    Integer ordinal = ordinals.get(currency);
+    if (ordinal == null) {
+      ordinal = ordinals.computeIfAbsent(currency, ccy -> nextOrdinal.getAndIncrement());
+    }
+    return ordinal;
+  }
+
+  // stores a rate, replacing the table of the scenario
+  private void store(int scenarioIndex, int baseOrdinal, int counterOrdinal, double rate) {
+    RateTable table = tables.get(scenarioIndex);
+    while (!tables.compareAndSet(scenarioIndex, table, RateTable.with(table, baseOrdinal, counterOrdinal, rate))) {
+      table = tables.get(scenarioIndex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachedScenarioFxRateProvider[" + underlying + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * An immutable table of cross rates for one scenario, indexed by currency ordinal.
+   * <p>
+   * A rate that has not been cached is represented by NaN.
+   * A new table is created whenever a rate is added, which only happens once for each currency pair.
+   */
+  private static final class RateTable {
+    /**
+     * The number of currencies in each row.
+     */
+    private final int size;
+    /**
+     * The rates, stored by row of base currency.
+     */
+    private final double[] rates;
+
+    private RateTable(int size, double[] rates) {
+      this.size = size;
+      this.rates = rates;
+    }
+
+    // creates a table with an additional rate, the existing table may be null
+    private static RateTable with(RateTable table, int baseOrdinal, int counterOrdinal, double rate) {
+      int oldSize = table != null ? table.size : 0;
+      int size = Math.max(oldSize, Math.max(baseOrdinal, counterOrdinal) + 1);
+      double[] rates = new double[size * size];
+      Arrays.fill(rates, Double.NaN);
+      for (int i = 0; i < oldSize; i++) {
+        System.arraycopy(table.rates, i * oldSize, rates, i * size, oldSize);
+      }
+      rates[baseOrdinal * size + counterOrdinal] = rate;
+      return new RateTable(size, rates);
+    }
+
+    // finds the rate, NaN if not cached
+    private double rate(int baseOrdinal, int counterOrdinal) {
+      if (baseOrdinal >= size || counterOrdinal >= size) {
+        return Double.NaN;
+      }
+      return rates[baseOrdinal * size + counterOrdinal];
+    }
+  }
+
+}
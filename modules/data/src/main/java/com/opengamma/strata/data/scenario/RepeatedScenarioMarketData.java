@@ -88,6 +88,13 @@ final class RepeatedScenarioMarketData
     return underlying;
   }
 
+  @Override
+  public ScenarioMarketData scenarioRange(int startScenario, int endScenario) {
+    ArgChecker.inRange(startScenario, 0, scenarioCount, "startScenario");
+    ArgChecker.inRangeInclusive(endScenario, startScenario + 1, scenarioCount, "endScenario");
+    return new RepeatedScenarioMarketData(endScenario - startScenario, underlying);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean containsValue(MarketDataId<?> id) {
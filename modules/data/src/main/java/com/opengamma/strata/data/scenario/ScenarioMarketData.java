@@ -154,6 +154,22 @@ public interface ScenarioMarketData {
     return SingleScenarioMarketData.of(this, scenarioIndex);
   }
 
+  /**
+   * Returns market data for a contiguous range of scenarios.
+   * <p>
+   * This returns a view of the market data for the scenarios from {@code startScenario} inclusive
+   * to {@code endScenario} exclusive. Scenario zero of the view is scenario {@code startScenario} of this instance.
+   * This allows the scenarios to be split into batches that are calculated independently.
+   *
+   * @param startScenario  the index of the first scenario, inclusive
+   * @param endScenario  the index of the last scenario, exclusive
+   * @return the market data for the specified range of scenarios
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  public default ScenarioMarketData scenarioRange(int startScenario, int endScenario) {
+    return ScenarioRangeMarketData.of(this, startScenario, endScenario);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Checks if this market data contains a value for the specified identifier.
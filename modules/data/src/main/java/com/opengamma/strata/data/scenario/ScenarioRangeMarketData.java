@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.base.Preconditions;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A view of a contiguous range of scenarios of multi-scenario market data.
+ * <p>
+ * This wraps an instance of {@link ScenarioMarketData} which contains market data for multiple scenarios.
+ * This object returns market data from the scenarios between {@code startScenario} inclusive
+ * and {@code endScenario} exclusive, with scenario zero of this view being {@code startScenario}.
+ */
+@BeanDefinition(style = "light")
+final class ScenarioRangeMarketData
+    implements ImmutableBean, ScenarioMarketData, Serializable {
+
+  /**
+   * The set of market data for all scenarios.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ScenarioMarketData marketData;
+  /**
+   * The index of the first scenario, inclusive.
+   */
+  @PropertyDefinition
+  private final int startScenario;
+  /**
+   * The index of the last scenario, exclusive.
+   */
+  @PropertyDefinition
+  private final int endScenario;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from an underlying set of market data and a range of scenarios.
+   *
+   * @param marketData  the market data
+   * @param startScenario  the index of the first scenario, inclusive
+   * @param endScenario  the index of the last scenario, exclusive
+   * @return the market data
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  public static ScenarioRangeMarketData of(ScenarioMarketData marketData, int startScenario, int endScenario) {
+    return new ScenarioRangeMarketData(marketData, startScenario, endScenario);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.inRange(startScenario, 0, marketData.getScenarioCount(), "startScenario");
+    ArgChecker.inRangeInclusive(endScenario, startScenario + 1, marketData.getScenarioCount(), "endScenario");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return slice(marketData.getValuationDate());
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return endScenario - startScenario;
+  }
+
+  @Override
+  public Stream<MarketData> scenarios() {
+    return IntStream.range(startScenario, endScenario)
+        .mapToObj(scenarioIndex -> marketData.scenario(scenarioIndex));
+  }
+
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    Preconditions.checkElementIndex(scenarioIndex, getScenarioCount(), "scenarioIndex");
+    return marketData.scenario(startScenario + scenarioIndex);
+  }
+
+  @Override
+  public ScenarioMarketData scenarioRange(int startScenario, int endScenario) {
+    ArgChecker.inRange(startScenario, 0, getScenarioCount(), "startScenario");
+    ArgChecker.inRangeInclusive(endScenario, startScenario + 1, getScenarioCount(), "endScenario");
+    return marketData.scenarioRange(this.startScenario + startScenario, this.startScenario + endScenario);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return marketData.containsValue(id);
+  }
+
+  @Override
+  public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    return slice(marketData.getValue(id));
+  }
+
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    return marketData.findValue(id).map(box -> slice(box));
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return marketData.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return marketData.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return marketData.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return marketData.getTimeSeries(id);
+  }
+
+  // restricts a box to the range of scenarios
+  private <T> MarketDataBox<T> slice(MarketDataBox<T> box) {
+    if (box.isSingleValue()) {
+      return box;
+    }
+    return MarketDataBox.ofScenarioValue(
+        ScenarioArray.of(getScenarioCount(), scenarioIndex -> box.getValue(startScenario + scenarioIndex)));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioRangeMarketData}.
+   */
+  private static final TypedMetaBean<ScenarioRangeMarketData> META_BEAN =
+      LightMetaBean.of(
+          ScenarioRangeMarketData.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "marketData",
+              "startScenario",
+              "endScenario"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code ScenarioRangeMarketData}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ScenarioRangeMarketData> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ScenarioRangeMarketData(
+      ScenarioMarketData marketData,
+      int startScenario,
+      int endScenario) {
+    JodaBeanUtils.notNull(marketData, "marketData");
+    this.marketData = marketData;
+    this.startScenario = startScenario;
+    this.endScenario = endScenario;
+    validate();
+  }
+
+  @Override
+  public TypedMetaBean<ScenarioRangeMarketData> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the set of market data for all scenarios.
+   * @return the value of the property, not null
+   */
+  public ScenarioMarketData getMarketData() {
+    return marketData;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the first scenario, inclusive.
+   * @return the value of the property
+   */
+  public int getStartScenario() {
+    return startScenario;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the last scenario, exclusive.
+   * @return the value of the property
+   */
+  public int getEndScenario() {
+    return endScenario;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioRangeMarketData other = (ScenarioRangeMarketData) obj;
+      return JodaBeanUtils.equal(marketData, other.marketData) &&
+          (startScenario == other.startScenario) &&
+          (endScenario == other.endScenario);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(marketData);
+    hash = hash * 31 + JodaBeanUtils.hashCode(startScenario);
+    hash = hash * 31 + JodaBeanUtils.hashCode(endScenario);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ScenarioRangeMarketData{");
+    buf.append("marketData").append('=').append(JodaBeanUtils.toString(marketData)).append(',').append(' ');
+    buf.append("startScenario").append('=').append(JodaBeanUtils.toString(startScenario)).append(',').append(' ');
+    buf.append("endScenario").append('=').append(JodaBeanUtils.toString(endScenario));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
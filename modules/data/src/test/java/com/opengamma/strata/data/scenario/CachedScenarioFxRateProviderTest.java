@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.JPY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+
+/**
+ * Test {@link CachedScenarioFxRateProvider}.
+ */
+public class CachedScenarioFxRateProviderTest {
+
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+      .addScenarioValue(
+          FxRateId.of(GBP, USD),
+          FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.4d, 1.5d, 1.6d)))
+      .addScenarioValue(
+          FxRateId.of(EUR, USD),
+          FxRateScenarioArray.of(EUR, USD, DoubleArray.of(1.1d, 1.2d, 1.3d)))
+      .build();
+  private static final ScenarioFxRateProvider UNDERLYING = ScenarioFxRateProvider.of(MARKET_DATA);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(UNDERLYING);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(CachedScenarioFxRateProvider.of(test)).isSameAs(test);
+  }
+
+  @Test
+  public void test_fxRate_matchesUnderlying() {
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(UNDERLYING);
+    Currency[] currencies = {GBP, USD, EUR};
+    // twice, so the second pass uses the cache
+    for (int pass = 0; pass < 2; pass++) {
+      for (int i = 0; i < 3; i++) {
+        for (Currency base : currencies) {
+          for (Currency counter : currencies) {
+            assertThat(test.fxRate(base, counter, i)).isEqualTo(UNDERLYING.fxRate(base, counter, i));
+            assertThat(test.convert(2d, base, counter, i)).isEqualTo(UNDERLYING.convert(2d, base, counter, i));
+            assertThat(test.fxRateProvider(i).fxRate(base, counter))
+                .isEqualTo(UNDERLYING.fxRateProvider(i).fxRate(base, counter));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void test_fxRate_cached() {
+    CountingProvider counting = new CountingProvider(UNDERLYING);
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(counting);
+    for (int n = 0; n < 10; n++) {
+      assertThat(test.fxRate(GBP, USD, 1)).isEqualTo(1.5d);
+      assertThat(test.fxRate(GBP, GBP, 1)).isEqualTo(1d);
+    }
+    assertThat(counting.count.get()).isEqualTo(1);
+    assertThat(test.fxRate(USD, GBP, 1)).isEqualTo(1d / 1.5d);
+    assertThat(test.fxRate(GBP, USD, 2)).isEqualTo(1.6d);
+    assertThat(test.fxRate(GBP, EUR, 2)).isEqualTo(1.6d / 1.3d);
+    assertThat(counting.count.get()).isEqualTo(4);
+    test.fxRate(USD, GBP, 1);
+    test.fxRate(GBP, EUR, 2);
+    test.fxRateProvider(2).fxRate(GBP, USD);
+    assertThat(counting.count.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void test_fxRate_missing() {
+    CountingProvider counting = new CountingProvider(UNDERLYING);
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(counting);
+    assertThatExceptionOfType(MarketDataNotFoundException.class).isThrownBy(() -> test.fxRate(GBP, JPY, 0));
+    assertThatExceptionOfType(MarketDataNotFoundException.class).isThrownBy(() -> test.fxRate(GBP, JPY, 0));
+    assertThat(counting.count.get()).isEqualTo(2);
+    assertThat(test.fxRate(GBP, USD, 0)).isEqualTo(1.4d);
+  }
+
+  @Test
+  public void test_fxRate_badScenarioIndex() {
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(UNDERLYING);
+    assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> test.fxRate(GBP, USD, 3));
+    assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> test.fxRate(GBP, USD, -1));
+  }
+
+  @Test
+  public void test_fxRate_parallel() {
+    CachedScenarioFxRateProvider test = CachedScenarioFxRateProvider.of(UNDERLYING);
+    Currency[] currencies = {GBP, USD, EUR};
+    IntStream.range(0, 10_000).parallel().forEach(n -> {
+      int scenarioIndex = n % 3;
+      Currency base = currencies[n % 3];
+      Currency counter = currencies[(n / 3) % 3];
+      assertThat(test.fxRate(base, counter, scenarioIndex))
+          .isEqualTo(UNDERLYING.fxRate(base, counter, scenarioIndex));
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // counts the calls to the underlying provider
+  private static final class CountingProvider implements ScenarioFxRateProvider {
+    private final ScenarioFxRateProvider underlying;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private CountingProvider(ScenarioFxRateProvider underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return underlying.getScenarioCount();
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return (base, counter) -> {
+        count.incrementAndGet();
+        return underlying.fxRate(base, counter, scenarioIndex);
+      };
+    }
+  }
+
+}
@@ -11,6 +11,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -80,6 +81,15 @@ public class RepeatedScenarioMarketDataTest {
     assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.scenario(2));
   }
 
+  @Test
+  public void test_scenarioRange() {
+    RepeatedScenarioMarketData test = RepeatedScenarioMarketData.of(4, BASE_DATA);
+    assertThat(test.scenarioRange(1, 3)).isEqualTo(RepeatedScenarioMarketData.of(2, BASE_DATA));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenarioRange(-1, 3));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenarioRange(1, 1));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenarioRange(1, 5));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Test {@link ScenarioRangeMarketData}.
+ */
+public class ScenarioRangeMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final MarketDataBox<Double> BOX1 = MarketDataBox.ofScenarioValues(1d, 2d, 3d, 4d);
+  private static final MarketDataBox<Double> BOX2 = MarketDataBox.ofSingleValue(5d);
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ScenarioMarketData BASE_DATA = baseData();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 1, 3);
+    assertThat(test.getMarketData()).isEqualTo(BASE_DATA);
+    assertThat(test.getStartScenario()).isEqualTo(1);
+    assertThat(test.getEndScenario()).isEqualTo(3);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.containsValue(ID1)).isTrue();
+    assertThat(test.containsValue(ID3)).isFalse();
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(2d, 3d));
+    assertThat(test.getValue(ID2)).isEqualTo(BOX2);
+    assertThatExceptionOfType(MarketDataNotFoundException.class).isThrownBy(() -> test.getValue(ID3));
+    assertThat(test.findValue(ID1)).hasValue(MarketDataBox.ofScenarioValues(2d, 3d));
+    assertThat(test.findValue(ID3)).isEmpty();
+    assertThat(test.getIds()).isEqualTo(ImmutableSet.of(ID1, ID2));
+    assertThat(test.getTimeSeriesIds()).isEqualTo(ImmutableSet.of(ID1));
+    assertThat(test.getTimeSeries(ID1)).isEqualTo(TIME_SERIES);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioRangeMarketData.of(BASE_DATA, -1, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioRangeMarketData.of(BASE_DATA, 4, 5));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioRangeMarketData.of(BASE_DATA, 2, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioRangeMarketData.of(BASE_DATA, 2, 5));
+  }
+
+  @Test
+  public void test_scenarios() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 1, 3);
+    assertThat(test.scenarios().map(md -> md.getValue(ID1)).collect(Collectors.toList())).containsExactly(2d, 3d);
+    assertThat(test.scenario(0).getValue(ID1)).isEqualTo(2d);
+    assertThat(test.scenario(1).getValue(ID1)).isEqualTo(3d);
+    assertThat(test.scenario(1).getValue(ID2)).isEqualTo(5d);
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.scenario(-1));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.scenario(2));
+  }
+
+  @Test
+  public void test_scenarioRange() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 4).scenarioRange(1, 3);
+    assertThat(test).isEqualTo(ScenarioRangeMarketData.of(BASE_DATA, 2, 4));
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(3d, 4d));
+    assertThatIllegalArgumentException().isThrownBy(() -> BASE_DATA.scenarioRange(1, 4).scenarioRange(1, 4));
+  }
+
+  @Test
+  public void test_getScenarioValue() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(2, 4);
+    DoubleScenarioArray scenarioValue = test.getScenarioValue(new TestScenarioArrayId(ID1));
+    assertThat(scenarioValue.getValues().toArray()).containsExactly(3d, 4d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 1, 3);
+    coverImmutableBean(test);
+    ScenarioRangeMarketData test2 = ScenarioRangeMarketData.of(BASE_DATA, 0, 1);
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void serialization() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 1, 3);
+    assertSerialization(test);
+  }
+
+  //-------------------------------------------------------------------------
+  private static ScenarioMarketData baseData() {
+    Map<MarketDataId<?>, MarketDataBox<?>> dataMap = ImmutableMap.of(ID1, BOX1, ID2, BOX2);
+    Map<ObservableId, LocalDateDoubleTimeSeries> tsMap = ImmutableMap.of(ID1, TIME_SERIES);
+    return ScenarioMarketData.of(4, VAL_DATE, dataMap, tsMap);
+  }
+
+  private static final class TestScenarioArrayId implements ScenarioMarketDataId<Double, DoubleScenarioArray> {
+
+    private final TestObservableId id;
+
+    private TestScenarioArrayId(TestObservableId id) {
+      this.id = id;
+    }
+
+    @Override
+    public MarketDataId<Double> getMarketDataId() {
+      return id;
+    }
+
+    @Override
+    public Class<DoubleScenarioArray> getScenarioMarketDataType() {
+      return DoubleScenarioArray.class;
+    }
+
+    @Override
+    public DoubleScenarioArray createScenarioValue(MarketDataBox<Double> marketDataBox, int scenarioCount) {
+      return DoubleScenarioArray.of(scenarioCount, i -> marketDataBox.getValue(i));
+    }
+  }
+
+}
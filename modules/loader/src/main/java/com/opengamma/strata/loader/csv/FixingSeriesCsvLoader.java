@@ -7,6 +7,8 @@ package com.opengamma.strata.loader.csv;
 
 import static java.util.stream.Collectors.toList;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Arrays;
@@ -26,6 +28,7 @@ import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.io.UnicodeBom;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.loader.LoaderUtils;
 import com.opengamma.strata.market.observable.IndexQuoteId;
@@ -55,6 +58,9 @@ import com.opengamma.strata.market.observable.IndexQuoteId;
  * <p>
  * CSV files sometimes contain a Unicode Byte Order Mark.
  * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+ * <p>
+ * Large fixing histories can be written once to a {@link MappedTimeSeriesStore} using
+ * {@link #writeStore(Path, Collection)}, allowing the store to be opened quickly when required.
  */
 public final class FixingSeriesCsvLoader {
 
@@ -110,12 +116,30 @@ public final class FixingSeriesCsvLoader {
     return builder.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads one or more CSV format fixing series files, writing them to a memory-mapped store.
+   * <p>
+   * Each series is keyed in the store by the string form of its {@linkplain ObservableId observable ID}.
+   * The store can be opened using {@link MappedTimeSeriesStore#open(Path)}.
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param file  the file to write the store to
+   * @param resources  the fixing series CSV resources
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   * @throws UncheckedIOException if an IO exception occurs when writing the store
+   */
+  public static void writeStore(Path file, Collection<ResourceLocator> resources) {
+    ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> series = load(resources);
+    MappedTimeSeriesStore.write(file, MapStream.of(series).mapKeys(id -> id.toString()).toMap());
+  }
+
   //-------------------------------------------------------------------------
   // loads a single fixing series CSV file
   private static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseSingle(CharSource resource) {
     Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> builders = new HashMap<>();
     try {
-      CsvFile csv = CsvFile.of(resource, true);
+      CsvFile csv = CsvFile.ofParallel(resource, true);
       for (CsvRow row : csv.rows()) {
         String referenceStr = row.getField(REFERENCE_FIELD);
         String dateStr = row.getField(DATE_FIELD);
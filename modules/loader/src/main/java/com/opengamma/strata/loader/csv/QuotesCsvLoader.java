@@ -212,7 +212,7 @@ public final class QuotesCsvLoader {
       Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap) {
 
     try {
-      CsvFile csv = CsvFile.of(resource, true);
+      CsvFile csv = CsvFile.ofParallel(resource, true);
       for (CsvRow row : csv.rows()) {
         String dateText = row.getField(DATE_FIELD);
         LocalDate date = LoaderUtils.parseDate(dateText);
@@ -21,9 +21,16 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -384,90 +391,219 @@ public final class TradeCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format trade files, passing each trade to a consumer as soon as it is parsed.
+   * <p>
+   * A type is specified to filter the trades.
+   * Trades that do not match the type are silently dropped.
+   * <p>
+   * Unlike {@link #parse(Collection, Class)}, the trades are not collected into a list.
+   * Instead, each trade and each failure is passed to the appropriate consumer in the order found in the files.
+   * This allows very large files to be processed without holding all the trades in memory.
+   * <p>
+   * If a file cannot be read part way through, the trades that were parsed before the problem
+   * was found will already have been passed to the consumer, and a failure is reported for the file.
+   * Any exception thrown by either consumer is not captured as a failure, and stops the parsing.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param tradeConsumer  the consumer of the parsed trades
+   * @param failureConsumer  the consumer of the failures
+   */
+  public <T extends Trade> void parse(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      Consumer<? super T> tradeConsumer,
+      Consumer<? super FailureItem> failureConsumer) {
+
+    ArgChecker.notNull(tradeConsumer, "tradeConsumer");
+    ArgChecker.notNull(failureConsumer, "failureConsumer");
+    for (CharSource charSource : charSources) {
+      CsvIterator csv;
+      try {
+        csv = CsvIterator.of(charSource, true);
+      } catch (RuntimeException ex) {
+        failureConsumer.accept(fileFailure(charSource, ex));
+        continue;
+      }
+      try {
+        parseFile(charSource, csv, tradeType, tradeConsumer, failureConsumer);
+      } finally {
+        csv.close();
+      }
+    }
+  }
+
+  /**
+   * Parses one or more CSV format trade files lazily, returning a stream of batches of trades.
+   * <p>
+   * A type is specified to filter the trades.
+   * Trades that do not match the type are silently dropped.
+   * <p>
+   * The files are read as the stream is consumed, with each element of the stream containing
+   * the trades and failures found in the next {@code batchSize} trade definitions.
+   * This allows resolving and pricing to start before the whole of a large file has been read,
+   * and avoids holding all the trades in memory at the same time.
+   * A batch may contain fewer trades than the batch size if some were filtered out or failed to parse.
+   * <p>
+   * If a file cannot be read part way through, the trades in earlier batches are unaffected,
+   * and a failure is reported for the file.
+   * <p>
+   * The stream holds an open file while it is being consumed, thus it must be closed,
+   * typically using a try-with-resources block.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param batchSize  the maximum number of trade definitions to read for each batch
+   * @return the lazy stream of batches of trades, with errors captured in each batch
+   */
+  public <T extends Trade> Stream<ValueWithFailures<List<T>>> parseBatches(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      int batchSize) {
+
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    BatchIterator<T> iterator = new BatchIterator<>(ImmutableList.copyOf(charSources).iterator(), tradeType, batchSize);
+    Spliterator<ValueWithFailures<List<T>>> spliterator =
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
       if (!csv.headers().contains(TRADE_TYPE_FIELD)) {
-        return ValueWithFailures.of(
-            ImmutableList.of(),
-            FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TRADE_TYPE_FIELD,
-                charSource));
+        return ValueWithFailures.of(ImmutableList.of(), missingHeaderFailure(charSource));
       }
       return parseFile(csv, tradeType);
 
     } catch (RuntimeException ex) {
-      return ValueWithFailures.of(
-          ImmutableList.of(),
-          FailureItem.of(
-              FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource));
+      return ValueWithFailures.of(ImmutableList.of(), fileFailure(charSource, ex));
     }
   }
 
   // loads a single CSV file
-  @SuppressWarnings("unchecked")
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> tradeType) {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
-    rows:
-    for (CsvRow row : csv.asIterable()) {
-      String typeRaw = row.findField(TRADE_TYPE_FIELD).orElse("");
-      String typeUpper = typeRaw.toUpperCase(Locale.ENGLISH);
+    while (csv.hasNext()) {
+      ValueWithFailures<Optional<T>> parsed = parseRow(csv, csv.next(), tradeType);
+      parsed.getValue().ifPresent(trades::add);
+      failures.addAll(parsed.getFailures());
+    }
+    return ValueWithFailures.of(trades, failures);
+  }
+
+  // loads a single CSV file, passing the trades and failures to the consumers
+  // the consumers are only invoked outside the catch blocks, so anything they throw reaches the caller unchanged
+  private <T extends Trade> void parseFile(
+      CharSource charSource,
+      CsvIterator csv,
+      Class<T> tradeType,
+      Consumer<? super T> tradeConsumer,
+      Consumer<? super FailureItem> failureConsumer) {
+
+    FailureItem fileFailure = null;
+    try {
+      if (!csv.headers().contains(TRADE_TYPE_FIELD)) {
+        fileFailure = missingHeaderFailure(charSource);
+      }
+    } catch (RuntimeException ex) {
+      fileFailure = fileFailure(charSource, ex);
+    }
+    while (fileFailure == null) {
+      ValueWithFailures<Optional<T>> parsed;
       try {
-        TradeInfo info = parseTradeInfo(row);
-        // allow type matching to be overridden
-        Optional<Trade> overrideOpt = resolver.overrideParseTrade(typeUpper, row, info);
-        if (overrideOpt.isPresent()) {
-          if (tradeType.isInstance(overrideOpt.get())) {
-            trades.add(tradeType.cast(overrideOpt.get()));
-          }
-          continue rows;
-        }
-        // standard type matching
-        TradeCsvParserPlugin plugin = PLUGINS.get(typeUpper);
-        if (plugin != null) {
-          List<CsvRow> additionalRows = new ArrayList<>();
-          while (csv.hasNext() && plugin.isAdditionalRow(row, csv.peek())) {
-            additionalRows.add(csv.next());
-          }
-          plugin.parseTrade(tradeType, row, additionalRows, info, resolver)
-              .filter(parsed -> tradeType.isInstance(parsed))
-              .ifPresent(parsed -> trades.add((T) parsed));
-          continue rows;
+        if (!csv.hasNext()) {
+          return;
         }
-        // match type using the resolver
-        Optional<Trade> parsedOpt = resolver.parseOtherTrade(typeUpper, row, info);
-        if (parsedOpt.isPresent()) {
-          if (tradeType.isInstance(parsedOpt.get())) {
-            trades.add(tradeType.cast(parsedOpt.get()));
-          }
-          continue rows;
-        }
-        // better error for VARIABLE
-        if (typeUpper.equals("VARIABLE")) {
-          failures.add(FailureItem.of(
-              FailureReason.PARSING,
-              "CSV file contained a 'Variable' type at line {lineNumber} that was not preceeded by a 'Swap' or 'Swaption'",
-              row.lineNumber()));
-        } else {
-          // failed to find the type
-          failures.add(FailureItem.of(
-              FailureReason.PARSING,
-              "CSV trade file type '{tradeType}' is not known at line {lineNumber}",
-              typeRaw,
-              row.lineNumber()));
-        }
-
+        parsed = parseRow(csv, csv.next(), tradeType);
       } catch (RuntimeException ex) {
-        failures.add(FailureItem.of(
+        fileFailure = fileFailure(charSource, ex);
+        break;
+      }
+      parsed.getValue().ifPresent(tradeConsumer);
+      parsed.getFailures().forEach(failureConsumer);
+    }
+    failureConsumer.accept(fileFailure);
+  }
+
+  // parses a single trade, which may consume additional rows from the iterator
+  // the result contains the trade if it matches the type, or a failure if it could not be parsed
+  @SuppressWarnings("unchecked")
+  private <T extends Trade> ValueWithFailures<Optional<T>> parseRow(CsvIterator csv, CsvRow row, Class<T> tradeType) {
+
+    String typeRaw = row.findField(TRADE_TYPE_FIELD).orElse("");
+    String typeUpper = typeRaw.toUpperCase(Locale.ENGLISH);
+    try {
+      TradeInfo info = parseTradeInfo(row);
+      // allow type matching to be overridden
+      Optional<Trade> overrideOpt = resolver.overrideParseTrade(typeUpper, row, info);
+      if (overrideOpt.isPresent()) {
+        return ValueWithFailures.of(overrideOpt.filter(tradeType::isInstance).map(tradeType::cast));
+      }
+      // standard type matching
+      TradeCsvParserPlugin plugin = PLUGINS.get(typeUpper);
+      if (plugin != null) {
+        List<CsvRow> additionalRows = new ArrayList<>();
+        while (csv.hasNext() && plugin.isAdditionalRow(row, csv.peek())) {
+          additionalRows.add(csv.next());
+        }
+        return ValueWithFailures.of(plugin.parseTrade(tradeType, row, additionalRows, info, resolver)
+            .filter(parsed -> tradeType.isInstance(parsed))
+            .map(parsed -> (T) parsed));
+      }
+      // match type using the resolver
+      Optional<Trade> parsedOpt = resolver.parseOtherTrade(typeUpper, row, info);
+      if (parsedOpt.isPresent()) {
+        return ValueWithFailures.of(parsedOpt.filter(tradeType::isInstance).map(tradeType::cast));
+      }
+      // better error for VARIABLE
+      if (typeUpper.equals("VARIABLE")) {
+        return ValueWithFailures.of(Optional.empty(), FailureItem.of(
+            FailureReason.PARSING,
+            "CSV file contained a 'Variable' type at line {lineNumber} that was not preceeded by a 'Swap' or 'Swaption'",
+            row.lineNumber()));
+      } else {
+        // failed to find the type
+        return ValueWithFailures.of(Optional.empty(), FailureItem.of(
             FailureReason.PARSING,
-            ex,
-            "CSV trade file type '{tradeType}' could not be parsed at line {lineNumber}: {exceptionMessage}",
+            "CSV trade file type '{tradeType}' is not known at line {lineNumber}",
             typeRaw,
-            row.lineNumber(),
-            ex.getMessage()));
+            row.lineNumber()));
       }
+
+    } catch (RuntimeException ex) {
+      return ValueWithFailures.of(Optional.empty(), FailureItem.of(
+          FailureReason.PARSING,
+          ex,
+          "CSV trade file type '{tradeType}' could not be parsed at line {lineNumber}: {exceptionMessage}",
+          typeRaw,
+          row.lineNumber(),
+          ex.getMessage()));
     }
-    return ValueWithFailures.of(trades, failures);
+  }
+
+  // failure when the file does not have the trade type header
+  private static FailureItem missingHeaderFailure(CharSource charSource) {
+    return FailureItem.of(
+        FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TRADE_TYPE_FIELD, charSource);
+  }
+
+  // failure when the file cannot be read
+  private static FailureItem fileFailure(CharSource charSource, RuntimeException ex) {
+    return FailureItem.of(
+        FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource);
   }
 
   // parse the trade info
@@ -487,4 +623,106 @@ public final class TradeCsvLoader {
     return infoBuilder.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Iterator that lazily parses batches of trades.
+   * 
+   * @param <T>  the trade type
+   */
+  private final class BatchIterator<T extends Trade> implements Iterator<ValueWithFailures<List<T>>> {
+    // the sources still to be read
+    private final Iterator<CharSource> charSources;
+    // the trade type
+    private final Class<T> tradeType;
+    // the batch size
+    private final int batchSize;
+    // the source currently being read, null if none
+    private CharSource charSource;
+    // the CSV currently being read, null if none
+    private CsvIterator csv;
+    // the next batch, null if not yet read
+    private ValueWithFailures<List<T>> next;
+
+    private BatchIterator(Iterator<CharSource> charSources, Class<T> tradeType, int batchSize) {
+      this.charSources = charSources;
+      this.tradeType = tradeType;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        next = readBatch();
+      }
+      return next != null;
+    }
+
+    @Override
+    public ValueWithFailures<List<T>> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more batches of trades");
+      }
+      ValueWithFailures<List<T>> batch = next;
+      next = null;
+      return batch;
+    }
+
+    // reads the next batch, returning null when all sources have been read
+    private ValueWithFailures<List<T>> readBatch() {
+      List<T> trades = new ArrayList<>();
+      List<FailureItem> failures = new ArrayList<>();
+      int count = 0;
+      while (count < batchSize) {
+        if (csv == null) {
+          if (!charSources.hasNext()) {
+            break;
+          }
+          openNext(failures);
+          continue;
+        }
+        try {
+          if (!csv.hasNext()) {
+            close();
+            continue;
+          }
+          ValueWithFailures<Optional<T>> parsed = parseRow(csv, csv.next(), tradeType);
+          parsed.getValue().ifPresent(trades::add);
+          failures.addAll(parsed.getFailures());
+          count++;
+        } catch (RuntimeException ex) {
+          failures.add(fileFailure(charSource, ex));
+          close();
+        }
+      }
+      if (count == 0 && failures.isEmpty()) {
+        return null;
+      }
+      return ValueWithFailures.of(trades, failures);
+    }
+
+    // opens the next source
+    private void openNext(List<FailureItem> failures) {
+      charSource = charSources.next();
+      try {
+        csv = CsvIterator.of(charSource, true);
+        if (!csv.headers().contains(TRADE_TYPE_FIELD)) {
+          failures.add(missingHeaderFailure(charSource));
+          close();
+        }
+      } catch (RuntimeException ex) {
+        failures.add(fileFailure(charSource, ex));
+        close();
+      }
+    }
+
+    // closes the current source
+    private void close() {
+      if (csv != null) {
+        CsvIterator toClose = csv;
+        csv = null;
+        toClose.close();
+      }
+    }
+  }
+
 }
@@ -13,6 +13,8 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -252,6 +254,37 @@ public final class FpmlDocument {
     this.strictValidation = strictValidation;
   }
 
+  // creates an instance for a single trade, retaining the parsed parties
+  private FpmlDocument(FpmlDocument base, XmlElement fpmlRootEl, Map<String, XmlElement> references) {
+    this.fpmlRoot = fpmlRootEl;
+    this.references = ImmutableMap.copyOf(references);
+    this.parties = base.parties;
+    this.ourPartyHrefIds = base.ourPartyHrefIds;
+    this.tradeInfoParser = base.tradeInfoParser;
+    this.refData = base.refData;
+    this.strictValidation = base.strictValidation;
+  }
+
+  /**
+   * Returns a document for a single trade, based on this document.
+   * <p>
+   * This is used when streaming trades from a large file, where this document contains the parties.
+   * The party elements and references of this document are retained, avoiding the need to select "our" party again.
+   * The trade is added to the FpML root element, and the references of the trade are added to the map of references.
+   *
+   * @param tradeEl  the trade element
+   * @param tradeReferences  the map of id/href to referenced element within the trade
+   * @return the document for the trade
+   */
+  FpmlDocument withTrade(XmlElement tradeEl, Map<String, XmlElement> tradeReferences) {
+    List<XmlElement> children = new ArrayList<>(fpmlRoot.getChildren());
+    children.add(tradeEl);
+    XmlElement root = XmlElement.ofChildren(fpmlRoot.getName(), fpmlRoot.getAttributes(), children);
+    Map<String, XmlElement> refs = new HashMap<>(references);
+    refs.putAll(tradeReferences);
+    return new FpmlDocument(this, root, refs);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
@@ -10,15 +10,18 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
@@ -36,6 +39,7 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // as such, streaming reads the file twice, once for the parties and once for the trades
 
   /**
    * The lookup of trade parsers.
@@ -300,6 +304,75 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, passing each trade to the consumer as it is parsed.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the document is not parsed into memory as a whole.
+   * Instead, the source is read twice as a stream. The first read parses the {@code <party>} elements.
+   * The second read parses each {@code <trade>} element in turn, passing the parsed trade to the consumer.
+   * As such, memory usage does not depend on the number of trades in the file.
+   * <p>
+   * The FpML root element is the parent of the first {@code <party>} element that has an id.
+   * The trades are the {@code <trade>} elements found anywhere within the FpML root element.
+   * A trade may refer to parties and to elements within the same trade using id/href references.
+   * References to other parts of the document are not supported.
+   *
+   * @param source  the source of the FpML XML document
+   * @param consumer  the consumer of the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTrades(ByteSource source, Consumer<Trade> consumer) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(consumer, "consumer");
+    // first pass, find the FpML root and parse the parties
+    List<String> rootPath = new ArrayList<>();
+    List<String> partyPath = new ArrayList<>();
+    List<XmlElement> partyEls = new ArrayList<>();
+    Map<String, XmlElement> partyRefs = new HashMap<>();
+    XmlFile.parseSelected(source, FpmlDocument.ID, path -> selectParty(path, partyPath), partyFile -> {
+      XmlElement partyEl = partyFile.getRoot();
+      if (partyEl.findAttribute(FpmlDocument.ID).isPresent()) {
+        List<String> parentPath = partyPath.subList(0, partyPath.size() - 1);
+        if (rootPath.isEmpty()) {
+          rootPath.addAll(parentPath);
+        }
+        if (rootPath.equals(parentPath)) {
+          partyEls.add(partyEl);
+          partyRefs.putAll(partyFile.getReferences());
+        }
+      }
+    });
+    if (rootPath.isEmpty()) {
+      throw new FpmlParseException("Unable to find FpML root element");
+    }
+    XmlElement partyRoot = XmlElement.ofChildren(rootPath.get(rootPath.size() - 1), partyEls);
+    FpmlDocument document =
+        new FpmlDocument(partyRoot, partyRefs, ourPartySelector, tradeInfoParser, refData, strictValidation);
+    // second pass, parse the trades within the FpML root
+    XmlFile.parseSelected(source, FpmlDocument.ID, path -> selectTrade(path, rootPath), tradeFile -> {
+      XmlElement tradeEl = tradeFile.getRoot();
+      consumer.accept(parseTrade(document.withTrade(tradeEl, tradeFile.getReferences()), tradeEl));
+    });
+  }
+
+  // selects party elements, capturing the path
+  private static boolean selectParty(List<String> path, List<String> partyPath) {
+    if (path.get(path.size() - 1).equals("party")) {
+      partyPath.clear();
+      partyPath.addAll(path);
+      return true;
+    }
+    return false;
+  }
+
+  // selects trade elements within the FpML root
+  private static boolean selectTrade(List<String> path, List<String> rootPath) {
+    return path.size() > rootPath.size() &&
+        path.get(path.size() - 1).equals("trade") &&
+        path.subList(0, rootPath.size()).equals(rootPath);
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
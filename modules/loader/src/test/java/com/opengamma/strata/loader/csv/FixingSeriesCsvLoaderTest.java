@@ -9,6 +9,9 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -19,6 +22,7 @@ import com.opengamma.strata.basics.index.IborIndices;
 import com.opengamma.strata.basics.index.PriceIndices;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 
@@ -145,6 +149,24 @@ public class FixingSeriesCsvLoaderTest {
     assertThat(actualSeries).isEqualTo(expectedSeries);
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writeStore() throws IOException {
+    Path file = Files.createTempFile("fixing-series-csv-loader-test", ".bin");
+    try {
+      FixingSeriesCsvLoader.writeStore(file, ImmutableList.of(FIXING_SERIES_1_AND_2, FIXING_SERIES_PRICE1));
+      Map<ObservableId, LocalDateDoubleTimeSeries> expected =
+          FixingSeriesCsvLoader.load(ImmutableList.of(FIXING_SERIES_1_AND_2, FIXING_SERIES_PRICE1));
+      MappedTimeSeriesStore test = MappedTimeSeriesStore.open(file);
+      assertThat(test.getNames())
+          .containsOnly(ID_USD_LIBOR_3M.toString(), ID_USD_LIBOR_6M.toString(), ID_GB_RPI.toString());
+      expected.forEach((id, series) -> assertThat(test.get(id.toString()).stream())
+          .containsExactlyElementsOf(series.stream()::iterator));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
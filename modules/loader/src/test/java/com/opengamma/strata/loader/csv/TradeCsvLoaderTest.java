@@ -32,16 +32,22 @@ import static com.opengamma.strata.product.common.LongShort.SHORT;
 import static com.opengamma.strata.product.common.PayReceive.PAY;
 import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.joda.beans.test.BeanAssert.assertBeanEquals;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
 import org.junit.jupiter.api.Test;
@@ -2003,6 +2009,104 @@ public class TradeCsvLoaderTest {
         "Trade type not allowed " + SwapTrade.class.getName() + ", only these types are supported: FraTrade, TermDepositTrade");
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_parse_consumer() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource(), CharSource.wrap("Id"), FILE_CPTY.getCharSource());
+    ValueWithFailures<List<Trade>> expected = test.parse(charSources);
+
+    List<Trade> trades = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    test.parse(charSources, Trade.class, trades::add, failures::add);
+    assertThat(trades).isEqualTo(expected.getValue());
+    assertThat(failures).hasSize(2);
+    assertThat(failures.get(0).getReason()).isEqualTo(FailureReason.PARSING);
+    assertThat(failures.get(0).getMessage()).startsWith("CSV file does not contain 'Strata Trade Type' header");
+    assertThat(failures.get(1).getMessage()).isEqualTo(expected.getFailures().get(1).getMessage());
+  }
+
+  @Test
+  public void test_parse_consumer_filtered() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource());
+    ValueWithFailures<List<SecurityTrade>> expected = test.parse(charSources, SecurityTrade.class);
+
+    List<SecurityTrade> trades = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    test.parse(charSources, SecurityTrade.class, trades::add, failures::add);
+    assertThat(trades).isEqualTo(expected.getValue());
+    assertThat(failures).hasSize(expected.getFailures().size());
+  }
+
+  @Test
+  public void test_parse_consumerThrows() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource(), CharSource.wrap("Id"));
+    List<Trade> trades = new ArrayList<>();
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.parse(charSources, Trade.class, trade -> {
+          throw new IllegalStateException("Trade sink failed");
+        }, failure -> {}))
+        .withMessage("Trade sink failed");
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.parse(charSources, Trade.class, trades::add, failure -> {
+          throw new IllegalStateException("Failure sink failed");
+        }))
+        .withMessage("Failure sink failed");
+  }
+
+  @Test
+  public void test_parseBatches() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource(), CharSource.wrap("Id"), FILE_CPTY.getCharSource());
+    ValueWithFailures<List<Trade>> expected = test.parse(charSources);
+
+    for (int batchSize : new int[] {1, 5, 1000}) {
+      try (Stream<ValueWithFailures<List<Trade>>> stream = test.parseBatches(charSources, Trade.class, batchSize)) {
+        List<ValueWithFailures<List<Trade>>> batches = stream.collect(toImmutableList());
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.getValue().size()).isLessThanOrEqualTo(batchSize));
+        List<Trade> trades = batches.stream()
+            .flatMap(batch -> batch.getValue().stream())
+            .collect(toImmutableList());
+        List<FailureItem> failures = batches.stream()
+            .flatMap(batch -> batch.getFailures().stream())
+            .collect(toImmutableList());
+        assertThat(trades).isEqualTo(expected.getValue());
+        assertThat(failures).hasSize(2);
+        assertThat(failures.get(0).getMessage()).startsWith("CSV file does not contain 'Strata Trade Type' header");
+        assertThat(failures.get(1).getMessage()).isEqualTo(expected.getFailures().get(1).getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void test_parseBatches_lazy() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    AtomicInteger opened = new AtomicInteger();
+    CharSource charSource = new CharSource() {
+      @Override
+      public Reader openStream() throws IOException {
+        opened.incrementAndGet();
+        return FILE.getCharSource().openStream();
+      }
+    };
+    try (Stream<ValueWithFailures<List<Trade>>> stream =
+        test.parseBatches(ImmutableList.of(charSource, charSource), Trade.class, 2)) {
+      assertThat(opened.get()).isEqualTo(0);
+      ValueWithFailures<List<Trade>> first = stream.findFirst().get();
+      assertThat(first.getValue()).hasSize(2);
+      assertThat(opened.get()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void test_parseBatches_invalid() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.parseBatches(ImmutableList.of(FILE.getCharSource()), Trade.class, 0));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_load_resolver() {
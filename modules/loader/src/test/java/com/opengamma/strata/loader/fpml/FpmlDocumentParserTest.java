@@ -57,6 +57,7 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -525,6 +526,34 @@ public class FpmlDocumentParserTest {
     assertFra(trades, false);
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void fra_wrapper2_streaming() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper2.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    List<Trade> trades = new ArrayList<>();
+    FpmlDocumentParser.of(FpmlPartySelector.matching("Party2")).parseTrades(resource, trades::add);
+    assertFra(trades, false);
+  }
+
+  @Test
+  public void bulletPayment_twoTradesTwoParties_streaming() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matchingRegex(Pattern.compile("Party1[ab]")));
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertThat(trades).isEqualTo(parser.parseTrades(resource));
+  }
+
+  @Test
+  public void streaming_noParties() {
+    ByteSource resource = ByteSource.wrap("<root><trade/></root>".getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThatExceptionOfType(FpmlParseException.class)
+        .isThrownBy(() -> parser.parseTrades(resource, trade -> {}));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void vanillaSwap() {
@@ -0,0 +1,707 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * An interpolated nodal curve in multiple scenarios, where the scenarios share the same x-values.
+ * <p>
+ * This class is a more efficient alternative to holding one {@link InterpolatedNodalCurve} for each scenario.
+ * The metadata, x-values, interpolator and extrapolators are shared by all scenarios,
+ * and the y-values of all scenarios are stored in a single matrix, one row for each scenario.
+ * <p>
+ * The y-values of all scenarios for an x-value can be obtained in one pass using {@link #yValues(double)}.
+ * When the interpolator and extrapolators are linear in the y-values, such as linear interpolation with
+ * flat extrapolation, the interpolation weights are computed once for the x-value and applied to each scenario.
+ * Otherwise, each scenario is interpolated separately.
+ */
+@BeanDefinition(builderScope = "private")
+public final class InterpolatedNodalCurveScenarioArray
+    implements ScenarioArray<InterpolatedNodalCurve>, ImmutableBean, Serializable {
+
+  /**
+   * The interpolators where the interpolated value is a weighted sum of the y-values,
+   * with weights that only depend on the x-values.
+   */
+  private static final ImmutableSet<CurveInterpolator> LINEAR_INTERPOLATORS = ImmutableSet.of(
+      CurveInterpolators.LINEAR,
+      CurveInterpolators.DOUBLE_QUADRATIC,
+      CurveInterpolators.NATURAL_CUBIC_SPLINE,
+      CurveInterpolators.STEP_UPPER);
+  /**
+   * The extrapolators where the extrapolated value is a weighted sum of the y-values,
+   * provided the interpolator is also linear.
+   */
+  private static final ImmutableSet<CurveExtrapolator> LINEAR_EXTRAPOLATORS = ImmutableSet.of(
+      CurveExtrapolators.FLAT,
+      CurveExtrapolators.LINEAR,
+      CurveExtrapolators.EXCEPTION);
+
+  /**
+   * The curve metadata, shared by all scenarios.
+   * <p>
+   * If present, the size of the parameter metadata list will match the number of x-values.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveMetadata metadata;
+  /**
+   * The array of x-values, shared by all scenarios.
+   * <p>
+   * This array will contains at least two elements.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray xValues;
+  /**
+   * The matrix of y-values, one row for each scenario.
+   * <p>
+   * Each row has the same length as the x-values.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix yValues;
+  /**
+   * The interpolator.
+   * This is used for x-values between the smallest and largest known x-value.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveInterpolator interpolator;
+  /**
+   * The extrapolator for x-values on the left.
+   * This is used for x-values smaller than the smallest known x-value.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveExtrapolator extrapolatorLeft;
+  /**
+   * The extrapolator for x-values on the right.
+   * This is used for x-values larger than the largest known x-value.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveExtrapolator extrapolatorRight;
+  /**
+   * The bound interpolator used to compute the weights, null if the y-values are not interpolated linearly.
+   */
+  private final transient BoundCurveInterpolator weightInterpolator;  // derived and cached, not a property
+  /**
+   * The bound interpolator for each scenario, null if the y-values are interpolated linearly.
+   */
+  private final transient BoundCurveInterpolator[] boundInterpolators;  // derived and cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance based on a curve, specifying the y-values of each scenario.
+   * <p>
+   * The metadata, x-values, interpolator and extrapolators are taken from the curve.
+   * The y-values of the curve are not used.
+   *
+   * @param curve  the curve defining the x-values and interpolation
+   * @param yValues  the y-values, one row for each scenario
+   * @return the curves
+   */
+  public static InterpolatedNodalCurveScenarioArray of(InterpolatedNodalCurve curve, DoubleMatrix yValues) {
+    return new InterpolatedNodalCurveScenarioArray(
+        curve.getMetadata(),
+        curve.getXValues(),
+        yValues,
+        curve.getInterpolator(),
+        curve.getExtrapolatorLeft(),
+        curve.getExtrapolatorRight());
+  }
+
+  /**
+   * Obtains an instance from a list of curves, one for each scenario.
+   * <p>
+   * The curves must only differ by their y-values.
+   *
+   * @param curves  the curves, one for each scenario
+   * @return the curves
+   * @throws IllegalArgumentException if the curves differ by something other than the y-values
+   */
+  public static InterpolatedNodalCurveScenarioArray of(List<InterpolatedNodalCurve> curves) {
+    ArgChecker.notEmpty(curves, "curves");
+    InterpolatedNodalCurve base = curves.get(0);
+    double[][] yValues = new double[curves.size()][];
+    for (int i = 0; i < yValues.length; i++) {
+      InterpolatedNodalCurve curve = curves.get(i);
+      ArgChecker.isTrue(
+          curve.getMetadata().equals(base.getMetadata()) &&
+              curve.getXValues().equals(base.getXValues()) &&
+              curve.getInterpolator().equals(base.getInterpolator()) &&
+              curve.getExtrapolatorLeft().equals(base.getExtrapolatorLeft()) &&
+              curve.getExtrapolatorRight().equals(base.getExtrapolatorRight()),
+          "Curves must only differ by their y-values, but scenario {} differs from scenario 0",
+          i);
+      yValues[i] = curve.getYValues().toArray();
+    }
+    return of(base, DoubleMatrix.ofUnsafe(yValues));
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  @ImmutableConstructor
+  private InterpolatedNodalCurveScenarioArray(
+      CurveMetadata metadata,
+      DoubleArray xValues,
+      DoubleMatrix yValues,
+      CurveInterpolator interpolator,
+      CurveExtrapolator extrapolatorLeft,
+      CurveExtrapolator extrapolatorRight) {
+
+    JodaBeanUtils.notNull(metadata, "metadata");
+    JodaBeanUtils.notNull(xValues, "xValues");
+    JodaBeanUtils.notNull(yValues, "yValues");
+    JodaBeanUtils.notNull(interpolator, "interpolator");
+    JodaBeanUtils.notNull(extrapolatorLeft, "extrapolatorLeft");
+    JodaBeanUtils.notNull(extrapolatorRight, "extrapolatorRight");
+    if (xValues.size() < 2) {
+      throw new IllegalArgumentException("Length of x-values must be at least 2");
+    }
+    if (yValues.rowCount() < 1) {
+      throw new IllegalArgumentException("Y-values must contain at least one scenario");
+    }
+    if (xValues.size() != yValues.columnCount()) {
+      throw new IllegalArgumentException("Length of x-values and y-values must match");
+    }
+    metadata.getParameterMetadata().ifPresent(params -> {
+      if (xValues.size() != params.size()) {
+        throw new IllegalArgumentException("Length of x-values and parameter metadata must match when metadata present");
+      }
+    });
+    for (int i = 1; i < xValues.size(); i++) {
+      if (xValues.get(i) <= xValues.get(i - 1)) {
+        throw new IllegalArgumentException("Array of x-values must be sorted and unique");
+      }
+    }
+    this.metadata = metadata;
+    this.xValues = xValues;
+    this.yValues = yValues;
+    this.interpolator = interpolator;
+    this.extrapolatorLeft = extrapolatorLeft;
+    this.extrapolatorRight = extrapolatorRight;
+    if (LINEAR_INTERPOLATORS.contains(interpolator) &&
+        LINEAR_EXTRAPOLATORS.contains(extrapolatorLeft) &&
+        LINEAR_EXTRAPOLATORS.contains(extrapolatorRight)) {
+      // the weights only depend on the x-values, thus any y-values can be used
+      this.weightInterpolator = interpolator.bind(xValues, yValues.row(0), extrapolatorLeft, extrapolatorRight);
+      this.boundInterpolators = null;
+    } else {
+      this.weightInterpolator = null;
+      this.boundInterpolators = IntStream.range(0, yValues.rowCount())
+          .mapToObj(i -> interpolator.bind(xValues, yValues.row(i), extrapolatorLeft, extrapolatorRight))
+          .toArray(BoundCurveInterpolator[]::new);
+    }
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new InterpolatedNodalCurveScenarioArray(
+        metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the curve name.
+   *
+   * @return the curve name
+   */
+  public CurveName getName() {
+    return metadata.getCurveName();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return yValues.rowCount();
+  }
+
+  /**
+   * Gets the curve for the specified scenario.
+   * <p>
+   * The curve is created on demand, thus this method should be avoided when the y-values
+   * of all scenarios are required, see {@link #yValues(double)}.
+   *
+   * @param scenarioIndex  the scenario index
+   * @return the curve for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public InterpolatedNodalCurve get(int scenarioIndex) {
+    return InterpolatedNodalCurve.builder()
+        .metadata(metadata)
+        .xValues(xValues)
+        .yValues(yValues.row(scenarioIndex))
+        .interpolator(interpolator)
+        .extrapolatorLeft(extrapolatorLeft)
+        .extrapolatorRight(extrapolatorRight)
+        .build();
+  }
+
+  @Override
+  public Stream<InterpolatedNodalCurve> stream() {
+    return IntStream.range(0, getScenarioCount()).mapToObj(this::get);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-value for the specified x-value in each scenario.
+   * <p>
+   * The result contains one element for each scenario.
+   * It is equal, subject to rounding, to calling {@link InterpolatedNodalCurve#yValue(double)}
+   * on the curve of each scenario.
+   *
+   * @param x  the x-value to find the y-values for
+   * @return the y-value in each scenario
+   */
+  public DoubleArray yValues(double x) {
+    int scenarioCount = getScenarioCount();
+    double[] result = new double[scenarioCount];
+    if (weightInterpolator != null) {
+      // compute the weights once and apply them to each scenario, skipping the nodes with zero weight
+      double[] weights = weightInterpolator.parameterSensitivity(x).toArrayUnsafe();
+      int[] nodes = IntStream.range(0, weights.length).filter(j -> weights[j] != 0d).toArray();
+      for (int i = 0; i < scenarioCount; i++) {
+        double[] scenarioValues = yValues.row(i).toArrayUnsafe();
+        double total = 0d;
+        for (int node : nodes) {
+          total += weights[node] * scenarioValues[node];
+        }
+        result[i] = total;
+      }
+    } else {
+      for (int i = 0; i < scenarioCount; i++) {
+        result[i] = boundInterpolators[i].interpolate(x);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code InterpolatedNodalCurveScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static InterpolatedNodalCurveScenarioArray.Meta meta() {
+    return InterpolatedNodalCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(InterpolatedNodalCurveScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public InterpolatedNodalCurveScenarioArray.Meta metaBean() {
+    return InterpolatedNodalCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the curve metadata, shared by all scenarios.
+   * <p>
+   * If present, the size of the parameter metadata list will match the number of x-values.
+   * @return the value of the property, not null
+   */
+  public CurveMetadata getMetadata() {
+    return metadata;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the array of x-values, shared by all scenarios.
+   * <p>
+   * This array will contains at least two elements.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getXValues() {
+    return xValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the matrix of y-values, one row for each scenario.
+   * <p>
+   * Each row has the same length as the x-values.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getYValues() {
+    return yValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the interpolator.
+   * This is used for x-values between the smallest and largest known x-value.
+   * @return the value of the property, not null
+   */
+  public CurveInterpolator getInterpolator() {
+    return interpolator;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the extrapolator for x-values on the left.
+   * This is used for x-values smaller than the smallest known x-value.
+   * @return the value of the property, not null
+   */
+  public CurveExtrapolator getExtrapolatorLeft() {
+    return extrapolatorLeft;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the extrapolator for x-values on the right.
+   * This is used for x-values larger than the largest known x-value.
+   * @return the value of the property, not null
+   */
+  public CurveExtrapolator getExtrapolatorRight() {
+    return extrapolatorRight;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      InterpolatedNodalCurveScenarioArray other = (InterpolatedNodalCurveScenarioArray) obj;
+      return JodaBeanUtils.equal(metadata, other.metadata) &&
+          JodaBeanUtils.equal(xValues, other.xValues) &&
+          JodaBeanUtils.equal(yValues, other.yValues) &&
+          JodaBeanUtils.equal(interpolator, other.interpolator) &&
+          JodaBeanUtils.equal(extrapolatorLeft, other.extrapolatorLeft) &&
+          JodaBeanUtils.equal(extrapolatorRight, other.extrapolatorRight);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(metadata);
+    hash = hash * 31 + JodaBeanUtils.hashCode(xValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(yValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(interpolator);
+    hash = hash * 31 + JodaBeanUtils.hashCode(extrapolatorLeft);
+    hash = hash * 31 + JodaBeanUtils.hashCode(extrapolatorRight);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(224);
+    buf.append("InterpolatedNodalCurveScenarioArray{");
+    buf.append("metadata").append('=').append(JodaBeanUtils.toString(metadata)).append(',').append(' ');
+    buf.append("xValues").append('=').append(JodaBeanUtils.toString(xValues)).append(',').append(' ');
+    buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues)).append(',').append(' ');
+    buf.append("interpolator").append('=').append(JodaBeanUtils.toString(interpolator)).append(',').append(' ');
+    buf.append("extrapolatorLeft").append('=').append(JodaBeanUtils.toString(extrapolatorLeft)).append(',').append(' ');
+    buf.append("extrapolatorRight").append('=').append(JodaBeanUtils.toString(extrapolatorRight));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code InterpolatedNodalCurveScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code metadata} property.
+     */
+    private final MetaProperty<CurveMetadata> metadata = DirectMetaProperty.ofImmutable(
+        this, "metadata", InterpolatedNodalCurveScenarioArray.class, CurveMetadata.class);
+    /**
+     * The meta-property for the {@code xValues} property.
+     */
+    private final MetaProperty<DoubleArray> xValues = DirectMetaProperty.ofImmutable(
+        this, "xValues", InterpolatedNodalCurveScenarioArray.class, DoubleArray.class);
+    /**
+     * The meta-property for the {@code yValues} property.
+     */
+    private final MetaProperty<DoubleMatrix> yValues = DirectMetaProperty.ofImmutable(
+        this, "yValues", InterpolatedNodalCurveScenarioArray.class, DoubleMatrix.class);
+    /**
+     * The meta-property for the {@code interpolator} property.
+     */
+    private final MetaProperty<CurveInterpolator> interpolator = DirectMetaProperty.ofImmutable(
+        this, "interpolator", InterpolatedNodalCurveScenarioArray.class, CurveInterpolator.class);
+    /**
+     * The meta-property for the {@code extrapolatorLeft} property.
+     */
+    private final MetaProperty<CurveExtrapolator> extrapolatorLeft = DirectMetaProperty.ofImmutable(
+        this, "extrapolatorLeft", InterpolatedNodalCurveScenarioArray.class, CurveExtrapolator.class);
+    /**
+     * The meta-property for the {@code extrapolatorRight} property.
+     */
+    private final MetaProperty<CurveExtrapolator> extrapolatorRight = DirectMetaProperty.ofImmutable(
+        this, "extrapolatorRight", InterpolatedNodalCurveScenarioArray.class, CurveExtrapolator.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "metadata",
+        "xValues",
+        "yValues",
+        "interpolator",
+        "extrapolatorLeft",
+        "extrapolatorRight");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -450004177:  // metadata
+          return metadata;
+        case 1681280954:  // xValues
+          return xValues;
+        case -1726182661:  // yValues
+          return yValues;
+        case 2096253127:  // interpolator
+          return interpolator;
+        case 1271703994:  // extrapolatorLeft
+          return extrapolatorLeft;
+        case 773779145:  // extrapolatorRight
+          return extrapolatorRight;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends InterpolatedNodalCurveScenarioArray> builder() {
+      return new InterpolatedNodalCurveScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends InterpolatedNodalCurveScenarioArray> beanType() {
+      return InterpolatedNodalCurveScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code metadata} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveMetadata> metadata() {
+      return metadata;
+    }
+
+    /**
+     * The meta-property for the {@code xValues} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleArray> xValues() {
+      return xValues;
+    }
+
+    /**
+     * The meta-property for the {@code yValues} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> yValues() {
+      return yValues;
+    }
+
+    /**
+     * The meta-property for the {@code interpolator} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveInterpolator> interpolator() {
+      return interpolator;
+    }
+
+    /**
+     * The meta-property for the {@code extrapolatorLeft} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveExtrapolator> extrapolatorLeft() {
+      return extrapolatorLeft;
+    }
+
+    /**
+     * The meta-property for the {@code extrapolatorRight} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveExtrapolator> extrapolatorRight() {
+      return extrapolatorRight;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -450004177:  // metadata
+          return ((InterpolatedNodalCurveScenarioArray) bean).getMetadata();
+        case 1681280954:  // xValues
+          return ((InterpolatedNodalCurveScenarioArray) bean).getXValues();
+        case -1726182661:  // yValues
+          return ((InterpolatedNodalCurveScenarioArray) bean).getYValues();
+        case 2096253127:  // interpolator
+          return ((InterpolatedNodalCurveScenarioArray) bean).getInterpolator();
+        case 1271703994:  // extrapolatorLeft
+          return ((InterpolatedNodalCurveScenarioArray) bean).getExtrapolatorLeft();
+        case 773779145:  // extrapolatorRight
+          return ((InterpolatedNodalCurveScenarioArray) bean).getExtrapolatorRight();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code InterpolatedNodalCurveScenarioArray}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<InterpolatedNodalCurveScenarioArray> {
+
+    private CurveMetadata metadata;
+    private DoubleArray xValues;
+    private DoubleMatrix yValues;
+    private CurveInterpolator interpolator;
+    private CurveExtrapolator extrapolatorLeft;
+    private CurveExtrapolator extrapolatorRight;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -450004177:  // metadata
+          return metadata;
+        case 1681280954:  // xValues
+          return xValues;
+        case -1726182661:  // yValues
+          return yValues;
+        case 2096253127:  // interpolator
+          return interpolator;
+        case 1271703994:  // extrapolatorLeft
+          return extrapolatorLeft;
+        case 773779145:  // extrapolatorRight
+          return extrapolatorRight;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -450004177:  // metadata
+          this.metadata = (CurveMetadata) newValue;
+          break;
+        case 1681280954:  // xValues
+          this.xValues = (DoubleArray) newValue;
+          break;
+        case -1726182661:  // yValues
+          this.yValues = (DoubleMatrix) newValue;
+          break;
+        case 2096253127:  // interpolator
+          this.interpolator = (CurveInterpolator) newValue;
+          break;
+        case 1271703994:  // extrapolatorLeft
+          this.extrapolatorLeft = (CurveExtrapolator) newValue;
+          break;
+        case 773779145:  // extrapolatorRight
+          this.extrapolatorRight = (CurveExtrapolator) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public InterpolatedNodalCurveScenarioArray build() {
+      return new InterpolatedNodalCurveScenarioArray(
+          metadata,
+          xValues,
+          yValues,
+          interpolator,
+          extrapolatorLeft,
+          extrapolatorRight);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(224);
+      buf.append("InterpolatedNodalCurveScenarioArray.Builder{");
+      buf.append("metadata").append('=').append(JodaBeanUtils.toString(metadata)).append(',').append(' ');
+      buf.append("xValues").append('=').append(JodaBeanUtils.toString(xValues)).append(',').append(' ');
+      buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues)).append(',').append(' ');
+      buf.append("interpolator").append('=').append(JodaBeanUtils.toString(interpolator)).append(',').append(' ');
+      buf.append("extrapolatorLeft").append('=').append(JodaBeanUtils.toString(extrapolatorLeft)).append(',').append(' ');
+      buf.append("extrapolatorRight").append('=').append(JodaBeanUtils.toString(extrapolatorRight));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.joda.beans.Bean;
@@ -146,6 +147,27 @@ public final class CurrencyParameterSensitivities
     return new CurrencyParameterSensitivities(ImmutableList.copyOf(mutable));
   }
 
+  /**
+   * Returns a collector that can be used to total a stream of sensitivities.
+   * <p>
+   * The sensitivities are merged using market data name and currency as a key,
+   * as per {@link #combinedWith(CurrencyParameterSensitivities)}.
+   * The totalling is performed using {@link MutableCurrencyParameterSensitivities}, thus
+   * the cost is linear in the number of sensitivities. When used with a parallel stream,
+   * each thread totals into a separate accumulator, with the accumulators combined at the end.
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyParameterSensitivities, ?, CurrencyParameterSensitivities>
+      toCurrencyParameterSensitivities() {
+
+    return Collector.of(
+        MutableCurrencyParameterSensitivities::new,
+        MutableCurrencyParameterSensitivities::add,
+        MutableCurrencyParameterSensitivities::add,
+        MutableCurrencyParameterSensitivities::build);
+  }
+
   // used when not pre-sorted
   @ImmutableConstructor
   private CurrencyParameterSensitivities(List<? extends CurrencyParameterSensitivity> sensitivities) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Mutable accumulator for currency-based parameter sensitivities.
+ * <p>
+ * This is used to total a large number of {@link CurrencyParameterSensitivities}, such as when
+ * aggregating the sensitivities of many trades into a book total.
+ * The sensitivities are merged using market data name and currency as a key, matching
+ * {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}.
+ * The key is found using a hash lookup, with the values summed into a primitive array,
+ * thus the cost of adding a sensitivity does not depend on the number already added.
+ * <p>
+ * The parameter metadata is not checked, thus the caller must ensure the sensitivities
+ * are compatible with the same metadata and parameter count.
+ * The metadata of the first sensitivity added for each key is used in the result.
+ * To combine taking the metadata into account, use {@link CurrencyParameterSensitivitiesBuilder}.
+ * <p>
+ * This is a mutable accumulator that is not intended for use in multiple threads.
+ * To aggregate in parallel, use one instance per thread and combine them using
+ * {@link #add(MutableCurrencyParameterSensitivities)}, or use
+ * {@link CurrencyParameterSensitivities#toCurrencyParameterSensitivities()} with a parallel stream.
+ */
+public final class MutableCurrencyParameterSensitivities {
+
+  /**
+   * The sensitivity data, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, Entry> data = new HashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public MutableCurrencyParameterSensitivities() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries, one for each market data name and currency.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return data.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a sensitivity to this accumulator.
+   * <p>
+   * If the market data name and currency match an existing entry, the values are summed.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that of the existing entry
+   */
+  public MutableCurrencyParameterSensitivities add(CurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+    Entry entry = data.get(key);
+    if (entry == null) {
+      data.put(key, new Entry(sensitivity, sensitivity.getSensitivity().toArray()));
+    } else {
+      entry.add(sensitivity.getSensitivity());
+    }
+    return this;
+  }
+
+  /**
+   * Adds sensitivities to this accumulator.
+   * <p>
+   * If the market data name and currency match an existing entry, the values are summed.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that of an existing entry
+   */
+  public MutableCurrencyParameterSensitivities add(CurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the contents of another accumulator to this accumulator.
+   * <p>
+   * If the market data name and currency match an existing entry, the values are summed.
+   * The other accumulator is unaffected by this method.
+   *
+   * @param other  the other accumulator
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that of an existing entry
+   */
+  public MutableCurrencyParameterSensitivities add(MutableCurrencyParameterSensitivities other) {
+    ArgChecker.notNull(other, "other");
+    for (Map.Entry<Pair<MarketDataName<?>, Currency>, Entry> otherEntry : other.data.entrySet()) {
+      Entry entry = data.get(otherEntry.getKey());
+      Entry addition = otherEntry.getValue();
+      if (entry == null) {
+        data.put(otherEntry.getKey(), new Entry(addition.base, addition.values.clone()));
+      } else {
+        entry.add(addition.values);
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the immutable sensitivities from this accumulator.
+   * <p>
+   * This accumulator is unaffected by this method and may continue to be used.
+   *
+   * @return the immutable sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>(data.size());
+    for (Entry entry : data.values()) {
+      result.add(entry.base.withSensitivity(DoubleArray.copyOf(entry.values)));
+    }
+    result.sort(CurrencyParameterSensitivity::compareKey);
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MutableCurrencyParameterSensitivities" + data.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The summed values for a single market data name and currency.
+   */
+  private static final class Entry {
+    /**
+     * The first sensitivity added, providing the metadata.
+     */
+    private final CurrencyParameterSensitivity base;
+    /**
+     * The summed values.
+     */
+    private final double[] values;
+
+    private Entry(CurrencyParameterSensitivity base, double[] values) {
+      this.base = base;
+      this.values = values;
+    }
+
+    // adds the values in place
+    private void add(DoubleArray addition) {
+      checkSize(addition.size());
+      for (int i = 0; i < values.length; i++) {
+        values[i] += addition.get(i);
+      }
+    }
+
+    // adds the values in place
+    private void add(double[] addition) {
+      checkSize(addition.length);
+      for (int i = 0; i < values.length; i++) {
+        values[i] += addition[i];
+      }
+    }
+
+    // checks the size matches, using the same message as DoubleArray.plus()
+    private void checkSize(int size) {
+      if (size != values.length) {
+        throw new IllegalArgumentException("Arrays have different sizes");
+      }
+    }
+  }
+
+}
@@ -190,16 +190,21 @@ public final class MutablePointSensitivities
   @Override
   public MutablePointSensitivities normalize() {
     sensitivities.sort(PointSensitivity::compareKey);
-    PointSensitivity previous = sensitivities.get(0);
-    for (int i = 1; i < sensitivities.size(); i++) {
+    // merge in place, compacting the list at the end to avoid repeatedly shifting elements
+    int size = sensitivities.size();
+    int last = 0;
+    for (int i = 1; i < size; i++) {
+      PointSensitivity previous = sensitivities.get(last);
       PointSensitivity current = sensitivities.get(i);
       if (current.compareKey(previous) == 0) {
-        current = previous.withSensitivity(previous.getSensitivity() + current.getSensitivity());
-        sensitivities.set(i - 1, current);
-        sensitivities.remove(i);
-        i--;
+        sensitivities.set(last, previous.withSensitivity(previous.getSensitivity() + current.getSensitivity()));
+      } else {
+        last++;
+        sensitivities.set(last, current);
       }
-      previous = current;
+    }
+    if (size > 0) {
+      sensitivities.subList(last + 1, size).clear();
     }
     return this;
   }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link InterpolatedNodalCurveScenarioArray}.
+ */
+public class InterpolatedNodalCurveScenarioArrayTest {
+
+  private static final CurveName CURVE_NAME = CurveName.of("TestCurve");
+  private static final CurveMetadata METADATA = Curves.zeroRates(CURVE_NAME, ACT_365F);
+  private static final DoubleArray XVALUES = DoubleArray.of(0.25d, 1d, 2d, 5d, 10d);
+  private static final DoubleMatrix YVALUES = DoubleMatrix.of(3, 5,
+      0.010d, 0.012d, 0.015d, 0.020d, 0.022d,
+      0.011d, 0.013d, 0.014d, 0.021d, 0.025d,
+      0.009d, 0.010d, 0.016d, 0.019d, 0.020d);
+  private static final InterpolatedNodalCurve BASE = InterpolatedNodalCurve.of(
+      METADATA, XVALUES, YVALUES.row(0), CurveInterpolators.LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+  private static final double[] X_SAMPLES = {0d, 0.1d, 0.25d, 0.6d, 1d, 3.3d, 7d, 10d, 15d};
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of_curve() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    assertThat(test.getName()).isEqualTo(CURVE_NAME);
+    assertThat(test.getMetadata()).isEqualTo(METADATA);
+    assertThat(test.getXValues()).isEqualTo(XVALUES);
+    assertThat(test.getYValues()).isEqualTo(YVALUES);
+    assertThat(test.getInterpolator()).isEqualTo(CurveInterpolators.LINEAR);
+    assertThat(test.getExtrapolatorLeft()).isEqualTo(CurveExtrapolators.FLAT);
+    assertThat(test.getExtrapolatorRight()).isEqualTo(CurveExtrapolators.FLAT);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(0)).isEqualTo(BASE);
+    assertThat(test.get(1)).isEqualTo(BASE.withYValues(YVALUES.row(1)));
+    assertThat(test.stream()).containsExactly(
+        BASE, BASE.withYValues(YVALUES.row(1)), BASE.withYValues(YVALUES.row(2)));
+  }
+
+  @Test
+  public void test_of_curves() {
+    List<InterpolatedNodalCurve> curves = ImmutableList.of(
+        BASE, BASE.withYValues(YVALUES.row(1)), BASE.withYValues(YVALUES.row(2)));
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(curves);
+    assertThat(test).isEqualTo(InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES));
+  }
+
+  @Test
+  public void test_of_curvesDiffer() {
+    InterpolatedNodalCurve other = BASE.toBuilder().interpolator(CurveInterpolators.LOG_LINEAR).build();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(ImmutableList.of(BASE, other)));
+    InterpolatedNodalCurve otherX = BASE.withValues(DoubleArray.of(0.5d, 1d, 2d, 5d, 10d), BASE.getYValues());
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(ImmutableList.of(BASE, otherX)));
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(BASE, DoubleMatrix.of(1, 2, 0.01d, 0.02d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(BASE, DoubleMatrix.EMPTY));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(ImmutableList.of()));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_yValues_weighted() {
+    CurveInterpolator[] interpolators = {
+        CurveInterpolators.LINEAR,
+        CurveInterpolators.DOUBLE_QUADRATIC,
+        CurveInterpolators.NATURAL_CUBIC_SPLINE,
+        CurveInterpolators.STEP_UPPER};
+    CurveExtrapolator[] extrapolators = {CurveExtrapolators.FLAT, CurveExtrapolators.LINEAR};
+    for (CurveInterpolator interpolator : interpolators) {
+      for (CurveExtrapolator extrapolator : extrapolators) {
+        InterpolatedNodalCurve base = InterpolatedNodalCurve.of(
+            METADATA, XVALUES, YVALUES.row(0), interpolator, extrapolator, extrapolator);
+        assertYValues(InterpolatedNodalCurveScenarioArray.of(base, YVALUES));
+      }
+    }
+  }
+
+  @Test
+  public void test_yValues_notWeighted() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(
+        METADATA,
+        XVALUES,
+        YVALUES.row(0),
+        CurveInterpolators.LOG_LINEAR,
+        CurveExtrapolators.LOG_LINEAR,
+        CurveExtrapolators.PRODUCT_LINEAR);
+    assertYValues(InterpolatedNodalCurveScenarioArray.of(base, YVALUES));
+  }
+
+  // checks the y-values against those of the curve of each scenario
+  private static void assertYValues(InterpolatedNodalCurveScenarioArray test) {
+    for (double x : X_SAMPLES) {
+      DoubleArray yValues = test.yValues(x);
+      assertThat(yValues.size()).isEqualTo(test.getScenarioCount());
+      for (int i = 0; i < test.getScenarioCount(); i++) {
+        assertThat(yValues.get(i)).isCloseTo(test.get(i).yValue(x), offset(1e-9));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    coverImmutableBean(test);
+    InterpolatedNodalCurve base2 = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Other", ACT_365F),
+        DoubleArray.of(1d, 2d),
+        DoubleArray.of(0.01d, 0.02d),
+        CurveInterpolators.LOG_LINEAR,
+        CurveExtrapolators.LINEAR,
+        CurveExtrapolators.LINEAR);
+    InterpolatedNodalCurveScenarioArray test2 =
+        InterpolatedNodalCurveScenarioArray.of(base2, DoubleMatrix.of(1, 2, 0.01d, 0.02d));
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES));
+  }
+
+}
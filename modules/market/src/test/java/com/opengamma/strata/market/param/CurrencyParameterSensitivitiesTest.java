@@ -11,8 +11,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -268,6 +270,20 @@ public class CurrencyParameterSensitivitiesTest {
     assertThat(test).isEqualTo(SENSI_1);
   }
 
+  @Test
+  public void test_toCurrencyParameterSensitivities() {
+    CurrencyParameterSensitivities test = Stream.of(SENSI_1, SENSI_2, CurrencyParameterSensitivities.empty())
+        .collect(CurrencyParameterSensitivities.toCurrencyParameterSensitivities());
+    assertThat(test).isEqualTo(SENSI_1.combinedWith(SENSI_2));
+  }
+
+  @Test
+  public void test_toCurrencyParameterSensitivities_parallel() {
+    CurrencyParameterSensitivities test = Collections.nCopies(1000, SENSI_2).parallelStream()
+        .collect(CurrencyParameterSensitivities.toCurrencyParameterSensitivities());
+    assertThat(test.equalWithTolerance(SENSI_2.multipliedBy(1000), TOLERENCE_CMP)).isTrue();
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_mergedWith() {
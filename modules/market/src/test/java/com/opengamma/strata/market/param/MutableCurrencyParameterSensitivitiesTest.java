@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link MutableCurrencyParameterSensitivities}.
+ */
+public class MutableCurrencyParameterSensitivitiesTest {
+
+  private static final CurveName NAME1 = CurveName.of("NAME-1");
+  private static final CurveName NAME2 = CurveName.of("NAME-2");
+  private static final CurrencyParameterSensitivity ENTRY_USD = CurrencyParameterSensitivity.of(
+      NAME1, ParameterMetadata.listOfEmpty(3), USD, DoubleArray.of(100, 200, 300));
+  private static final CurrencyParameterSensitivity ENTRY_USD2 = CurrencyParameterSensitivity.of(
+      NAME1, ParameterMetadata.listOfEmpty(3), USD, DoubleArray.of(1, 2, 3));
+  private static final CurrencyParameterSensitivity ENTRY_USD_SMALL = CurrencyParameterSensitivity.of(
+      NAME1, ParameterMetadata.listOfEmpty(1), USD, DoubleArray.of(1));
+  private static final CurrencyParameterSensitivity ENTRY_EUR = CurrencyParameterSensitivity.of(
+      NAME1, ParameterMetadata.listOfEmpty(3), EUR, DoubleArray.of(10, 20, 30));
+  private static final CurrencyParameterSensitivity ENTRY_NAME2 = CurrencyParameterSensitivity.of(
+      NAME2, USD, ImmutableMap.of(TenorParameterMetadata.of(Tenor.TENOR_1Y), 5d));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.empty());
+  }
+
+  @Test
+  public void test_add() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities()
+        .add(ENTRY_NAME2)
+        .add(ENTRY_USD)
+        .add(CurrencyParameterSensitivities.of(ENTRY_USD2, ENTRY_EUR));
+    assertThat(test.size()).isEqualTo(3);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.of(ENTRY_NAME2)
+        .combinedWith(ENTRY_USD)
+        .combinedWith(CurrencyParameterSensitivities.of(ENTRY_USD2, ENTRY_EUR));
+    assertThat(test.build()).isEqualTo(expected);
+    assertThat(test.build().getSensitivities()).containsExactly(
+        ENTRY_EUR, ENTRY_USD.plus(ENTRY_USD2.getSensitivity()), ENTRY_NAME2);
+  }
+
+  @Test
+  public void test_add_sizeMismatch() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities().add(ENTRY_USD);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(ENTRY_USD_SMALL));
+    MutableCurrencyParameterSensitivities other = new MutableCurrencyParameterSensitivities().add(ENTRY_USD_SMALL);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(other));
+  }
+
+  @Test
+  public void test_add_other() {
+    MutableCurrencyParameterSensitivities other = new MutableCurrencyParameterSensitivities()
+        .add(ENTRY_USD2)
+        .add(ENTRY_EUR);
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities()
+        .add(ENTRY_USD)
+        .add(other);
+    assertThat(test.build())
+        .isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD, ENTRY_EUR).combinedWith(ENTRY_USD2));
+    // other is unaffected, including by later changes to this instance
+    test.add(ENTRY_EUR);
+    assertThat(other.build()).isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD2, ENTRY_EUR));
+  }
+
+  @Test
+  public void test_build_unaffectedByLaterAdd() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities().add(ENTRY_USD);
+    CurrencyParameterSensitivities built = test.build();
+    test.add(ENTRY_USD2);
+    assertThat(built).isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD));
+    assertThat(ENTRY_USD.getSensitivity()).isEqualTo(DoubleArray.of(100, 200, 300));
+  }
+
+}
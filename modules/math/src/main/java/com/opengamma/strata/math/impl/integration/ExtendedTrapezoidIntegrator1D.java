@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.integration.TrapezoidIntegrator;
@@ -16,7 +17,6 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
 
 /**
  * The trapezoid integration rule is a two-point Newton-Cotes formula that
@@ -47,12 +47,28 @@ public class ExtendedTrapezoidIntegrator1D extends Integrator1D<Double, Double>
     ArgChecker.notNull(f, "f");
     ArgChecker.notNull(lower, "lower");
     ArgChecker.notNull(upper, "upper");
+    return integrate((DoubleUnaryOperator) f::apply, lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * Integrates a function of primitive doubles.
+   * <p>
+   * This avoids boxing each evaluation of the function.
+   * If the lower bound is larger than the upper, the bounds are reversed and the result negated.
+   * 
+   * @param f The function to integrate, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
+   * @return The result of the integration
+   */
+  public double integrate(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
     try {
       if (lower < upper) {
-        return INTEGRATOR.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+        return INTEGRATOR.integrate(MAX_EVAL, f::applyAsDouble, lower, upper);
       }
       log.info("Upper bound was less than lower bound; swapping bounds and negating result");
-      return -INTEGRATOR.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), upper, lower);
+      return -INTEGRATOR.integrate(MAX_EVAL, f::applyAsDouble, upper, lower);
     } catch (MaxCountExceededException |
         MathIllegalArgumentException e) {
       throw new MathException(e);
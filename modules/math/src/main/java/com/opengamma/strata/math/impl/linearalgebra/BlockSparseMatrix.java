@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+
+/**
+ * Class representing a square block-sparse matrix.
+ * <p>
+ * The rows and columns are partitioned into the same consecutive blocks.
+ * Only the blocks that contain at least one non-zero element are stored.
+ * <p>
+ * This is typically used for the Jacobian of a curve calibration, where the blocks are the curves.
+ * The instrument used for a node only depends on a small number of curves,
+ * thus most of the blocks are zero.
+ */
+public final class BlockSparseMatrix implements Matrix {
+
+  /**
+   * The size of the matrix.
+   */
+  private final int size;
+  /**
+   * The index of the first row and column of each block, with the size of the matrix as the final element.
+   */
+  private final int[] blockStarts;
+  /**
+   * The non-zero blocks, null if the block is zero.
+   */
+  private final DoubleMatrix[][] blocks;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a dense matrix.
+   * <p>
+   * The sum of the block sizes must equal the number of rows and columns in the matrix.
+   * A block is stored only if it contains at least one non-zero element.
+   *
+   * @param matrix  the square matrix
+   * @param blockSizes  the sizes of the blocks, applied to both rows and columns
+   * @return the block-sparse matrix
+   */
+  public static BlockSparseMatrix of(DoubleMatrix matrix, int... blockSizes) {
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.notNull(blockSizes, "blockSizes");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix must be square");
+    int[] blockStarts = blockStarts(blockSizes, matrix.rowCount());
+    int blockCount = blockSizes.length;
+    DoubleMatrix[][] blocks = new DoubleMatrix[blockCount][blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      for (int j = 0; j < blockCount; j++) {
+        blocks[i][j] = extractBlock(matrix, blockStarts[i], blockStarts[i + 1], blockStarts[j], blockStarts[j + 1]);
+      }
+    }
+    return new BlockSparseMatrix(matrix.rowCount(), blockStarts, blocks);
+  }
+
+  // validates the block sizes and converts them to start indices
+  private static int[] blockStarts(int[] blockSizes, int size) {
+    int[] blockStarts = new int[blockSizes.length + 1];
+    for (int i = 0; i < blockSizes.length; i++) {
+      ArgChecker.notNegativeOrZero(blockSizes[i], "blockSize");
+      blockStarts[i + 1] = blockStarts[i] + blockSizes[i];
+    }
+    ArgChecker.isTrue(
+        blockStarts[blockSizes.length] == size,
+        "Block sizes must sum to the size of the matrix, {} but was {}",
+        size,
+        blockStarts[blockSizes.length]);
+    return blockStarts;
+  }
+
+  // extracts a block, null if all elements are zero
+  private static DoubleMatrix extractBlock(DoubleMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd) {
+    double[][] block = new double[rowEnd - rowStart][];
+    boolean zero = true;
+    for (int i = rowStart; i < rowEnd; i++) {
+      double[] row = Arrays.copyOfRange(matrix.row(i).toArrayUnsafe(), colStart, colEnd);
+      for (int j = 0; j < row.length && zero; j++) {
+        zero = row[j] == 0d;
+      }
+      block[i - rowStart] = row;
+    }
+    return zero ? null : DoubleMatrix.ofUnsafe(block);
+  }
+
+  // restricted constructor
+  private BlockSparseMatrix(int size, int[] blockStarts, DoubleMatrix[][] blocks) {
+    this.size = size;
+    this.blockStarts = blockStarts;
+    this.blocks = blocks;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows, which equals the number of columns.
+   *
+   * @return the number of rows
+   */
+  public int rowCount() {
+    return size;
+  }
+
+  /**
+   * Gets the number of columns, which equals the number of rows.
+   *
+   * @return the number of columns
+   */
+  public int columnCount() {
+    return size;
+  }
+
+  /**
+   * Gets the number of blocks in each of the rows and columns.
+   *
+   * @return the number of blocks
+   */
+  public int getBlockCount() {
+    return blocks.length;
+  }
+
+  /**
+   * Gets the size of the block.
+   *
+   * @param blockIndex  the zero-based index of the block
+   * @return the number of rows and columns in the block
+   */
+  public int getBlockSize(int blockIndex) {
+    return blockStarts[blockIndex + 1] - blockStarts[blockIndex];
+  }
+
+  /**
+   * Gets the index of the first row and column of the block.
+   *
+   * @param blockIndex  the zero-based index of the block
+   * @return the index of the first row and column of the block
+   */
+  public int getBlockStart(int blockIndex) {
+    return blockStarts[blockIndex];
+  }
+
+  /**
+   * Checks if the block is zero.
+   *
+   * @param blockRow  the zero-based index of the block row
+   * @param blockColumn  the zero-based index of the block column
+   * @return true if all the elements of the block are zero
+   */
+  public boolean isZeroBlock(int blockRow, int blockColumn) {
+    return blocks[blockRow][blockColumn] == null;
+  }
+
+  /**
+   * Gets the block.
+   * <p>
+   * A zero block is returned as a matrix filled with zeroes.
+   *
+   * @param blockRow  the zero-based index of the block row
+   * @param blockColumn  the zero-based index of the block column
+   * @return the block
+   */
+  public DoubleMatrix getBlock(int blockRow, int blockColumn) {
+    DoubleMatrix block = blocks[blockRow][blockColumn];
+    return block != null ? block : DoubleMatrix.filled(getBlockSize(blockRow), getBlockSize(blockColumn));
+  }
+
+  /**
+   * Gets the number of non-zero blocks.
+   *
+   * @return the number of non-zero blocks
+   */
+  public int getNonZeroBlockCount() {
+    int count = 0;
+    for (DoubleMatrix[] blockRow : blocks) {
+      for (DoubleMatrix block : blockRow) {
+        count += block != null ? 1 : 0;
+      }
+    }
+    return count;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the element at the specified row and column.
+   *
+   * @param row  the zero-based row index
+   * @param column  the zero-based column index
+   * @return the element
+   */
+  public double get(int row, int column) {
+    ArgChecker.inRange(row, 0, size, "row");
+    ArgChecker.inRange(column, 0, size, "column");
+    int blockRow = blockIndex(row);
+    int blockColumn = blockIndex(column);
+    DoubleMatrix block = blocks[blockRow][blockColumn];
+    return block != null ? block.get(row - blockStarts[blockRow], column - blockStarts[blockColumn]) : 0d;
+  }
+
+  // finds the block containing the row or column
+  private int blockIndex(int index) {
+    int found = Arrays.binarySearch(blockStarts, index);
+    return found >= 0 ? found : -found - 2;
+  }
+
+  /**
+   * Multiplies this matrix by a vector, skipping the zero blocks.
+   *
+   * @param vector  the vector
+   * @return the result of the multiplication
+   */
+  public DoubleArray multiply(DoubleArray vector) {
+    ArgChecker.isTrue(vector.size() == size, "Vector size must be {} but was {}", size, vector.size());
+    double[] result = new double[size];
+    for (int i = 0; i < blocks.length; i++) {
+      for (int j = 0; j < blocks.length; j++) {
+        DoubleMatrix block = blocks[i][j];
+        if (block != null) {
+          multiplyAdd(block, vector.toArrayUnsafe(), blockStarts[j], result, blockStarts[i]);
+        }
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // adds the block multiplied by part of the vector to part of the result
+  private static void multiplyAdd(DoubleMatrix block, double[] vector, int vectorStart, double[] result, int resultStart) {
+    for (int i = 0; i < block.rowCount(); i++) {
+      double[] row = block.row(i).toArrayUnsafe();
+      double total = 0d;
+      for (int j = 0; j < row.length; j++) {
+        total += row[j] * vector[vectorStart + j];
+      }
+      result[resultStart + i] += total;
+    }
+  }
+
+  /**
+   * Converts this matrix to a dense matrix.
+   *
+   * @return the dense matrix
+   */
+  public DoubleMatrix toDoubleMatrix() {
+    double[][] data = new double[size][size];
+    for (int i = 0; i < blocks.length; i++) {
+      for (int j = 0; j < blocks.length; j++) {
+        DoubleMatrix block = blocks[i][j];
+        if (block != null) {
+          for (int k = 0; k < block.rowCount(); k++) {
+            System.arraycopy(
+                block.row(k).toArrayUnsafe(), 0, data[blockStarts[i] + k], blockStarts[j], block.columnCount());
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(data);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int dimensions() {
+    return 2;
+  }
+
+  @Override
+  public int size() {
+    return size * size;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      BlockSparseMatrix other = (BlockSparseMatrix) obj;
+      return Arrays.equals(blockStarts, other.blockStarts) &&
+          Arrays.deepEquals(blocks, other.blocks);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(blockStarts) * 31 + Arrays.deepHashCode(blocks);
+  }
+
+  @Override
+  public String toString() {
+    return "BlockSparseMatrix[size=" + size + ", blocks=" + blocks.length + ", nonZeroBlocks=" + getNonZeroBlockCount() + "]";
+  }
+
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
+
+/**
+ * Solver for linear systems defined by a {@link BlockSparseMatrix}.
+ * <p>
+ * The blocks are grouped into strongly connected components, where each component is a set of
+ * blocks whose unknowns depend on each other. The components are ordered such that the matrix is
+ * block triangular, thus each component can be solved by substitution once the components it depends on are known.
+ * Only the diagonal part of each component is decomposed, using LU decomposition with partial pivoting.
+ * The matrix is treated as singular if a pivot is negligible compared to the other elements of its column.
+ * <p>
+ * For a matrix of size n split into components of size m, the decomposition is of order n m^2,
+ * as opposed to order n^3 for the general problem.
+ */
+public final class BlockSparseSolver implements DecompositionResult {
+
+  /**
+   * The matrix.
+   */
+  private final BlockSparseMatrix matrix;
+  /**
+   * The blocks of each component, in the order they are solved.
+   */
+  private final List<int[]> components;
+  /**
+   * The decomposition of the diagonal part of each component.
+   */
+  private final List<DenseLu> decompositions;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance, decomposing the matrix.
+   *
+   * @param matrix  the matrix
+   * @return the solver
+   * @throws MathException if the matrix is singular
+   */
+  public static BlockSparseSolver of(BlockSparseMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    List<int[]> components = new StronglyConnectedBlocks(matrix).components();
+    List<DenseLu> decompositions = new ArrayList<>(components.size());
+    for (int[] component : components) {
+      decompositions.add(DenseLu.of(diagonal(matrix, component)));
+    }
+    return new BlockSparseSolver(matrix, components, decompositions);
+  }
+
+  // extracts the diagonal part of the component as a dense array
+  private static double[][] diagonal(BlockSparseMatrix matrix, int[] component) {
+    int size = componentSize(matrix, component);
+    double[][] data = new double[size][size];
+    int rowStart = 0;
+    for (int blockRow : component) {
+      int colStart = 0;
+      for (int blockColumn : component) {
+        if (!matrix.isZeroBlock(blockRow, blockColumn)) {
+          double[][] block = matrix.getBlock(blockRow, blockColumn).toArrayUnsafe();
+          for (int i = 0; i < block.length; i++) {
+            System.arraycopy(block[i], 0, data[rowStart + i], colStart, block[i].length);
+          }
+        }
+        colStart += matrix.getBlockSize(blockColumn);
+      }
+      rowStart += matrix.getBlockSize(blockRow);
+    }
+    return data;
+  }
+
+  // the number of rows and columns in the component
+  private static int componentSize(BlockSparseMatrix matrix, int[] component) {
+    int size = 0;
+    for (int block : component) {
+      size += matrix.getBlockSize(block);
+    }
+    return size;
+  }
+
+  // restricted constructor
+  private BlockSparseSolver(BlockSparseMatrix matrix, List<int[]> components, List<DenseLu> decompositions) {
+    this.matrix = matrix;
+    this.components = components;
+    this.decompositions = decompositions;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of strongly connected components.
+   * <p>
+   * Each component is decomposed independently.
+   *
+   * @return the number of components
+   */
+  public int getComponentCount() {
+    return components.size();
+  }
+
+  /**
+   * Solves the system Ax = b for the unknown vector x.
+   *
+   * @param input  the known vector b, with the same size as the matrix
+   * @return the unknown vector x
+   */
+  @Override
+  public double[] solve(double[] input) {
+    ArgChecker.notNull(input, "input");
+    int size = matrix.rowCount();
+    ArgChecker.isTrue(input.length == size, "Input size must be {} but was {}", size, input.length);
+    double[] result = new double[size];
+    boolean[] solved = new boolean[matrix.getBlockCount()];
+    for (int c = 0; c < components.size(); c++) {
+      int[] component = components.get(c);
+      double[] rhs = new double[decompositions.get(c).size()];
+      int localStart = 0;
+      for (int blockRow : component) {
+        int blockStart = matrix.getBlockStart(blockRow);
+        int blockSize = matrix.getBlockSize(blockRow);
+        System.arraycopy(input, blockStart, rhs, localStart, blockSize);
+        // substitute the unknowns from components that have already been solved
+        for (int blockColumn = 0; blockColumn < matrix.getBlockCount(); blockColumn++) {
+          if (solved[blockColumn] && !matrix.isZeroBlock(blockRow, blockColumn)) {
+            double[][] block = matrix.getBlock(blockRow, blockColumn).toArrayUnsafe();
+            int columnStart = matrix.getBlockStart(blockColumn);
+            for (int i = 0; i < blockSize; i++) {
+              double[] row = block[i];
+              double total = 0d;
+              for (int j = 0; j < row.length; j++) {
+                total += row[j] * result[columnStart + j];
+              }
+              rhs[localStart + i] -= total;
+            }
+          }
+        }
+        localStart += blockSize;
+      }
+      double[] componentResult = decompositions.get(c).solve(rhs);
+      localStart = 0;
+      for (int block : component) {
+        int blockSize = matrix.getBlockSize(block);
+        System.arraycopy(componentResult, localStart, result, matrix.getBlockStart(block), blockSize);
+        localStart += blockSize;
+        solved[block] = true;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Solves the system AX = B for the unknown matrix X.
+   * <p>
+   * All the columns of B are solved together, substituting each component once for all the columns.
+   *
+   * @param input  the known matrix B, with the same number of rows as the matrix
+   * @return the unknown matrix X
+   */
+  @Override
+  public DoubleMatrix solve(DoubleMatrix input) {
+    ArgChecker.notNull(input, "input");
+    int size = matrix.rowCount();
+    ArgChecker.isTrue(input.rowCount() == size, "Input row count must be {} but was {}", size, input.rowCount());
+    return DoubleMatrix.ofUnsafe(solveColumns(input.toArrayUnsafe(), input.columnCount()));
+  }
+
+  /**
+   * Calculates the inverse of the matrix.
+   *
+   * @return the inverse
+   */
+  public DoubleMatrix inverse() {
+    int size = matrix.rowCount();
+    return DoubleMatrix.ofUnsafe(solveColumns(DoubleMatrix.identity(size).toArrayUnsafe(), size));
+  }
+
+  // solves for all the columns of the input, which is not altered
+  private double[][] solveColumns(double[][] input, int columnCount) {
+    double[][] result = new double[matrix.rowCount()][];
+    boolean[] solved = new boolean[matrix.getBlockCount()];
+    for (int c = 0; c < components.size(); c++) {
+      int[] component = components.get(c);
+      double[][] rhs = new double[decompositions.get(c).size()][];
+      int localStart = 0;
+      for (int blockRow : component) {
+        int blockStart = matrix.getBlockStart(blockRow);
+        int blockSize = matrix.getBlockSize(blockRow);
+        for (int i = 0; i < blockSize; i++) {
+          rhs[localStart + i] = input[blockStart + i].clone();
+        }
+        // substitute the unknowns from components that have already been solved
+        for (int blockColumn = 0; blockColumn < matrix.getBlockCount(); blockColumn++) {
+          if (solved[blockColumn] && !matrix.isZeroBlock(blockRow, blockColumn)) {
+            double[][] block = matrix.getBlock(blockRow, blockColumn).toArrayUnsafe();
+            int columnStart = matrix.getBlockStart(blockColumn);
+            for (int i = 0; i < blockSize; i++) {
+              double[] rhsRow = rhs[localStart + i];
+              double[] row = block[i];
+              for (int j = 0; j < row.length; j++) {
+                if (row[j] != 0d) {
+                  double[] solvedRow = result[columnStart + j];
+                  for (int k = 0; k < columnCount; k++) {
+                    rhsRow[k] -= row[j] * solvedRow[k];
+                  }
+                }
+              }
+            }
+          }
+        }
+        localStart += blockSize;
+      }
+      double[][] componentResult = decompositions.get(c).solve(rhs, columnCount);
+      localStart = 0;
+      for (int block : component) {
+        int blockSize = matrix.getBlockSize(block);
+        System.arraycopy(componentResult, localStart, result, matrix.getBlockStart(block), blockSize);
+        localStart += blockSize;
+        solved[block] = true;
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the strongly connected components of the blocks using Tarjan's algorithm.
+   * <p>
+   * Block i depends on block j if the block at row i and column j is non-zero.
+   * The components are found in reverse topological order, such that the components
+   * a component depends on are found before it.
+   */
+  private static final class StronglyConnectedBlocks {
+    private final BlockSparseMatrix matrix;
+    private final int[] index;
+    private final int[] lowLink;
+    private final boolean[] onStack;
+    private final Deque<Integer> stack = new ArrayDeque<>();
+    private final List<int[]> components = new ArrayList<>();
+    private int counter;
+
+    private StronglyConnectedBlocks(BlockSparseMatrix matrix) {
+      this.matrix = matrix;
+      this.index = new int[matrix.getBlockCount()];
+      this.lowLink = new int[matrix.getBlockCount()];
+      this.onStack = new boolean[matrix.getBlockCount()];
+      Arrays.fill(index, -1);
+    }
+
+    private List<int[]> components() {
+      for (int block = 0; block < index.length; block++) {
+        if (index[block] < 0) {
+          visit(block);
+        }
+      }
+      return components;
+    }
+
+    private void visit(int block) {
+      index[block] = counter;
+      lowLink[block] = counter;
+      counter++;
+      stack.push(block);
+      onStack[block] = true;
+      for (int other = 0; other < index.length; other++) {
+        if (other != block && !matrix.isZeroBlock(block, other)) {
+          if (index[other] < 0) {
+            visit(other);
+            lowLink[block] = Math.min(lowLink[block], lowLink[other]);
+          } else if (onStack[other]) {
+            lowLink[block] = Math.min(lowLink[block], index[other]);
+          }
+        }
+      }
+      if (lowLink[block] == index[block]) {
+        List<Integer> component = new ArrayList<>();
+        int member;
+        do {
+          member = stack.pop();
+          onStack[member] = false;
+          component.add(member);
+        } while (member != block);
+        components.add(component.stream().mapToInt(Integer::intValue).sorted().toArray());
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * LU decomposition of a dense matrix with partial pivoting.
+   */
+  private static final class DenseLu {
+    /**
+     * The relative size of a pivot, compared to the largest element in its column of the
+     * original matrix, below which the matrix is treated as singular.
+     */
+    private static final double SINGULARITY_THRESHOLD = 1e-11;
+
+    private final double[][] lu;
+    private final int[] pivot;
+
+    private static DenseLu of(double[][] data) {
+      int size = data.length;
+      int[] pivot = new int[size];
+      double[] columnMax = new double[size];
+      for (int i = 0; i < size; i++) {
+        pivot[i] = i;
+        for (int j = 0; j < size; j++) {
+          columnMax[j] = Math.max(columnMax[j], Math.abs(data[i][j]));
+        }
+      }
+      for (int k = 0; k < size; k++) {
+        // find the pivot row
+        int max = k;
+        for (int i = k + 1; i < size; i++) {
+          if (Math.abs(data[i][k]) > Math.abs(data[max][k])) {
+            max = i;
+          }
+        }
+        if (Math.abs(data[max][k]) <= SINGULARITY_THRESHOLD * columnMax[k]) {
+          throw new MathException("Matrix is singular");
+        }
+        if (max != k) {
+          double[] tempRow = data[k];
+          data[k] = data[max];
+          data[max] = tempRow;
+          int tempPivot = pivot[k];
+          pivot[k] = pivot[max];
+          pivot[max] = tempPivot;
+        }
+        // eliminate below the pivot
+        double[] pivotRow = data[k];
+        for (int i = k + 1; i < size; i++) {
+          double[] row = data[i];
+          if (row[k] != 0d) {
+            double factor = row[k] / pivotRow[k];
+            row[k] = factor;
+            for (int j = k + 1; j < size; j++) {
+              row[j] -= factor * pivotRow[j];
+            }
+          }
+        }
+      }
+      return new DenseLu(data, pivot);
+    }
+
+    private DenseLu(double[][] lu, int[] pivot) {
+      this.lu = lu;
+      this.pivot = pivot;
+    }
+
+    private int size() {
+      return pivot.length;
+    }
+
+    private double[] solve(double[] rhs) {
+      int size = pivot.length;
+      double[] x = new double[size];
+      for (int i = 0; i < size; i++) {
+        x[i] = rhs[pivot[i]];
+      }
+      // forward substitution, L has unit diagonal
+      for (int i = 1; i < size; i++) {
+        double[] row = lu[i];
+        double total = x[i];
+        for (int j = 0; j < i; j++) {
+          total -= row[j] * x[j];
+        }
+        x[i] = total;
+      }
+      // back substitution
+      for (int i = size - 1; i >= 0; i--) {
+        double[] row = lu[i];
+        double total = x[i];
+        for (int j = i + 1; j < size; j++) {
+          total -= row[j] * x[j];
+        }
+        x[i] = total / row[i];
+      }
+      return x;
+    }
+
+    // solves for all the columns at once, reusing the rows of the input which are altered
+    private double[][] solve(double[][] rhs, int columnCount) {
+      int size = pivot.length;
+      double[][] x = new double[size][];
+      for (int i = 0; i < size; i++) {
+        x[i] = rhs[pivot[i]];
+      }
+      // forward substitution, L has unit diagonal
+      for (int i = 1; i < size; i++) {
+        double[] row = lu[i];
+        double[] xi = x[i];
+        for (int j = 0; j < i; j++) {
+          if (row[j] != 0d) {
+            double[] xj = x[j];
+            for (int k = 0; k < columnCount; k++) {
+              xi[k] -= row[j] * xj[k];
+            }
+          }
+        }
+      }
+      // back substitution
+      for (int i = size - 1; i >= 0; i--) {
+        double[] row = lu[i];
+        double[] xi = x[i];
+        for (int j = i + 1; j < size; j++) {
+          if (row[j] != 0d) {
+            double[] xj = x[j];
+            for (int k = 0; k < columnCount; k++) {
+              xi[k] -= row[j] * xj[k];
+            }
+          }
+        }
+        for (int k = 0; k < columnCount; k++) {
+          xi[k] /= row[i];
+        }
+      }
+      return x;
+    }
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Counter-based generator of standard normal random numbers.
+ * <p>
+ * The random numbers are organized in streams, each random number being identified by
+ * the index of its stream and a counter within the stream.
+ * The random number is a pure function of the seed, the stream and the counter.
+ * Thus the streams can be generated in any order, and on any thread, with the same results.
+ * In a Monte Carlo simulation, each path is typically associated with a stream,
+ * the counter being the index of the random number along the path.
+ * <p>
+ * Each stream is a SplitMix64 sequence whose initial state is derived from the seed and the index of the stream.
+ * The uniform random numbers are converted to normal random numbers by the inverse cumulative distribution.
+ * <p>
+ * The methods of {@link RandomNumberGenerator} return the successive streams, starting from stream zero.
+ */
+public final class CounterBasedRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The increment of the SplitMix64 sequence.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  /**
+   * The spacing of the uniform random numbers.
+   */
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The seed.
+   */
+  private final long seed;
+  /**
+   * The next stream returned by the methods of {@link RandomNumberGenerator}.
+   */
+  private final AtomicLong nextStream = new AtomicLong();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the seed.
+   *
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static CounterBasedRandomNumberGenerator of(long seed) {
+    return new CounterBasedRandomNumberGenerator(seed);
+  }
+
+  // restricted constructor
+  private CounterBasedRandomNumberGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the seed.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets a uniform random number.
+   * <p>
+   * The result is strictly between zero and one.
+   *
+   * @param stream  the index of the stream
+   * @param counter  the counter within the stream
+   * @return the uniform random number
+   */
+  public double uniform(long stream, long counter) {
+    return toUniform(mix64(streamState(stream) + counter * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Gets a standard normal random number.
+   *
+   * @param stream  the index of the stream
+   * @param counter  the counter within the stream
+   * @return the normal random number
+   */
+  public double normal(long stream, long counter) {
+    return Probability.normalInverse(uniform(stream, counter));
+  }
+
+  /**
+   * Fills the array with the first standard normal random numbers of a stream.
+   * <p>
+   * The element {@code i} of the array is the random number with counter {@code i}.
+   *
+   * @param stream  the index of the stream
+   * @param result  the array to fill
+   */
+  public void fillNormal(long stream, double[] result) {
+    long state = streamState(stream);
+    for (int i = 0; i < result.length; i++) {
+      result[i] = Probability.normalInverse(toUniform(mix64(state + i * GOLDEN_GAMMA)));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    fillNormal(nextStream.getAndIncrement(), result);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // the initial state of the sequence of the stream
+  private long streamState(long stream) {
+    return mix64(seed ^ mix64(stream * GOLDEN_GAMMA + GOLDEN_GAMMA));
+  }
+
+  // the mixing function of SplitMix64
+  private static long mix64(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  // converts the 53 high bits to a number strictly between zero and one
+  private static double toUniform(long bits) {
+    return ((bits >>> 11) + 0.5d) * DOUBLE_UNIT;
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Generator of the Sobol low-discrepancy sequence.
+ * <p>
+ * The points of the sequence are identified by their index, and can be generated in any order,
+ * and on any thread, with the same results.
+ * The point of a given index is computed directly from the binary digits of the index,
+ * thus the order of the points differs from the Gray code order within each block of 2<sup>k</sup> points.
+ * The point with index zero is the origin, hence normal random numbers are only available from index one.
+ * <p>
+ * The direction numbers are derived from the primitive polynomials and the initial direction numbers
+ * of Joe and Kuo for the first {@value #MAX_DIMENSION} dimensions.
+ * <p>
+ * Reference: Joe, S. and Kuo, F. Y. "Constructing Sobol sequences with better two-dimensional projections".
+ * SIAM Journal on Scientific Computing, 2008, 30, 2635-2654.
+ * <p>
+ * The methods of {@link RandomNumberGenerator} return the standard normal random numbers
+ * of the successive points, starting from index one.
+ */
+public final class SobolSequenceGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The maximum dimension.
+   */
+  public static final int MAX_DIMENSION = 37;
+  /**
+   * The number of bits of the direction numbers.
+   */
+  private static final int BITS = 52;
+  /**
+   * The spacing of the points.
+   */
+  private static final double SCALE = 0x1.0p-52;
+  /**
+   * The degree, the coefficients and the initial direction numbers of the primitive polynomials,
+   * from the second dimension.
+   */
+  private static final int[][] POLYNOMIALS = {
+      {1, 0, 1},
+      {2, 1, 1, 3},
+      {3, 1, 1, 3, 1},
+      {3, 2, 1, 1, 1},
+      {4, 1, 1, 1, 3, 3},
+      {4, 4, 1, 3, 5, 13},
+      {5, 2, 1, 1, 5, 5, 17},
+      {5, 4, 1, 1, 5, 5, 5},
+      {5, 7, 1, 1, 7, 11, 19},
+      {5, 11, 1, 1, 5, 1, 1},
+      {5, 13, 1, 1, 1, 3, 11},
+      {5, 14, 1, 3, 5, 5, 31},
+      {6, 1, 1, 3, 3, 9, 7, 49},
+      {6, 13, 1, 1, 1, 15, 21, 21},
+      {6, 16, 1, 3, 1, 13, 27, 49},
+      {6, 19, 1, 1, 1, 15, 7, 5},
+      {6, 22, 1, 3, 1, 15, 13, 25},
+      {6, 25, 1, 1, 5, 5, 19, 61},
+      {7, 1, 1, 3, 7, 11, 23, 15, 103},
+      {7, 4, 1, 3, 7, 13, 13, 15, 69},
+      {7, 7, 1, 1, 3, 13, 7, 35, 63},
+      {7, 8, 1, 3, 5, 9, 1, 25, 53},
+      {7, 14, 1, 3, 1, 13, 9, 35, 107},
+      {7, 19, 1, 3, 1, 5, 27, 61, 31},
+      {7, 21, 1, 1, 5, 11, 19, 41, 61},
+      {7, 28, 1, 3, 5, 3, 3, 13, 69},
+      {7, 31, 1, 1, 7, 13, 1, 19, 1},
+      {7, 32, 1, 3, 7, 5, 13, 19, 59},
+      {7, 37, 1, 1, 3, 9, 25, 29, 41},
+      {7, 41, 1, 3, 5, 13, 23, 1, 55},
+      {7, 42, 1, 3, 7, 3, 13, 59, 17},
+      {7, 50, 1, 3, 1, 3, 5, 53, 69},
+      {7, 55, 1, 1, 5, 5, 23, 33, 13},
+      {7, 56, 1, 1, 7, 7, 1, 61, 123},
+      {7, 59, 1, 1, 7, 9, 13, 61, 49},
+      {7, 62, 1, 3, 3, 5, 3, 55, 33}};
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The direction numbers, indexed by dimension then bit.
+   */
+  private final long[][] direction;
+  /**
+   * The next index returned by the methods of {@link RandomNumberGenerator}.
+   */
+  private final AtomicLong nextIndex = new AtomicLong(1);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified dimension.
+   *
+   * @param dimension  the dimension, from one to {@link #MAX_DIMENSION}
+   * @return the generator
+   */
+  public static SobolSequenceGenerator of(int dimension) {
+    ArgChecker.inRangeInclusive(dimension, 1, MAX_DIMENSION, "dimension");
+    return new SobolSequenceGenerator(dimension);
+  }
+
+  // restricted constructor
+  private SobolSequenceGenerator(int dimension) {
+    this.dimension = dimension;
+    this.direction = new long[dimension][BITS];
+    for (int k = 0; k < BITS; k++) {
+      direction[0][k] = 1L << (BITS - 1 - k);
+    }
+    for (int j = 1; j < dimension; j++) {
+      int[] polynomial = POLYNOMIALS[j - 1];
+      int degree = polynomial[0];
+      int coefficients = polynomial[1];
+      long[] v = direction[j];
+      for (int k = 0; k < degree; k++) {
+        v[k] = ((long) polynomial[k + 2]) << (BITS - 1 - k);
+      }
+      for (int k = degree; k < BITS; k++) {
+        v[k] = v[k - degree] ^ (v[k - degree] >>> degree);
+        for (int l = 1; l < degree; l++) {
+          if (((coefficients >>> (degree - 1 - l)) & 1) == 1) {
+            v[k] ^= v[k - l];
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Fills the array with the coordinates of the point of the sequence.
+   * <p>
+   * The length of the array must not exceed the dimension, the first coordinates being filled.
+   *
+   * @param index  the index of the point, zero or greater
+   * @param result  the array to fill
+   */
+  public void fillUniform(long index, double[] result) {
+    ArgChecker.notNegative(index, "index");
+    ArgChecker.isTrue(result.length <= dimension, "The array length must not exceed the dimension {}", dimension);
+    for (int j = 0; j < result.length; j++) {
+      result[j] = coordinate(index, j) * SCALE;
+    }
+  }
+
+  /**
+   * Fills the array with the standard normal random numbers of the point of the sequence.
+   * <p>
+   * The coordinates of the point are converted by the inverse cumulative normal distribution.
+   * The length of the array must not exceed the dimension, the first coordinates being filled.
+   *
+   * @param index  the index of the point, one or greater
+   * @param result  the array to fill
+   */
+  public void fillNormal(long index, double[] result) {
+    ArgChecker.notNegativeOrZero(index, "index");
+    ArgChecker.isTrue(result.length <= dimension, "The array length must not exceed the dimension {}", dimension);
+    for (int j = 0; j < result.length; j++) {
+      result[j] = Probability.normalInverse(coordinate(index, j) * SCALE);
+    }
+  }
+
+  // the coordinate of the point in the dimension, as an integer
+  private long coordinate(long index, int dim) {
+    long[] v = direction[dim];
+    long x = 0;
+    long remaining = index;
+    for (int k = 0; remaining != 0; k++) {
+      if ((remaining & 1) == 1) {
+        x ^= v[k];
+      }
+      remaining >>>= 1;
+    }
+    return x;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    fillNormal(nextIndex.getAndIncrement(), result);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+}
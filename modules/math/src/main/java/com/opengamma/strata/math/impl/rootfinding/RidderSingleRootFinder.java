@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -12,8 +13,8 @@ import org.apache.commons.math3.analysis.solvers.RiddersSolver;
 import org.apache.commons.math3.exception.NoBracketingException;
 import org.apache.commons.math3.exception.TooManyEvaluationsException;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
 
 /**
  * Finds a single root of a function using Ridder's method. This class is a wrapper for the
@@ -54,8 +55,27 @@ public class RidderSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLow, Double xHigh) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(xLow, "xLow");
+    ArgChecker.notNull(xHigh, "xHigh");
+    return getRoot((DoubleUnaryOperator) function::apply, xLow.doubleValue(), xHigh.doubleValue());
+  }
+
+  /**
+   * Finds the root of a function of primitive doubles.
+   * <p>
+   * The function is passed to the Commons solver without boxing each evaluation.
+   * 
+   * @param function The function, not null
+   * @param xLow The lower bound of the root
+   * @param xHigh The upper bound of the root
+   * @return The root
+   * @throws MathException If the Commons method could not evaluate the function;
+   *   if the Commons method could not converge.
+   */
+  public double getRoot(DoubleUnaryOperator function, double xLow, double xHigh) {
     checkInputs(function, xLow, xHigh);
-    UnivariateFunction wrapped = CommonsMathWrapper.wrapUnivariate(function);
+    UnivariateFunction wrapped = function::applyAsDouble;
     try {
       return _ridder.solve(MAX_ITER, wrapped, xLow, xHigh);
     } catch (TooManyEvaluationsException | NoBracketingException e) {
@@ -26,6 +26,7 @@ import com.opengamma.strata.math.impl.cern.RandomEngine;
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
+  private static final double STANDARD_PDF_FACTOR = 1.0 / Math.sqrt(2.0 * Math.PI);
 
   // TODO need a better seed
   private final double _mean;
@@ -89,6 +90,33 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     return Probability.normalInverse(p);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This returns the same value as {@link #getCDF(Double)} on the distribution with mean zero
+   * and standard deviation one, but takes a primitive to avoid boxing in tight loops.
+   * 
+   * @param x  the value
+   * @return the CDF for the value
+   */
+  public static double standardCdf(double x) {
+    return DERFC.getErfc(-x / ROOT2) / 2;
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   * <p>
+   * This returns the same value as {@link #getPDF(Double)} on the distribution with mean zero
+   * and standard deviation one, but takes a primitive to avoid boxing in tight loops.
+   * 
+   * @param x  the value
+   * @return the PDF for the value
+   */
+  public static double standardPdf(double x) {
+    return STANDARD_PDF_FACTOR * Math.exp(-(x * x) / 2.0);
+  }
+
   /**
    * @return The mean
    */
@@ -9,6 +9,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -121,4 +122,15 @@ public class RungeKuttaIntegrator1DTest {
 
   }
 
+  @Test
+  public void test_primitive() {
+    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(1e-9, 1e-9, 10);
+    DoubleUnaryOperator cube = x -> x * x * x;
+    assertThat(integrator.integrate(cube, 0d, 2d)).isEqualTo(integrator.integrate(CUBE, 0d, 2d).doubleValue());
+    assertThat(integrator.integrate(MIX_NORM::apply, -30d, 30d))
+        .isEqualTo(integrator.integrate(MIX_NORM, -30d, 30d).doubleValue());
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> integrator.integrate(cube, 0d, Double.NaN));
+  }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Test {@link BlockSparseMatrix}.
+ */
+public class BlockSparseMatrixTest {
+
+  private static final DoubleMatrix DENSE = DoubleMatrix.of(4, 4,
+      1d, 2d, 0d, 0d,
+      3d, 4d, 0d, 0d,
+      5d, 0d, 6d, 0d,
+      0d, 7d, 0d, 8d);
+  private static final BlockSparseMatrix MATRIX = BlockSparseMatrix.of(DENSE, 2, 2);
+
+  @Test
+  public void test_of() {
+    assertThat(MATRIX.rowCount()).isEqualTo(4);
+    assertThat(MATRIX.columnCount()).isEqualTo(4);
+    assertThat(MATRIX.dimensions()).isEqualTo(2);
+    assertThat(MATRIX.size()).isEqualTo(16);
+    assertThat(MATRIX.getBlockCount()).isEqualTo(2);
+    assertThat(MATRIX.getBlockSize(1)).isEqualTo(2);
+    assertThat(MATRIX.getBlockStart(1)).isEqualTo(2);
+    assertThat(MATRIX.getNonZeroBlockCount()).isEqualTo(3);
+    assertThat(MATRIX.isZeroBlock(0, 1)).isTrue();
+    assertThat(MATRIX.isZeroBlock(1, 0)).isFalse();
+    assertThat(MATRIX.getBlock(0, 1)).isEqualTo(DoubleMatrix.filled(2, 2));
+    assertThat(MATRIX.getBlock(1, 0)).isEqualTo(DoubleMatrix.of(2, 2, 5d, 0d, 0d, 7d));
+    assertThat(MATRIX.toDoubleMatrix()).isEqualTo(DENSE);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlockSparseMatrix.of(DENSE, 2, 1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlockSparseMatrix.of(DENSE, 4, 0));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlockSparseMatrix.of(DoubleMatrix.filled(2, 3), 2));
+  }
+
+  @Test
+  public void test_get() {
+    for (int i = 0; i < 4; i++) {
+      for (int j = 0; j < 4; j++) {
+        assertThat(MATRIX.get(i, j)).isEqualTo(DENSE.get(i, j));
+      }
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MATRIX.get(4, 0));
+  }
+
+  @Test
+  public void test_multiply() {
+    DoubleArray vector = DoubleArray.of(1d, -2d, 3d, -4d);
+    assertThat(MATRIX.multiply(vector)).isEqualTo(DoubleArray.of(-3d, -5d, 23d, -46d));
+  }
+
+  @Test
+  public void test_equalsHashCode() {
+    BlockSparseMatrix other = BlockSparseMatrix.of(DENSE, 2, 2);
+    assertThat(MATRIX).isEqualTo(other).hasSameHashCodeAs(other);
+    assertThat(MATRIX).isNotEqualTo(BlockSparseMatrix.of(DENSE, 1, 3));
+    assertThat(MATRIX.toString()).isEqualTo("BlockSparseMatrix[size=4, blocks=2, nonZeroBlocks=3]");
+  }
+
+}
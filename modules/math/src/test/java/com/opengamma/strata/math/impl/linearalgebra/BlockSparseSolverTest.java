@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.cern.MersenneTwister;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+
+/**
+ * Test {@link BlockSparseSolver}.
+ */
+public class BlockSparseSolverTest {
+
+  private static final MatrixAlgebra MA = new OGMatrixAlgebra();
+  private static final ProbabilityDistribution<Double> RANDOM = new NormalDistribution(0, 1, new MersenneTwister(123));
+  private static final int[] BLOCK_SIZES = {3, 4, 2, 5};
+  private static final int SIZE = 14;
+  // block 0 is independent, blocks 1 and 2 depend on each other, block 3 depends on block 2
+  private static final boolean[][] NON_ZERO = {
+      {true, false, false, false},
+      {true, true, true, false},
+      {false, true, true, false},
+      {false, false, true, true}};
+
+  @Test
+  public void test_solve() {
+    DoubleMatrix dense = randomMatrix();
+    BlockSparseSolver test = BlockSparseSolver.of(BlockSparseMatrix.of(dense, BLOCK_SIZES));
+    assertThat(test.getComponentCount()).isEqualTo(3);
+
+    DoubleArray expected = DoubleArray.of(SIZE, i -> RANDOM.nextRandom());
+    DoubleArray input = (DoubleArray) MA.multiply(dense, expected);
+    DoubleArray computed = test.solve(input);
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(computed.get(i)).isCloseTo(expected.get(i), offset(1e-12));
+    }
+  }
+
+  @Test
+  public void test_solveMatrix() {
+    DoubleMatrix dense = randomMatrix();
+    BlockSparseSolver test = BlockSparseSolver.of(BlockSparseMatrix.of(dense, BLOCK_SIZES));
+    DoubleMatrix input = DoubleMatrix.of(SIZE, 3, (i, j) -> RANDOM.nextRandom());
+    DoubleMatrix computed = test.solve(input);
+    for (int j = 0; j < 3; j++) {
+      DoubleArray expected = test.solve(input.column(j));
+      for (int i = 0; i < SIZE; i++) {
+        assertThat(computed.get(i, j)).isCloseTo(expected.get(i), offset(1e-12));
+      }
+    }
+  }
+
+  @Test
+  public void test_inverse() {
+    DoubleMatrix dense = randomMatrix();
+    BlockSparseSolver test = BlockSparseSolver.of(BlockSparseMatrix.of(dense, BLOCK_SIZES));
+    DoubleMatrix product = (DoubleMatrix) MA.multiply(dense, test.inverse());
+    for (int i = 0; i < SIZE; i++) {
+      for (int j = 0; j < SIZE; j++) {
+        assertThat(product.get(i, j)).isCloseTo(i == j ? 1d : 0d, offset(1e-12));
+      }
+    }
+  }
+
+  @Test
+  public void test_singular() {
+    DoubleMatrix dense = DoubleMatrix.of(3, 3,
+        1d, 0d, 0d,
+        0d, 1d, 2d,
+        0d, 2d, 4d);
+    BlockSparseMatrix matrix = BlockSparseMatrix.of(dense, 1, 2);
+    assertThatExceptionOfType(MathException.class)
+        .isThrownBy(() -> BlockSparseSolver.of(matrix));
+  }
+
+  @Test
+  public void test_nearlySingular() {
+    // singular, but the elimination leaves a rounding error rather than an exact zero pivot
+    DoubleMatrix dense = DoubleMatrix.of(3, 3,
+        1d, 0d, 0d,
+        0d, 0.1, 0.3,
+        0d, 0.3, 0.9);
+    BlockSparseMatrix matrix = BlockSparseMatrix.of(dense, 1, 2);
+    assertThatExceptionOfType(MathException.class)
+        .isThrownBy(() -> BlockSparseSolver.of(matrix));
+  }
+
+  // a random matrix with the non-zero block structure, diagonally dominant to ensure it is well conditioned
+  private static DoubleMatrix randomMatrix() {
+    int[] starts = {0, 3, 7, 9, 14};
+    double[][] data = new double[SIZE][SIZE];
+    for (int bi = 0; bi < BLOCK_SIZES.length; bi++) {
+      for (int bj = 0; bj < BLOCK_SIZES.length; bj++) {
+        if (NON_ZERO[bi][bj]) {
+          for (int i = starts[bi]; i < starts[bi + 1]; i++) {
+            for (int j = starts[bj]; j < starts[bj + 1]; j++) {
+              data[i][j] = RANDOM.nextRandom() + (i == j ? 10d : 0d);
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.copyOf(data);
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link CounterBasedRandomNumberGenerator}.
+ */
+public class CounterBasedRandomNumberGeneratorTest {
+
+  private static final CounterBasedRandomNumberGenerator GENERATOR = CounterBasedRandomNumberGenerator.of(12345L);
+
+  @Test
+  public void test_of() {
+    assertThat(GENERATOR.getSeed()).isEqualTo(12345L);
+  }
+
+  @Test
+  public void test_reproducible() {
+    double[] first = new double[20];
+    double[] second = new double[20];
+    GENERATOR.fillNormal(7, first);
+    CounterBasedRandomNumberGenerator.of(12345L).fillNormal(7, second);
+    assertThat(first).containsExactly(second);
+    for (int i = 0; i < first.length; i++) {
+      assertThat(GENERATOR.normal(7, i)).isEqualTo(first[i]);
+    }
+  }
+
+  @Test
+  public void test_independentOfOrder() {
+    double[][] sequential = new double[100][10];
+    for (int i = 0; i < sequential.length; i++) {
+      GENERATOR.fillNormal(i, sequential[i]);
+    }
+    double[][] parallel = new double[100][10];
+    IntStream.range(0, parallel.length).parallel().forEach(i -> GENERATOR.fillNormal(i, parallel[i]));
+    for (int i = 0; i < parallel.length; i++) {
+      assertThat(parallel[i]).containsExactly(sequential[i]);
+    }
+  }
+
+  @Test
+  public void test_streamsDiffer() {
+    assertThat(GENERATOR.uniform(0, 0)).isNotEqualTo(GENERATOR.uniform(1, 0));
+    assertThat(GENERATOR.uniform(0, 0)).isNotEqualTo(GENERATOR.uniform(0, 1));
+    assertThat(GENERATOR.uniform(0, 0)).isNotEqualTo(CounterBasedRandomNumberGenerator.of(1L).uniform(0, 0));
+  }
+
+  @Test
+  public void test_moments() {
+    int nbStreams = 1000;
+    int nbCounters = 100;
+    double sumUniform = 0d;
+    double sum = 0d;
+    double sum2 = 0d;
+    double[] normals = new double[nbCounters];
+    for (int i = 0; i < nbStreams; i++) {
+      GENERATOR.fillNormal(i, normals);
+      for (int j = 0; j < nbCounters; j++) {
+        double uniform = GENERATOR.uniform(i, j);
+        assertThat(uniform).isGreaterThan(0d).isLessThan(1d);
+        sumUniform += uniform;
+        sum += normals[j];
+        sum2 += normals[j] * normals[j];
+      }
+    }
+    int n = nbStreams * nbCounters;
+    assertThat(sumUniform / n).isCloseTo(0.5, offset(5e-3));
+    assertThat(sum / n).isCloseTo(0d, offset(1e-2));
+    assertThat(sum2 / n).isCloseTo(1d, offset(2e-2));
+  }
+
+  @Test
+  public void test_vectors() {
+    CounterBasedRandomNumberGenerator generator = CounterBasedRandomNumberGenerator.of(1L);
+    double[] expected0 = new double[10];
+    double[] expected1 = new double[10];
+    generator.fillNormal(0, expected0);
+    generator.fillNormal(1, expected1);
+    assertThat(generator.getVector(10)).containsExactly(expected0);
+    List<double[]> result = generator.getVectors(10, 50);
+    assertThat(result).hasSize(50);
+    assertThat(result.get(0)).containsExactly(expected1);
+  }
+
+  @Test
+  public void test_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.getVector(-1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.getVectors(-1, 4));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.getVectors(1, -5));
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Test {@link SobolSequenceGenerator}.
+ */
+public class SobolSequenceGeneratorTest {
+
+  private static final SobolSequenceGenerator GENERATOR = SobolSequenceGenerator.of(SobolSequenceGenerator.MAX_DIMENSION);
+
+  @Test
+  public void test_of() {
+    assertThat(GENERATOR.getDimension()).isEqualTo(SobolSequenceGenerator.MAX_DIMENSION);
+    assertThat(SobolSequenceGenerator.of(1).getDimension()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_firstPoints() {
+    double[][] expected = {
+        {0d, 0d, 0d},
+        {0.5, 0.5, 0.5},
+        {0.25, 0.75, 0.75},
+        {0.75, 0.25, 0.25},
+        {0.125, 0.625, 0.375},
+        {0.625, 0.125, 0.875}};
+    double[] point = new double[3];
+    for (int i = 0; i < expected.length; i++) {
+      GENERATOR.fillUniform(i, point);
+      assertThat(point).containsExactly(expected[i]);
+    }
+  }
+
+  @Test
+  public void test_stratification() {
+    // each dimension: one point in each of the 2^m intervals of the first 2^m points
+    int m = 10;
+    int nbPoints = 1 << m;
+    double[] point = new double[SobolSequenceGenerator.MAX_DIMENSION];
+    int[][] counts = new int[point.length][nbPoints];
+    for (int i = 0; i < nbPoints; i++) {
+      GENERATOR.fillUniform(i, point);
+      for (int j = 0; j < point.length; j++) {
+        counts[j][(int) (point[j] * nbPoints)]++;
+      }
+    }
+    for (int j = 0; j < point.length; j++) {
+      for (int k = 0; k < nbPoints; k++) {
+        assertThat(counts[j][k]).isEqualTo(1);
+      }
+    }
+  }
+
+  @Test
+  public void test_twoDimensionalNet() {
+    // the first two dimensions: one point in each elementary interval of area 2^-m
+    int m = 8;
+    int nbPoints = 1 << m;
+    double[] point = new double[2];
+    for (int k = 0; k <= m; k++) {
+      int nbX = 1 << k;
+      int nbY = 1 << (m - k);
+      int[][] counts = new int[nbX][nbY];
+      for (int i = 0; i < nbPoints; i++) {
+        GENERATOR.fillUniform(i, point);
+        counts[(int) (point[0] * nbX)][(int) (point[1] * nbY)]++;
+      }
+      for (int x = 0; x < nbX; x++) {
+        for (int y = 0; y < nbY; y++) {
+          assertThat(counts[x][y]).isEqualTo(1);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void test_normal() {
+    double[] uniform = new double[5];
+    double[] normal = new double[5];
+    for (int i = 1; i < 100; i++) {
+      GENERATOR.fillUniform(i, uniform);
+      GENERATOR.fillNormal(i, normal);
+      for (int j = 0; j < uniform.length; j++) {
+        assertThat(normal[j]).isEqualTo(Probability.normalInverse(uniform[j]));
+      }
+    }
+  }
+
+  @Test
+  public void test_moments() {
+    int nbPoints = (1 << 14) - 1;
+    double[] point = new double[SobolSequenceGenerator.MAX_DIMENSION];
+    double[] sum = new double[point.length];
+    double[] sum2 = new double[point.length];
+    for (int i = 1; i <= nbPoints; i++) {
+      GENERATOR.fillNormal(i, point);
+      for (int j = 0; j < point.length; j++) {
+        sum[j] += point[j];
+        sum2[j] += point[j] * point[j];
+      }
+    }
+    for (int j = 0; j < point.length; j++) {
+      assertThat(sum[j] / nbPoints).isCloseTo(0d, offset(1e-3));
+      assertThat(sum2[j] / nbPoints).isCloseTo(1d, offset(1e-2));
+    }
+  }
+
+  @Test
+  public void test_vectors() {
+    SobolSequenceGenerator generator = SobolSequenceGenerator.of(4);
+    double[] expected1 = new double[4];
+    double[] expected2 = new double[4];
+    generator.fillNormal(1, expected1);
+    generator.fillNormal(2, expected2);
+    assertThat(generator.getVector(4)).containsExactly(expected1);
+    List<double[]> result = generator.getVectors(4, 10);
+    assertThat(result).hasSize(10);
+    assertThat(result.get(0)).containsExactly(expected2);
+  }
+
+  @Test
+  public void test_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SobolSequenceGenerator.of(0));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SobolSequenceGenerator.of(SobolSequenceGenerator.MAX_DIMENSION + 1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.fillNormal(0, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.fillUniform(-1, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SobolSequenceGenerator.of(2).fillUniform(1, new double[3]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> GENERATOR.getVectors(-1, 4));
+  }
+
+}
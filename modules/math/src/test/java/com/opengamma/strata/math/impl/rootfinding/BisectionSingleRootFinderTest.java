@@ -5,15 +5,22 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Test.
  */
 public class BisectionSingleRootFinderTest extends RealSingleRootFinderTestCase {
-  private static final RealSingleRootFinder FINDER = new BisectionSingleRootFinder();
+  private static final BisectionSingleRootFinder FINDER = new BisectionSingleRootFinder();
 
   @Override
   protected RealSingleRootFinder getRootFinder() {
     return FINDER;
   }
 
+  @Override
+  protected double getRoot(DoubleUnaryOperator function, double lower, double upper) {
+    return FINDER.getRoot(function, lower, upper);
+  }
+
 }
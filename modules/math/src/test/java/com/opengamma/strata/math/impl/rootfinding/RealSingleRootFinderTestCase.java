@@ -9,6 +9,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -25,10 +26,13 @@ public abstract class RealSingleRootFinderTestCase {
       return x * x * x - 4 * x * x + x + 6;
     }
   };
+  protected static final DoubleUnaryOperator PRIMITIVE_F = x -> x * x * x - 4 * x * x + x + 6;
   protected static final double EPS = 1e-9;
 
   protected abstract RealSingleRootFinder getRootFinder();
 
+  protected abstract double getRoot(DoubleUnaryOperator function, double lower, double upper);
+
   @Test
   public void testNullFunction() {
     assertThatIllegalArgumentException()
@@ -66,4 +70,16 @@ public abstract class RealSingleRootFinderTestCase {
     assertThat(finder.getRoot(F, 1.5, 2.5)).isCloseTo(2, offset(EPS));
     assertThat(finder.getRoot(F, -1.5, 0.5)).isCloseTo(-1, offset(EPS));
   }
+
+  @Test
+  public void test_primitive() {
+    RealSingleRootFinder finder = getRootFinder();
+    assertThat(getRoot(PRIMITIVE_F, 2.5, 3.5)).isEqualTo(finder.getRoot(F, 2.5, 3.5));
+    assertThat(getRoot(PRIMITIVE_F, 1.5, 2.5)).isEqualTo(finder.getRoot(F, 1.5, 2.5));
+    assertThat(getRoot(PRIMITIVE_F, -1.5, 0.5)).isEqualTo(finder.getRoot(F, -1.5, 0.5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> getRoot(null, 2.5, 3.5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> getRoot(PRIMITIVE_F, 10d, 100d));
+  }
 }
@@ -5,14 +5,22 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Test.
  */
 public class RidderSingleRootFinderTest extends RealSingleRootFinderTestCase {
-  private static final RealSingleRootFinder FINDER = new RidderSingleRootFinder();
+  private static final RidderSingleRootFinder FINDER = new RidderSingleRootFinder();
 
   @Override
   protected RealSingleRootFinder getRootFinder() {
     return FINDER;
   }
+
+  @Override
+  protected double getRoot(DoubleUnaryOperator function, double lower, double upper) {
+    return FINDER.getRoot(function, lower, upper);
+  }
+
 }
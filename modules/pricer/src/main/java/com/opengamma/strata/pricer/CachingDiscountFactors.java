@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToDoubleFunction;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+
+/**
+ * Discount factors that cache the year fraction and discount factor of each date.
+ * <p>
+ * This wraps an underlying {@link DiscountFactors} instance, memoising the results of
+ * {@link #relativeYearFraction(LocalDate)} and {@link #discountFactor(LocalDate)}.
+ * This is useful when pricing a large number of trades that share the same payment dates.
+ * All other methods delegate directly to the underlying instance.
+ * <p>
+ * Dates are cached by their offset in days from the valuation date, using primitive arrays that
+ * are allocated on demand. Dates before the valuation date, or a long way after it, are not cached.
+ * <p>
+ * This class is thread-safe. It serializes as the underlying instance.
+ */
+public final class CachingDiscountFactors
+    implements DiscountFactors, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The underlying discount factors.
+   */
+  private final DiscountFactors underlying;
+  /**
+   * The cache of year fractions.
+   */
+  private final transient DateCache yearFractions;
+  /**
+   * The cache of discount factors.
+   */
+  private final transient DateCache discountFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the specified discount factors.
+   * <p>
+   * If the discount factors are already caching, they are returned unchanged.
+   *
+   * @param underlying  the underlying discount factors
+   * @return the caching discount factors
+   */
+  public static CachingDiscountFactors of(DiscountFactors underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingDiscountFactors) {
+      return (CachingDiscountFactors) underlying;
+    }
+    return new CachingDiscountFactors(underlying);
+  }
+
+  // restricted constructor
+  private CachingDiscountFactors(DiscountFactors underlying) {
+    this.underlying = underlying;
+    long baseEpochDay = underlying.getValuationDate().toEpochDay();
+    this.yearFractions = new DateCache(baseEpochDay, underlying::relativeYearFraction);
+    this.discountFactors = new DateCache(baseEpochDay, underlying::discountFactor);
+  }
+
+  // serialize the underlying instance
+  private Object writeReplace() {
+    return underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying discount factors.
+   *
+   * @return the underlying discount factors
+   */
+  public DiscountFactors getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public Currency getCurrency() {
+    return underlying.getCurrency();
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public int getParameterCount() {
+    return underlying.getParameterCount();
+  }
+
+  @Override
+  public double getParameter(int parameterIndex) {
+    return underlying.getParameter(parameterIndex);
+  }
+
+  @Override
+  public ParameterMetadata getParameterMetadata(int parameterIndex) {
+    return underlying.getParameterMetadata(parameterIndex);
+  }
+
+  @Override
+  public DiscountFactors withParameter(int parameterIndex, double newValue) {
+    return underlying.withParameter(parameterIndex, newValue);
+  }
+
+  @Override
+  public DiscountFactors withPerturbation(ParameterPerturbation perturbation) {
+    return underlying.withPerturbation(perturbation);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double relativeYearFraction(LocalDate date) {
+    return yearFractions.get(date);
+  }
+
+  @Override
+  public double discountFactor(LocalDate date) {
+    return discountFactors.get(date);
+  }
+
+  @Override
+  public double discountFactor(double yearFraction) {
+    return underlying.discountFactor(yearFraction);
+  }
+
+  @Override
+  public double discountFactorTimeDerivative(double yearFraction) {
+    return underlying.discountFactorTimeDerivative(yearFraction);
+  }
+
+  @Override
+  public double discountFactorWithSpread(
+      double yearFraction,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    return underlying.discountFactorWithSpread(yearFraction, zSpread, compoundedRateType, periodsPerYear);
+  }
+
+  @Override
+  public double zeroRate(double yearFraction) {
+    return underlying.zeroRate(yearFraction);
+  }
+
+  @Override
+  public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
+    return underlying.zeroRatePointSensitivity(yearFraction, sensitivityCurrency);
+  }
+
+  @Override
+  public ZeroRateSensitivity zeroRatePointSensitivityWithSpread(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    return underlying.zeroRatePointSensitivityWithSpread(
+        yearFraction, sensitivityCurrency, zSpread, compoundedRateType, periodsPerYear);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity) {
+    return underlying.parameterSensitivity(pointSensitivity);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
+    return underlying.createParameterSensitivity(currency, sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CachingDiscountFactors) {
+      return underlying.equals(((CachingDiscountFactors) obj).underlying);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return underlying.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "CachingDiscountFactors[" + underlying + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A lock-free cache of values keyed by the number of days after a base date.
+   * <p>
+   * Values are stored as raw long bits in pages of primitive arrays allocated on demand.
+   * Racing threads may both calculate a value, but the value is the same for both.
+   */
+  private static final class DateCache {
+    // the number of days in each page, a power of two
+    private static final int PAGE_SHIFT = 9;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    // the number of pages, covering roughly 180 years
+    private static final int PAGE_COUNT = 128;
+    // a NaN bit pattern not produced by arithmetic, used to mark an empty slot
+    private static final long EMPTY = 0x7FF0_0000_DEAD_BEEFL;
+
+    private final long baseEpochDay;
+    private final ToDoubleFunction<LocalDate> function;
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGE_COUNT);
+
+    private DateCache(long baseEpochDay, ToDoubleFunction<LocalDate> function) {
+      this.baseEpochDay = baseEpochDay;
+      this.function = function;
+    }
+
+    // gets the cached value, calculating it if necessary
+    private double get(LocalDate date) {
+      long offset = date.toEpochDay() - baseEpochDay;
+      if (offset < 0 || offset >= (long) PAGE_SIZE * PAGE_COUNT) {
+        return function.applyAsDouble(date);
+      }
+      AtomicLongArray page = page((int) (offset >>> PAGE_SHIFT));
+      int index = (int) offset & (PAGE_SIZE - 1);
+      long bits = page.get(index);
+      if (bits != EMPTY) {
+        return Double.longBitsToDouble(bits);
+      }
+      double value = function.applyAsDouble(date);
+      page.lazySet(index, Double.doubleToRawLongBits(value));
+      return value;
+    }
+
+    // gets the page, creating it if necessary
+    private AtomicLongArray page(int pageIndex) {
+      AtomicLongArray page = pages.get(pageIndex);
+      if (page == null) {
+        AtomicLongArray created = new AtomicLongArray(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+          created.lazySet(i, EMPTY);
+        }
+        page = pages.compareAndSet(pageIndex, null, created) ? created : pages.get(pageIndex);
+      }
+      return page;
+    }
+  }
+
+}
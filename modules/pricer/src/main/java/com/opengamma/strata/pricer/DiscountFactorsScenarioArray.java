@@ -0,0 +1,473 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveScenarioArray;
+
+/**
+ * Provides access to discount factors for a currency in multiple scenarios.
+ * <p>
+ * This is backed by an {@link InterpolatedNodalCurveScenarioArray}, where the curve of each scenario
+ * shares the same x-values. The discount factors of all scenarios for a date are computed in one pass.
+ * <p>
+ * The curve must contain {@linkplain ValueType#YEAR_FRACTION year fractions} against
+ * {@linkplain ValueType#DISCOUNT_FACTOR discount factors} or {@linkplain ValueType#ZERO_RATE zero rates},
+ * and the day count must be present in the metadata. The zero rates are continuously compounded,
+ * unless the compounding per year is present in the metadata.
+ * The discount factors of each scenario are equal to those of the {@link DiscountFactors}
+ * obtained from the curve of the scenario.
+ */
+@BeanDefinition(builderScope = "private")
+public final class DiscountFactorsScenarioArray
+    implements ScenarioArray<DiscountFactors>, ImmutableBean, Serializable {
+
+  /**
+   * The currency that the discount factors are for.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The valuation date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDate valuationDate;
+  /**
+   * The underlying curves, one for each scenario.
+   * The metadata of the curves must define a day count.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final InterpolatedNodalCurveScenarioArray curves;
+  /**
+   * The day count convention of the curves.
+   */
+  private final transient DayCount dayCount;  // cached, not a property
+  /**
+   * Whether the y-values of the curves are discount factors, rather than zero rates.
+   */
+  private final transient boolean discountFactorValues;  // cached, not a property
+  /**
+   * The number of compounding periods per year of the zero rates, zero if continuously compounded.
+   */
+  private final transient int frequency;  // cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance based on curves in multiple scenarios.
+   *
+   * @param currency  the currency
+   * @param valuationDate  the valuation date for which the curves are valid
+   * @param curves  the underlying curves, one for each scenario
+   * @return the discount factors
+   */
+  public static DiscountFactorsScenarioArray of(
+      Currency currency,
+      LocalDate valuationDate,
+      InterpolatedNodalCurveScenarioArray curves) {
+
+    return new DiscountFactorsScenarioArray(currency, valuationDate, curves);
+  }
+
+  @ImmutableConstructor
+  private DiscountFactorsScenarioArray(
+      Currency currency,
+      LocalDate valuationDate,
+      InterpolatedNodalCurveScenarioArray curves) {
+
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNull(curves, "curves");
+    CurveMetadata metadata = curves.getMetadata();
+    metadata.getXValueType().checkEquals(
+        ValueType.YEAR_FRACTION, "Incorrect x-value type for discount curve");
+    ValueType yValueType = metadata.getYValueType();
+    if (!yValueType.equals(ValueType.DISCOUNT_FACTOR) && !yValueType.equals(ValueType.ZERO_RATE)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Unknown value type in discount curve, must be 'DiscountFactor' or 'ZeroRate' but was '{}'",
+          yValueType));
+    }
+    DayCount dayCount = metadata.findInfo(CurveInfoType.DAY_COUNT)
+        .orElseThrow(() -> new IllegalArgumentException("Incorrect curve metadata, missing DayCount"));
+    Optional<Integer> frequencyOpt = metadata.findInfo(CurveInfoType.COMPOUNDING_PER_YEAR);
+    frequencyOpt.ifPresent(freq -> ArgChecker.isTrue(freq > 0, "Compounding per year must be positive"));
+
+    this.currency = currency;
+    this.valuationDate = valuationDate;
+    this.curves = curves;
+    this.dayCount = dayCount;
+    this.discountFactorValues = yValueType.equals(ValueType.DISCOUNT_FACTOR);
+    this.frequency = frequencyOpt.orElse(0);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new DiscountFactorsScenarioArray(currency, valuationDate, curves);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return curves.getScenarioCount();
+  }
+
+  @Override
+  public DiscountFactors get(int scenarioIndex) {
+    return DiscountFactors.of(currency, valuationDate, curves.get(scenarioIndex));
+  }
+
+  @Override
+  public Stream<DiscountFactors> stream() {
+    return curves.stream().map(curve -> DiscountFactors.of(currency, valuationDate, curve));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the relative time between the valuation date and the specified date.
+   * <p>
+   * The {@code double} value returned from this method is used as the input to the curves.
+   *
+   * @param date  the date
+   * @return  the year fraction
+   */
+  public double relativeYearFraction(LocalDate date) {
+    return dayCount.relativeYearFraction(valuationDate, date);
+  }
+
+  /**
+   * Gets the discount factor for the specified date in each scenario.
+   *
+   * @param date  the date to discount to
+   * @return the discount factor in each scenario
+   */
+  public DoubleArray discountFactors(LocalDate date) {
+    return discountFactors(relativeYearFraction(date));
+  }
+
+  /**
+   * Gets the discount factor for the specified year fraction in each scenario.
+   *
+   * @param yearFraction  the year fraction
+   * @return the discount factor in each scenario
+   */
+  public DoubleArray discountFactors(double yearFraction) {
+    DoubleArray yValues = curves.yValues(yearFraction);
+    if (discountFactorValues) {
+      return yValues;
+    }
+    if (frequency > 0) {
+      // convert zero rate periodically compounded to discount factor
+      return yValues.map(zr -> Math.pow(1d + zr / frequency, -yearFraction * frequency));
+    }
+    // convert zero rate to discount factor
+    return yValues.map(zr -> Math.exp(-yearFraction * zr));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code DiscountFactorsScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static DiscountFactorsScenarioArray.Meta meta() {
+    return DiscountFactorsScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(DiscountFactorsScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public DiscountFactorsScenarioArray.Meta metaBean() {
+    return DiscountFactorsScenarioArray.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency that the discount factors are for.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the valuation date.
+   * @return the value of the property, not null
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the underlying curves, one for each scenario.
+   * The metadata of the curves must define a day count.
+   * @return the value of the property, not null
+   */
+  public InterpolatedNodalCurveScenarioArray getCurves() {
+    return curves;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      DiscountFactorsScenarioArray other = (DiscountFactorsScenarioArray) obj;
+      return JodaBeanUtils.equal(currency, other.currency) &&
+          JodaBeanUtils.equal(valuationDate, other.valuationDate) &&
+          JodaBeanUtils.equal(curves, other.curves);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(valuationDate);
+    hash = hash * 31 + JodaBeanUtils.hashCode(curves);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("DiscountFactorsScenarioArray{");
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+    buf.append("valuationDate").append('=').append(JodaBeanUtils.toString(valuationDate)).append(',').append(' ');
+    buf.append("curves").append('=').append(JodaBeanUtils.toString(curves));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code DiscountFactorsScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", DiscountFactorsScenarioArray.class, Currency.class);
+    /**
+     * The meta-property for the {@code valuationDate} property.
+     */
+    private final MetaProperty<LocalDate> valuationDate = DirectMetaProperty.ofImmutable(
+        this, "valuationDate", DiscountFactorsScenarioArray.class, LocalDate.class);
+    /**
+     * The meta-property for the {@code curves} property.
+     */
+    private final MetaProperty<InterpolatedNodalCurveScenarioArray> curves = DirectMetaProperty.ofImmutable(
+        this, "curves", DiscountFactorsScenarioArray.class, InterpolatedNodalCurveScenarioArray.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "currency",
+        "valuationDate",
+        "curves");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return currency;
+        case 113107279:  // valuationDate
+          return valuationDate;
+        case -1349116572:  // curves
+          return curves;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends DiscountFactorsScenarioArray> builder() {
+      return new DiscountFactorsScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends DiscountFactorsScenarioArray> beanType() {
+      return DiscountFactorsScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    /**
+     * The meta-property for the {@code valuationDate} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<LocalDate> valuationDate() {
+      return valuationDate;
+    }
+
+    /**
+     * The meta-property for the {@code curves} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<InterpolatedNodalCurveScenarioArray> curves() {
+      return curves;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return ((DiscountFactorsScenarioArray) bean).getCurrency();
+        case 113107279:  // valuationDate
+          return ((DiscountFactorsScenarioArray) bean).getValuationDate();
+        case -1349116572:  // curves
+          return ((DiscountFactorsScenarioArray) bean).getCurves();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code DiscountFactorsScenarioArray}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<DiscountFactorsScenarioArray> {
+
+    private Currency currency;
+    private LocalDate valuationDate;
+    private InterpolatedNodalCurveScenarioArray curves;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return currency;
+        case 113107279:  // valuationDate
+          return valuationDate;
+        case -1349116572:  // curves
+          return curves;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        case 113107279:  // valuationDate
+          this.valuationDate = (LocalDate) newValue;
+          break;
+        case -1349116572:  // curves
+          this.curves = (InterpolatedNodalCurveScenarioArray) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public DiscountFactorsScenarioArray build() {
+      return new DiscountFactorsScenarioArray(
+          currency,
+          valuationDate,
+          curves);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("DiscountFactorsScenarioArray.Builder{");
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+      buf.append("valuationDate").append('=').append(JodaBeanUtils.toString(valuationDate)).append(',').append(' ');
+      buf.append("curves").append('=').append(JodaBeanUtils.toString(curves));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.MutableCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+
+/**
+ * Mutable columnar buffer of point sensitivities to zero rate curves.
+ * <p>
+ * This holds the same information as a list of {@link ZeroRateSensitivity}, but without
+ * creating an object for each point. The points are grouped by curve currency and sensitivity currency,
+ * with the year fraction and sensitivity of each point held in primitive arrays.
+ * <p>
+ * Normalization sorts each group by year fraction using a primitive sort, then merges
+ * points with the same year fraction by summing the sensitivity.
+ * The {@link #parameterSensitivity(BaseProvider)} method projects the points onto the curve parameters.
+ * Where the discount factors are {@link ZeroRateDiscountFactors}, the amount for each parameter
+ * is summed directly from the curve weights, creating a single sensitivity object for each curve.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ */
+public final class ZeroRateSensitivityBuffer
+    implements PointSensitivityBuilder {
+
+  /**
+   * The initial capacity of each group.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The groups of points, one for each curve currency and sensitivity currency.
+   */
+  private Group[] groups = new Group[4];
+  /**
+   * The number of groups.
+   */
+  private int groupCount;
+
+  /**
+   * Creates an empty instance.
+   */
+  public ZeroRateSensitivityBuffer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of points in the buffer.
+   * <p>
+   * This is the number of points added, until the buffer is normalized.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    int size = 0;
+    for (int i = 0; i < groupCount; i++) {
+      size += groups[i].size;
+    }
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point sensitivity to the buffer.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the year fraction that was queried
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public ZeroRateSensitivityBuffer add(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    ArgChecker.notNull(curveCurrency, "curveCurrency");
+    ArgChecker.notNull(sensitivityCurrency, "sensitivityCurrency");
+    group(curveCurrency, sensitivityCurrency).add(yearFraction, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a point sensitivity to the buffer.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public ZeroRateSensitivityBuffer add(ZeroRateSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    group(sensitivity.getCurveCurrency(), sensitivity.getCurrency())
+        .add(sensitivity.getYearFraction(), sensitivity.getSensitivity());
+    return this;
+  }
+
+  /**
+   * Adds the contents of another buffer to this buffer.
+   * <p>
+   * The other buffer is unaffected by this method.
+   *
+   * @param other  the buffer to add
+   * @return {@code this}, for method chaining
+   */
+  public ZeroRateSensitivityBuffer add(ZeroRateSensitivityBuffer other) {
+    ArgChecker.notNull(other, "other");
+    // capture the sizes first, as the other buffer may be this buffer
+    int otherGroupCount = other.groupCount;
+    for (int i = 0; i < otherGroupCount; i++) {
+      Group otherGroup = other.groups[i];
+      Group group = group(otherGroup.curveCurrency, otherGroup.currency);
+      int otherSize = otherGroup.size;
+      for (int j = 0; j < otherSize; j++) {
+        group.add(otherGroup.yearFractions[j], otherGroup.sensitivities[j]);
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ZeroRateSensitivityBuffer withCurrency(Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    Group[] oldGroups = groups;
+    int oldGroupCount = groupCount;
+    groups = new Group[4];
+    groupCount = 0;
+    for (int i = 0; i < oldGroupCount; i++) {
+      Group oldGroup = oldGroups[i];
+      Group group = group(oldGroup.curveCurrency, currency);
+      for (int j = 0; j < oldGroup.size; j++) {
+        group.add(oldGroup.yearFractions[j], oldGroup.sensitivities[j]);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public ZeroRateSensitivityBuffer multipliedBy(double factor) {
+    return mapSensitivity(s -> s * factor);
+  }
+
+  @Override
+  public ZeroRateSensitivityBuffer mapSensitivity(DoubleUnaryOperator operator) {
+    for (int i = 0; i < groupCount; i++) {
+      Group group = groups[i];
+      for (int j = 0; j < group.size; j++) {
+        group.sensitivities[j] = operator.applyAsDouble(group.sensitivities[j]);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Normalizes the point sensitivities by sorting and merging, mutating the buffer.
+   * <p>
+   * The groups are sorted by curve currency and sensitivity currency, and the points in each group
+   * are sorted by year fraction. Any two points with the same year fraction are merged,
+   * summing the sensitivity value.
+   *
+   * @return {@code this}, for method chaining
+   */
+  @Override
+  public ZeroRateSensitivityBuffer normalize() {
+    Arrays.sort(groups, 0, groupCount, (a, b) -> {
+      int cmp = a.curveCurrency.compareTo(b.curveCurrency);
+      return cmp != 0 ? cmp : a.currency.compareTo(b.currency);
+    });
+    for (int i = 0; i < groupCount; i++) {
+      groups[i].normalize();
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public PointSensitivityBuilder combinedWith(PointSensitivityBuilder other) {
+    if (other instanceof ZeroRateSensitivity) {
+      return add((ZeroRateSensitivity) other);
+    }
+    if (other instanceof ZeroRateSensitivityBuffer) {
+      return add((ZeroRateSensitivityBuffer) other);
+    }
+    return PointSensitivityBuilder.super.combinedWith(other);
+  }
+
+  @Override
+  public MutablePointSensitivities buildInto(MutablePointSensitivities combination) {
+    for (int i = 0; i < groupCount; i++) {
+      Group group = groups[i];
+      for (int j = 0; j < group.size; j++) {
+        combination.add(ZeroRateSensitivity.of(
+            group.curveCurrency, group.yearFractions[j], group.currency, group.sensitivities[j]));
+      }
+    }
+    return combination;
+  }
+
+  /**
+   * Builds the resulting point sensitivity.
+   * <p>
+   * The buffer is normalized before building, as normalization of the primitive arrays is cheap.
+   *
+   * @return the built sensitivity
+   */
+  @Override
+  public PointSensitivities build() {
+    return normalize().buildInto(new MutablePointSensitivities()).toImmutable();
+  }
+
+  @Override
+  public ZeroRateSensitivityBuffer cloned() {
+    return new ZeroRateSensitivityBuffer().add(this);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the parameter sensitivity of the points in the buffer.
+   * <p>
+   * The buffer is normalized, then each point is projected onto the parameters of the curve
+   * obtained from {@link BaseProvider#discountFactors(Currency)}.
+   * Where the discount factors are {@link ZeroRateDiscountFactors}, the sensitivity to each
+   * parameter is summed directly from the curve weights.
+   * Otherwise, {@link DiscountFactors#parameterSensitivity(ZeroRateSensitivity)} is used for each point.
+   *
+   * @param provider  the provider of the discount factors
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the discount factors are not available or the sensitivity cannot be calculated
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(BaseProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    normalize();
+    MutableCurrencyParameterSensitivities result = new MutableCurrencyParameterSensitivities();
+    for (int i = 0; i < groupCount; i++) {
+      Group group = groups[i];
+      if (group.size == 0) {
+        continue;
+      }
+      DiscountFactors discountFactors = provider.discountFactors(group.curveCurrency);
+      if (discountFactors instanceof ZeroRateDiscountFactors) {
+        ZeroRateDiscountFactors zeroRateFactors = (ZeroRateDiscountFactors) discountFactors;
+        Curve curve = zeroRateFactors.getCurve();
+        double[] amounts = new double[curve.getParameterCount()];
+        for (int j = 0; j < group.size; j++) {
+          DoubleArray weights = curve.yValueParameterSensitivity(group.yearFractions[j]).getSensitivity();
+          double sensitivity = group.sensitivities[j];
+          for (int k = 0; k < amounts.length; k++) {
+            amounts[k] += weights.get(k) * sensitivity;
+          }
+        }
+        result.add(zeroRateFactors.createParameterSensitivity(group.currency, DoubleArray.ofUnsafe(amounts)));
+      } else {
+        for (int j = 0; j < group.size; j++) {
+          result.add(discountFactors.parameterSensitivity(ZeroRateSensitivity.of(
+              group.curveCurrency, group.yearFractions[j], group.currency, group.sensitivities[j])));
+        }
+      }
+    }
+    return result.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the group, adding it if not found
+  private Group group(Currency curveCurrency, Currency currency) {
+    for (int i = 0; i < groupCount; i++) {
+      Group group = groups[i];
+      if (group.curveCurrency.equals(curveCurrency) && group.currency.equals(currency)) {
+        return group;
+      }
+    }
+    if (groupCount == groups.length) {
+      groups = Arrays.copyOf(groups, groupCount * 2);
+    }
+    Group group = new Group(curveCurrency, currency);
+    groups[groupCount++] = group;
+    return group;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64).append("ZeroRateSensitivityBuffer[");
+    for (int i = 0; i < groupCount; i++) {
+      Group group = groups[i];
+      buf.append(i == 0 ? "" : ", ")
+          .append(group.curveCurrency).append('/').append(group.currency)
+          .append('=').append(group.size);
+    }
+    return buf.append(']').toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The points for a single curve currency and sensitivity currency.
+   */
+  private static final class Group {
+    /**
+     * The currency of the curve.
+     */
+    private final Currency curveCurrency;
+    /**
+     * The currency of the sensitivity.
+     */
+    private final Currency currency;
+    /**
+     * The year fractions, one for each point.
+     */
+    private double[] yearFractions = new double[INITIAL_CAPACITY];
+    /**
+     * The sensitivities, one for each point.
+     */
+    private double[] sensitivities = new double[INITIAL_CAPACITY];
+    /**
+     * The number of points.
+     */
+    private int size;
+
+    private Group(Currency curveCurrency, Currency currency) {
+      this.curveCurrency = curveCurrency;
+      this.currency = currency;
+    }
+
+    // adds a point
+    private void add(double yearFraction, double sensitivity) {
+      if (size == yearFractions.length) {
+        yearFractions = Arrays.copyOf(yearFractions, size * 2);
+        sensitivities = Arrays.copyOf(sensitivities, size * 2);
+      }
+      yearFractions[size] = yearFraction;
+      sensitivities[size] = sensitivity;
+      size++;
+    }
+
+    // sorts by year fraction and merges equal year fractions
+    private void normalize() {
+      if (size < 2) {
+        return;
+      }
+      // the sort operates on whole arrays, so trim to size first
+      if (size < yearFractions.length) {
+        yearFractions = Arrays.copyOf(yearFractions, size);
+        sensitivities = Arrays.copyOf(sensitivities, size);
+      }
+      DoubleArrayMath.sortPairs(yearFractions, sensitivities);
+      int last = 0;
+      for (int i = 1; i < size; i++) {
+        if (Double.compare(yearFractions[i], yearFractions[last]) == 0) {
+          sensitivities[last] += sensitivities[i];
+        } else {
+          last++;
+          yearFractions[last] = yearFractions[i];
+          sensitivities[last] = sensitivities[i];
+        }
+      }
+      size = last + 1;
+    }
+  }
+
+}
@@ -10,7 +10,7 @@ import static java.time.temporal.ChronoUnit.MONTHS;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
@@ -21,7 +21,6 @@ import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.CompoundedRateType;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.Security;
@@ -51,7 +50,7 @@ public class DiscountingCapitalIndexedBondProductPricer {
   /**
    * The root finder.
    */
-  private static final RealSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
+  private static final BrentSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
   /**
    * Brackets a root.
    */
@@ -716,12 +715,8 @@ public class DiscountingCapitalIndexedBondProductPricer {
       LocalDate settlementDate,
       double dirtyPrice) {
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double y) {
-        return dirtyPriceFromRealYield(bond, ratesProvider, settlementDate, y) - dirtyPrice;
-      }
-    };
+    DoubleUnaryOperator priceResidual =
+        y -> dirtyPriceFromRealYield(bond, ratesProvider, settlementDate, y) - dirtyPrice;
     double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, -0.05, 0.10);
     double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
     return yield;
@@ -1085,23 +1080,20 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double z) {
-        double dirtyPrice = dirtyNominalPriceFromCurvesWithZSpread(
-            bond,
-            ratesProvider,
-            discountingProvider,
-            settlementDate,
-            z,
-            compoundedRateType,
-            periodsPerYear);
-        if (bond.getYieldConvention().equals(CapitalIndexedBondYieldConvention.GB_IL_FLOAT)) {
-          return cleanNominalPriceFromDirtyNominalPrice(bond, ratesProvider, settlementDate, dirtyPrice) - cleanPrice;
-        }
-        double dirtyRealPrice = realPriceFromNominalPrice(bond, ratesProvider, settlementDate, dirtyPrice);
-        return cleanRealPriceFromDirtyRealPrice(bond, settlementDate, dirtyRealPrice) - cleanPrice;
+    DoubleUnaryOperator residual = z -> {
+      double dirtyPrice = dirtyNominalPriceFromCurvesWithZSpread(
+          bond,
+          ratesProvider,
+          discountingProvider,
+          settlementDate,
+          z,
+          compoundedRateType,
+          periodsPerYear);
+      if (bond.getYieldConvention().equals(CapitalIndexedBondYieldConvention.GB_IL_FLOAT)) {
+        return cleanNominalPriceFromDirtyNominalPrice(bond, ratesProvider, settlementDate, dirtyPrice) - cleanPrice;
       }
+      double dirtyRealPrice = realPriceFromNominalPrice(bond, ratesProvider, settlementDate, dirtyPrice);
+      return cleanRealPriceFromDirtyRealPrice(bond, settlementDate, dirtyRealPrice) - cleanPrice;
     };
     double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
     return ROOT_FINDER.getRoot(residual, range[0], range[1]);
@@ -1134,13 +1126,9 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double z) {
-        return presentValueWithZSpread(bond, ratesProvider, discountingProvider, settlementDate,
-            z, compoundedRateType, periodsPerYear).getAmount() - presentValue.getAmount();
-      }
-    };
+    DoubleUnaryOperator residual = z -> presentValueWithZSpread(
+        bond, ratesProvider, discountingProvider, settlementDate, z, compoundedRateType, periodsPerYear).getAmount() -
+        presentValue.getAmount();
     double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
     return ROOT_FINDER.getRoot(residual, range[0], range[1]);
   }
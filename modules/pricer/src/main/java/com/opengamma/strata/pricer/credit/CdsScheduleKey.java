@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * The key of the schedule of a CDS.
+ * <p>
+ * This contains everything that the protection leg and risky annuity depend on,
+ * except the legal entity, buy-sell, notional and fixed rate.
+ * Thus the quantities computed from the discount curve can be shared between the CDS with equal keys.
+ */
+final class CdsScheduleKey {
+
+  /**
+   * The CDS.
+   */
+  private final ResolvedCds cds;
+  /**
+   * The step-in date.
+   */
+  private final LocalDate stepinDate;
+  /**
+   * The node times of the credit curve.
+   */
+  private final DoubleArray creditCurveNodes;
+  /**
+   * The cached hash code.
+   */
+  private final int hashCode;
+
+  CdsScheduleKey(ResolvedCds cds, LocalDate stepinDate, DoubleArray creditCurveNodes) {
+    this.cds = cds;
+    this.stepinDate = stepinDate;
+    this.creditCurveNodes = creditCurveNodes;
+    this.hashCode = Objects.hash(
+        cds.getCurrency(),
+        stepinDate,
+        cds.getAccrualStartDate(),
+        cds.getProtectionEndDate(),
+        cds.getPaymentPeriods().size(),
+        creditCurveNodes);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof CdsScheduleKey)) {
+      return false;
+    }
+    CdsScheduleKey other = (CdsScheduleKey) obj;
+    ResolvedCds otherCds = other.cds;
+    return hashCode == other.hashCode &&
+        stepinDate.equals(other.stepinDate) &&
+        cds.getCurrency().equals(otherCds.getCurrency()) &&
+        cds.getAccrualStartDate().equals(otherCds.getAccrualStartDate()) &&
+        cds.getProtectionEndDate().equals(otherCds.getProtectionEndDate()) &&
+        cds.getDayCount().equals(otherCds.getDayCount()) &&
+        cds.getPaymentOnDefault() == otherCds.getPaymentOnDefault() &&
+        cds.getProtectionStart() == otherCds.getProtectionStart() &&
+        creditCurveNodes.equals(other.creditCurveNodes) &&
+        samePeriods(cds.getPaymentPeriods(), otherCds.getPaymentPeriods());
+  }
+
+  // checks if the periods match, ignoring the notional and fixed rate
+  private static boolean samePeriods(
+      List<CreditCouponPaymentPeriod> periods,
+      List<CreditCouponPaymentPeriod> others) {
+
+    if (periods.size() != others.size()) {
+      return false;
+    }
+    for (int i = 0; i < periods.size(); i++) {
+      CreditCouponPaymentPeriod period = periods.get(i);
+      CreditCouponPaymentPeriod other = others.get(i);
+      if (!period.getStartDate().equals(other.getStartDate()) ||
+          !period.getEndDate().equals(other.getEndDate()) ||
+          !period.getUnadjustedStartDate().equals(other.getUnadjustedStartDate()) ||
+          !period.getUnadjustedEndDate().equals(other.getUnadjustedEndDate()) ||
+          !period.getEffectiveStartDate().equals(other.getEffectiveStartDate()) ||
+          !period.getEffectiveEndDate().equals(other.getEffectiveEndDate()) ||
+          !period.getPaymentDate().equals(other.getPaymentDate()) ||
+          Double.compare(period.getYearFraction(), other.getYearFraction()) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+}
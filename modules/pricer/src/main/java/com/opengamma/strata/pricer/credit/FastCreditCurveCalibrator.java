@@ -10,10 +10,13 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.ConstantNodalCurve;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -26,9 +29,9 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.common.PriceType;
 import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.PaymentOnDefault;
 import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 
@@ -54,7 +57,14 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
   /**
    * The root finder.
    */
-  private static final RealSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
+  private static final BrentSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
+
+  /**
+   * The discount curve quantities of the node CDS, null if not shared.
+   * <p>
+   * This is only populated for the calibrator of a bulk calibration, see {@link #bulkCalibrator()}.
+   */
+  private final Map<Pair<CdsScheduleKey, LocalDate>, DiscountGrid> discountGrids;
 
   //-------------------------------------------------------------------------
   /**
@@ -76,6 +86,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   private FastCreditCurveCalibrator() {
     super();
+    this.discountGrids = null;
   }
 
   /**
@@ -87,6 +98,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   public FastCreditCurveCalibrator(AccrualOnDefaultFormula formula) {
     super(formula);
+    this.discountGrids = null;
   }
 
   /**
@@ -97,6 +109,32 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   public FastCreditCurveCalibrator(AccrualOnDefaultFormula formula, ArbitrageHandling arbHandling) {
     super(formula, arbHandling);
+    this.discountGrids = null;
+  }
+
+  // creates a calibrator sharing the discount curve quantities
+  private FastCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      Map<Pair<CdsScheduleKey, LocalDate>, DiscountGrid> discountGrids) {
+
+    super(formula, arbHandling);
+    this.discountGrids = discountGrids;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a calibrator for a bulk calibration.
+   * <p>
+   * The node CDS of the legal entities in a bulk calibration typically share the same schedules.
+   * The returned calibrator computes the integration schedules and discount factors of each schedule once,
+   * sharing them between the credit curves.
+   * 
+   * @return the calibrator
+   */
+  @Override
+  IsdaCompliantCreditCurveCalibrator bulkCalibrator() {
+    return new FastCreditCurveCalibrator(getAccrualOnDefaultFormula(), getArbitrageHandling(), new ConcurrentHashMap<>());
   }
 
   //-------------------------------------------------------------------------
@@ -141,14 +179,12 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     for (int i = 0; i < n; i++) {
       ResolvedCds cds = calibrationCDSs.get(i).getProduct();
       LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
-      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
       LocalDate settlementDate = calibrationCDSs.get(i).getInfo().getSettlementDate()
           .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
-      double accrued = cds.accruedYearFraction(stepinDate);
 
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
-          effectiveStartDate, settlementDate, accrued);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      DiscountGrid grid = discountGrid(cds, discountFactors, times, stepinDate, settlementDate);
+      Pricer pricer = new Pricer(grid, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i]);
+      DoubleUnaryOperator func = pricer.getPointFunction(i, creditCurve);
 
       switch (getArbitrageHandling()) {
         case IGNORE: {
@@ -160,7 +196,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
                 ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withParameter(i, zeroRate);
           } catch (final MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withParameter(i, creditCurve.getYValues().get(i - 1));
             } else {
               throw new MathException(e);
@@ -172,7 +208,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0d :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             final StringBuilder msg = new StringBuilder();
             if (pointsUpfront.get(i) == 0.0) {
               msg.append("The par spread of " + flactionalSpreads.get(i) + " at index " + i);
@@ -194,7 +230,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0.0 :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withParameter(i, minValue);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
@@ -212,14 +248,31 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     return creditCurve;
   }
 
-  /* Prices the CDS */
-  final class Pricer {
+  // obtains the discount curve quantities of the node CDS, shared between the curves of a bulk calibration
+  private DiscountGrid discountGrid(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      DoubleArray creditCurveKnots,
+      LocalDate stepinDate,
+      LocalDate settlementDate) {
 
-    private final ResolvedCds cds;
-    private final double lgdDF;
+    if (discountGrids == null) {
+      return new DiscountGrid(cds, discountFactors, creditCurveKnots, stepinDate, settlementDate);
+    }
+    DiscountGrid grid = discountGrids.computeIfAbsent(
+        Pair.of(new CdsScheduleKey(cds, stepinDate, creditCurveKnots), settlementDate),
+        key -> new DiscountGrid(cds, discountFactors, creditCurveKnots, stepinDate, settlementDate));
+    return grid.yieldCurve == discountFactors ?
+        grid :
+        new DiscountGrid(cds, discountFactors, creditCurveKnots, stepinDate, settlementDate);
+  }
+
+  /* The quantities of the node CDS which depend only on the schedule and the discount curve */
+  final class DiscountGrid {
+
+    private final CreditDiscountFactors yieldCurve;
+    private final PaymentOnDefault paymentOnDefault;
     private final double valuationDF;
-    private final double fracSpread;
-    private final double puf;
     // protection leg
     private final int nProPoints;
     private final double[] proLegIntPoints;
@@ -228,6 +281,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     // premium leg
     private final int nPayments;
     private final double[] paymentDF;
+    private final double[] yearFraction;
     private final double[][] premLegIntPoints;
     private final double[][] premDF;
     private final double[][] rt;
@@ -240,14 +294,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
-        double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
-        double accruedYearFraction) {
+    DiscountGrid(ResolvedCds cds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots,
+        LocalDate stepinDate, LocalDate settlementDate) {
 
-      accYearFraction = accruedYearFraction;
-      cds = nodeCds;
-      fracSpread = fractionalSpread;
-      puf = pointsUpfront;
+      this.yieldCurve = yieldCurve;
+      paymentOnDefault = cds.getPaymentOnDefault();
+      accYearFraction = cds.accruedYearFraction(stepinDate);
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
       productEffectiveStart = yieldCurve.relativeYearFraction(effectiveStartDate);
       double protectionEnd = yieldCurve.relativeYearFraction(cds.getProtectionEndDate());
       // protection leg
@@ -257,7 +310,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
-      lgdDF = lgd / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
@@ -267,8 +319,10 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       // premium leg
       nPayments = cds.getPaymentPeriods().size();
       paymentDF = new double[nPayments];
+      yearFraction = new double[nPayments];
       int indexTmp = -1;
       for (int i = 0; i < nPayments; i++) {
+        yearFraction[i] = cds.getPaymentPeriods().get(i).getYearFraction();
         if (stepinDate.isBefore(cds.getPaymentPeriods().get(i).getEndDate())) {
           paymentDF[i] = yieldCurve.discountFactor(cds.getPaymentPeriods().get(i).getPaymentDate());
         } else {
@@ -330,52 +384,64 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
         premLegIntPoints = null;
       }
     }
+  }
 
-    public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          NodalCurve cc = creditCurve.withParameter(index, x);
-          double rpv01 = rpv01(cc, PriceType.CLEAN);
-          double pro = protectionLeg(cc);
-          return pro - fracSpread * rpv01 - puf;
-        }
+  /* Prices the CDS */
+  final class Pricer {
+
+    private final DiscountGrid grid;
+    private final double lgdDF;
+    private final double fracSpread;
+    private final double puf;
+
+    public Pricer(DiscountGrid discountGrid, double fractionalSpread, double pointsUpfront, double lgd) {
+      grid = discountGrid;
+      fracSpread = fractionalSpread;
+      puf = pointsUpfront;
+      lgdDF = lgd / grid.valuationDF;
+    }
+
+    public DoubleUnaryOperator getPointFunction(int index, NodalCurve creditCurve) {
+      return x -> {
+        NodalCurve cc = creditCurve.withParameter(index, x);
+        double rpv01 = rpv01(cc, PriceType.CLEAN);
+        double pro = protectionLeg(cc);
+        return pro - fracSpread * rpv01 - puf;
       };
     }
 
     public double rpv01(NodalCurve creditCurve, PriceType cleanOrDirty) {
       double pv = 0.0;
-      for (int i = startPeriodIndex; i < nPayments; i++) {
-        CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
-        double yc = offsetAccEnd[i];
+      for (int i = grid.startPeriodIndex; i < grid.nPayments; i++) {
+        double yc = grid.offsetAccEnd[i];
         double q = Math.exp(-creditCurve.yValue(yc) * yc);
-        pv += coupon.getYearFraction() * paymentDF[i] * q;
+        pv += grid.yearFraction[i] * grid.paymentDF[i] * q;
       }
 
-      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+      if (grid.paymentOnDefault.isAccruedInterest()) {
         double accPV = 0.0;
-        for (int i = startPeriodIndex; i < nPayments; i++) {
+        for (int i = grid.startPeriodIndex; i < grid.nPayments; i++) {
           accPV += calculateSinglePeriodAccrualOnDefault(i, creditCurve);
         }
         pv += accPV;
       }
-      pv /= valuationDF;
+      pv /= grid.valuationDF;
       if (cleanOrDirty == PriceType.CLEAN) {
-        pv -= accYearFraction;
+        pv -= grid.accYearFraction;
       }
       return pv;
     }
 
     private double calculateSinglePeriodAccrualOnDefault(int paymentIndex, NodalCurve creditCurve) {
-      double[] knots = premLegIntPoints[paymentIndex];
+      double[] knots = grid.premLegIntPoints[paymentIndex];
       if (knots == null) {
         return 0d;
       }
-      double[] df = premDF[paymentIndex];
-      double[] deltaT = premDt[paymentIndex];
-      double[] rtCurrent = rt[paymentIndex];
-      double accRateCurrent = accRate[paymentIndex];
-      double accStart = offsetAccStart[paymentIndex];
+      double[] df = grid.premDF[paymentIndex];
+      double[] deltaT = grid.premDt[paymentIndex];
+      double[] rtCurrent = grid.rt[paymentIndex];
+      double accRateCurrent = grid.accRate[paymentIndex];
+      double accStart = grid.offsetAccStart[paymentIndex];
       double t = knots[0];
       double ht0 = creditCurve.yValue(t) * t;
       double rt0 = rtCurrent[0];
@@ -417,14 +483,14 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     }
 
     public double protectionLeg(NodalCurve creditCurve) {
-      double ht0 = creditCurve.yValue(proLegIntPoints[0]) * proLegIntPoints[0];
-      double rt0 = proYieldCurveRT[0];
-      double b0 = proDF[0] * Math.exp(-ht0);
+      double ht0 = creditCurve.yValue(grid.proLegIntPoints[0]) * grid.proLegIntPoints[0];
+      double rt0 = grid.proYieldCurveRT[0];
+      double b0 = grid.proDF[0] * Math.exp(-ht0);
       double pv = 0d;
-      for (int i = 1; i < nProPoints; ++i) {
-        double ht1 = creditCurve.yValue(proLegIntPoints[i]) * proLegIntPoints[i];
-        double rt1 = proYieldCurveRT[i];
-        double b1 = proDF[i] * Math.exp(-ht1);
+      for (int i = 1; i < grid.nProPoints; ++i) {
+        double ht1 = creditCurve.yValue(grid.proLegIntPoints[i]) * grid.proLegIntPoints[i];
+        double rt1 = grid.proYieldCurveRT[i];
+        double b1 = grid.proDF[i] * Math.exp(-ht1);
         double dht = ht1 - ht0;
         double drt = rt1 - rt0;
         double dhrt = dht + drt;
@@ -0,0 +1,745 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.math.impl.util.Epsilon.epsilon;
+import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Pricer for portfolios of single-name credit default swaps (CDS) based on ISDA standard model.
+ * <p>
+ * The results are the same as those of {@link IsdaCdsProductPricer}, which prices each CDS separately.
+ * <p>
+ * Single-name CDS are typically traded on standard IMM dates, thus many CDS in a portfolio share the same schedule.
+ * This pricer groups the CDS by currency, schedule and credit curve nodes, computing the integration
+ * schedules and payment discount factors once for each group.
+ * The schedules of the groups with the same currency and credit curve nodes are merged into a single grid.
+ * The discount curve, and the credit curve of each legal entity, is evaluated on the grid once.
+ * The protection leg and risky annuity of each CDS are then computed in primitive loops over the grid.
+ * <p>
+ * The CDS are priced based on {@code referenceDate}.
+ * This is typically valuation date, or settlement date if the products are associated with trades.
+ */
+public class IsdaCdsBatchProductPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaCdsBatchProductPricer DEFAULT =
+      new IsdaCdsBatchProductPricer(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+  /**
+   * The small parameter.
+   * <p>
+   * An approximation formula is used if a certain variable is smaller than this parameter.
+   */
+  private static final double SMALL = 1.0e-5;
+
+  /**
+   * The pricer for single name CDS.
+   */
+  private final IsdaCdsProductPricer underlyingPricer;
+  /**
+   * The formula
+   */
+  private final AccrualOnDefaultFormula formula;
+  /**
+   * The omega parameter.
+   */
+  private final double omega;
+
+  /**
+   * Constructor specifying the formula to use for the accrued on default calculation.
+   *
+   * @param formula  the formula
+   */
+  public IsdaCdsBatchProductPricer(AccrualOnDefaultFormula formula) {
+    this.underlyingPricer = new IsdaCdsProductPricer(formula);
+    this.formula = formula;
+    this.omega = formula.getOmega();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the accrual-on-default formula used in this pricer.
+   *
+   * @return the formula
+   */
+  public AccrualOnDefaultFormula getAccrualOnDefaultFormula() {
+    return formula;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each CDS product, which is the present value per unit notional.
+   * <p>
+   * This method can calculate the clean or dirty price, see {@link PriceType}.
+   * If calculating the clean price, the accrued interest is calculated based on the step-in date.
+   * <p>
+   * Zero is returned for a CDS that has already expired.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the price of each product, in the order of the products
+   */
+  public double[] price(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    Legs legs = legs(products, ratesProvider, referenceDate, refData);
+    double[] price = new double[products.size()];
+    for (int i = 0; i < price.length; i++) {
+      price[i] = legs.protectionLeg[i] - legs.riskyAnnuity(i, priceType) * products.get(i).getFixedRate();
+    }
+    return price;
+  }
+
+  /**
+   * Calculates the present value of each CDS product.
+   * <p>
+   * This method can calculate the clean or dirty present value, see {@link PriceType}.
+   * If calculating the clean value, the accrued interest is calculated based on the step-in date.
+   * <p>
+   * Zero is returned for a CDS that has already expired.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value of each product, in the order of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    double[] price = price(products, ratesProvider, referenceDate, priceType, refData);
+    return signedNotionalAmounts(products, price);
+  }
+
+  /**
+   * Calculates the par spread of each CDS product.
+   * <p>
+   * The par spread is a coupon rate such that the clean PV is 0.
+   * The result is represented in decimal form.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the par spread of each product, in the order of the products
+   * @throws IllegalArgumentException if any of the products has already expired
+   */
+  public double[] parSpread(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    for (ResolvedCds cds : products) {
+      ArgChecker.isTrue(cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
+    }
+    Legs legs = legs(products, ratesProvider, referenceDate, refData);
+    double[] parSpread = new double[products.size()];
+    for (int i = 0; i < parSpread.length; i++) {
+      parSpread[i] = legs.protectionLeg[i] / legs.riskyAnnuity(i, PriceType.CLEAN);
+    }
+    return parSpread;
+  }
+
+  /**
+   * Calculates the price of the protection leg of each CDS product.
+   * <p>
+   * Zero is returned for a CDS that has already expired.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the protection leg price of each product, in the order of the products
+   */
+  public double[] protectionLeg(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    return legs(products, ratesProvider, referenceDate, refData).protectionLeg;
+  }
+
+  /**
+   * Calculates the risky annuity of each CDS product, which is RPV01 per unit notional.
+   * <p>
+   * Zero is returned for a CDS that has already expired.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the risky annuity of each product, in the order of the products
+   */
+  public double[] riskyAnnuity(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    Legs legs = legs(products, ratesProvider, referenceDate, refData);
+    double[] riskyAnnuity = new double[products.size()];
+    for (int i = 0; i < riskyAnnuity.length; i++) {
+      riskyAnnuity[i] = legs.riskyAnnuity(i, priceType);
+    }
+    return riskyAnnuity;
+  }
+
+  /**
+   * Calculates the risky PV01 of each CDS product.
+   * <p>
+   * RPV01 is defined as minus of the present value sensitivity to coupon rate.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the RPV01 of each product, in the order of the products
+   */
+  public List<CurrencyAmount> rpv01(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    double[] riskyAnnuity = riskyAnnuity(products, ratesProvider, referenceDate, priceType, refData);
+    return signedNotionalAmounts(products, riskyAnnuity);
+  }
+
+  //-------------------------------------------------------------------------
+  // multiplies the values by the signed notional
+  private static List<CurrencyAmount> signedNotionalAmounts(List<ResolvedCds> products, double[] values) {
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < values.length; i++) {
+      ResolvedCds cds = products.get(i);
+      builder.add(CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * values[i]));
+    }
+    return builder.build();
+  }
+
+  // computes the legs of all the products, grouping the products that share schedule and curve nodes
+  private Legs legs(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(products, "products");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(referenceDate, "referenceDate");
+    ArgChecker.notNull(refData, "refData");
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    int size = products.size();
+    // group the products, an expired product has no group
+    Map<Currency, CreditDiscountFactors> discountFactorsMap = new HashMap<>();
+    Map<Pair<Currency, DoubleArray>, CurveGrid> grids = new HashMap<>();
+    Map<CdsScheduleKey, ScheduleGroup> groups = new HashMap<>();
+    ScheduleGroup[] productGroups = new ScheduleGroup[size];
+    LegalEntitySurvivalProbabilities[] productCurves = new LegalEntitySurvivalProbabilities[size];
+    double[] recoveryRates = new double[size];
+    for (int i = 0; i < size; i++) {
+      ResolvedCds cds = products.get(i);
+      if (!cds.getProtectionEndDate().isAfter(valuationDate)) {
+        continue;
+      }
+      LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
+      recoveryRates[i] = underlyingPricer.recoveryRate(cds, ratesProvider);
+      CreditDiscountFactors discountFactors =
+          discountFactorsMap.computeIfAbsent(cds.getCurrency(), ccy -> discountFactors(ccy, ratesProvider));
+      LegalEntitySurvivalProbabilities survivalProbabilities =
+          survivalProbabilities(cds, discountFactors, ratesProvider);
+      DoubleArray creditCurveNodes = survivalProbabilities.getParameterKeys();
+      productGroups[i] = groups.computeIfAbsent(new CdsScheduleKey(cds, stepinDate, creditCurveNodes), key -> {
+        CurveGrid grid = grids.computeIfAbsent(
+            Pair.of(cds.getCurrency(), creditCurveNodes), gridKey -> new CurveGrid(discountFactors));
+        return grid.add(new ScheduleGroup(grid, cds, stepinDate, creditCurveNodes, referenceDate));
+      });
+      productCurves[i] = survivalProbabilities;
+    }
+    // evaluate the curves on the grids, then price in primitive loops
+    for (CurveGrid grid : grids.values()) {
+      grid.build();
+    }
+    Legs legs = new Legs(size);
+    for (int i = 0; i < size; i++) {
+      ScheduleGroup group = productGroups[i];
+      if (group != null) {
+        EntityValues values = group.grid.entityValues(productCurves[i]);
+        legs.protectionLeg[i] = (1d - recoveryRates[i]) * group.protectionFull(values);
+        legs.dirtyRiskyAnnuity[i] = group.dirtyRiskyAnnuity(values);
+        legs.accruedYearFraction[i] = group.accruedYearFraction;
+      }
+    }
+    return legs;
+  }
+
+  // finds the discount factors
+  private static CreditDiscountFactors discountFactors(Currency currency, CreditRatesProvider ratesProvider) {
+    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    ArgChecker.isTrue(
+        discountFactors.isIsdaCompliant(), "discount factors must be IsdaCompliantZeroRateDiscountFactors");
+    return discountFactors;
+  }
+
+  // finds the survival probabilities
+  private static LegalEntitySurvivalProbabilities survivalProbabilities(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      CreditRatesProvider ratesProvider) {
+
+    LegalEntitySurvivalProbabilities survivalProbabilities =
+        ratesProvider.survivalProbabilities(cds.getLegalEntityId(), cds.getCurrency());
+    ArgChecker.isTrue(survivalProbabilities.getSurvivalProbabilities().isIsdaCompliant(),
+        "survival probabilities must be IsdaCompliantZeroRateDiscountFactors");
+    ArgChecker.isTrue(
+        discountFactors.getDayCount().equals(survivalProbabilities.getSurvivalProbabilities().getDayCount()),
+        "day count conventions of discounting curve and credit curve must be the same");
+    return survivalProbabilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The legs of the products, zero for an expired product.
+   */
+  private static final class Legs {
+    private final double[] protectionLeg;
+    private final double[] dirtyRiskyAnnuity;
+    private final double[] accruedYearFraction;
+
+    private Legs(int size) {
+      this.protectionLeg = new double[size];
+      this.dirtyRiskyAnnuity = new double[size];
+      this.accruedYearFraction = new double[size];
+    }
+
+    // the risky annuity of the specified price type
+    private double riskyAnnuity(int index, PriceType priceType) {
+      double pv = dirtyRiskyAnnuity[index];
+      if (priceType.isCleanPrice()) {
+        pv -= accruedYearFraction[index];
+      }
+      return pv;
+    }
+  }
+
+  /**
+   * The values of the curves of a legal entity on a grid.
+   */
+  private static final class EntityValues {
+    /**
+     * The hazard rate multiplied by time at each grid time.
+     */
+    private final double[] ht;
+    /**
+     * The risky discount factor at each grid time.
+     */
+    private final double[] b;
+    /**
+     * The survival probability at each grid date.
+     */
+    private final double[] q;
+
+    private EntityValues(double[] ht, double[] b, double[] q) {
+      this.ht = ht;
+      this.b = b;
+      this.q = q;
+    }
+  }
+
+  /**
+   * The grid shared by the groups with the same currency and credit curve nodes.
+   * <p>
+   * The grid contains all the times and dates at which the curves are evaluated, sorted and without duplicates.
+   * The discount curve is evaluated on the grid once, and each credit curve is evaluated on the grid once.
+   */
+  private static final class CurveGrid {
+    /**
+     * The discount factors.
+     */
+    private final CreditDiscountFactors discountFactors;
+    /**
+     * The groups using the grid.
+     */
+    private final List<ScheduleGroup> groups = new ArrayList<>();
+    /**
+     * The values of the credit curves, keyed by legal entity.
+     */
+    private final Map<StandardId, EntityValues> entityValues = new HashMap<>();
+    /**
+     * The grid times, set when built.
+     */
+    private double[] times;
+    /**
+     * The discount rate multiplied by time at each grid time, set when built.
+     */
+    private double[] rt;
+    /**
+     * The grid dates at which survival probabilities are needed, set when built.
+     */
+    private LocalDate[] dates;
+
+    private CurveGrid(CreditDiscountFactors discountFactors) {
+      this.discountFactors = discountFactors;
+    }
+
+    // adds a group
+    private ScheduleGroup add(ScheduleGroup group) {
+      groups.add(group);
+      return group;
+    }
+
+    // builds the grid from the schedules of the groups
+    private void build() {
+      double[] allTimes = new double[0];
+      LocalDate[] allDates = new LocalDate[0];
+      for (ScheduleGroup group : groups) {
+        allTimes = concat(allTimes, group.protectionSchedule);
+        for (double[] knots : group.accrualKnots) {
+          if (knots != null) {
+            allTimes = concat(allTimes, knots);
+          }
+        }
+        allDates = concat(allDates, group.liveEffectiveEndDates);
+      }
+      times = distinctSorted(allTimes);
+      rt = new double[times.length];
+      for (int i = 0; i < times.length; i++) {
+        rt[i] = discountFactors.zeroRate(times[i]) * times[i];
+      }
+      dates = distinctSorted(allDates);
+      for (ScheduleGroup group : groups) {
+        group.index(times, dates);
+      }
+    }
+
+    // evaluates the credit curve of the legal entity on the grid, once for each legal entity
+    private EntityValues entityValues(LegalEntitySurvivalProbabilities survivalProbabilities) {
+      return entityValues.computeIfAbsent(survivalProbabilities.getLegalEntityId(), id -> {
+        double[] ht = new double[times.length];
+        double[] b = new double[times.length];
+        for (int i = 0; i < times.length; i++) {
+          ht[i] = survivalProbabilities.zeroRate(times[i]) * times[i];
+          b[i] = Math.exp(-ht[i] - rt[i]);
+        }
+        double[] q = new double[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+          q[i] = survivalProbabilities.survivalProbability(dates[i]);
+        }
+        return new EntityValues(ht, b, q);
+      });
+    }
+  }
+
+  /**
+   * The products that share the same schedule, discount curve and credit curve nodes.
+   * <p>
+   * The integration schedules are held as indices into the grid.
+   */
+  private final class ScheduleGroup {
+    /**
+     * The grid.
+     */
+    private final CurveGrid grid;
+    /**
+     * The protection leg integration schedule.
+     */
+    private final double[] protectionSchedule;
+    /**
+     * The effective end dates of the coupons that have not expired at the step-in date.
+     */
+    private final LocalDate[] liveEffectiveEndDates;
+    /**
+     * The year fraction multiplied by the payment discount factor of the live coupons.
+     */
+    private final double[] liveYearFractionDiscount;
+    /**
+     * The knots of the accrual-on-default integral of each coupon, null if expired.
+     */
+    private final double[][] accrualKnots;
+    /**
+     * The effective start time of each coupon.
+     */
+    private final double[] effectiveStartTimes;
+    /**
+     * The year fraction of each coupon.
+     */
+    private final double[] yearFractions;
+    /**
+     * The year fraction of each coupon measured using the day count of the curves.
+     */
+    private final double[] curveYearFractions;
+    /**
+     * The discount factor at the reference date.
+     */
+    private final double referenceDiscountFactor;
+    /**
+     * The accrued year fraction at the step-in date.
+     */
+    private final double accruedYearFraction;
+    /**
+     * The grid indices of the protection leg integration schedule, set when the grid is built.
+     */
+    private int[] protectionIndices;
+    /**
+     * The grid indices of the effective end dates of the live coupons, set when the grid is built.
+     */
+    private int[] liveDateIndices;
+    /**
+     * The grid indices of the knots of each coupon, null if expired, set when the grid is built.
+     */
+    private int[][] accrualIndices;
+
+    private ScheduleGroup(
+        CurveGrid grid,
+        ResolvedCds cds,
+        LocalDate stepinDate,
+        DoubleArray creditCurveNodes,
+        LocalDate referenceDate) {
+
+      this.grid = grid;
+      CreditDiscountFactors discountFactors = grid.discountFactors;
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+      this.protectionSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+          discountFactors.relativeYearFraction(effectiveStartDate),
+          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
+          discountFactors.getParameterKeys(),
+          creditCurveNodes).toArray();
+      // premium leg
+      ImmutableList<CreditCouponPaymentPeriod> coupons = cds.getPaymentPeriods();
+      int nCoupons = coupons.size();
+      int nLive = 0;
+      LocalDate[] effectiveEndDates = new LocalDate[nCoupons];
+      double[] yearFractionDiscount = new double[nCoupons];
+      for (CreditCouponPaymentPeriod coupon : coupons) {
+        if (stepinDate.isBefore(coupon.getEndDate())) {
+          double p = discountFactors.discountFactor(coupon.getPaymentDate());
+          effectiveEndDates[nLive] = coupon.getEffectiveEndDate();
+          yearFractionDiscount[nLive] = coupon.getYearFraction() * p;
+          nLive++;
+        }
+      }
+      this.liveEffectiveEndDates = Arrays.copyOf(effectiveEndDates, nLive);
+      this.liveYearFractionDiscount = Arrays.copyOf(yearFractionDiscount, nLive);
+      // accrual on default
+      this.accrualKnots = new double[nCoupons][];
+      this.effectiveStartTimes = new double[nCoupons];
+      this.yearFractions = new double[nCoupons];
+      this.curveYearFractions = new double[nCoupons];
+      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+        // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used.
+        LocalDate start = nCoupons == 1 ? effectiveStartDate : cds.getAccrualStartDate();
+        DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+            discountFactors.relativeYearFraction(start),
+            discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
+            discountFactors.getParameterKeys(),
+            creditCurveNodes);
+        for (int j = 0; j < nCoupons; j++) {
+          CreditCouponPaymentPeriod coupon = coupons.get(j);
+          LocalDate couponStart = coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ?
+              effectiveStartDate :
+              coupon.getEffectiveStartDate();
+          if (!couponStart.isBefore(coupon.getEffectiveEndDate())) {
+            continue;  // this coupon has already expired
+          }
+          accrualKnots[j] = DoublesScheduleGenerator.truncateSetInclusive(
+              discountFactors.relativeYearFraction(couponStart),
+              discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()),
+              integrationSchedule).toArray();
+          effectiveStartTimes[j] = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+          yearFractions[j] = coupon.getYearFraction();
+          curveYearFractions[j] =
+              discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+        }
+      }
+      // roll to the cash settle date
+      this.referenceDiscountFactor = discountFactors.discountFactor(referenceDate);
+      this.accruedYearFraction = cds.accruedYearFraction(stepinDate);
+    }
+
+    // finds the grid indices of the schedules
+    private void index(double[] times, LocalDate[] dates) {
+      protectionIndices = indices(times, protectionSchedule);
+      accrualIndices = new int[accrualKnots.length][];
+      for (int j = 0; j < accrualKnots.length; j++) {
+        if (accrualKnots[j] != null) {
+          accrualIndices[j] = indices(times, accrualKnots[j]);
+        }
+      }
+      liveDateIndices = new int[liveEffectiveEndDates.length];
+      for (int i = 0; i < liveDateIndices.length; i++) {
+        liveDateIndices[i] = Arrays.binarySearch(dates, liveEffectiveEndDates[i]);
+      }
+    }
+
+    // computes protection leg pv per unit notional, without loss-given-default rate multiplied
+    private double protectionFull(EntityValues values) {
+      double[] rt = grid.rt;
+      double[] ht = values.ht;
+      double[] b = values.b;
+      double pv = 0d;
+      int k0 = protectionIndices[0];
+      for (int i = 1; i < protectionIndices.length; ++i) {
+        int k1 = protectionIndices[i];
+        double dht = ht[k1] - ht[k0];
+        double drt = rt[k1] - rt[k0];
+        double dhrt = dht + drt;
+        double dPV;
+        if (Math.abs(dhrt) < SMALL) {
+          dPV = dht * b[k0] * epsilon(-dhrt);
+        } else {
+          dPV = (b[k0] - b[k1]) * dht / dhrt;
+        }
+        pv += dPV;
+        k0 = k1;
+      }
+      return pv / referenceDiscountFactor;
+    }
+
+    // computes dirty risky annuity
+    private double dirtyRiskyAnnuity(EntityValues values) {
+      double pv = 0d;
+      for (int i = 0; i < liveYearFractionDiscount.length; i++) {
+        pv += liveYearFractionDiscount[i] * values.q[liveDateIndices[i]];
+      }
+      for (int j = 0; j < accrualIndices.length; j++) {
+        if (accrualIndices[j] != null) {
+          pv += singlePeriodAccrualOnDefault(j, values);
+        }
+      }
+      return pv / referenceDiscountFactor;
+    }
+
+    // computes accrual-on-default pv per unit notional for a single payment period
+    private double singlePeriodAccrualOnDefault(int couponIndex, EntityValues values) {
+      double[] knots = accrualKnots[couponIndex];
+      int[] indices = accrualIndices[couponIndex];
+      double[] rt = grid.rt;
+      double[] ht = values.ht;
+      double[] b = values.b;
+      double effStart = effectiveStartTimes[couponIndex];
+      double t0 = knots[0] - effStart + omega;
+      double pv = 0d;
+      int k0 = indices[0];
+      for (int j = 1; j < knots.length; ++j) {
+        int k1 = indices[j];
+        double dt = knots[j] - knots[j - 1];
+        double dht = ht[k1] - ht[k0];
+        double drt = rt[k1] - rt[k0];
+        double dhrt = dht + drt;
+        double b0 = b[k0];
+        double b1 = b[k1];
+        double tPV;
+        if (formula == AccrualOnDefaultFormula.MARKIT_FIX) {
+          if (Math.abs(dhrt) < SMALL) {
+            tPV = dht * dt * b0 * epsilonP(-dhrt);
+          } else {
+            tPV = dht * dt / dhrt * ((b0 - b1) / dhrt - b1);
+          }
+        } else {
+          double t1 = knots[j] - effStart + omega;
+          if (Math.abs(dhrt) < SMALL) {
+            tPV = dht * b0 * (t0 * epsilon(-dhrt) + dt * epsilonP(-dhrt));
+          } else {
+            tPV = dht / dhrt * (t0 * b0 - t1 * b1 + dt / dhrt * (b0 - b1));
+          }
+          t0 = t1;
+        }
+        pv += tPV;
+        k0 = k1;
+      }
+      return yearFractions[couponIndex] * pv / curveYearFractions[couponIndex];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // concatenates two arrays
+  private static double[] concat(double[] first, double[] second) {
+    double[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  // concatenates two arrays
+  private static LocalDate[] concat(LocalDate[] first, LocalDate[] second) {
+    LocalDate[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  // sorts the values and removes duplicates, consistent with Arrays.binarySearch
+  private static double[] distinctSorted(double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int size = 0;
+    for (double value : sorted) {
+      if (size == 0 || Double.compare(sorted[size - 1], value) != 0) {
+        sorted[size++] = value;
+      }
+    }
+    return Arrays.copyOf(sorted, size);
+  }
+
+  // sorts the dates and removes duplicates
+  private static LocalDate[] distinctSorted(LocalDate[] dates) {
+    LocalDate[] sorted = dates.clone();
+    Arrays.sort(sorted);
+    int size = 0;
+    for (LocalDate date : sorted) {
+      if (size == 0 || !sorted[size - 1].equals(date)) {
+        sorted[size++] = date;
+      }
+    }
+    return Arrays.copyOf(sorted, size);
+  }
+
+  // finds the index of each time in the sorted times
+  private static int[] indices(double[] times, double[] schedule) {
+    int[] indices = new int[schedule.length];
+    for (int i = 0; i < schedule.length; i++) {
+      indices[i] = Arrays.binarySearch(times, schedule[i]);
+    }
+    return indices;
+  }
+
+}
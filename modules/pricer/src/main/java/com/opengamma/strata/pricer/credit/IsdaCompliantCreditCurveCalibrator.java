@@ -172,6 +172,50 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of many legal entities to the market data.
+   * <p>
+   * This creates a credit curve for each curve definition, for example, for each constituent of a CDS index.
+   * The curves are calibrated in parallel, sharing the relevant discount curves in {@code ratesProvider}.
+   * The quantities computed from a discount curve are shared between the node CDS with the same schedule
+   * if the calibrator supports it.
+   * <p>
+   * Each curve is the same as that created by
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)},
+   * including the Jacobian matrix if requested in the curve definition.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curves, in the same order as the curve definitions
+   */
+  public ImmutableList<LegalEntitySurvivalProbabilities> calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    IsdaCompliantCreditCurveCalibrator calibrator = bulkCalibrator();
+    return IntStream.range(0, curveDefinitions.size())
+        .parallel()
+        .mapToObj(i -> calibrator.calibrate(curveDefinitions.get(i), marketData, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+  }
+
+  /**
+   * Obtains a calibrator for a bulk calibration.
+   * <p>
+   * The returned calibrator is used for the duration of a single bulk calibration, and must be thread-safe.
+   * It may retain the quantities computed from the discount curves.
+   * By default, this calibrator is returned.
+   *
+   * @return the calibrator
+   */
+  IsdaCompliantCreditCurveCalibrator bulkCalibrator() {
+    return this;
+  }
+
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
@@ -10,7 +10,6 @@ import java.time.Period;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -36,6 +35,7 @@ import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.SwapIsdaCreditCurveNode;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.UnitParameterSensitivities;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
@@ -229,36 +229,29 @@ public final class IsdaCompliantDiscountCurveCalibrator {
     int index1 = i1;
     int index2 = i2;
 
-    Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double x) {
-        InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
-        double sum = 1.0 - cachedValues; // Floating leg at par
-        for (int i = index1; i < index2; i++) {
-          double t = swap.getPaymentTime(i);
-          sum -= paymentAmounts[i] * Math.exp(-tempCurve.yValue(t) * t);
-        }
-        return sum;
+    DoubleFunction1D func = x -> {
+      InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
+      double sum = 1.0 - cachedValues; // Floating leg at par
+      for (int i = index1; i < index2; i++) {
+        double t = swap.getPaymentTime(i);
+        sum -= paymentAmounts[i] * Math.exp(-tempCurve.yValue(t) * t);
       }
+      return sum;
     };
 
-    Function<Double, Double> grad = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double x) {
-        InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
-        double sum = cachedSense;
-        for (int i = index1; i < index2; i++) {
-          double t = swap.getPaymentTime(i);
-          sum += swap.getPaymentAmounts(i, swapRate) * t * Math.exp(-tempCurve.yValue(t) * t) *
-              tempCurve.yValueParameterSensitivity(t).getSensitivity().get(curveIndex);
-        }
-        return sum;
+    DoubleFunction1D grad = x -> {
+      InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
+      double sum = cachedSense;
+      for (int i = index1; i < index2; i++) {
+        double t = swap.getPaymentTime(i);
+        sum += swap.getPaymentAmounts(i, swapRate) * t * Math.exp(-tempCurve.yValue(t) * t) *
+            tempCurve.yValueParameterSensitivity(t).getSensitivity().get(curveIndex);
       }
-
+      return sum;
     };
 
     double guess = curve.getParameter(curveIndex);
-    if (guess == 0.0 && func.apply(guess) == 0.0) {
+    if (guess == 0.0 && func.applyAsDouble(guess) == 0.0) {
       return curve;
     }
     double[] bracket = guess > 0d ?
@@ -68,8 +68,13 @@ class CalibrationDerivative
     // create child provider from matrix
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
+    // the rows are written directly to avoid creating intermediate arrays
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    double[][] derivatives = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      measures.derivative(trades.get(i), provider, curveOrder, derivatives[i]);
+    }
+    return DoubleMatrix.ofUnsafe(derivatives);
   }
 
 }
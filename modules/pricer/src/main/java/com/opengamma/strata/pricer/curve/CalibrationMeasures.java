@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -19,6 +20,7 @@ import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.UnitParameterSensitivities;
+import com.opengamma.strata.market.param.UnitParameterSensitivity;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
 
@@ -168,17 +170,35 @@ public final class CalibrationMeasures {
    * @return the sensitivity derivative
    */
   public DoubleArray derivative(ResolvedTrade trade, RatesProvider provider, List<CurveParameterSize> curveOrder) {
+    int totalParams = curveOrder.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[] result = new double[totalParams];
+    derivative(trade, provider, curveOrder, result);
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Calculates the sensitivity with respect to the rates provider, writing the result to an array.
+   * <p>
+   * This avoids creating intermediate arrays when the sensitivity is part of a larger matrix.
+   * The array must be filled with zeroes and have a size equal to the total number of parameters.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @param curveOrder  the order of the curves
+   * @param result  the array to write the concatenated curve sensitivities to
+   */
+  void derivative(ResolvedTrade trade, RatesProvider provider, List<CurveParameterSize> curveOrder, double[] result) {
     UnitParameterSensitivities unitSens = extractSensitivities(trade, provider);
 
     // expand to a concatenated array
-    DoubleArray result = DoubleArray.EMPTY;
+    int startIndex = 0;
     for (CurveParameterSize curveParams : curveOrder) {
-      DoubleArray sens = unitSens.findSensitivity(curveParams.getName())
-          .map(s -> s.getSensitivity())
-          .orElseGet(() -> DoubleArray.filled(curveParams.getParameterCount()));
-      result = result.concat(sens);
+      Optional<UnitParameterSensitivity> sens = unitSens.findSensitivity(curveParams.getName());
+      if (sens.isPresent()) {
+        sens.get().getSensitivity().copyInto(result, startIndex);
+      }
+      startIndex += curveParams.getParameterCount();
     }
-    return result;
   }
 
   // determine the curve parameter sensitivities, removing the curency
@@ -9,9 +9,15 @@ import static com.opengamma.strata.collect.Guavate.filtering;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -25,12 +31,18 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.linearalgebra.BlockSparseMatrix;
+import com.opengamma.strata.math.impl.linearalgebra.BlockSparseSolver;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
@@ -61,7 +73,7 @@ public final class RatesCurveCalibrator {
   private static final RatesCurveCalibrator STANDARD =
       RatesCurveCalibrator.of(1e-9, 1e-9, 1000, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE);
   /**
-   * The matrix algebra used for matrix inversion.
+   * The matrix algebra used for matrix multiplication.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
 
@@ -79,6 +91,10 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * Whether the derivatives of the trades are computed in parallel once each group is calibrated.
+   */
+  private final boolean parallelDerivatives;
 
   //-------------------------------------------------------------------------
   /**
@@ -154,7 +170,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures pvMeasures) {
 
     NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false);
   }
 
   /**
@@ -171,7 +187,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false);
   }
 
   //-------------------------------------------------------------------------
@@ -179,11 +195,28 @@ public final class RatesCurveCalibrator {
   private RatesCurveCalibrator(
       NewtonVectorRootFinder rootFinder,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      boolean parallelDerivatives) {
 
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.parallelDerivatives = parallelDerivatives;
+  }
+
+  /**
+   * Returns a copy of this calibrator that computes the trade derivatives in parallel.
+   * <p>
+   * Once each group is calibrated, the derivative of each trade is computed to build the Jacobian
+   * matrices and the present value sensitivity to market quotes.
+   * For large groups, computing the derivatives of the trades in parallel can significantly reduce
+   * the time taken. The parallel computation uses the common fork-join pool.
+   *
+   * @param parallelDerivatives  true to compute the trade derivatives in parallel
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withParallelDerivatives(boolean parallelDerivatives) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, parallelDerivatives);
   }
 
   //-------------------------------------------------------------------------
@@ -216,14 +249,7 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
-    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
-        .flatMap(filtering(IndexQuoteId.class))
-        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
-        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
-        .timeSeries(timeSeries)
-        .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData);
   }
 
   /**
@@ -246,6 +272,106 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(allGroupDefns, knownData, marketData, null, null, refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Re-calibrates a single curve group, containing one or more curves, following a change in market data.
+   * <p>
+   * This is equivalent to {@link #calibrate(RatesCurveGroupDefinition, MarketData, ReferenceData)},
+   * but uses the result of a previous calibration of the same definition to reduce the work performed.
+   * See {@link #recalibrate(List, ImmutableRatesProvider, MarketData, ImmutableRatesProvider, MarketData, ReferenceData)}.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param previousProvider  the rates provider resulting from the previous calibration
+   * @param previousMarketData  the market data used by the previous calibration
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ImmutableRatesProvider previousProvider,
+      MarketData previousMarketData,
+      ReferenceData refData) {
+
+    return recalibrate(
+        ImmutableList.of(curveGroupDefn),
+        knownData(marketData),
+        marketData,
+        previousProvider,
+        previousMarketData,
+        refData);
+  }
+
+  /**
+   * Re-calibrates a list of curve groups following a change in market data.
+   * <p>
+   * This is equivalent to {@link #calibrate(List, ImmutableRatesProvider, MarketData, ReferenceData)},
+   * but uses the result of a previous calibration of the same definitions to reduce the work performed.
+   * This is intended for use when only a small number of market quotes change between calibrations.
+   * <p>
+   * A group is not re-calibrated if the market data required by its nodes is unchanged and none of the
+   * curves it depends on have changed. Dependencies are determined using the Jacobian matrices
+   * stored in the metadata of the previous curves. If the Jacobian matrices are not available,
+   * the group is assumed to depend on all earlier groups.
+   * <p>
+   * A group that has changed is solved starting from the previous calibrated parameters.
+   * Where the previous Jacobian is available, the starting point is first improved by a single
+   * Newton step using the inverse Jacobian, thus the root finder typically converges immediately.
+   * If the root finder fails to converge from the previous solution, the group is solved again
+   * starting from the initial guesses of the definition.
+   * <p>
+   * The known data, including time-series, is expected to match that used by the previous calibration.
+   * If the valuation date has changed, a full calibration is performed.
+   *
+   * @param allGroupDefns  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param previousProvider  the rates provider resulting from the previous calibration
+   * @param previousMarketData  the market data used by the previous calibration
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ImmutableRatesProvider previousProvider,
+      MarketData previousMarketData,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(previousProvider, "previousProvider");
+    ArgChecker.notNull(previousMarketData, "previousMarketData");
+    if (!previousProvider.getValuationDate().equals(marketData.getValuationDate())) {
+      return calibrate(allGroupDefns, knownData, marketData, refData);
+    }
+    return calibrate(allGroupDefns, knownData, marketData, previousProvider, previousMarketData, refData);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the known data from the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
+        .flatMap(filtering(IndexQuoteId.class))
+        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  // calibrates the groups, using the previous calibration if available
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ImmutableRatesProvider previousProvider,
+      MarketData previousMarketData,
+      ReferenceData refData) {
+
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -257,24 +383,55 @@ public final class RatesCurveCalibrator {
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
     ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of();
+    Set<CurveName> changedCurves = new HashSet<>();
     for (RatesCurveGroupDefinition groupDefn : allGroupDefns) {
       if (groupDefn.getEntries().isEmpty()) {
         continue;
       }
       RatesCurveGroupDefinition groupDefnBound =
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
-      // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
           .addAll(orderGroup)
           .build();
+      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
+
+      // use the previous calibration if available
+      DoubleArray previousGroupParams = null;
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> previousJacobians = ImmutableMap.of();
+      if (previousProvider != null) {
+        previousGroupParams = previousParameters(groupDefnBound, previousProvider);
+        previousJacobians = previousJacobians(orderGroup, orderPrevAndGroup, previousProvider);
+        ImmutableMap<CurveName, DoubleArray> previousSensitivities = previousSensitivities(orderGroup, previousProvider);
+        boolean unchanged = previousGroupParams != null &&
+            (!groupDefnBound.isComputeJacobian() || !previousJacobians.isEmpty()) &&
+            (!groupDefnBound.isComputePvSensitivityToMarketQuote() || !previousSensitivities.isEmpty()) &&
+            isSameMarketData(groupDefnBound, previousMarketData, marketData) &&
+            !isDependent(orderPrev, previousJacobians, changedCurves);
+        if (unchanged) {
+          if (groupDefnBound.isComputeJacobian()) {
+            jacobians = ImmutableMap.<CurveName, JacobianCalibrationMatrix>builder()
+                .putAll(jacobians)
+                .putAll(previousJacobians)
+                .build();
+          }
+          orderPrev = orderPrevAndGroup;
+          providerCombined = providerGenerator.generate(previousGroupParams, jacobians, previousSensitivities);
+          continue;
+        }
+        orderGroup.forEach(order -> changedCurves.add(order.getName()));
+      }
+
+      // combine all data in the group into flat lists
+      ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
+      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
 
       // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams = previousGroupParams != null ?
+          recalibrateGroup(
+              providerGenerator, trades, initialGuesses, orderGroup, orderPrev, previousGroupParams, previousJacobians) :
+          calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -320,6 +477,163 @@ public final class RatesCurveCalibrator {
     return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
   }
 
+  // calibrates a single group, starting from the previous solution
+  private DoubleArray recalibrateGroup(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<Double> initialGuesses,
+      ImmutableList<CurveParameterSize> curveOrder,
+      ImmutableList<CurveParameterSize> orderPrev,
+      DoubleArray previousGroupParams,
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> previousJacobians) {
+
+    // setup for calibration
+    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleMatrix> derivativeCalculator =
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+
+    // calibrate, falling back to the initial guesses if unable to converge
+    try {
+      DoubleArray startGuess = previousGroupParams;
+      if (!previousJacobians.isEmpty()) {
+        DoubleMatrix pDmCurMatrix = previousJacobianDirect(curveOrder, orderPrev, previousJacobians);
+        startGuess = newtonStep(previousGroupParams, valueCalculator.apply(previousGroupParams), pDmCurMatrix);
+      }
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, startGuess);
+    } catch (MathException ex) {
+      DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    }
+  }
+
+  // the inverse of the derivative of the group, for the group parameters, from the previous Jacobian matrices
+  private static DoubleMatrix previousJacobianDirect(
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableList<CurveParameterSize> orderPrev,
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> previousJacobians) {
+
+    int totParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    int totParamsPrev = orderPrev.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] direct = new double[totParamsGroup][];
+    int startIndex = 0;
+    for (CurveParameterSize order : orderGroup) {
+      DoubleMatrix matrix = previousJacobians.get(order.getName()).getJacobianMatrix();
+      for (int p = 0; p < order.getParameterCount(); p++) {
+        direct[startIndex + p] = matrix.row(p).subArray(totParamsPrev, totParamsPrev + totParamsGroup).toArrayUnsafe();
+      }
+      startIndex += order.getParameterCount();
+    }
+    return DoubleMatrix.ofUnsafe(direct);
+  }
+
+  // applies a single Newton step, x - J^-1 f(x)
+  private static DoubleArray newtonStep(DoubleArray params, DoubleArray values, DoubleMatrix inverseDerivative) {
+    return params.mapWithIndex((i, value) -> {
+      double step = 0;
+      for (int j = 0; j < values.size(); j++) {
+        step += inverseDerivative.get(i, j) * values.get(j);
+      }
+      return value - step;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the parameters of the previous curves in the group, null if not available
+  private static DoubleArray previousParameters(
+      RatesCurveGroupDefinition groupDefn,
+      ImmutableRatesProvider previousProvider) {
+
+    DoubleArray params = DoubleArray.EMPTY;
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      Optional<Curve> curve = previousProvider.findData(curveDefn.getName());
+      if (!curve.isPresent() || curve.get().getParameterCount() != curveDefn.getParameterCount()) {
+        return null;
+      }
+      params = params.concat(DoubleArray.of(curve.get().getParameterCount(), i -> curve.get().getParameter(i)));
+    }
+    return params;
+  }
+
+  // finds the Jacobian matrices of the previous curves in the group, empty if not available for all curves
+  private static ImmutableMap<CurveName, JacobianCalibrationMatrix> previousJacobians(
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableList<CurveParameterSize> orderAll,
+      ImmutableRatesProvider previousProvider) {
+
+    ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> builder = ImmutableMap.builder();
+    for (CurveParameterSize order : orderGroup) {
+      Optional<JacobianCalibrationMatrix> jacobian = previousProvider.findData(order.getName())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.JACOBIAN));
+      if (!jacobian.isPresent() || !jacobian.get().getOrder().equals(orderAll)) {
+        return ImmutableMap.of();
+      }
+      builder.put(order.getName(), jacobian.get());
+    }
+    return builder.build();
+  }
+
+  // finds the sensitivities to market quotes of the previous curves in the group, empty if not available for all curves
+  private static ImmutableMap<CurveName, DoubleArray> previousSensitivities(
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableRatesProvider previousProvider) {
+
+    ImmutableMap.Builder<CurveName, DoubleArray> builder = ImmutableMap.builder();
+    for (CurveParameterSize order : orderGroup) {
+      Optional<DoubleArray> sensitivity = previousProvider.findData(order.getName())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.PV_SENSITIVITY_TO_MARKET_QUOTE));
+      if (!sensitivity.isPresent()) {
+        return ImmutableMap.of();
+      }
+      builder.put(order.getName(), sensitivity.get());
+    }
+    return builder.build();
+  }
+
+  // checks if the market data required by the nodes of the group is unchanged
+  private static boolean isSameMarketData(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData previousMarketData,
+      MarketData marketData) {
+
+    return groupDefn.getCurveDefinitions().stream()
+        .flatMap(curveDefn -> curveDefn.getNodes().stream())
+        .flatMap(node -> node.requirements().stream())
+        .allMatch(id -> marketData.findValue(id).equals(previousMarketData.findValue(id)));
+  }
+
+  // checks if the group depends on any of the changed curves
+  // a group depends on a curve if the previous Jacobian has a non-zero entry for the curve
+  private static boolean isDependent(
+      ImmutableList<CurveParameterSize> orderPrev,
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> previousJacobians,
+      Set<CurveName> changedCurves) {
+
+    if (changedCurves.isEmpty()) {
+      return false;
+    }
+    if (previousJacobians.isEmpty()) {
+      return true;
+    }
+    int startIndex = 0;
+    for (CurveParameterSize order : orderPrev) {
+      int endIndex = startIndex + order.getParameterCount();
+      if (changedCurves.contains(order.getName())) {
+        for (JacobianCalibrationMatrix jacobian : previousJacobians.values()) {
+          DoubleMatrix matrix = jacobian.getJacobianMatrix();
+          for (int i = 0; i < matrix.rowCount(); i++) {
+            for (int j = startIndex; j < endIndex; j++) {
+              if (matrix.get(i, j) != 0d) {
+                return true;
+              }
+            }
+          }
+        }
+      }
+      startIndex = endIndex;
+    }
+    return false;
+  }
+
   //-------------------------------------------------------------------------
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
@@ -339,7 +653,7 @@ public final class RatesCurveCalibrator {
     int nbTrades = trades.size();
     int totParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
     int totParamsPrev = totalParamsAll - totParamsGroup;
-    DoubleMatrix pDmCurMatrix = jacobianDirect(res, nbTrades, totParamsGroup, totParamsPrev);
+    DoubleMatrix pDmCurMatrix = jacobianDirect(res, nbTrades, totParamsGroup, totParamsPrev, orderGroup);
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrev = jacobianIndirect(
@@ -376,46 +690,62 @@ public final class RatesCurveCalibrator {
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<CurveParameterSize> orderGroup) {
 
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[] mqsAll = new double[totalParamsGroup];
+    forEachTrade(totalParamsGroup, nodeIndex -> {
+      DoubleArray mqsNode = pvMeasures.derivative(trades.get(nodeIndex), provider, orderGroup);
+      mqsAll[nodeIndex] = mqsNode.get(nodeIndex);
+    });
     Builder<CurveName, DoubleArray> mqsGroup = new Builder<>();
     int nodeIndex = 0;
     for (CurveParameterSize cps : orderGroup) {
       int nbParameters = cps.getParameterCount();
-      double[] mqsCurve = new double[nbParameters];
-      for (int looptrade = 0; looptrade < nbParameters; looptrade++) {
-        DoubleArray mqsNode = pvMeasures.derivative(trades.get(nodeIndex), provider, orderGroup);
-        mqsCurve[looptrade] = mqsNode.get(nodeIndex);
-        nodeIndex++;
-      }
-      mqsGroup.put(cps.getName(), DoubleArray.ofUnsafe(mqsCurve));
+      mqsGroup.put(cps.getName(), DoubleArray.ofUnsafe(Arrays.copyOfRange(mqsAll, nodeIndex, nodeIndex + nbParameters)));
+      nodeIndex += nbParameters;
     }
     return mqsGroup.build();
   }
 
-  // calculate the derivatives
+  // calculate the derivatives, in parallel if enabled
   private DoubleMatrix derivatives(
       ImmutableList<ResolvedTrade> trades,
       ImmutableRatesProvider provider,
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
-        trades.size(),
-        totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
+    double[][] derivatives = new double[trades.size()][totalParamsAll];
+    forEachTrade(trades.size(), i -> measures.derivative(trades.get(i), provider, orderAll, derivatives[i]));
+    return DoubleMatrix.ofUnsafe(derivatives);
+  }
+
+  // performs the action for each trade index, in parallel if enabled
+  // each invocation of the action must only write to the part of the result for that trade
+  private void forEachTrade(int tradeCount, IntConsumer action) {
+    if (parallelDerivatives) {
+      IntStream.range(0, tradeCount).parallel().forEach(action);
+    } else {
+      for (int i = 0; i < tradeCount; i++) {
+        action.accept(i);
+      }
+    }
   }
 
   // jacobian direct, for the current group
+  // the matrix is block-sparse, with one block for each curve, as each trade only depends on a few curves
   private static DoubleMatrix jacobianDirect(
       DoubleMatrix res,
       int nbTrades,
       int totalParamsGroup,
-      int totalParamsPrevious) {
+      int totalParamsPrevious,
+      ImmutableList<CurveParameterSize> orderGroup) {
 
     double[][] direct = new double[totalParamsGroup][totalParamsGroup];
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    int[] blockSizes = orderGroup.stream().mapToInt(e -> e.getParameterCount()).toArray();
+    BlockSparseMatrix directMatrix = BlockSparseMatrix.of(DoubleMatrix.ofUnsafe(direct), blockSizes);
+    return BlockSparseSolver.of(directMatrix).inverse();
   }
 
   // jacobian indirect, merging groups
@@ -437,35 +767,31 @@ public final class RatesCurveCalibrator {
     }
     DoubleMatrix pDpPreviousMatrix = (DoubleMatrix) MATRIX_ALGEBRA.scale(
         MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, DoubleMatrix.copyOf(nonDirect)), -1d);
-    // all curves: order and size
-    int[] startIndexBefore = new int[orderPrevious.size()];
-    for (int i = 1; i < orderPrevious.size(); i++) {
-      startIndexBefore[i] = startIndexBefore[i - 1] + orderPrevious.get(i - 1).getParameterCount();
-    }
-    // transition Matrix: all curves from previous groups
-    double[][] transition = new double[totalParamsPrevious][totalParamsPrevious];
-    for (int i = 0; i < orderPrevious.size(); i++) {
-      int paramCountOuter = orderPrevious.get(i).getParameterCount();
-      JacobianCalibrationMatrix thisInfo = jacobiansPrevious.get(orderPrevious.get(i).getName());
-      DoubleMatrix thisMatrix = thisInfo.getJacobianMatrix();
-      int startIndexInner = 0;
-      for (int j = 0; j < orderPrevious.size(); j++) {
-        int paramCountInner = orderPrevious.get(j).getParameterCount();
-        if (thisInfo.containsCurve(orderPrevious.get(j).getName())) { // If not, the matrix stays with 0
-          for (int k = 0; k < paramCountOuter; k++) {
-            System.arraycopy(
-                thisMatrix.rowArray(k),
-                startIndexInner,
-                transition[startIndexBefore[i] + k],
-                startIndexBefore[j],
-                paramCountInner);
+    // the transition matrix, from all curves of previous groups to their market quotes, is not built
+    // instead, the Jacobian of each previous curve is used directly as its block of rows in the transition matrix
+    // the Jacobian of a previous curve only has columns for the curves up to and including its own group
+    double[][] pDmPrevious = new double[totalParamsGroup][totalParamsPrevious];
+    double[][] pDpPrevious = pDpPreviousMatrix.toArrayUnsafe();
+    int startIndex = 0;
+    for (CurveParameterSize order : orderPrevious) {
+      int paramCount = order.getParameterCount();
+      double[][] thisJacobian = jacobiansPrevious.get(order.getName()).getJacobianMatrix().toArrayUnsafe();
+      for (int i = 0; i < totalParamsGroup; i++) {
+        double[] pDpPreviousRow = pDpPrevious[i];
+        double[] pDmPreviousRow = pDmPrevious[i];
+        for (int k = 0; k < paramCount; k++) {
+          double factor = pDpPreviousRow[startIndex + k];
+          if (factor != 0d) {
+            double[] thisRow = thisJacobian[k];
+            for (int j = 0; j < thisRow.length; j++) {
+              pDmPreviousRow[j] += factor * thisRow[j];
+            }
           }
         }
-        startIndexInner += paramCountInner;
       }
+      startIndex += paramCount;
     }
-    DoubleMatrix transitionMatrix = DoubleMatrix.copyOf(transition);
-    return (DoubleMatrix) MATRIX_ALGEBRA.multiply(pDpPreviousMatrix, transitionMatrix);
+    return DoubleMatrix.ofUnsafe(pDmPrevious);
   }
 
   //-------------------------------------------------------------------------
@@ -12,8 +12,10 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
@@ -39,6 +41,12 @@ public final class BlackFormulaRepository {
   private static final double ATM_LIMIT = 1.0E-3;
   private static final double ROOT_ACCURACY = 1.0E-7;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(ROOT_ACCURACY);
+  /** The initial guess for the bulk implied volatility. */
+  private static final double IMPLIED_VOL_GUESS = 0.3;
+  /** The tolerance for the bulk implied volatility, matching the single option solver. */
+  private static final double IMPLIED_VOL_TOL = 1e-9;
+  /** The maximum number of iterations for the bulk implied volatility. */
+  private static final int IMPLIED_VOL_MAX_ITERATIONS = 200;
 
   // restricted constructor
   private BlackFormulaRepository() {
@@ -1367,13 +1375,8 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return NormalFormulaRepository
-            .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
-      }
-    };
+    DoubleFunction1D func = volatility -> NormalFormulaRepository
+        .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
     return ROOT_FINDER.getRoot(func, guess);
   }
 
@@ -1402,13 +1405,8 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return NormalFormulaRepository
-            .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
-      }
-    };
+    DoubleFunction1D func = volatility -> NormalFormulaRepository
+        .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
     double impliedVolatilityBlack = ROOT_FINDER.getRoot(func, guess);
     double derivativeInverse = NormalFormulaRepository
         .impliedVolatilityFromBlackApproximatedAdjoint(forward, strike, timeToExpiry, impliedVolatilityBlack).getDerivative(0);
@@ -1452,4 +1450,273 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * This is the array form of {@link #price(double, double, double, double, boolean)}, returning the same values.
+   * It is intended for use where many options are priced at once, such as smile and cube calibration.
+   * No objects are allocated per option, with the formula evaluated in loops over primitive arrays.
+   * Options that need special handling, such as those with zero volatility or extreme values,
+   * are priced using the single option method.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward prices
+   * @throws IllegalArgumentException if the arrays have different lengths or any input is invalid
+   */
+  public static double[] price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] result = new double[size];
+    // the first pass is simple arithmetic, allowing the JIT to vectorize it
+    for (int i = 0; i < size; i++) {
+      result[i] = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+    }
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = result[i];
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        double nF = NormalDistribution.standardCdf(sign * d1);
+        double nS = NormalDistribution.standardCdf(sign * d2);
+        double first = nF == 0d ? 0d : forward * nF;
+        double second = nS == 0d ? 0d : strike * nS;
+        result[i] = Math.max(0., sign * (first - second));
+      } else {
+        result[i] = price(forward, strike, timesToExpiry[i], lognormalVols[i], isCall);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward driftless deltas of a set of options.
+   * <p>
+   * This is the array form of {@link #delta(double, double, double, double, boolean)}, returning the same values.
+   * No objects are allocated per option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward driftless deltas
+   * @throws IllegalArgumentException if the arrays have different lengths or any input is invalid
+   */
+  public static double[] delta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+    }
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = result[i];
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = sign * NormalDistribution.standardCdf(sign * d1);
+      } else {
+        result[i] = delta(forward, strike, timesToExpiry[i], lognormalVols[i], isCall);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward vegas of a set of options.
+   * <p>
+   * This is the array form of {@link #vega(double, double, double, double)}, returning the same values.
+   * No objects are allocated per option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward vegas
+   * @throws IllegalArgumentException if the arrays have different lengths or any input is invalid
+   */
+  public static double[] vega(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = result[i];
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double rootT = Math.sqrt(timesToExpiry[i]);
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double nVal = NormalDistribution.standardPdf(d1);
+        result[i] = nVal == 0d ? 0d : forward * rootT * nVal;
+      } else {
+        result[i] = vega(forward, strike, timesToExpiry[i], lognormalVols[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the log-normal implied volatilities of a set of options.
+   * <p>
+   * This is the array form of {@link #impliedVolatility(double, double, double, double, boolean)}.
+   * Rather than solving each option in turn, a safeguarded Newton-Raphson iteration is applied to all
+   * the options together, with each iteration pricing the unsolved options in a single loop.
+   * No objects are allocated per option or per iteration.
+   * <p>
+   * Each volatility is solved to the same tolerance as the single option method,
+   * thus the results agree with it to within that tolerance.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatilities
+   * @throws IllegalArgumentException if the arrays have different lengths, any input is invalid
+   *   or no implied volatility can be found
+   */
+  public static double[] impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean isCall) {
+
+    int size = checkSizes(prices, forwards, strikes, timesToExpiry);
+    double[] vols = new double[size];
+    double[] otmPrices = new double[size];
+    double[] rootTs = new double[size];
+    double[] lowerVols = new double[size];
+    double[] upperVols = new double[size];
+    int[] unsolved = new int[size];
+    int unsolvedCount = 0;
+    for (int i = 0; i < size; i++) {
+      double price = prices[i];
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+      ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+      ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+      ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+      ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+      // the time value is the same for the call and put, so the out-the-money option is used
+      double otmPrice = price - Math.max(0., (isCall ? 1 : -1) * (forward - strike));
+      ArgChecker.isTrue(otmPrice >= 0d, "negative/NaN otmPrice; have {}", otmPrice);
+      if (otmPrice == 0) {
+        vols[i] = 0d;
+        continue;
+      }
+      ArgChecker.isTrue(otmPrice < Math.min(forward, strike), "otmPrice of {} exceeded upper bound of {}", otmPrice,
+          Math.min(forward, strike));
+      if (forward == strike) {
+        vols[i] = NORMAL.getInverseCDF(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
+        continue;
+      }
+      otmPrices[i] = otmPrice;
+      rootTs[i] = Math.sqrt(timeToExpiry);
+      vols[i] = IMPLIED_VOL_GUESS;
+      upperVols[i] = Double.POSITIVE_INFINITY;
+      unsolved[unsolvedCount++] = i;
+    }
+    // each iteration prices all the unsolved options, retaining those that have not converged
+    for (int iteration = 0; iteration < IMPLIED_VOL_MAX_ITERATIONS && unsolvedCount > 0; iteration++) {
+      int stillUnsolvedCount = 0;
+      for (int j = 0; j < unsolvedCount; j++) {
+        int i = unsolved[j];
+        double forward = forwards[i];
+        double strike = strikes[i];
+        double vol = vols[i];
+        double rootT = rootTs[i];
+        double sigmaRootT = vol * rootT;
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        // the out-the-money option is a call if the strike is above the forward
+        double otmPrice = strike >= forward ?
+            forward * NormalDistribution.standardCdf(d1) - strike * NormalDistribution.standardCdf(d2) :
+            strike * NormalDistribution.standardCdf(-d2) - forward * NormalDistribution.standardCdf(-d1);
+        double vega = forward * rootT * NormalDistribution.standardPdf(d1);
+        double diff = otmPrice - otmPrices[i];
+        if (diff == 0) {
+          continue;
+        }
+        if (diff > 0) {
+          upperVols[i] = vol;
+        } else {
+          lowerVols[i] = vol;
+        }
+        // Newton-Raphson, falling back to bisection or expansion if the step leaves the bracket
+        double nextVol = vol - diff / vega;
+        if (!(nextVol > lowerVols[i] && nextVol < upperVols[i])) {
+          nextVol = upperVols[i] == Double.POSITIVE_INFINITY ? 2 * vol : 0.5 * (lowerVols[i] + upperVols[i]);
+        }
+        vols[i] = nextVol;
+        if (Math.abs(nextVol - vol) > IMPLIED_VOL_TOL) {
+          unsolved[stillUnsolvedCount++] = i;
+        }
+      }
+      unsolvedCount = stillUnsolvedCount;
+    }
+    if (unsolvedCount > 0) {
+      int i = unsolved[0];
+      throw new IllegalArgumentException(Messages.format(
+          "No implied volatility found for price {}, forward {}, strike {} and time to expiry {}",
+          prices[i], forwards[i], strikes[i], timesToExpiry[i]));
+    }
+    return vols;
+  }
+
+  // checks the arrays have the same size
+  private static int checkSizes(double[] array1, double[] array2, double[] array3, double[] array4) {
+    ArgChecker.notNull(array1, "array1");
+    ArgChecker.notNull(array2, "array2");
+    ArgChecker.notNull(array3, "array3");
+    ArgChecker.notNull(array4, "array4");
+    int size = array1.length;
+    ArgChecker.isTrue(
+        array2.length == size && array3.length == size && array4.length == size, "Arrays must have the same size");
+    return size;
+  }
+
+  // checks if the option can be handled by the standard formula, without the special cases
+  // this is false for invalid and NaN inputs, which are then validated by the single option methods
+  private static boolean isRegular(double forward, double strike, double sigmaRootT) {
+    return forward >= 0d &&
+        strike >= 0d &&
+        forward <= LARGE &&
+        strike <= LARGE &&
+        sigmaRootT >= SMALL &&
+        sigmaRootT <= LARGE &&
+        Math.abs(forward - strike) >= SMALL;
+  }
+
 }
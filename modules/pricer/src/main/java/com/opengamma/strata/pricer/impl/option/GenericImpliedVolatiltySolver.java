@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.primitives.Doubles;
@@ -164,12 +165,7 @@ public class GenericImpliedVolatiltySolver {
   //-------------------------------------------------------------------------
   private double[] bracketRoot(double optionPrice, double sigma) {
     BracketRoot bracketer = new BracketRoot();
-    Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return priceFunc.apply(volatility) / optionPrice - 1.0;
-      }
-    };
+    DoubleUnaryOperator func = volatility -> priceFunc.apply(volatility) / optionPrice - 1.0;
     return bracketer.getBracketedPoints(
         func,
         Math.max(0.0, sigma - BRACKET_STEP),
@@ -180,13 +176,9 @@ public class GenericImpliedVolatiltySolver {
 
   private double solveByBisection(double optionPrice, double lowerSigma, double upperSigma) {
     BisectionSingleRootFinder rootFinder = new BisectionSingleRootFinder(VOL_TOL);
-    Function<Double, Double> func = new Function<Double, Double>() {
-
-      @Override
-      public Double apply(Double volatility) {
-        double trialPrice = priceFunc.apply(volatility);
-        return trialPrice / optionPrice - 1.0;
-      }
+    DoubleUnaryOperator func = volatility -> {
+      double trialPrice = priceFunc.apply(volatility);
+      return trialPrice / optionPrice - 1.0;
     };
     return rootFinder.getRoot(func, lowerSigma, upperSigma);
   }
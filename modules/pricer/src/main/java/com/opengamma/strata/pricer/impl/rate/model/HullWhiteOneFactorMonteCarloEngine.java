@@ -0,0 +1,724 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.CounterBasedRandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SobolSequenceGenerator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Monte Carlo simulation engine in the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The paths are simulated in the forward measure associated with the last payment date of the product, T.
+ * The state of the model is a Gaussian martingale X(t) with variance V(t), the integral of
+ * sigma(s)<sup>2</sup> exp(2 a s) from the valuation date to t.
+ * The price of the zero-coupon bond of maturity u divided by the price of the bond of maturity T is
+ * its value on the valuation date multiplied by exp(H(u) X(t) - H(u)<sup>2</sup> V(t) / 2),
+ * with H(u) = (exp(-a u) - exp(-a T)) / a.
+ * <p>
+ * The paths are generated in batches stored in primitive arrays, and the batches are simulated in parallel.
+ * The random numbers of a path depend only on the index of the path, thus the results do not depend
+ * on the number of threads or on the order in which the batches are simulated.
+ * The random numbers are either pseudo-random numbers of a {@link CounterBasedRandomNumberGenerator},
+ * or the points of a {@link SobolSequenceGenerator} mapped to the paths by a Brownian bridge.
+ * In the latter case, the number of paths should preferably be a power of two.
+ * Both can be combined with antithetic variates.
+ * <p>
+ * The swaps should have fixed and Ibor legs without compounding, with optional notional exchanges.
+ * As in {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel}, the multiplicative spread between
+ * the forward and discounting curves is deterministic.
+ * A cash flow paid on an exposure date is not part of the exposure on that date.
+ * The expected exposures are discounted to the valuation date.
+ */
+public final class HullWhiteOneFactorMonteCarloEngine {
+
+  /**
+   * The number of paths in a batch.
+   */
+  private static final int BATCH_SIZE = 1024;
+
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+  /**
+   * The generator of the pseudo-random numbers.
+   * <p>
+   * With Sobol sequences, it provides the random numbers of the dimensions beyond the maximum dimension.
+   */
+  private final CounterBasedRandomNumberGenerator generator;
+  /**
+   * Whether the Sobol sequence is used.
+   */
+  private final boolean sobol;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance using pseudo-random numbers.
+   *
+   * @param pathCount  the number of paths
+   * @param seed  the seed of the random numbers
+   * @return the engine
+   */
+  public static HullWhiteOneFactorMonteCarloEngine ofPseudoRandom(int pathCount, long seed) {
+    return new HullWhiteOneFactorMonteCarloEngine(pathCount, CounterBasedRandomNumberGenerator.of(seed), false, false);
+  }
+
+  /**
+   * Obtains an instance using the Sobol sequence.
+   * <p>
+   * The seed is used for the time steps beyond {@link SobolSequenceGenerator#MAX_DIMENSION},
+   * which are simulated with pseudo-random numbers.
+   *
+   * @param pathCount  the number of paths
+   * @param seed  the seed of the random numbers beyond the maximum dimension of the Sobol sequence
+   * @return the engine
+   */
+  public static HullWhiteOneFactorMonteCarloEngine ofSobol(int pathCount, long seed) {
+    return new HullWhiteOneFactorMonteCarloEngine(pathCount, CounterBasedRandomNumberGenerator.of(seed), true, false);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorMonteCarloEngine(
+      int pathCount,
+      CounterBasedRandomNumberGenerator generator,
+      boolean sobol,
+      boolean antithetic) {
+
+    this.pathCount = ArgChecker.notNegativeOrZero(pathCount, "pathCount");
+    this.generator = generator;
+    this.sobol = sobol;
+    this.antithetic = antithetic;
+  }
+
+  /**
+   * Returns a copy of this engine using antithetic variates.
+   * <p>
+   * The paths are simulated in pairs, the random numbers of the second path being the opposite of the first.
+   *
+   * @return the engine using antithetic variates
+   */
+  public HullWhiteOneFactorMonteCarloEngine withAntithetic() {
+    return new HullWhiteOneFactorMonteCarloEngine(pathCount, generator, sobol, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return pathCount;
+  }
+
+  /**
+   * Checks whether the Sobol sequence is used.
+   *
+   * @return true if the Sobol sequence is used, false if pseudo-random numbers are used
+   */
+  public boolean isSobol() {
+    return sobol;
+  }
+
+  /**
+   * Checks whether antithetic variates are used.
+   *
+   * @return true if antithetic variates are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the expected exposure profile of the swap.
+   * <p>
+   * The exposure on a date is the positive part of the value of the swap on that date.
+   * The result contains the expected exposure, discounted to the valuation date, for each exposure date,
+   * expressed in the currency of the swap.
+   *
+   * @param swap  the swap
+   * @param exposureDates  the exposure dates, not before the valuation date
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the discounted expected exposures
+   */
+  public DoubleArray expectedExposure(
+      ResolvedSwap swap,
+      List<LocalDate> exposureDates,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swap, ratesProvider, hwProvider);
+    CashFlows cashFlows = new CashFlows(swap, ratesProvider);
+    return DoubleArray.ofUnsafe(simulate(cashFlows, exposureDates, null, true, ratesProvider, hwProvider));
+  }
+
+  /**
+   * Calculates the expected exposure profile of the swaption with physical settlement.
+   * <p>
+   * The swaption is exercised when the value of the underlying swap is positive on the expiry date.
+   * Up to the expiry date, the exposure of the long position is the value of the swaption,
+   * and the exposure of the short position is zero.
+   * After the expiry date, the exposure is the positive part of the value of the swap if the swaption
+   * has been exercised, and zero otherwise.
+   * The result contains the expected exposure, discounted to the valuation date, for each exposure date,
+   * expressed in the currency of the swaption.
+   *
+   * @param swaption  the swaption
+   * @param exposureDates  the exposure dates, not before the valuation date
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the discounted expected exposures
+   */
+  public DoubleArray expectedExposure(
+      ResolvedSwaption swaption,
+      List<LocalDate> exposureDates,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    LocalDate expiryDate = swaption.getExpiryDate();
+    if (expiryDate.isBefore(ratesProvider.getValuationDate())) { // Option has expired already
+      validateExposureDates(exposureDates, ratesProvider.getValuationDate());
+      return DoubleArray.filled(exposureDates.size());
+    }
+    CashFlows cashFlows = new CashFlows(swaption.getUnderlying(), ratesProvider);
+    return DoubleArray.ofUnsafe(simulate(
+        cashFlows, exposureDates, expiryDate, swaption.getLongShort().isLong(), ratesProvider, hwProvider));
+  }
+
+  /**
+   * Calculates the present value of the swaption with physical settlement.
+   * <p>
+   * The result is expressed using the currency of the swaption.
+   *
+   * @param swaption  the swaption
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    LocalDate expiryDate = swaption.getExpiryDate();
+    if (expiryDate.isBefore(ratesProvider.getValuationDate())) { // Option has expired already
+      return CurrencyAmount.of(swaption.getCurrency(), 0d);
+    }
+    CashFlows cashFlows = new CashFlows(swaption.getUnderlying(), ratesProvider);
+    double pv = simulate(cashFlows, Arrays.asList(expiryDate), expiryDate, true, ratesProvider, hwProvider)[0];
+    return CurrencyAmount.of(swaption.getCurrency(), pv * (swaption.getLongShort().isLong() ? 1d : -1d));
+  }
+
+  //-------------------------------------------------------------------------
+  // simulates the paths and returns the discounted expected exposures
+  private double[] simulate(
+      CashFlows cashFlows,
+      List<LocalDate> exposureDates,
+      LocalDate expiryDate,
+      boolean isLong,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    validateExposureDates(exposureDates, valuationDate);
+    if (cashFlows.dates.length == 0) {
+      return new double[exposureDates.size()];
+    }
+    Simulation simulation = new Simulation(cashFlows, exposureDates, expiryDate, isLong, ratesProvider, hwProvider);
+    int batchCount = (pathCount + BATCH_SIZE - 1) / BATCH_SIZE;
+    List<double[]> batchSums = IntStream.range(0, batchCount)
+        .parallel()
+        .mapToObj(simulation::simulateBatch)
+        .collect(Guavate.toImmutableList());
+    int stepCount = simulation.stepDates.length;
+    double[] sums = new double[stepCount];
+    for (double[] batchSum : batchSums) {
+      for (int j = 0; j < stepCount; j++) {
+        sums[j] += batchSum[j];
+      }
+    }
+    if (simulation.exerciseStep >= 0 && isLong) { // value of the option up to expiry
+      for (int j = 0; j < simulation.exerciseStep; j++) {
+        sums[j] = sums[simulation.exerciseStep];
+      }
+    }
+    double numeraire = ratesProvider.discountFactor(cashFlows.currency, cashFlows.dates[cashFlows.dates.length - 1]);
+    double[] result = new double[exposureDates.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = numeraire * sums[simulation.stepIndex.get(exposureDates.get(i))] / pathCount;
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  private static void validate(
+      ResolvedSwap swap,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    ArgChecker.isFalse(swap.isCrossCurrency(), "swap should be single currency");
+  }
+
+  private static void validate(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption.getUnderlying(), ratesProvider, hwProvider);
+    ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+        "swaption should be physical settlement");
+  }
+
+  private static void validateExposureDates(List<LocalDate> exposureDates, LocalDate valuationDate) {
+    ArgChecker.noNulls(exposureDates, "exposureDates");
+    for (LocalDate exposureDate : exposureDates) {
+      ArgChecker.isFalse(exposureDate.isBefore(valuationDate),
+          "Exposure date {} must not be before the valuation date {}", exposureDate, valuationDate);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cash flows of a swap.
+   * <p>
+   * Each Ibor coupon which is not fixed on the valuation date is represented by the cash flow equivalent
+   * {@code startAmount * P(t, start) + payAmount * P(t, pay)} up to the start date of the fixing period.
+   * The amount paid is then {@code startAmount * P(start, start) / P(start, pay) + payAmount}.
+   */
+  private static final class CashFlows {
+    // the currency
+    private final Currency currency;
+    // the sorted dates of the cash flows, the last one being the numeraire date
+    private final LocalDate[] dates;
+    // the fixed cash flows, date index and amount
+    private final int[] fixedIndex;
+    private final double[] fixedAmount;
+    // the Ibor coupons, start and payment date indices and cash flow equivalent amounts
+    private final int[] iborStartIndex;
+    private final int[] iborPayIndex;
+    private final double[] iborStartAmount;
+    private final double[] iborPayAmount;
+
+    private CashFlows(ResolvedSwap swap, RatesProvider ratesProvider) {
+      LocalDate valuationDate = ratesProvider.getValuationDate();
+      this.currency = swap.getLegs().get(0).getCurrency();
+      List<LocalDate> fixedDates = new ArrayList<>();
+      List<Double> fixedAmounts = new ArrayList<>();
+      List<LocalDate> iborStartDates = new ArrayList<>();
+      List<LocalDate> iborPayDates = new ArrayList<>();
+      List<Double> iborStartAmounts = new ArrayList<>();
+      List<Double> iborPayAmounts = new ArrayList<>();
+      for (ResolvedSwapLeg leg : swap.getLegs()) {
+        for (SwapPaymentPeriod paymentPeriod : leg.getPaymentPeriods()) {
+          ArgChecker.isTrue(paymentPeriod instanceof RatePaymentPeriod, "rate payment should be RatePaymentPeriod");
+          RatePaymentPeriod ratePaymentPeriod = (RatePaymentPeriod) paymentPeriod;
+          ArgChecker.isFalse(ratePaymentPeriod.isCompoundingApplicable(), "rate payment should not be compounding");
+          ArgChecker.isFalse(ratePaymentPeriod.getFxReset().isPresent(), "rate payment should not have FX reset");
+          LocalDate paymentDate = ratePaymentPeriod.getPaymentDate();
+          if (!paymentDate.isAfter(valuationDate)) {
+            continue;
+          }
+          double notional = ratePaymentPeriod.getNotional();
+          for (RateAccrualPeriod accrualPeriod : ratePaymentPeriod.getAccrualPeriods()) {
+            double yearFraction = accrualPeriod.getYearFraction();
+            double gearing = accrualPeriod.getGearing();
+            RateComputation computation = accrualPeriod.getRateComputation();
+            double fixedRate = accrualPeriod.getSpread();
+            if (computation instanceof FixedRateComputation) {
+              fixedRate += gearing * ((FixedRateComputation) computation).getRate();
+            } else if (computation instanceof IborRateComputation) {
+              IborIndexObservation obs = ((IborRateComputation) computation).getObservation();
+              double rate = ratesProvider.iborIndexRates(obs.getIndex()).rate(obs);
+              if (obs.getFixingDate().isBefore(valuationDate)) {
+                fixedRate += gearing * rate;
+              } else {
+                LocalDate fixingStartDate = obs.getEffectiveDate();
+                double fixingYearFraction = obs.getYearFraction();
+                double beta = (1d + fixingYearFraction * rate) *
+                    ratesProvider.discountFactor(currency, paymentDate) /
+                    ratesProvider.discountFactor(currency, fixingStartDate);
+                double factor = notional * gearing * yearFraction / fixingYearFraction;
+                iborStartDates.add(fixingStartDate);
+                iborPayDates.add(paymentDate);
+                iborStartAmounts.add(factor * beta);
+                iborPayAmounts.add(-factor);
+              }
+            } else {
+              throw new IllegalArgumentException("Rate computation should be fixed or Ibor: " + computation);
+            }
+            if (fixedRate != 0d) {
+              fixedDates.add(paymentDate);
+              fixedAmounts.add(notional * yearFraction * fixedRate);
+            }
+          }
+        }
+        for (SwapPaymentEvent paymentEvent : leg.getPaymentEvents()) {
+          ArgChecker.isTrue(paymentEvent instanceof NotionalExchange, "payment event should be NotionalExchange");
+          NotionalExchange exchange = (NotionalExchange) paymentEvent;
+          if (exchange.getPaymentDate().isAfter(valuationDate)) {
+            fixedDates.add(exchange.getPaymentDate());
+            fixedAmounts.add(exchange.getPaymentAmount().getAmount());
+          }
+        }
+      }
+      TreeSet<LocalDate> allDates = new TreeSet<>(fixedDates);
+      allDates.addAll(iborStartDates);
+      allDates.addAll(iborPayDates);
+      this.dates = allDates.toArray(new LocalDate[0]);
+      this.fixedIndex = fixedDates.stream().mapToInt(date -> Arrays.binarySearch(dates, date)).toArray();
+      this.fixedAmount = fixedAmounts.stream().mapToDouble(Double::doubleValue).toArray();
+      this.iborStartIndex = iborStartDates.stream().mapToInt(date -> Arrays.binarySearch(dates, date)).toArray();
+      this.iborPayIndex = iborPayDates.stream().mapToInt(date -> Arrays.binarySearch(dates, date)).toArray();
+      this.iborStartAmount = iborStartAmounts.stream().mapToDouble(Double::doubleValue).toArray();
+      this.iborPayAmount = iborPayAmounts.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The simulation of the cash flows on the time steps.
+   * <p>
+   * The time steps are the valuation date, the exposure dates, the expiry date
+   * and the start dates of the fixing periods of the Ibor coupons up to the last of these dates.
+   */
+  private final class Simulation {
+    // the cash flows
+    private final CashFlows cashFlows;
+    // the dates of the time steps, the first one being the valuation date
+    private final LocalDate[] stepDates;
+    // the index of the time step of each date
+    private final Map<LocalDate, Integer> stepIndex;
+    // the index of the time step of the expiry, -1 if none
+    private final int exerciseStep;
+    // whether the exposure is for the long position
+    private final boolean isLong;
+    // the standard deviation of the increments of the state between time steps
+    private final double[] stdDev;
+    // the Brownian bridge, null for pseudo-random numbers
+    private final BrownianBridge bridge;
+    // the Sobol sequence, null for pseudo-random numbers
+    private final SobolSequenceGenerator sobolGenerator;
+    // H(u) for each cash flow date
+    private final double[] h;
+    // the bond ratio without the random part, indexed by step then cash flow date
+    private final double[] ratioDrift;
+    // the deterministic cash flow amounts alive on each time step, indexed by step then cash flow date
+    private final double[] amounts;
+    // the first cash flow date not before each time step
+    private final int[] firstDate;
+    // the time step of the start of the fixing period of each Ibor coupon, -1 if beyond the last step
+    private final int[] iborFixingStep;
+
+    private Simulation(
+        CashFlows cashFlows,
+        List<LocalDate> exposureDates,
+        LocalDate expiryDate,
+        boolean isLong,
+        RatesProvider ratesProvider,
+        HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+      this.cashFlows = cashFlows;
+      this.isLong = isLong;
+      LocalDate valuationDate = ratesProvider.getValuationDate();
+      TreeSet<LocalDate> steps = new TreeSet<>(exposureDates);
+      steps.add(valuationDate);
+      if (expiryDate != null) {
+        steps.add(expiryDate);
+      }
+      LocalDate lastStep = steps.last();
+      for (int index : cashFlows.iborStartIndex) {
+        LocalDate fixingStartDate = cashFlows.dates[index];
+        if (!fixingStartDate.isAfter(lastStep)) {
+          steps.add(fixingStartDate);
+        }
+      }
+      this.stepDates = steps.toArray(new LocalDate[0]);
+      this.stepIndex = new HashMap<>();
+      for (int j = 0; j < stepDates.length; j++) {
+        stepIndex.put(stepDates[j], j);
+      }
+      this.exerciseStep = expiryDate != null ? stepIndex.get(expiryDate) : -1;
+      this.iborFixingStep = Arrays.stream(cashFlows.iborStartIndex)
+          .map(index -> stepIndex.getOrDefault(cashFlows.dates[index], -1))
+          .toArray();
+      // variance of the state
+      HullWhiteOneFactorPiecewiseConstantParameters parameters = hwProvider.getParameters();
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel model = hwProvider.getModel();
+      int stepCount = stepDates.length;
+      double[] stepTimes = new double[stepCount];
+      double[] variance = new double[stepCount];
+      this.stdDev = new double[stepCount - 1];
+      stepTimes[0] = hwProvider.relativeTime(stepDates[0]);
+      for (int j = 1; j < stepCount; j++) {
+        stepTimes[j] = hwProvider.relativeTime(stepDates[j]);
+        stdDev[j - 1] = model.beta(parameters, stepTimes[j - 1], stepTimes[j]);
+        variance[j] = variance[j - 1] + stdDev[j - 1] * stdDev[j - 1];
+      }
+      if (sobol && stepCount > 1) {
+        this.bridge = new BrownianBridge(Arrays.copyOfRange(variance, 1, stepCount));
+        this.sobolGenerator = SobolSequenceGenerator.of(Math.min(stepCount - 1, SobolSequenceGenerator.MAX_DIMENSION));
+      } else {
+        this.bridge = null;
+        this.sobolGenerator = null;
+      }
+      // bond ratios and cash flows
+      LocalDate[] dates = cashFlows.dates;
+      int dateCount = dates.length;
+      double meanReversion = parameters.getMeanReversion();
+      double numeraireTime = hwProvider.relativeTime(dates[dateCount - 1]);
+      double numeraireDf = ratesProvider.discountFactor(cashFlows.currency, dates[dateCount - 1]);
+      this.h = new double[dateCount];
+      double[] ratio = new double[dateCount];
+      for (int k = 0; k < dateCount; k++) {
+        double time = hwProvider.relativeTime(dates[k]);
+        h[k] = (Math.exp(-meanReversion * time) - Math.exp(-meanReversion * numeraireTime)) / meanReversion;
+        ratio[k] = ratesProvider.discountFactor(cashFlows.currency, dates[k]) / numeraireDf;
+      }
+      this.ratioDrift = new double[stepCount * dateCount];
+      this.amounts = new double[stepCount * dateCount];
+      this.firstDate = new int[stepCount];
+      for (int j = 0; j < stepCount; j++) {
+        LocalDate stepDate = stepDates[j];
+        int first = Arrays.binarySearch(dates, stepDate);
+        firstDate[j] = first >= 0 ? first : -first - 1;
+        for (int k = firstDate[j]; k < dateCount; k++) {
+          ratioDrift[j * dateCount + k] = ratio[k] * Math.exp(-0.5 * h[k] * h[k] * variance[j]);
+        }
+        for (int i = 0; i < cashFlows.fixedIndex.length; i++) {
+          int k = cashFlows.fixedIndex[i];
+          if (dates[k].isAfter(stepDate)) {
+            amounts[j * dateCount + k] += cashFlows.fixedAmount[i];
+          }
+        }
+        for (int i = 0; i < cashFlows.iborStartIndex.length; i++) {
+          if (dates[cashFlows.iborStartIndex[i]].isAfter(stepDate)) {
+            amounts[j * dateCount + cashFlows.iborStartIndex[i]] += cashFlows.iborStartAmount[i];
+            amounts[j * dateCount + cashFlows.iborPayIndex[i]] += cashFlows.iborPayAmount[i];
+          }
+        }
+      }
+    }
+
+    // simulates a batch of paths and returns the sum of the exposures on each time step
+    private double[] simulateBatch(int batch) {
+      int start = batch * BATCH_SIZE;
+      int size = Math.min(BATCH_SIZE, pathCount - start);
+      int stepCount = stepDates.length;
+      int dateCount = cashFlows.dates.length;
+      int iborCount = iborFixingStep.length;
+      double[] state = new double[stepCount * size];
+      generatePaths(start, size, state);
+      double[] ratios = new double[dateCount * size];
+      double[] iborAmounts = new double[iborCount * size];
+      double[] values = new double[size];
+      boolean[] exercised = new boolean[size];
+      double[] sums = new double[stepCount];
+      for (int j = 0; j < stepCount; j++) {
+        int stateOffset = j * size;
+        // bond ratios and deterministic cash flows
+        Arrays.fill(values, 0d);
+        for (int k = firstDate[j]; k < dateCount; k++) {
+          double drift = ratioDrift[j * dateCount + k];
+          double hk = h[k];
+          double amount = amounts[j * dateCount + k];
+          int offset = k * size;
+          for (int p = 0; p < size; p++) {
+            double ratio = drift * Math.exp(hk * state[stateOffset + p]);
+            ratios[offset + p] = ratio;
+            values[p] += amount * ratio;
+          }
+        }
+        // fixed Ibor coupons
+        for (int i = 0; i < iborCount; i++) {
+          int fixingStep = iborFixingStep[i];
+          if (fixingStep < 0 || fixingStep > j || !cashFlows.dates[cashFlows.iborPayIndex[i]].isAfter(stepDates[j])) {
+            continue;
+          }
+          int offset = i * size;
+          int payOffset = cashFlows.iborPayIndex[i] * size;
+          if (fixingStep == j) {
+            int startOffset = cashFlows.iborStartIndex[i] * size;
+            double startAmount = cashFlows.iborStartAmount[i];
+            double payAmount = cashFlows.iborPayAmount[i];
+            for (int p = 0; p < size; p++) {
+              iborAmounts[offset + p] = startAmount * ratios[startOffset + p] / ratios[payOffset + p] + payAmount;
+            }
+          }
+          for (int p = 0; p < size; p++) {
+            values[p] += iborAmounts[offset + p] * ratios[payOffset + p];
+          }
+        }
+        sums[j] = exposureSum(j, values, exercised);
+      }
+      return sums;
+    }
+
+    // the sum of the exposures of the paths on the time step
+    private double exposureSum(int step, double[] values, boolean[] exercised) {
+      double sum = 0d;
+      if (exerciseStep < 0) {
+        for (double value : values) {
+          sum += Math.max(value, 0d);
+        }
+      } else if (step == exerciseStep) {
+        for (int p = 0; p < values.length; p++) {
+          exercised[p] = values[p] > 0d;
+          sum += isLong ? Math.max(values[p], 0d) : 0d;
+        }
+      } else if (step > exerciseStep) {
+        double sign = isLong ? 1d : -1d;
+        for (int p = 0; p < values.length; p++) {
+          sum += exercised[p] ? Math.max(sign * values[p], 0d) : 0d;
+        }
+      }
+      return sum;
+    }
+
+    // generates the state on the time steps, indexed by step then path
+    private void generatePaths(int start, int size, double[] state) {
+      int randomCount = stepDates.length - 1;
+      if (randomCount == 0) {
+        return;
+      }
+      double[] normals = new double[randomCount];
+      double[] sobolNormals = sobol ? new double[sobolGenerator.getDimension()] : null;
+      double[] path = new double[randomCount];
+      for (int p = 0; p < size; p++) {
+        long pathIndex = start + p;
+        long baseIndex = antithetic ? pathIndex / 2 : pathIndex;
+        double sign = antithetic && (pathIndex & 1) == 1 ? -1d : 1d;
+        if (sobol) {
+          sobolGenerator.fillNormal(baseIndex + 1, sobolNormals);
+          System.arraycopy(sobolNormals, 0, normals, 0, sobolNormals.length);
+          for (int j = sobolNormals.length; j < randomCount; j++) {
+            normals[j] = generator.normal(baseIndex, j);
+          }
+          bridge.buildPath(normals, path);
+        } else {
+          generator.fillNormal(baseIndex, normals);
+          double x = 0d;
+          for (int j = 0; j < randomCount; j++) {
+            x += stdDev[j] * normals[j];
+            path[j] = x;
+          }
+        }
+        for (int j = 0; j < randomCount; j++) {
+          state[(j + 1) * size + p] = sign * path[j];
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Brownian bridge construction of a Gaussian martingale from its variances on the time steps.
+   * <p>
+   * The first random number determines the value on the last time step, the following ones
+   * the values on the successive mid-points, so that the first dimensions of low-discrepancy
+   * sequences drive the largest part of the variance of the paths.
+   */
+  private static final class BrownianBridge {
+    // the time step built by each random number
+    private final int[] bridgeIndex;
+    // the time steps conditioning each random number, the left one being exclusive
+    private final int[] leftIndex;
+    private final int[] rightIndex;
+    // the weights of the values on the conditioning time steps
+    private final double[] leftWeight;
+    private final double[] rightWeight;
+    // the standard deviation of the value conditional to the conditioning time steps
+    private final double[] stdDev;
+
+    private BrownianBridge(double[] variance) {
+      int size = variance.length;
+      bridgeIndex = new int[size];
+      leftIndex = new int[size];
+      rightIndex = new int[size];
+      leftWeight = new double[size];
+      rightWeight = new double[size];
+      stdDev = new double[size];
+      boolean[] built = new boolean[size];
+      built[size - 1] = true;
+      bridgeIndex[0] = size - 1;
+      stdDev[0] = Math.sqrt(variance[size - 1]);
+      int j = 0;
+      for (int i = 1; i < size; i++) {
+        while (built[j]) {
+          j++;
+        }
+        int k = j;
+        while (!built[k]) {
+          k++;
+        }
+        int l = j + ((k - 1 - j) >> 1);
+        built[l] = true;
+        bridgeIndex[i] = l;
+        leftIndex[i] = j;
+        rightIndex[i] = k;
+        double leftVariance = j == 0 ? 0d : variance[j - 1];
+        double total = variance[k] - leftVariance;
+        leftWeight[i] = (variance[k] - variance[l]) / total;
+        rightWeight[i] = (variance[l] - leftVariance) / total;
+        stdDev[i] = Math.sqrt((variance[l] - leftVariance) * (variance[k] - variance[l]) / total);
+        j = k + 1;
+        if (j >= size) {
+          j = 0;
+        }
+      }
+    }
+
+    // builds the path from the normal random numbers
+    private void buildPath(double[] normals, double[] path) {
+      path[path.length - 1] = stdDev[0] * normals[0];
+      for (int i = 1; i < path.length; i++) {
+        int j = leftIndex[i];
+        double left = j == 0 ? 0d : path[j - 1];
+        path[bridgeIndex[i]] = leftWeight[i] * left + rightWeight[i] * path[rightIndex[i]] + stdDev[i] * normals[i];
+      }
+    }
+  }
+
+}
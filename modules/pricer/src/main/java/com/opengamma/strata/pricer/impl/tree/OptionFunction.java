@@ -131,4 +131,35 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, storing them in an existing array.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)},
+   * but allows the tree to reuse the same arrays at each step, rather than allocating new arrays.
+   * The option values in the (i+1)-th layer are the first (2*i+3) elements of {@code value}.
+   * The option values in the i-th layer are written to the first (2*i+1) elements of {@code result},
+   * with the remaining elements being unaffected. The two arrays must not be the same array.
+   * <p>
+   * The default implementation invokes the method returning {@code DoubleArray} and copies the values.
+   * Implementations should override this method to avoid the allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the option value in the (i+1)-th layer
+   * @param result  the array to store the option values in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void computeNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    DoubleArray valueArray = DoubleArray.copyOf(value, 0, 2 * i + 3);
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, valueArray, i).copyInto(result, 0);
+  }
+
 }
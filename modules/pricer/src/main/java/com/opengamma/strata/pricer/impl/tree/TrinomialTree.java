@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -76,14 +80,25 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    return backwardInduction(ImmutableList.of(function), data, null)[0];
+  }
+
+  /**
+   * Price options under the specified trinomial tree gird.
+   * <p>
+   * The options are priced in a single backward induction through the tree.
+   * This is more efficient than pricing each option separately, as the tree data of each layer is only
+   * obtained once, and the option values of each layer are stored in arrays that are reused at each step.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the same order as the options
+   */
+  public DoubleArray optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    return DoubleArray.ofUnsafe(backwardInduction(functions, data, null));
   }
 
   /**
@@ -100,21 +115,79 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    return optionPriceAdjoint(ImmutableList.of(function), data).get(0);
+  }
+
+  /**
+   * Compute option prices and deltas under the specified trinomial tree gird.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data embedded in 
+   * the trinomial tree.
+   * <p>
+   * The options are priced in a single backward induction through the tree.
+   * This is more efficient than pricing each option separately, as the tree data of each layer is only
+   * obtained once, and the option values of each layer are stored in arrays that are reused at each step.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the same order as the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[] deltas = new double[functions.size()];
+    double[] prices = backwardInduction(functions, data, deltas);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (int k = 0; k < prices.length; ++k) {
+      builder.add(ValueDerivatives.of(prices[k], DoubleArray.of(deltas[k])));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // performs the backward induction for all the options, computing the deltas if the array is not null
+  // the option values alternate between two arrays for each option, avoiding allocation at each step
+  private double[] backwardInduction(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      double[] deltas) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    for (OptionFunction function : functions) {
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+    }
+    int nNodes = 2 * nSteps + 1;
+    double[][] values = new double[nFunctions][nNodes];
+    double[][] nextValues = new double[nFunctions][nNodes];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      functions.get(k).getPayoffAtExpiryTrinomial(stateValueAtExpiry).copyInto(values[k], 0);
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).computeNextOptionValues(discountFactor, probability, stateValue, values[k], nextValues[k], i);
       }
+      double[][] swap = values;
+      values = nextValues;
+      nextValues = swap;
+      if (i == 1 && deltas != null) {
+        for (int k = 0; k < nFunctions; ++k) {
+          double d1 = (values[k][2] - values[k][1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[k][1] - values[k][0]) / (stateValue.get(1) - stateValue.get(0));
+          deltas[k] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    double[] prices = new double[nFunctions];
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k][0];
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    return prices;
   }
 
 }
@@ -9,9 +9,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.TIME_SQUARE;
 import static com.opengamma.strata.math.MathUtils.pow2;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -154,7 +152,7 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
 
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
-    List<DoubleMatrix> probability = new ArrayList<DoubleMatrix>(nSteps);
+    DoubleMatrix[] probability = new DoubleMatrix[nSteps];
     int nTotal = (nSteps - 1) * (nSteps - 1) + 1;
     double[] timeRes = new double[nTotal];
     double[] spotRes = new double[nTotal];
@@ -169,6 +167,12 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double downFactor = Math.exp(-dx);
     double[] adSec = new double[2 * nSteps + 1];
     double[] assetPrice = new double[2 * nSteps + 1];
+    // work arrays reused for each layer, only the first (2 * i + 1) elements are used for the i-th layer
+    double[] assetPriceLocal = new double[2 * nSteps + 1];
+    double[] callOptionPrice = new double[2 * nSteps + 1];
+    double[] putOptionPrice = new double[2 * nSteps + 1];
+    double[] adSecLocal = new double[2 * nSteps + 1];
+    double[] varBare = new double[2 * nSteps + 1];
     for (int i = nSteps; i > -1; --i) {
       if (i == 0) {
         resolveFirstLayer(interestRate, dividendRate, nTotal, dt, spot, adSec, assetPrice, timeRes, spotRes, volRes,
@@ -178,9 +182,6 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         double zeroRate = interestRate.apply(time);
         double zeroDividendRate = dividendRate.apply(time);
         int nNodes = 2 * i + 1;
-        double[] assetPriceLocal = new double[nNodes];
-        double[] callOptionPrice = new double[nNodes];
-        double[] putOptionPrice = new double[nNodes];
         int position = i - 1;
         double assetTmp = spot * Math.pow(upFactor, i);
         // call options for upper half nodes
@@ -197,8 +198,9 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
               Math.exp(-zeroRate * time) * assetPriceLocal[j];
           assetTmp *= upFactor;
         }
-        resolveLayer(interestRate, dividendRate, i, nTotal, position, dt, zeroRate, zeroDividendRate, callOptionPrice,
-            putOptionPrice, adSec, assetPrice, assetPriceLocal, timeRes, spotRes, volRes, df, stateValue, probability);
+        resolveLayer(interestRate, dividendRate, i, nNodes, nTotal, position, dt, zeroRate, zeroDividendRate,
+            callOptionPrice, putOptionPrice, adSec, assetPrice, assetPriceLocal, adSecLocal, varBare, timeRes, spotRes,
+            volRes, df, stateValue, probability);
       }
     }
     SurfaceMetadata metadata = DefaultSurfaceMetadata.builder()
@@ -225,7 +227,7 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
     double[] timePrim = new double[nSteps + 1];
-    List<DoubleMatrix> probability = new ArrayList<DoubleMatrix>(nSteps);
+    DoubleMatrix[] probability = new DoubleMatrix[nSteps];
     int nTotal = (nSteps - 1) * (nSteps - 1) + 1;
     double[] timeRes = new double[nTotal];
     double[] spotRes = new double[nTotal];
@@ -238,6 +240,12 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double downFactor = Math.exp(-dx);
     double[] adSec = new double[2 * nSteps + 1];
     double[] assetPrice = new double[2 * nSteps + 1];
+    // work arrays reused for each layer, only the first (2 * i + 1) elements are used for the i-th layer
+    double[] assetPriceLocal = new double[2 * nSteps + 1];
+    double[] callOptionPrice = new double[2 * nSteps + 1];
+    double[] putOptionPrice = new double[2 * nSteps + 1];
+    double[] adSecLocal = new double[2 * nSteps + 1];
+    double[] varBare = new double[2 * nSteps + 1];
     for (int i = nSteps; i > -1; --i) {
       timePrim[i] = dt * i;
       if (i == 0) {
@@ -248,9 +256,6 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         double zeroDividendRate = dividendRate.apply(timePrim[i]);
         double zeroCostRate = zeroRate - zeroDividendRate;
         int nNodes = 2 * i + 1;
-        double[] assetPriceLocal = new double[nNodes];
-        double[] callOptionPrice = new double[nNodes];
-        double[] putOptionPrice = new double[nNodes];
         int position = i - 1;
         double assetTmp = spot * Math.pow(upFactor, i);
         // call options for upper half nodes
@@ -270,20 +275,24 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
               spot, assetPriceLocal[j], timePrim[i], impliedVol, zeroRate, zeroCostRate, false);
           assetTmp *= upFactor;
         }
-        resolveLayer(interestRate, dividendRate, i, nTotal, position, dt, zeroRate, zeroDividendRate, callOptionPrice,
-            putOptionPrice, adSec, assetPrice, assetPriceLocal, timeRes, spotRes, volRes, df, stateValue, probability);
+        resolveLayer(interestRate, dividendRate, i, nNodes, nTotal, position, dt, zeroRate, zeroDividendRate,
+            callOptionPrice, putOptionPrice, adSec, assetPrice, assetPriceLocal, adSecLocal, varBare, timeRes, spotRes,
+            volRes, df, stateValue, probability);
       }
     }
     ImmutableList<double[]> localVolData = ImmutableList.of(timeRes, spotRes, volRes);
     RecombiningTrinomialTreeData treeData = RecombiningTrinomialTreeData.of(
-        DoubleMatrix.ofUnsafe(stateValue), probability, DoubleArray.ofUnsafe(df), DoubleArray.ofUnsafe(timePrim));
+        DoubleMatrix.ofUnsafe(stateValue),
+        ImmutableList.copyOf(probability),
+        DoubleArray.ofUnsafe(df),
+        DoubleArray.ofUnsafe(timePrim));
     return Pair.of(localVolData, treeData);
   }
 
   // resolve the t=0 layer
   private void resolveFirstLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate,
       int nTotal, double dt, double spot, double[] adSec, double[] assetPrice, double[] timeRes, double[] spotRes,
-      double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
+      double[] volRes, double[] df, double[][] stateValue, DoubleMatrix[] probability) {
 
     double discountFactor = Math.exp(-interestRate.apply(dt) * dt);
     double fwdFactor = Math.exp((interestRate.apply(dt) - dividendRate.apply(dt)) * dt);
@@ -296,20 +305,19 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double var = (dwProb * pow2(assetPrice[0] - fwd) + midProb * pow2(assetPrice[1] - fwd) +
         upProb * pow2(assetPrice[2] - fwd)) / (fwd * fwd * dt);
     volRes[nTotal - 1] = Math.sqrt(0.5 * (var + volRes[nTotal - 2] * volRes[nTotal - 2]));
-    probability.add(0, DoubleMatrix.ofUnsafe(new double[][] {{dwProb, midProb, upProb}}));
+    probability[0] = DoubleMatrix.ofUnsafe(new double[][] {{dwProb, midProb, upProb}});
     df[0] = discountFactor;
     stateValue[0] = new double[] {spot};
   }
 
   // resolve the i-th layer
   private void resolveLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate, int i,
-      int nTotal, int position, double dt, double zeroRate, double zeroDividendRate, double[] callOptionPrice,
-      double[] putOptionPrice, double[] adSec, double[] assetPrice, double[] assetPriceLocal, double[] timeRes,
-      double[] spotRes, double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
+      int nNodes, int nTotal, int position, double dt, double zeroRate, double zeroDividendRate,
+      double[] callOptionPrice, double[] putOptionPrice, double[] adSec, double[] assetPrice, double[] assetPriceLocal,
+      double[] adSecLocal, double[] varBare, double[] timeRes, double[] spotRes, double[] volRes, double[] df,
+      double[][] stateValue, DoubleMatrix[] probability) {
 
     int positionLocal = position;
-    int nNodes = callOptionPrice.length;
-    double[] adSecLocal = new double[nNodes];
     // AD security prices from call options
     for (int j = nNodes - 1; j > positionLocal; --j) {
       adSecLocal[j] = callOptionPrice[j - 1];
@@ -363,7 +371,6 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
       }
       // local variance
       int offset = nTotal - i * i - 1;
-      double[] varBare = new double[nNodes];
       for (int k = 0; k < nNodes; ++k) {
         double fwd = assetPriceLocal[k] * fwdFactor;
         varBare[k] = (prob[k][0] * pow2(assetPrice[k] - fwd) + prob[k][1] * pow2(assetPrice[k + 1] - fwd) +
@@ -383,7 +390,7 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         timeRes[offset + k] = dt * (i + 1d);
         spotRes[offset + k] = assetPriceLocal[k + 1];
       }
-      probability.add(0, DoubleMatrix.ofUnsafe(prob));
+      probability[i] = DoubleMatrix.ofUnsafe(prob);
       df[i] = discountFactor;
     }
     stateValue[i] = Arrays.copyOf(assetPriceLocal, nNodes);
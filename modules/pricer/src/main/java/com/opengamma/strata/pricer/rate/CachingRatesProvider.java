@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.pricer.CachingDiscountFactors;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+
+/**
+ * A rates provider that caches the discount factors and index rates of an underlying provider.
+ * <p>
+ * The standard providers create a new {@link DiscountFactors}, {@link IborIndexRates} or
+ * {@link OvernightIndexRates} instance each time one is requested.
+ * This provider creates each instance once per currency or index and caches it.
+ * In addition, the discount factors, including those used to forecast Ibor and Overnight rates,
+ * are wrapped in {@link CachingDiscountFactors} to memoise the year fraction and discount factor of each date.
+ * <p>
+ * This is useful when pricing a large portfolio of trades against the same market data,
+ * such as a swap book where the same payment dates are requested many times.
+ * The cache is only valid for the lifetime of the underlying provider, thus an instance
+ * should typically be created for each scenario and discarded once pricing is complete.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class CachingRatesProvider
+    implements RatesProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final RatesProvider underlying;
+  /**
+   * The cached discount factors.
+   */
+  private final ConcurrentHashMap<Currency, DiscountFactors> discountFactors = new ConcurrentHashMap<>();
+  /**
+   * The cached Ibor index rates.
+   */
+  private final ConcurrentHashMap<IborIndex, IborIndexRates> iborIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The cached Overnight index rates.
+   */
+  private final ConcurrentHashMap<OvernightIndex, OvernightIndexRates> overnightIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The cached price index values.
+   */
+  private final ConcurrentHashMap<PriceIndex, PriceIndexValues> priceIndexValues = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the data of the specified provider.
+   * <p>
+   * If the provider is already caching, it is returned unchanged.
+   *
+   * @param underlying  the underlying provider
+   * @return the caching provider
+   */
+  public static CachingRatesProvider of(RatesProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingRatesProvider) {
+      return (CachingRatesProvider) underlying;
+    }
+    return new CachingRatesProvider(underlying);
+  }
+
+  // restricted constructor
+  private CachingRatesProvider(RatesProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying provider.
+   *
+   * @return the underlying provider
+   */
+  public RatesProvider getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public Set<Currency> getDiscountCurrencies() {
+    return underlying.getDiscountCurrencies();
+  }
+
+  @Override
+  public Stream<Index> indices() {
+    return underlying.indices();
+  }
+
+  @Override
+  public Set<IborIndex> getIborIndices() {
+    return underlying.getIborIndices();
+  }
+
+  @Override
+  public Set<OvernightIndex> getOvernightIndices() {
+    return underlying.getOvernightIndices();
+  }
+
+  @Override
+  public Set<PriceIndex> getPriceIndices() {
+    return underlying.getPriceIndices();
+  }
+
+  @Override
+  public Set<Index> getTimeSeriesIndices() {
+    return underlying.getTimeSeriesIndices();
+  }
+
+  @Override
+  public <T> T data(MarketDataId<T> id) {
+    return underlying.data(id);
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries timeSeries(Index index) {
+    return underlying.timeSeries(index);
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    return underlying.fxRate(baseCurrency, counterCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DiscountFactors discountFactors(Currency currency) {
+    return discountFactors.computeIfAbsent(
+        currency, ccy -> CachingDiscountFactors.of(underlying.discountFactors(ccy)));
+  }
+
+  @Override
+  public FxIndexRates fxIndexRates(FxIndex index) {
+    return underlying.fxIndexRates(index);
+  }
+
+  @Override
+  public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    return underlying.fxForwardRates(currencyPair);
+  }
+
+  @Override
+  public IborIndexRates iborIndexRates(IborIndex index) {
+    return iborIndexRates.computeIfAbsent(index, idx -> caching(underlying.iborIndexRates(idx)));
+  }
+
+  @Override
+  public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    return overnightIndexRates.computeIfAbsent(index, idx -> caching(underlying.overnightIndexRates(idx)));
+  }
+
+  @Override
+  public PriceIndexValues priceIndexValues(PriceIndex index) {
+    return priceIndexValues.computeIfAbsent(index, underlying::priceIndexValues);
+  }
+
+  // wraps the discount factors used to forecast the rates
+  private static IborIndexRates caching(IborIndexRates rates) {
+    if (rates instanceof DiscountIborIndexRates) {
+      DiscountIborIndexRates discountRates = (DiscountIborIndexRates) rates;
+      return DiscountIborIndexRates.of(
+          discountRates.getIndex(),
+          CachingDiscountFactors.of(discountRates.getDiscountFactors()),
+          discountRates.getFixings());
+    }
+    return rates;
+  }
+
+  // wraps the discount factors used to forecast the rates
+  private static OvernightIndexRates caching(OvernightIndexRates rates) {
+    if (rates instanceof DiscountOvernightIndexRates) {
+      DiscountOvernightIndexRates discountRates = (DiscountOvernightIndexRates) rates;
+      return DiscountOvernightIndexRates.of(
+          discountRates.getIndex(),
+          CachingDiscountFactors.of(discountRates.getDiscountFactors()),
+          discountRates.getFixings());
+    }
+    return rates;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ImmutableRatesProvider toImmutableRatesProvider() {
+    return underlying.toImmutableRatesProvider();
+  }
+
+  @Override
+  public String toString() {
+    return "CachingRatesProvider[" + underlying + "]";
+  }
+
+}
@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountBuilder;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -643,23 +644,23 @@ public class DiscountingSwapLegPricer {
   }
 
   private MultiCurrencyAmount currencyExposurePeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+    MultiCurrencyAmountBuilder total = MultiCurrencyAmount.builder();
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
-        total = total.plus(paymentPeriodPricer.currencyExposure(period, provider));
+        total.add(paymentPeriodPricer.currencyExposure(period, provider));
       }
     }
-    return total;
+    return total.build();
   }
 
   private MultiCurrencyAmount currencyExposureEventsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+    MultiCurrencyAmountBuilder total = MultiCurrencyAmount.builder();
     for (SwapPaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
-        total = total.plus(paymentEventPricer.currencyExposure(event, provider));
+        total.add(paymentEventPricer.currencyExposure(event, provider));
       }
     }
-    return total;
+    return total.build();
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link CachingDiscountFactors}.
+ */
+public class CachingDiscountFactorsTest {
+
+  private static final LocalDate DATE_VAL = date(2015, 6, 4);
+  private static final LocalDate[] DATES = {
+      date(2014, 1, 1), DATE_VAL, date(2015, 7, 30), date(2017, 2, 28), date(2045, 6, 4), date(2250, 1, 1)};
+
+  private static final CurveName NAME = CurveName.of("TestCurve");
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates(NAME, ACT_365F),
+      DoubleArray.of(0, 1, 5, 10, 30),
+      DoubleArray.of(0.01, 0.012, 0.018, 0.021, 0.025),
+      CurveInterpolators.LINEAR);
+  private static final DiscountFactors BASE = DiscountFactors.of(GBP, DATE_VAL, CURVE);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(BASE);
+    assertThat(test.getUnderlying()).isEqualTo(BASE);
+    assertThat(test.getCurrency()).isEqualTo(GBP);
+    assertThat(test.getValuationDate()).isEqualTo(DATE_VAL);
+    assertThat(test.getParameterCount()).isEqualTo(BASE.getParameterCount());
+    assertThat(test.getParameter(1)).isEqualTo(BASE.getParameter(1));
+    assertThat(test.getParameterMetadata(1)).isEqualTo(BASE.getParameterMetadata(1));
+    assertThat(test.withParameter(1, 0.5d)).isEqualTo(BASE.withParameter(1, 0.5d));
+    assertThat(test.withPerturbation((i, v, m) -> v + 1d)).isEqualTo(BASE.withPerturbation((i, v, m) -> v + 1d));
+    assertThat(test.findData(NAME)).isEqualTo(BASE.findData(NAME));
+    assertThat(CachingDiscountFactors.of(test)).isSameAs(test);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_cachedValues() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(BASE);
+    for (int i = 0; i < 2; i++) {
+      for (LocalDate date : DATES) {
+        assertThat(test.relativeYearFraction(date)).isEqualTo(BASE.relativeYearFraction(date));
+        assertThat(test.discountFactor(date)).isEqualTo(BASE.discountFactor(date));
+        assertThat(test.zeroRate(date)).isEqualTo(BASE.zeroRate(date));
+        assertThat(test.zeroRatePointSensitivity(date)).isEqualTo(BASE.zeroRatePointSensitivity(date));
+        assertThat(test.zeroRatePointSensitivity(date, USD)).isEqualTo(BASE.zeroRatePointSensitivity(date, USD));
+        assertThat(test.discountFactorWithSpread(date, 0.01, PERIODIC, 2))
+            .isEqualTo(BASE.discountFactorWithSpread(date, 0.01, PERIODIC, 2));
+        assertThat(test.zeroRatePointSensitivityWithSpread(date, 0.01, PERIODIC, 2))
+            .isEqualTo(BASE.zeroRatePointSensitivityWithSpread(date, 0.01, PERIODIC, 2));
+      }
+    }
+  }
+
+  @Test
+  public void test_cachedValues_parallel() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(BASE);
+    IntStream.range(0, 20_000).parallel().forEach(i -> {
+      LocalDate date = DATE_VAL.plusDays(i % 5000);
+      assertThat(test.discountFactor(date)).isEqualTo(BASE.discountFactor(date));
+    });
+  }
+
+  @Test
+  public void test_sensitivity() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(BASE);
+    ZeroRateSensitivity point = test.zeroRatePointSensitivity(DATES[3]);
+    assertThat(test.parameterSensitivity(point)).isEqualTo(BASE.parameterSensitivity(point));
+    DoubleArray sensitivities = DoubleArray.filled(BASE.getParameterCount(), 2d);
+    assertThat(test.createParameterSensitivity(USD, sensitivities))
+        .isEqualTo(BASE.createParameterSensitivity(USD, sensitivities));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_equalsHashCodeToString() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(BASE);
+    CachingDiscountFactors test2 = CachingDiscountFactors.of(DiscountFactors.of(USD, DATE_VAL, CURVE));
+    assertThat(test)
+        .isEqualTo(test)
+        .isEqualTo(CachingDiscountFactors.of(BASE))
+        .isNotEqualTo(test2)
+        .isNotEqualTo(BASE)
+        .isNotEqualTo("")
+        .isNotEqualTo(null)
+        .hasSameHashCodeAs(CachingDiscountFactors.of(BASE));
+    assertThat(test.toString()).contains(BASE.toString());
+  }
+
+  @Test
+  public void test_serialization() throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(CachingDiscountFactors.of(BASE));
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertThat(ois.readObject()).isEqualTo(BASE);
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveScenarioArray;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link DiscountFactorsScenarioArray}.
+ */
+public class DiscountFactorsScenarioArrayTest {
+
+  private static final LocalDate DATE_VAL = date(2015, 6, 4);
+  private static final LocalDate[] DATES = {
+      date(2015, 6, 4), date(2015, 9, 4), date(2016, 7, 21), date(2019, 1, 15), date(2027, 3, 1)};
+
+  private static final CurveName NAME = CurveName.of("TestCurve");
+  private static final CurveMetadata META_ZERO_PERIODIC = DefaultCurveMetadata.builder()
+      .curveName(NAME)
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .dayCount(ACT_365F)
+      .addInfo(CurveInfoType.COMPOUNDING_PER_YEAR, 2)
+      .build();
+  private static final DoubleArray X = DoubleArray.of(0.5, 1, 5, 10);
+  private static final DoubleMatrix Y_ZERO = DoubleMatrix.of(3, 4,
+      0.0100, 0.0150, 0.0200, 0.0150,
+      0.0110, 0.0140, 0.0210, 0.0160,
+      0.0090, 0.0160, 0.0190, 0.0140);
+  private static final DoubleMatrix Y_DF = DoubleMatrix.of(2, 4,
+      0.995, 0.985, 0.90, 0.85,
+      0.994, 0.983, 0.91, 0.84);
+
+  private static final InterpolatedNodalCurveScenarioArray CURVES_ZERO = InterpolatedNodalCurveScenarioArray.of(
+      InterpolatedNodalCurve.of(Curves.zeroRates(NAME, ACT_365F), X, Y_ZERO.row(0), CurveInterpolators.LINEAR),
+      Y_ZERO);
+  private static final InterpolatedNodalCurveScenarioArray CURVES_ZERO_PERIODIC = InterpolatedNodalCurveScenarioArray.of(
+      InterpolatedNodalCurve.of(META_ZERO_PERIODIC, X, Y_ZERO.row(0), CurveInterpolators.LINEAR),
+      Y_ZERO);
+  private static final InterpolatedNodalCurveScenarioArray CURVES_DF = InterpolatedNodalCurveScenarioArray.of(
+      InterpolatedNodalCurve.of(Curves.discountFactors(NAME, ACT_365F), X, Y_DF.row(0), CurveInterpolators.LOG_LINEAR),
+      Y_DF);
+
+  private static final double TOLERANCE_DF = 1.0e-12;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    DiscountFactorsScenarioArray test = DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_ZERO);
+    assertThat(test.getCurrency()).isEqualTo(GBP);
+    assertThat(test.getValuationDate()).isEqualTo(DATE_VAL);
+    assertThat(test.getCurves()).isEqualTo(CURVES_ZERO);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(1)).isEqualTo(ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVES_ZERO.get(1)));
+    assertThat(test.stream()).hasSize(3);
+  }
+
+  @Test
+  public void test_of_badCurve() {
+    InterpolatedNodalCurveScenarioArray curves = InterpolatedNodalCurveScenarioArray.of(
+        InterpolatedNodalCurve.of(Curves.prices(NAME), X, Y_DF.row(0), CurveInterpolators.LINEAR),
+        Y_DF);
+    assertThatIllegalArgumentException().isThrownBy(() -> DiscountFactorsScenarioArray.of(GBP, DATE_VAL, curves));
+    InterpolatedNodalCurveScenarioArray noDayCount = InterpolatedNodalCurveScenarioArray.of(
+        InterpolatedNodalCurve.of(
+            DefaultCurveMetadata.builder()
+                .curveName(NAME)
+                .xValueType(ValueType.YEAR_FRACTION)
+                .yValueType(ValueType.ZERO_RATE)
+                .build(),
+            X,
+            Y_ZERO.row(0),
+            CurveInterpolators.LINEAR),
+        Y_ZERO);
+    assertThatIllegalArgumentException().isThrownBy(() -> DiscountFactorsScenarioArray.of(GBP, DATE_VAL, noDayCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_discountFactors_zeroRate() {
+    assertDiscountFactors(DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_ZERO));
+  }
+
+  @Test
+  public void test_discountFactors_zeroRatePeriodic() {
+    assertDiscountFactors(DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_ZERO_PERIODIC));
+  }
+
+  @Test
+  public void test_discountFactors_discountFactor() {
+    assertDiscountFactors(DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_DF));
+  }
+
+  // checks the discount factors against those of each scenario
+  private static void assertDiscountFactors(DiscountFactorsScenarioArray test) {
+    for (LocalDate date : DATES) {
+      DoubleArray discountFactors = test.discountFactors(date);
+      assertThat(discountFactors.size()).isEqualTo(test.getScenarioCount());
+      for (int i = 0; i < test.getScenarioCount(); i++) {
+        DiscountFactors expected = test.get(i);
+        assertThat(test.relativeYearFraction(date)).isEqualTo(expected.relativeYearFraction(date));
+        assertThat(discountFactors.get(i)).isCloseTo(expected.discountFactor(date), offset(TOLERANCE_DF));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    DiscountFactorsScenarioArray test = DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_ZERO);
+    coverImmutableBean(test);
+    DiscountFactorsScenarioArray test2 = DiscountFactorsScenarioArray.of(USD, DATE_VAL.plusDays(1), CURVES_DF);
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(DiscountFactorsScenarioArray.of(GBP, DATE_VAL, CURVES_ZERO));
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link ZeroRateSensitivityBuffer}.
+ */
+public class ZeroRateSensitivityBufferTest {
+
+  private static final LocalDate DATE_VAL = date(2015, 6, 4);
+  private static final InterpolatedNodalCurve ZERO_CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates(CurveName.of("GBP-Zero"), ACT_365F),
+      DoubleArray.of(0.5, 1, 5, 10),
+      DoubleArray.of(0.01, 0.015, 0.02, 0.025),
+      CurveInterpolators.NATURAL_CUBIC_SPLINE);
+  private static final InterpolatedNodalCurve DF_CURVE = InterpolatedNodalCurve.of(
+      Curves.discountFactors(CurveName.of("USD-DF"), ACT_365F),
+      DoubleArray.of(0.5, 1, 5, 10),
+      DoubleArray.of(0.99, 0.98, 0.9, 0.8),
+      CurveInterpolators.LINEAR);
+  private static final ImmutableRatesProvider PROVIDER = ImmutableRatesProvider.builder(DATE_VAL)
+      .discountCurve(GBP, ZERO_CURVE)
+      .discountCurve(USD, DF_CURVE)
+      .build();
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_add_build() {
+    ZeroRateSensitivityBuffer test = new ZeroRateSensitivityBuffer()
+        .add(USD, 2d, USD, 4d)
+        .add(ZeroRateSensitivity.of(GBP, 3d, 5d))
+        .add(GBP, 1d, USD, 6d)
+        .add(GBP, 3d, GBP, 7d);
+    assertThat(test.size()).isEqualTo(4);
+    assertThat(test.build()).isEqualTo(PointSensitivities.of(
+        ZeroRateSensitivity.of(GBP, 3d, 12d),
+        ZeroRateSensitivity.of(GBP, 1d, USD, 6d),
+        ZeroRateSensitivity.of(USD, 2d, 4d)));
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.toString()).isEqualTo("ZeroRateSensitivityBuffer[GBP/GBP=1, GBP/USD=1, USD/USD=1]");
+  }
+
+  @Test
+  public void test_normalize() {
+    ZeroRateSensitivityBuffer test = new ZeroRateSensitivityBuffer();
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    for (int i = 0; i < 100; i++) {
+      double yearFraction = (i * 7) % 20;
+      test.add(GBP, yearFraction, GBP, i);
+      expected.add(ZeroRateSensitivity.of(GBP, yearFraction, i));
+    }
+    test.normalize();
+    assertThat(test.size()).isEqualTo(20);
+    assertThat(test.build()).isEqualTo(expected.toImmutable().normalized());
+  }
+
+  @Test
+  public void test_withCurrency() {
+    ZeroRateSensitivityBuffer test = new ZeroRateSensitivityBuffer()
+        .add(GBP, 1d, GBP, 2d)
+        .add(GBP, 1d, USD, 3d)
+        .withCurrency(USD);
+    assertThat(test.build()).isEqualTo(PointSensitivities.of(ZeroRateSensitivity.of(GBP, 1d, USD, 5d)));
+  }
+
+  @Test
+  public void test_multipliedBy_mapSensitivity() {
+    ZeroRateSensitivityBuffer test = new ZeroRateSensitivityBuffer().add(GBP, 1d, GBP, 2d);
+    assertThat(test.cloned().multipliedBy(3d).build())
+        .isEqualTo(PointSensitivities.of(ZeroRateSensitivity.of(GBP, 1d, 6d)));
+    assertThat(test.mapSensitivity(s -> -s).build())
+        .isEqualTo(PointSensitivities.of(ZeroRateSensitivity.of(GBP, 1d, -2d)));
+  }
+
+  @Test
+  public void test_combinedWith() {
+    ZeroRateSensitivityBuffer base = new ZeroRateSensitivityBuffer().add(GBP, 1d, GBP, 2d);
+    PointSensitivityBuilder test = base.combinedWith(ZeroRateSensitivity.of(GBP, 1d, 3d));
+    assertThat(test).isSameAs(base);
+    assertThat(test.combinedWith(base).build())
+        .isEqualTo(PointSensitivities.of(ZeroRateSensitivity.of(GBP, 1d, 10d)));
+  }
+
+  @Test
+  public void test_combinedWith_other() {
+    ZeroRateSensitivityBuffer base = new ZeroRateSensitivityBuffer().add(GBP, 1d, GBP, 2d);
+    PointSensitivityBuilder other = PointSensitivityBuilder.of(ZeroRateSensitivity.of(USD, 1d, 3d));
+    assertThat(base.combinedWith(other).build()).isEqualTo(PointSensitivities.of(
+        ZeroRateSensitivity.of(GBP, 1d, 2d), ZeroRateSensitivity.of(USD, 1d, 3d)));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_parameterSensitivity() {
+    ZeroRateSensitivityBuffer test = new ZeroRateSensitivityBuffer();
+    MutablePointSensitivities points = new MutablePointSensitivities();
+    for (int i = 0; i < 50; i++) {
+      double yearFraction = 0.25 + i * 0.2;
+      test.add(GBP, yearFraction, GBP, 100d * i);
+      test.add(GBP, yearFraction, USD, -20d * i);
+      test.add(USD, yearFraction, USD, 50d);
+      points.add(ZeroRateSensitivity.of(GBP, yearFraction, GBP, 100d * i));
+      points.add(ZeroRateSensitivity.of(GBP, yearFraction, USD, -20d * i));
+      points.add(ZeroRateSensitivity.of(USD, yearFraction, USD, 50d));
+    }
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(PROVIDER);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(points.build());
+    assertThat(computed.size()).isEqualTo(3);
+    assertThat(computed.equalWithTolerance(expected, TOL)).isTrue();
+  }
+
+  @Test
+  public void test_parameterSensitivity_empty() {
+    assertThat(new ZeroRateSensitivityBuffer().parameterSensitivity(PROVIDER))
+        .isEqualTo(CurrencyParameterSensitivities.empty());
+  }
+
+}
@@ -59,6 +59,12 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testCalibrationAgainstISDA(BUILDER_MARKIT, ACT_365F, EUR, TOL);
   }
 
+  @Test
+  public void bulkTest() {
+    testBulkCalibration(BUILDER_ISDA);
+    testBulkCalibration(BUILDER_MARKIT);
+  }
+
   @Test
   public void parSpreadTest() {
     LocalDate valuationDate = LocalDate.of(2013, 2, 27);
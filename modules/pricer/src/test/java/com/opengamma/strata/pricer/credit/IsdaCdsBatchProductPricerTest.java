@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.pricer.common.PriceType.CLEAN;
+import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.PaymentOnDefault;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test {@link IsdaCdsBatchProductPricer}.
+ */
+public class IsdaCdsBatchProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2014, 1, 8);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final StandardId ENTITY_A = StandardId.of("OG", "A");
+  private static final StandardId ENTITY_B = StandardId.of("OG", "B");
+  private static final StandardId ENTITY_C = StandardId.of("OG", "C");
+
+  private static final DoubleArray TIME_YC = DoubleArray.of(
+      0.09041095890410959, 0.2547945205479452, 0.5041095890410959, 1.0054794520547945, 2.0054794520547947,
+      3.008219178082192, 5.010958904109589, 7.010958904109589, 10.016438356164384, 15.021917808219179);
+  private static final DoubleArray RATE_YC = DoubleArray.of(
+      -0.0020786, -0.0013445, -4.2378E-4, 5.9350E-4, -3.2470E-4, 6.1471E-4, 0.0033125, 0.0062374, 0.0101675, 0.0144108);
+  private static final DoubleArray TIME_CC = DoubleArray.of(
+      1.2054794520547945, 1.7095890410958905, 2.712328767123288, 3.712328767123288, 4.712328767123288,
+      5.712328767123288, 7.715068493150685, 10.717808219178082);
+  private static final DoubleArray TIME_CC_OTHER = DoubleArray.of(0.5, 1d, 3d, 5d, 7d, 10d);
+
+  private static final ImmutableCreditRatesProvider RATES_PROVIDER = ImmutableCreditRatesProvider.builder()
+      .valuationDate(VALUATION_DATE)
+      .creditCurves(ImmutableMap.of(
+          Pair.of(ENTITY_A, USD), survivalProbabilities(ENTITY_A, TIME_CC, 0.01),
+          Pair.of(ENTITY_B, USD), survivalProbabilities(ENTITY_B, TIME_CC, 0.03),
+          Pair.of(ENTITY_C, USD), survivalProbabilities(ENTITY_C, TIME_CC_OTHER, 0.02)))
+      .discountCurves(ImmutableMap.of(
+          USD, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curve("yield", TIME_YC, RATE_YC))))
+      .recoveryRateCurves(ImmutableMap.of(
+          ENTITY_A, ConstantRecoveryRates.of(ENTITY_A, VALUATION_DATE, 0.4),
+          ENTITY_B, ConstantRecoveryRates.of(ENTITY_B, VALUATION_DATE, 0.25),
+          ENTITY_C, ConstantRecoveryRates.of(ENTITY_C, VALUATION_DATE, 0.4)))
+      .build();
+
+  private static final List<ResolvedCds> PRODUCTS = ImmutableList.of(
+      cds(BUY, ENTITY_A, 1e7, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20), 0.01),
+      cds(SELL, ENTITY_B, 2e7, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20), 0.05),
+      cds(BUY, ENTITY_A, 3e6, LocalDate.of(2013, 12, 20), LocalDate.of(2023, 12, 20), 0.01),
+      cds(BUY, ENTITY_C, 1e7, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20), 0.01),
+      cds(SELL, ENTITY_A, 5e6, LocalDate.of(2014, 3, 20), LocalDate.of(2029, 12, 20), 0.05),
+      cds(BUY, ENTITY_B, 1e7, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20), 0.01),
+      cds(SELL, ENTITY_B, 1e7, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20), 0.01).toBuilder()
+          .paymentOnDefault(PaymentOnDefault.NONE)
+          .build(),
+      cds(BUY, ENTITY_A, 1e7, LocalDate.of(2013, 9, 20), LocalDate.of(2013, 12, 20), 0.01));
+
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final IsdaCdsBatchProductPricer BATCH_PRICER = IsdaCdsBatchProductPricer.DEFAULT;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_formula() {
+    assertThat(BATCH_PRICER.getAccrualOnDefaultFormula()).isEqualTo(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    assertThat(new IsdaCdsBatchProductPricer(AccrualOnDefaultFormula.MARKIT_FIX).getAccrualOnDefaultFormula())
+        .isEqualTo(AccrualOnDefaultFormula.MARKIT_FIX);
+  }
+
+  @Test
+  public void test_matchesSingle() {
+    for (AccrualOnDefaultFormula formula : AccrualOnDefaultFormula.values()) {
+      IsdaCdsProductPricer pricer = new IsdaCdsProductPricer(formula);
+      IsdaCdsBatchProductPricer test = new IsdaCdsBatchProductPricer(formula);
+      for (PriceType priceType : PriceType.values()) {
+        double[] price = test.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        List<CurrencyAmount> pv = test.presentValue(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        double[] riskyAnnuity = test.riskyAnnuity(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        List<CurrencyAmount> rpv01 = test.rpv01(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        for (int i = 0; i < PRODUCTS.size(); i++) {
+          ResolvedCds cds = PRODUCTS.get(i);
+          assertThat(price[i]).isEqualTo(pricer.price(cds, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA));
+          assertThat(pv.get(i))
+              .isEqualTo(pricer.presentValue(cds, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA));
+          assertThat(riskyAnnuity[i])
+              .isEqualTo(pricer.riskyAnnuity(cds, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA));
+          assertThat(rpv01.get(i)).isEqualTo(pricer.rpv01(cds, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA));
+        }
+      }
+      double[] protectionLeg = test.protectionLeg(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA);
+      for (int i = 0; i < PRODUCTS.size(); i++) {
+        assertThat(protectionLeg[i])
+            .isEqualTo(pricer.protectionLeg(PRODUCTS.get(i), RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA));
+      }
+    }
+  }
+
+  @Test
+  public void test_parSpread() {
+    List<ResolvedCds> products = PRODUCTS.subList(0, PRODUCTS.size() - 1);
+    double[] test = BATCH_PRICER.parSpread(products, RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA);
+    for (int i = 0; i < products.size(); i++) {
+      assertThat(test[i]).isEqualTo(PRICER.parSpread(products.get(i), RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA));
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BATCH_PRICER.parSpread(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA));
+  }
+
+  @Test
+  public void test_expired() {
+    List<ResolvedCds> products = PRODUCTS.subList(PRODUCTS.size() - 1, PRODUCTS.size());
+    assertThat(BATCH_PRICER.price(products, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA)).containsExactly(0d);
+    assertThat(BATCH_PRICER.riskyAnnuity(products, RATES_PROVIDER, SETTLEMENT_DATE, DIRTY, REF_DATA))
+        .containsExactly(0d);
+    assertThat(BATCH_PRICER.presentValue(products, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA))
+        .containsExactly(CurrencyAmount.zero(USD));
+  }
+
+  @Test
+  public void test_empty() {
+    assertThat(BATCH_PRICER.price(ImmutableList.of(), RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA)).isEmpty();
+    assertThat(BATCH_PRICER.presentValue(ImmutableList.of(), RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA))
+        .isEmpty();
+  }
+
+  //-------------------------------------------------------------------------
+  private static LegalEntitySurvivalProbabilities survivalProbabilities(
+      StandardId legalEntityId,
+      DoubleArray times,
+      double level) {
+
+    DoubleArray rates = DoubleArray.of(times.size(), i -> level * (1d + 0.1 * i));
+    return LegalEntitySurvivalProbabilities.of(
+        legalEntityId, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curve("credit", times, rates)));
+  }
+
+  private static InterpolatedNodalCurve curve(String name, DoubleArray times, DoubleArray rates) {
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName(name)
+        .dayCount(ACT_365F)
+        .build();
+    return InterpolatedNodalCurve.of(metadata, times, rates,
+        CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  }
+
+  private static ResolvedCds cds(
+      BuySell buySell,
+      StandardId legalEntityId,
+      double notional,
+      LocalDate startDate,
+      LocalDate endDate,
+      double fixedRate) {
+
+    return Cds.of(buySell, legalEntityId, USD, notional, startDate, endDate, Frequency.P3M, CALENDAR, fixedRate)
+        .resolve(REF_DATA);
+  }
+
+}
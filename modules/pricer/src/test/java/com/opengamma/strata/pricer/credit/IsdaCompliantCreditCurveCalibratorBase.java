@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -406,6 +407,49 @@ public class IsdaCompliantCreditCurveCalibratorBase {
     }
   }
 
+  protected void testBulkCalibration(IsdaCompliantCreditCurveCalibrator builder) {
+    ImmutableCreditRatesProvider baseProvider = YIELD_CURVES[0];
+    LocalDate valuationDate = baseProvider.getValuationDate();
+    LocalDate startDate = LocalDate.of(2011, 3, 21);
+    Period[] tenors = new Period[] {
+        Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10)};
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, P3M, BUS_ADJ, CDS_SETTLE_STD);
+    int nEntities = 4;
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    List<IsdaCreditCurveDefinition> curveDefinitions = new ArrayList<>();
+    for (int i = 0; i < nEntities; i++) {
+      StandardId legalEntity = StandardId.of("OG", "ABC" + i);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, valuationDate, 0.4));
+      // the last legal entity has fewer nodes, thus different node times
+      int nNodes = i == nEntities - 1 ? tenors.length - 2 : tenors.length;
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>(nNodes);
+      for (int j = 0; j < nNodes; j++) {
+        CdsTemplate temp = DatesCdsTemplate.of(startDate, LocalDate.of(2011, 6, 20).plus(tenors[j]), conv);
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntity.getValue() + tenors[j]));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id, legalEntity));
+        builderCredit.addValue(id, SPREADS[0][j] * (1d + 0.1 * i));
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("credit" + i), EUR, valuationDate, ACT_365F, nodes, true, false));
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    ImmutableCreditRatesProvider ratesProvider = baseProvider.toBuilder()
+        .recoveryRateCurves(recoveryRates.build())
+        .build();
+    List<LegalEntitySurvivalProbabilities> computed =
+        builder.calibrate(curveDefinitions, marketData, ratesProvider, REF_DATA);
+    assertThat(computed).hasSize(nEntities);
+    for (int i = 0; i < nEntities; i++) {
+      LegalEntitySurvivalProbabilities expected =
+          builder.calibrate(curveDefinitions.get(i), marketData, ratesProvider, REF_DATA);
+      assertThat(computed.get(i)).isEqualTo(expected);
+      IsdaCreditDiscountFactors df = (IsdaCreditDiscountFactors) computed.get(i).getSurvivalProbabilities();
+      assertThat(df.getCurve().getMetadata().findInfo(CurveInfoType.JACOBIAN)).isPresent();
+    }
+    assertThat(builder.calibrate(ImmutableList.of(), marketData, ratesProvider, REF_DATA)).isEmpty();
+  }
+
   protected void testJacobian(
       IsdaCompliantCreditCurveCalibrator builder,
       LegalEntitySurvivalProbabilities curve,
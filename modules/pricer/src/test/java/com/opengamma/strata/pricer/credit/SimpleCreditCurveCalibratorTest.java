@@ -29,4 +29,10 @@ public class SimpleCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCal
     testCalibrationAgainstISDA(BUILDER_MARKIT, ACT_365F, EUR, TOL);
   }
 
+  @Test
+  public void bulkTest() {
+    testBulkCalibration(BUILDER_ISDA);
+    testBulkCalibration(BUILDER_MARKIT);
+  }
+
 }
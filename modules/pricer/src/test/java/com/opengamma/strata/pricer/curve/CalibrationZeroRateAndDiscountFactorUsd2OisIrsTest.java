@@ -36,18 +36,22 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -322,6 +326,86 @@ public class CalibrationZeroRateAndDiscountFactorUsd2OisIrsTest {
     assertResult(result, ALL_QUOTES_BD);
   }
 
+  @Test
+  public void calibration_twoGroups_parallelDerivatives() {
+    RatesCurveGroupDefinition group2 = GROUP_2.toBuilder().computePvSensitivityToMarketQuote(true).build();
+    ImmutableRatesProvider expected =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, group2), KNOWN_DATA, ALL_QUOTES_BD, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.withParallelDerivatives(true)
+        .calibrate(ImmutableList.of(GROUP_1, group2), KNOWN_DATA, ALL_QUOTES_BD, REF_DATA);
+    assertThat(result.getCurves()).isEqualTo(expected.getCurves());
+  }
+
+  @Test
+  public void recalibration_twoGroups_unchanged() {
+    ImmutableRatesProvider previous =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, ALL_QUOTES_BD, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(
+        ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, ALL_QUOTES_BD, previous, ALL_QUOTES_BD, REF_DATA);
+    assertThat(result.getCurves()).isEqualTo(previous.getCurves());
+  }
+
+  @Test
+  public void recalibration_twoGroups_forwardQuoteChanged() {
+    ImmutableRatesProvider previous =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, ALL_QUOTES_BD, REF_DATA);
+    ImmutableMarketData shifted = ALL_QUOTES_BD.toBuilder()
+        .addValue(QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[5])), FWD3_MARKET_QUOTES[5] + 0.0001)
+        .build();
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(
+        ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, shifted, previous, ALL_QUOTES_BD, REF_DATA);
+    assertResult(result, shifted);
+    // the discounting group does not depend on the forward quotes
+    assertThat(result.getCurves().get(DSCON_CURVE_NAME)).isEqualTo(previous.getCurves().get(DSCON_CURVE_NAME));
+    assertThat(result.getCurves().get(FWD3_CURVE_NAME)).isNotEqualTo(previous.getCurves().get(FWD3_CURVE_NAME));
+    assertRecalibrationMatches(result, shifted);
+  }
+
+  @Test
+  public void recalibration_twoGroups_discountQuoteChanged() {
+    ImmutableRatesProvider previous =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, ALL_QUOTES_BD, REF_DATA);
+    ImmutableMarketData shifted = ALL_QUOTES_BD.toBuilder()
+        .addValue(QuoteId.of(StandardId.of(SCHEME, DSC_ID_VALUE[8])), DSC_MARKET_QUOTES[8] + 0.0001)
+        .build();
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(
+        ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, shifted, previous, ALL_QUOTES_BD, REF_DATA);
+    assertResult(result, shifted);
+    // the forward group depends on the discounting group
+    assertThat(result.getCurves().get(DSCON_CURVE_NAME)).isNotEqualTo(previous.getCurves().get(DSCON_CURVE_NAME));
+    assertThat(result.getCurves().get(FWD3_CURVE_NAME)).isNotEqualTo(previous.getCurves().get(FWD3_CURVE_NAME));
+    assertRecalibrationMatches(result, shifted);
+  }
+
+  @Test
+  public void recalibration_oneGroup_valuationDateChanged() {
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES_BD, REF_DATA);
+    ImmutableRatesProvider result = CALIBRATOR.recalibrate(
+        CURVE_GROUP_CONFIG, ALL_QUOTES_HO.combinedWith(TS_HO_LIBOR3M), previous, ALL_QUOTES_BD, REF_DATA);
+    assertResult(result, ALL_QUOTES_HO);
+  }
+
+  // checks the recalibrated curves match a full calibration, including the Jacobian
+  private void assertRecalibrationMatches(ImmutableRatesProvider result, ImmutableMarketData marketData) {
+    ImmutableRatesProvider expected =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2), KNOWN_DATA, marketData, REF_DATA);
+    for (CurveName name : ImmutableList.of(DSCON_CURVE_NAME, FWD3_CURVE_NAME)) {
+      Curve expectedCurve = expected.getCurves().get(name);
+      Curve resultCurve = result.getCurves().get(name);
+      for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+        assertThat(resultCurve.getParameter(i)).isCloseTo(expectedCurve.getParameter(i), offset(1e-8));
+      }
+      JacobianCalibrationMatrix expectedJacobian = expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      JacobianCalibrationMatrix resultJacobian = resultCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      assertThat(resultJacobian.getOrder()).isEqualTo(expectedJacobian.getOrder());
+      DoubleMatrix expectedMatrix = expectedJacobian.getJacobianMatrix();
+      DoubleMatrix resultMatrix = resultJacobian.getJacobianMatrix();
+      for (int i = 0; i < expectedMatrix.rowCount(); i++) {
+        assertThat(resultMatrix.row(i).equalWithTolerance(expectedMatrix.row(i), 1e-6)).isTrue();
+      }
+    }
+  }
+
   private void assertResult(RatesProvider result, ImmutableMarketData allQuotes) {
     // Test PV Dsc
     CurveNode[] dscNodes = CURVES_NODES.get(0).get(0);
@@ -8940,4 +8940,99 @@ public class BlackFormulaRepositoryTest {
     assertThat(bsD2[1][2]).as("AD Second order: 2nd - str-vol").isCloseTo(bsD2[2][1], offset(TOLERANCE_1));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_bulk_priceDeltaVega() {
+    // includes special cases that are handled by the single option methods
+    int size = STRIKES_INPUT.length * VOLS.length + 4;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    int index = 0;
+    for (double strike : STRIKES_INPUT) {
+      for (double vol : VOLS) {
+        forwards[index] = FORWARD;
+        strikes[index] = strike;
+        times[index] = TIME_TO_EXPIRY;
+        vols[index++] = vol;
+      }
+    }
+    double[][] special = {
+        {FORWARD, FORWARD, 1d, 0.2}, {FORWARD, 90d, 1d, 0d}, {FORWARD, 90d, 0d, 0.2}, {1e14, 1e14, 1d, 0.2}};
+    for (double[] values : special) {
+      forwards[index] = values[0];
+      strikes[index] = values[1];
+      times[index] = values[2];
+      vols[index++] = values[3];
+    }
+    for (boolean isCall : new boolean[] {true, false}) {
+      double[] prices = BlackFormulaRepository.price(forwards, strikes, times, vols, isCall);
+      double[] deltas = BlackFormulaRepository.delta(forwards, strikes, times, vols, isCall);
+      for (int i = 0; i < size; i++) {
+        assertThat(prices[i])
+            .isEqualTo(BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall));
+        assertThat(deltas[i])
+            .isEqualTo(BlackFormulaRepository.delta(forwards[i], strikes[i], times[i], vols[i], isCall));
+      }
+    }
+    double[] vegas = BlackFormulaRepository.vega(forwards, strikes, times, vols);
+    for (int i = 0; i < size; i++) {
+      assertThat(vegas[i]).isEqualTo(BlackFormulaRepository.vega(forwards[i], strikes[i], times[i], vols[i]));
+    }
+  }
+
+  @Test
+  public void test_bulk_impliedVolatility() {
+    int size = STRIKES_INPUT.length * VOLS.length;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] prices = new double[size];
+    double[] expectedVols = new double[size];
+    int index = 0;
+    for (int i = 0; i < STRIKES_INPUT.length; i++) {
+      for (int j = 0; j < VOLS.length; j++) {
+        forwards[index] = FORWARD;
+        strikes[index] = STRIKES_INPUT[i];
+        times[index] = TIME_TO_EXPIRY;
+        prices[index] = PRE_COMPUTER_PRICES[i][j];
+        expectedVols[index++] = VOLS[j];
+      }
+    }
+    double[] test = BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, true);
+    for (int i = 0; i < size; i++) {
+      double single = BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], times[i], true);
+      assertThat(test[i]).isCloseTo(single, offset(1e-8));
+      assertThat(test[i]).isCloseTo(expectedVols[i], offset(1e-8));
+    }
+  }
+
+  @Test
+  public void test_bulk_impliedVolatility_put() {
+    double[] forwards = {FORWARD, FORWARD, FORWARD, FORWARD};
+    double[] strikes = {90d, FORWARD, 120d, 90d};
+    double[] times = {1d, 2d, 3d, 0.5d};
+    double[] vols = {0.25, 0.2, 0.05, 0d};
+    double[] prices = BlackFormulaRepository.price(forwards, strikes, times, vols, false);
+    double[] test = BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, false);
+    for (int i = 0; i < forwards.length; i++) {
+      assertThat(test[i]).isCloseTo(vols[i], offset(1e-8));
+    }
+  }
+
+  @Test
+  public void test_bulk_invalid() {
+    double[] values = {1d, 2d};
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, values, new double[1], true));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, new double[] {1d, -1d}, values, true));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.vega(values, new double[] {-1d, 1d}, values, values));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.impliedVolatility(
+            new double[] {200d}, new double[] {100d}, new double[] {100d}, new double[] {1d}, true));
+  }
+
 }
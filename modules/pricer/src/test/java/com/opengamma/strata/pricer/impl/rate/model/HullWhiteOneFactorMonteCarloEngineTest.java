@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_6M;
+import static com.opengamma.strata.basics.schedule.Frequency.P12M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static com.opengamma.strata.product.common.PayReceive.PAY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.SobolSequenceGenerator;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.pricer.swaption.HullWhiteSwaptionPhysicalProductPricer;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.common.PayReceive;
+import com.opengamma.strata.product.swap.FixedRateCalculation;
+import com.opengamma.strata.product.swap.IborRateCalculation;
+import com.opengamma.strata.product.swap.NotionalSchedule;
+import com.opengamma.strata.product.swap.PaymentSchedule;
+import com.opengamma.strata.product.swap.RateCalculationSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.SwapLeg;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlement;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlementMethod;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloEngine}.
+ */
+public class HullWhiteOneFactorMonteCarloEngineTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final LocalDate EXPIRY = LocalDate.of(2016, 7, 7);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final BusinessDayAdjustment BDA_MF = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, CALENDAR);
+  private static final LocalDate SETTLE = BDA_MF.adjust(CALENDAR.resolve(REF_DATA).shift(EXPIRY, 2), REF_DATA);
+  private static final double NOTIONAL = 100000000; //100m
+  private static final LocalDate END = SETTLE.plusYears(5);
+  private static final double RATE = 0.0175;
+
+  private static final ResolvedSwap SWAP_PAY = swap(PAY, RATE);
+  private static final ResolvedSwap SWAP_REC = swap(RECEIVE, RATE);
+  private static final ResolvedSwaption SWAPTION_PAY_LONG = swaption(SWAP_PAY, LONG);
+  private static final ResolvedSwaption SWAPTION_PAY_SHORT = swaption(SWAP_PAY, SHORT);
+  private static final ResolvedSwaption SWAPTION_REC_LONG = swaption(SWAP_REC, LONG);
+
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATES_PROVIDER =
+      HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+
+  private static final int PATH_COUNT = 1 << 14;
+  private static final HullWhiteOneFactorMonteCarloEngine ENGINE_PSEUDO =
+      HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(PATH_COUNT, 1234L);
+  private static final HullWhiteOneFactorMonteCarloEngine ENGINE_SOBOL =
+      HullWhiteOneFactorMonteCarloEngine.ofSobol(PATH_COUNT, 1234L);
+  private static final List<LocalDate> EXPOSURE_DATES = exposureDates(6);
+  private static final double TOL_SOBOL = 1.0e-4 * NOTIONAL;
+  private static final double TOL_PSEUDO = 1.0e-3 * NOTIONAL;
+
+  private static ResolvedSwap swap(PayReceive fixedPayReceive, double rate) {
+    PeriodicSchedule fixedSchedule = PeriodicSchedule.builder()
+        .startDate(SETTLE)
+        .endDate(END)
+        .frequency(P12M)
+        .businessDayAdjustment(BDA_MF)
+        .stubConvention(StubConvention.SHORT_FINAL)
+        .build();
+    PeriodicSchedule iborSchedule = PeriodicSchedule.builder()
+        .startDate(SETTLE)
+        .endDate(END)
+        .frequency(P6M)
+        .businessDayAdjustment(BDA_MF)
+        .stubConvention(StubConvention.SHORT_FINAL)
+        .build();
+    SwapLeg fixedLeg = RateCalculationSwapLeg.builder()
+        .payReceive(fixedPayReceive)
+        .accrualSchedule(fixedSchedule)
+        .paymentSchedule(PaymentSchedule.builder()
+            .paymentFrequency(P12M)
+            .paymentDateOffset(DaysAdjustment.NONE)
+            .build())
+        .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+        .calculation(FixedRateCalculation.builder().dayCount(THIRTY_U_360).rate(ValueSchedule.of(rate)).build())
+        .build();
+    SwapLeg iborLeg = RateCalculationSwapLeg.builder()
+        .payReceive(fixedPayReceive.opposite())
+        .accrualSchedule(iborSchedule)
+        .paymentSchedule(PaymentSchedule.builder()
+            .paymentFrequency(P6M)
+            .paymentDateOffset(DaysAdjustment.NONE)
+            .build())
+        .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+        .calculation(IborRateCalculation.builder()
+            .index(EUR_EURIBOR_6M)
+            .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CALENDAR, BDA_MF))
+            .build())
+        .build();
+    return Swap.of(fixedLeg, iborLeg).resolve(REF_DATA);
+  }
+
+  private static ResolvedSwaption swaption(ResolvedSwap swap, LongShort longShort) {
+    return ResolvedSwaption.builder()
+        .expiry(EXPIRY.atStartOfDay(ZoneOffset.UTC))
+        .longShort(longShort)
+        .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+        .underlying(swap)
+        .build();
+  }
+
+  private static List<LocalDate> exposureDates(int monthStep) {
+    List<LocalDate> dates = new ArrayList<>();
+    for (LocalDate date = VALUATION; !date.isAfter(END.plusYears(1)); date = date.plusMonths(monthStep)) {
+      dates.add(date);
+    }
+    return dates;
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    assertThat(ENGINE_PSEUDO.getPathCount()).isEqualTo(PATH_COUNT);
+    assertThat(ENGINE_PSEUDO.isSobol()).isFalse();
+    assertThat(ENGINE_PSEUDO.isAntithetic()).isFalse();
+    assertThat(ENGINE_SOBOL.isSobol()).isTrue();
+    HullWhiteOneFactorMonteCarloEngine antithetic = ENGINE_SOBOL.withAntithetic();
+    assertThat(antithetic.getPathCount()).isEqualTo(PATH_COUNT);
+    assertThat(antithetic.isSobol()).isTrue();
+    assertThat(antithetic.isAntithetic()).isTrue();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(0, 1L));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_expectedExposure_swap() {
+    DoubleArray pay = ENGINE_SOBOL.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray rec = ENGINE_SOBOL.expectedExposure(SWAP_REC, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertThat(pay.size()).isEqualTo(EXPOSURE_DATES.size());
+    double pvPay = DiscountingSwapProductPricer.DEFAULT.presentValue(SWAP_PAY, RATES_PROVIDER)
+        .getAmount(EUR).getAmount();
+    // deterministic on the valuation date
+    assertThat(pay.get(0)).isCloseTo(Math.max(pvPay, 0d), offset(NOTIONAL * 1e-10));
+    assertThat(rec.get(0)).isCloseTo(Math.max(-pvPay, 0d), offset(NOTIONAL * 1e-10));
+    for (int i = 0; i < EXPOSURE_DATES.size(); i++) {
+      LocalDate date = EXPOSURE_DATES.get(i);
+      assertThat(pay.get(i)).isGreaterThanOrEqualTo(0d);
+      assertThat(rec.get(i)).isGreaterThanOrEqualTo(0d);
+      if (date.isBefore(SETTLE)) {
+        // the difference is the expected value of the swap, which is a martingale
+        assertThat(pay.get(i) - rec.get(i)).isCloseTo(pvPay, offset(TOL_SOBOL));
+        if (date.isAfter(VALUATION)) {
+          assertThat(pay.get(i)).isGreaterThan(pay.get(0));
+        }
+      }
+      if (!date.isBefore(END)) {
+        assertThat(pay.get(i)).isEqualTo(0d);
+        assertThat(rec.get(i)).isEqualTo(0d);
+      }
+    }
+  }
+
+  @Test
+  public void test_expectedExposure_reproducible() {
+    DoubleArray first = ENGINE_PSEUDO.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray second = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(PATH_COUNT, 1234L)
+        .expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertThat(second).isEqualTo(first);
+    DoubleArray other = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(PATH_COUNT, 1L)
+        .expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertThat(other).isNotEqualTo(first);
+    // the exposure on a date does not depend on the other dates
+    DoubleArray single = ENGINE_SOBOL.expectedExposure(
+        SWAP_PAY, ImmutableList.of(EXPOSURE_DATES.get(4)), RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray all = ENGINE_SOBOL.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertThat(single.get(0)).isCloseTo(all.get(4), offset(TOL_SOBOL));
+  }
+
+  @Test
+  public void test_expectedExposure_variants() {
+    DoubleArray sobol = ENGINE_SOBOL.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray sobolAntithetic = ENGINE_SOBOL.withAntithetic()
+        .expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray pseudo = ENGINE_PSEUDO.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray pseudoAntithetic = ENGINE_PSEUDO.withAntithetic()
+        .expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    for (int i = 0; i < EXPOSURE_DATES.size(); i++) {
+      assertThat(sobolAntithetic.get(i)).isCloseTo(sobol.get(i), offset(TOL_SOBOL));
+      assertThat(pseudo.get(i)).isCloseTo(sobol.get(i), offset(TOL_PSEUDO));
+      assertThat(pseudoAntithetic.get(i)).isCloseTo(sobol.get(i), offset(TOL_PSEUDO));
+    }
+  }
+
+  @Test
+  public void test_expectedExposure_sobolBeyondMaxDimension() {
+    List<LocalDate> monthly = exposureDates(1);
+    assertThat(monthly.size()).isGreaterThan(SobolSequenceGenerator.MAX_DIMENSION);
+    DoubleArray sobol = ENGINE_SOBOL.expectedExposure(SWAP_PAY, monthly, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray pseudo = ENGINE_PSEUDO.expectedExposure(SWAP_PAY, monthly, RATES_PROVIDER, HW_PROVIDER);
+    for (int i = 0; i < monthly.size(); i++) {
+      assertThat(sobol.get(i)).isCloseTo(pseudo.get(i), offset(TOL_PSEUDO));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValue_swaption() {
+    for (ResolvedSwaption swaption : ImmutableList.of(SWAPTION_PAY_LONG, SWAPTION_REC_LONG, SWAPTION_PAY_SHORT)) {
+      CurrencyAmount computed = ENGINE_SOBOL.presentValue(swaption, RATES_PROVIDER, HW_PROVIDER);
+      CurrencyAmount expected =
+          HullWhiteSwaptionPhysicalProductPricer.DEFAULT.presentValue(swaption, RATES_PROVIDER, HW_PROVIDER);
+      assertThat(computed.getCurrency()).isEqualTo(EUR);
+      assertThat(computed.getAmount()).isCloseTo(expected.getAmount(), offset(TOL_SOBOL));
+    }
+  }
+
+  @Test
+  public void test_expectedExposure_swaption() {
+    double pv = ENGINE_SOBOL.presentValue(SWAPTION_PAY_LONG, RATES_PROVIDER, HW_PROVIDER).getAmount();
+    DoubleArray eeLong =
+        ENGINE_SOBOL.expectedExposure(SWAPTION_PAY_LONG, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray eeShort =
+        ENGINE_SOBOL.expectedExposure(SWAPTION_PAY_SHORT, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    DoubleArray eeSwap = ENGINE_SOBOL.expectedExposure(SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HW_PROVIDER);
+    for (int i = 0; i < EXPOSURE_DATES.size(); i++) {
+      LocalDate date = EXPOSURE_DATES.get(i);
+      if (!date.isAfter(EXPIRY)) {
+        assertThat(eeLong.get(i)).isEqualTo(eeLong.get(0));
+        assertThat(eeLong.get(i)).isCloseTo(pv, offset(TOL_SOBOL));
+        assertThat(eeShort.get(i)).isEqualTo(0d);
+      } else {
+        assertThat(eeLong.get(i)).isLessThanOrEqualTo(eeSwap.get(i));
+        assertThat(eeShort.get(i)).isGreaterThanOrEqualTo(0d);
+        if (date.isBefore(SETTLE.plusMonths(6))) {
+          // no payment since the expiry, the difference is the value of the exercised swap
+          assertThat(eeLong.get(i) - eeShort.get(i)).isCloseTo(pv, offset(TOL_SOBOL));
+        }
+      }
+      if (!date.isBefore(END)) {
+        assertThat(eeLong.get(i)).isEqualTo(0d);
+        assertThat(eeShort.get(i)).isEqualTo(0d);
+      }
+    }
+  }
+
+  @Test
+  public void test_expectedExposure_swaptionExpired() {
+    ImmutableRatesProvider ratesProvider = HullWhiteIborFutureDataSet.createRatesProvider(EXPIRY.plusDays(1));
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteIborFutureDataSet.createHullWhiteProvider(EXPIRY.plusDays(1));
+    List<LocalDate> dates = ImmutableList.of(EXPIRY.plusDays(1), EXPIRY.plusYears(1));
+    assertThat(ENGINE_PSEUDO.expectedExposure(SWAPTION_PAY_LONG, dates, ratesProvider, hwProvider))
+        .isEqualTo(DoubleArray.filled(2));
+    assertThat(ENGINE_PSEUDO.presentValue(SWAPTION_PAY_LONG, ratesProvider, hwProvider))
+        .isEqualTo(CurrencyAmount.zero(EUR));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_invalid() {
+    ResolvedSwaption cash = SWAPTION_PAY_LONG.toBuilder()
+        .swaptionSettlement(CashSwaptionSettlement.of(SETTLE, CashSwaptionSettlementMethod.PAR_YIELD))
+        .build();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ENGINE_PSEUDO.presentValue(cash, RATES_PROVIDER, HW_PROVIDER));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ENGINE_PSEUDO.expectedExposure(
+            SWAP_PAY, ImmutableList.of(VALUATION.minusDays(1)), RATES_PROVIDER, HW_PROVIDER));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ENGINE_PSEUDO.expectedExposure(
+            SWAP_PAY, EXPOSURE_DATES, RATES_PROVIDER, HullWhiteIborFutureDataSet.createHullWhiteProvider(EXPIRY)));
+  }
+
+}
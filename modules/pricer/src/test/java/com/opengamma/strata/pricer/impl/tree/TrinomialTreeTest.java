@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -83,4 +85,104 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test that pricing several options in a single pass matches pricing them separately.
+   */
+  @Test
+  public void test_multipleOptions() {
+    int nSteps = 81;
+    double interest = 0.03;
+    double vol = 0.2;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    RecombiningTrinomialTreeData treeData = treeData(lattice, nSteps, interest, vol, 0.01);
+    DoubleArray rebate = DoubleArray.filled(nSteps + 1, 1.5);
+    OptionFunction vanilla = EuropeanVanillaOptionFunction.of(97., TIME, PutCall.CALL, nSteps);
+    List<OptionFunction> functions = Arrays.asList(
+        vanilla,
+        EuropeanVanillaOptionFunction.of(114., TIME, PutCall.PUT, nSteps),
+        ConstantContinuousSingleBarrierKnockoutFunction.of(
+            97., TIME, PutCall.CALL, nSteps, BarrierType.DOWN, 90., rebate),
+        ConstantContinuousSingleBarrierKnockoutFunction.of(
+            114., TIME, PutCall.PUT, nSteps, BarrierType.UP, 120., rebate),
+        // only implements the allocating method, thus uses the default in-place method
+        new OptionFunction() {
+          @Override
+          public double getTimeToExpiry() {
+            return TIME;
+          }
+
+          @Override
+          public int getNumberOfSteps() {
+            return nSteps;
+          }
+
+          @Override
+          public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+            return vanilla.getPayoffAtExpiryTrinomial(stateValue);
+          }
+        });
+    DoubleArray prices = TRINOMIAL_TREE.optionPrice(functions, treeData);
+    List<ValueDerivatives> adjoints = TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData);
+    assertThat(prices.size()).isEqualTo(functions.size());
+    assertThat(adjoints).hasSize(functions.size());
+    for (int k = 0; k < functions.size(); ++k) {
+      OptionFunction function = functions.get(k);
+      double expected = allocatingInduction(function, treeData);
+      assertThat(TRINOMIAL_TREE.optionPrice(function, treeData)).isEqualTo(expected);
+      assertThat(prices.get(k)).isEqualTo(expected);
+      assertThat(adjoints.get(k).getValue()).isEqualTo(expected);
+      assertThat(adjoints.get(k).getDerivative(0))
+          .isEqualTo(TRINOMIAL_TREE.optionPriceAdjoint(function, treeData).getDerivative(0));
+    }
+    assertThat(prices.get(4)).isEqualTo(prices.get(0));
+  }
+
+  @Test
+  public void test_multipleOptions_mismatch() {
+    RecombiningTrinomialTreeData treeData = treeData(new CoxRossRubinsteinLatticeSpecification(), 20, 0.03, 0.2, 0d);
+    List<OptionFunction> functions = Arrays.asList(
+        EuropeanVanillaOptionFunction.of(97., TIME, PutCall.CALL, 20),
+        EuropeanVanillaOptionFunction.of(97., TIME, PutCall.CALL, 21));
+    assertThatIllegalArgumentException().isThrownBy(() -> TRINOMIAL_TREE.optionPrice(functions, treeData));
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the tree data for a uniform lattice
+  private static RecombiningTrinomialTreeData treeData(
+      LatticeSpecification lattice,
+      int nSteps,
+      double interest,
+      double vol,
+      double dividend) {
+
+    double dt = TIME / nSteps;
+    double[] params = lattice.getParametersTrinomial(vol, interest - dividend, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    return RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+  }
+
+  // backward induction using the allocating method of the option function
+  private static double allocatingInduction(OptionFunction function, RecombiningTrinomialTreeData data) {
+    int nSteps = data.getNumberOfSteps();
+    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    for (int i = nSteps - 1; i > -1; --i) {
+      values = function.getNextOptionValues(
+          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
+    }
+    return values.get(0);
+  }
+
 }
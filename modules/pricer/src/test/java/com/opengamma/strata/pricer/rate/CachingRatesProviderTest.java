@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_6M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.basics.index.PriceIndices.GB_RPI;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.CachingDiscountFactors;
+import com.opengamma.strata.pricer.DiscountFactors;
+
+/**
+ * Test {@link CachingRatesProvider}.
+ */
+public class CachingRatesProviderTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 1, 2, 5, 10, 30);
+  private static final Curve USD_DSC = InterpolatedNodalCurve.of(
+      Curves.zeroRates("USD-Disc", ACT_365F),
+      TIMES,
+      DoubleArray.of(0.001, 0.004, 0.008, 0.015, 0.020, 0.025),
+      CurveInterpolators.LINEAR);
+  private static final Curve USD_L3M = InterpolatedNodalCurve.of(
+      Curves.zeroRates("USD-L3M", ACT_365F),
+      TIMES,
+      DoubleArray.of(0.002, 0.005, 0.009, 0.016, 0.021, 0.026),
+      CurveInterpolators.LINEAR);
+  private static final Curve USD_ON = InterpolatedNodalCurve.of(
+      Curves.discountFactors("USD-ON", ACT_360),
+      TIMES,
+      DoubleArray.of(0.999, 0.995, 0.98, 0.93, 0.82, 0.5),
+      CurveInterpolators.LOG_LINEAR);
+  private static final LocalDateDoubleTimeSeries USD_L6M_FIXINGS =
+      LocalDateDoubleTimeSeries.of(VAL_DATE.minusDays(1), 0.01);
+  private static final ImmutableRatesProvider BASE = ImmutableRatesProvider.builder(VAL_DATE)
+      .fxRateProvider(FxMatrix.of(GBP, USD, 1.5d))
+      .discountCurve(USD, USD_DSC)
+      .iborIndexCurve(USD_LIBOR_3M, USD_L3M)
+      .overnightIndexCurve(USD_FED_FUND, USD_ON)
+      .timeSeries(USD_LIBOR_6M, USD_L6M_FIXINGS)
+      .build();
+  private static final LocalDate[] DATES = {
+      VAL_DATE, LocalDate.of(2015, 10, 21), LocalDate.of(2018, 1, 22), LocalDate.of(2035, 7, 23)};
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    assertThat(test.getUnderlying()).isSameAs(BASE);
+    assertThat(test.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(test.getDiscountCurrencies()).isEqualTo(BASE.getDiscountCurrencies());
+    assertThat(test.indices()).containsExactlyInAnyOrderElementsOf(BASE.indices().collect(toImmutableList()));
+    assertThat(test.getIborIndices()).isEqualTo(BASE.getIborIndices());
+    assertThat(test.getOvernightIndices()).isEqualTo(BASE.getOvernightIndices());
+    assertThat(test.getPriceIndices()).isEqualTo(BASE.getPriceIndices());
+    assertThat(test.getTimeSeriesIndices()).isEqualTo(BASE.getTimeSeriesIndices());
+    assertThat(test.timeSeries(USD_LIBOR_6M)).isEqualTo(USD_L6M_FIXINGS);
+    assertThat(test.findData(USD_DSC.getName())).isEqualTo(BASE.findData(USD_DSC.getName()));
+    assertThat(test.fxRate(GBP, USD)).isEqualTo(1.5d);
+    assertThat(test.toImmutableRatesProvider()).isSameAs(BASE);
+    assertThat(test.toString()).contains("CachingRatesProvider");
+    assertThat(CachingRatesProvider.of(test)).isSameAs(test);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_discountFactors() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    DiscountFactors discountFactors = test.discountFactors(USD);
+    assertThat(discountFactors).isInstanceOf(CachingDiscountFactors.class);
+    assertThat(test.discountFactors(USD)).isSameAs(discountFactors);
+    assertThat(((CachingDiscountFactors) discountFactors).getUnderlying()).isEqualTo(BASE.discountFactors(USD));
+    for (LocalDate date : DATES) {
+      assertThat(test.discountFactor(USD, date)).isEqualTo(BASE.discountFactor(USD, date));
+    }
+    assertThatIllegalArgumentException().isThrownBy(() -> test.discountFactors(GBP));
+  }
+
+  @Test
+  public void test_iborIndexRates() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    IborIndexRates rates = test.iborIndexRates(USD_LIBOR_3M);
+    assertThat(test.iborIndexRates(USD_LIBOR_3M)).isSameAs(rates);
+    assertThat(((DiscountIborIndexRates) rates).getDiscountFactors()).isInstanceOf(CachingDiscountFactors.class);
+    for (LocalDate date : DATES) {
+      IborIndexObservation obs = IborIndexObservation.of(USD_LIBOR_3M, date, REF_DATA);
+      assertThat(rates.rate(obs)).isEqualTo(BASE.iborIndexRates(USD_LIBOR_3M).rate(obs));
+      assertThat(rates.ratePointSensitivity(obs)).isEqualTo(BASE.iborIndexRates(USD_LIBOR_3M).ratePointSensitivity(obs));
+    }
+    assertThatIllegalArgumentException().isThrownBy(() -> test.iborIndexRates(USD_LIBOR_6M));
+  }
+
+  @Test
+  public void test_overnightIndexRates() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    OvernightIndexRates rates = test.overnightIndexRates(USD_FED_FUND);
+    assertThat(test.overnightIndexRates(USD_FED_FUND)).isSameAs(rates);
+    assertThat(((DiscountOvernightIndexRates) rates).getDiscountFactors()).isInstanceOf(CachingDiscountFactors.class);
+    for (LocalDate date : DATES) {
+      OvernightIndexObservation obs = OvernightIndexObservation.of(USD_FED_FUND, date, REF_DATA);
+      assertThat(rates.rate(obs)).isEqualTo(BASE.overnightIndexRates(USD_FED_FUND).rate(obs));
+      assertThat(rates.periodRate(obs, date.plusMonths(3)))
+          .isEqualTo(BASE.overnightIndexRates(USD_FED_FUND).periodRate(obs, date.plusMonths(3)));
+    }
+  }
+
+  @Test
+  public void test_priceIndexValues() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.priceIndexValues(GB_RPI));
+  }
+
+  @Test
+  public void test_parameterSensitivity() {
+    CachingRatesProvider test = CachingRatesProvider.of(BASE);
+    IborIndexObservation obs = IborIndexObservation.of(USD_LIBOR_3M, DATES[2], REF_DATA);
+    PointSensitivities point = test.iborIndexRates(USD_LIBOR_3M).ratePointSensitivity(obs)
+        .combinedWith(test.discountFactors(USD).zeroRatePointSensitivity(DATES[3]))
+        .build();
+    assertThat(test.parameterSensitivity(point)).isEqualTo(BASE.parameterSensitivity(point));
+  }
+
+}
@@ -6,10 +6,15 @@
 package com.opengamma.strata.report.framework.expression;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -38,9 +43,17 @@ import com.opengamma.strata.market.amount.LegAmounts;
  * the remaining tokens do not include the property token. If the token doesn't match the property, the property value
  * is returned but the token isn't consumed. i.e. the remaining tokens returned from {@link #evaluate} include
  * the first token.
+ * <p>
+ * For immutable beans, the property matching each token is looked up once per bean type and cached.
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The matched properties of immutable beans, keyed by bean type and then by token.
+   */
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Optional<MetaProperty<?>>>> PROPERTIES =
+      new ConcurrentHashMap<>();
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -69,6 +82,9 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
       String firstToken,
       List<String> remainingTokens) {
 
+    if (bean instanceof ImmutableBean) {
+      return evaluateImmutable(bean, firstToken, remainingTokens);
+    }
     Optional<String> propertyName = bean.propertyNames().stream()
         .filter(p -> p.equalsIgnoreCase(firstToken))
         .findFirst();
@@ -86,13 +102,51 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     if (bean.propertyNames().size() == 1) {
       String singlePropertyName = Iterables.getOnlyElement(bean.propertyNames());
       Object propertyValue = bean.property(singlePropertyName).get();
-      List<String> tokens = ImmutableList.<String>builder().add(firstToken).addAll(remainingTokens).build();
+      return singlePropertyResult(propertyValue, firstToken, remainingTokens);
+    }
+    return invalidTokenFailure(bean, firstToken);
+  }
+
+  // evaluates an immutable bean, where the properties are fixed by the type
+  private EvaluationResult evaluateImmutable(Bean bean, String firstToken, List<String> remainingTokens) {
+    Optional<MetaProperty<?>> metaProperty = PROPERTIES
+        .computeIfAbsent(bean.getClass(), type -> new ConcurrentHashMap<>())
+        .computeIfAbsent(firstToken, token -> findProperty(bean, token));
+
+    if (metaProperty.isPresent()) {
+      Object propertyValue = metaProperty.get().get(bean);
 
       return propertyValue != null ?
-          EvaluationResult.success(propertyValue, tokens) :
+          EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("No value available for property '{}'", firstToken);
     }
+    // as above, skip over the property if the bean only has a single property
+    Map<String, MetaProperty<?>> metaPropertyMap = bean.metaBean().metaPropertyMap();
+    if (metaPropertyMap.size() == 1) {
+      Object propertyValue = Iterables.getOnlyElement(metaPropertyMap.values()).get(bean);
+      return singlePropertyResult(propertyValue, firstToken, remainingTokens);
+    }
     return invalidTokenFailure(bean, firstToken);
   }
 
+  // finds the property matching the token, ignoring case
+  private static Optional<MetaProperty<?>> findProperty(Bean bean, String token) {
+    return bean.metaBean().metaPropertyMap().values().stream()
+        .filter(mp -> mp.name().equalsIgnoreCase(token))
+        .findFirst();
+  }
+
+  // the result of skipping over the single property, without consuming any tokens
+  private static EvaluationResult singlePropertyResult(
+      Object propertyValue,
+      String firstToken,
+      List<String> remainingTokens) {
+
+    List<String> tokens = ImmutableList.<String>builder().add(firstToken).addAll(remainingTokens).build();
+
+    return propertyValue != null ?
+        EvaluationResult.success(propertyValue, tokens) :
+        EvaluationResult.failure("No value available for property '{}'", firstToken);
+  }
+
 }
@@ -141,13 +141,15 @@ class ResultsRow {
    * @return the result of calculating the named measure for the trade in the row
    */
   Result<?> getResult(String measureName) {
-    List<String> validMeasureNames = measureNames(results.getTargets().get(rowIndex), results.getCalculationFunctions());
-    if (!validMeasureNames.contains(measureName)) {
+    CalculationTarget target = results.getTargets().get(rowIndex);
+    CalculationFunctions functions = results.getCalculationFunctions();
+    // the sorted list of valid measure names is only needed for failures
+    if (supportedMeasures(target, functions).stream().noneMatch(measure -> measure.getName().equals(measureName))) {
       return Result.failure(
           FailureReason.INVALID,
           "Invalid measure name: {}. Valid measure names: {}",
           measureName,
-          validMeasureNames);
+          measureNames(target, functions));
     }
     try {
       Column column = Column.of(Measure.of(measureName));
@@ -157,7 +159,7 @@ class ResultsRow {
             FailureReason.INVALID,
             "Measure not found in results: '{}'. Valid measure names: {}",
             measureName,
-            validMeasureNames);
+            measureNames(target, functions));
       }
       Result<?> result = results.getCalculationResults().get(rowIndex, columnIndex);
       if (result.isFailure() && result.getFailure().getReason() == FailureReason.ERROR) {
@@ -165,7 +167,7 @@ class ResultsRow {
             FailureReason.INVALID,
             "Unable to calculate measure '{}'. Reason: {}",
             measureName,
-            validMeasureNames,
+            measureNames(target, functions),
             result.getFailure().getMessage());
       }
       return result;
@@ -176,19 +178,23 @@ class ResultsRow {
           "Unable to calculate measure '{}'. Reason: {}. Valid measure names: {}",
           measureName,
           ex.getMessage(),
-          validMeasureNames);
+          measureNames(target, functions));
     }
   }
 
   // determine the available measures
   static List<String> measureNames(CalculationTarget target, CalculationFunctions calculationFunctions) {
-    Set<Measure> validMeasures = calculationFunctions.findFunction(target)
-        .map(fn -> fn.supportedMeasures())
-        .orElse(ImmutableSet.of());
-    return validMeasures.stream()
+    return supportedMeasures(target, calculationFunctions).stream()
         .map(Measure::getName)
         .sorted()
         .collect(toImmutableList());
   }
 
+  // determine the supported measures
+  private static Set<Measure> supportedMeasures(CalculationTarget target, CalculationFunctions calculationFunctions) {
+    return calculationFunctions.findFunction(target)
+        .map(fn -> fn.supportedMeasures())
+        .orElse(ImmutableSet.of());
+  }
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A parsed path describing a value to be shown in a report.
+ * <p>
+ * The value path, such as '{@code Product.index.name}', is split into tokens when parsed.
+ * Parsing a path once and evaluating it using {@link ValuePathEvaluator} avoids repeating
+ * the work for each report that uses the same path.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ValuePath {
+
+  /** The separator used in the value path. */
+  private static final String PATH_SEPARATOR = "\\.";
+
+  /**
+   * The value path.
+   */
+  private final String valuePath;
+  /**
+   * The tokens in the value path.
+   */
+  private final ImmutableList<String> tokens;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a value path.
+   * <p>
+   * Parsing does not validate the tokens, which are checked when the path is evaluated.
+   *
+   * @param valuePath  the value path
+   * @return the parsed value path
+   */
+  public static ValuePath parse(String valuePath) {
+    ArgChecker.notNull(valuePath, "valuePath");
+    return new ValuePath(valuePath, ImmutableList.copyOf(valuePath.split(PATH_SEPARATOR)));
+  }
+
+  // restricted constructor
+  private ValuePath(String valuePath, ImmutableList<String> tokens) {
+    this.valuePath = valuePath;
+    this.tokens = tokens;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tokens in the value path.
+   *
+   * @return the tokens
+   */
+  public List<String> getTokens() {
+    return tokens;
+  }
+
+  /**
+   * Gets the measure encoded in the value path, if present.
+   *
+   * @return the measure, if present
+   */
+  public Optional<Measure> measure() {
+    try {
+      ValueRootType rootType = ValueRootType.parseToken(tokens.get(0));
+
+      if (rootType != ValueRootType.MEASURES || tokens.size() < 2) {
+        return Optional.empty();
+      }
+      Measure measure = Measure.of(tokens.get(1));
+      return Optional.of(measure);
+    } catch (Exception ex) {
+      return Optional.empty();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof ValuePath) {
+      return valuePath.equals(((ValuePath) obj).valuePath);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return valuePath.hashCode();
+  }
+
+  /**
+   * Returns the value path as a string.
+   *
+   * @return the value path
+   */
+  @Override
+  public String toString() {
+    return valuePath;
+  }
+
+}
@@ -11,6 +11,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.IntStream;
 
 import com.google.common.base.Joiner;
@@ -19,6 +21,7 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.product.fra.Fra;
@@ -39,9 +42,6 @@ import com.opengamma.strata.report.ReportCalculationResults;
  */
 public final class ValuePathEvaluator {
 
-  /** The separator used in the value path. */
-  private static final String PATH_SEPARATOR = "\\.";
-
   private static final ImmutableList<TokenEvaluator<?>> EVALUATORS = ImmutableList.of(
       new CurrencyAmountTokenEvaluator(),
       new MapTokenEvaluator(),
@@ -53,6 +53,12 @@ public final class ValuePathEvaluator {
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
 
+  /**
+   * The evaluators keyed by target type, populated as types are encountered.
+   */
+  private static final ConcurrentMap<Class<?>, Optional<TokenEvaluator<Object>>> EVALUATORS_BY_TYPE =
+      new ConcurrentHashMap<>();
+
   //-------------------------------------------------------------------------
   /**
    * Gets the measure encoded in a value path, if present.
@@ -61,18 +67,7 @@ public final class ValuePathEvaluator {
    * @return the measure, if present
    */
   public static Optional<Measure> measure(String valuePath) {
-    try {
-      List<String> tokens = tokenize(valuePath);
-      ValueRootType rootType = ValueRootType.parseToken(tokens.get(0));
-
-      if (rootType != ValueRootType.MEASURES || tokens.size() < 2) {
-        return Optional.empty();
-      }
-      Measure measure = Measure.of(tokens.get(1));
-      return Optional.of(measure);
-    } catch (Exception ex) {
-      return Optional.empty();
-    }
+    return ValuePath.parse(valuePath).measure();
   }
 
   /**
@@ -83,7 +78,22 @@ public final class ValuePathEvaluator {
    * @return the list of resolved results for each trade
    */
   public static List<Result<?>> evaluate(String valuePath, ReportCalculationResults results) {
-    List<String> tokens = tokenize(valuePath);
+    return evaluate(ValuePath.parse(valuePath), results);
+  }
+
+  /**
+   * Evaluates a parsed value path against a set of results, returning the resolved result for each trade.
+   * <p>
+   * The rows are evaluated in parallel, with the results returned in row order.
+   * The token evaluator and bean property used for each type of object are looked up once
+   * and cached, thus the cost of evaluating a row does not involve repeated searching.
+   *
+   * @param valuePath  the parsed value path
+   * @param results  the calculation results
+   * @return the list of resolved results for each trade
+   */
+  public static List<Result<?>> evaluate(ValuePath valuePath, ReportCalculationResults results) {
+    List<String> tokens = valuePath.getTokens();
 
     if (tokens.size() < 1) {
       return Collections.nCopies(
@@ -93,10 +103,32 @@ public final class ValuePathEvaluator {
     CalculationFunctions functions = results.getCalculationFunctions();
     int rowCount = results.getCalculationResults().getRowCount();
     return IntStream.range(0, rowCount)
+        .parallel()
         .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
         .collect(toImmutableList());
   }
 
+  /**
+   * Evaluates a parsed value path against a single row of a set of results.
+   * <p>
+   * This is used where rows are processed one at a time, such as when streaming a report.
+   *
+   * @param valuePath  the parsed value path
+   * @param results  the calculation results
+   * @param rowIndex  the index of the row to evaluate
+   * @return the resolved result for the trade in the row
+   */
+  public static Result<?> evaluate(ValuePath valuePath, ReportCalculationResults results, int rowIndex) {
+    List<String> tokens = valuePath.getTokens();
+
+    if (tokens.size() < 1) {
+      return Result.failure(FailureReason.INVALID, "Column expressions must not be empty");
+    }
+    ArgChecker.inRange(rowIndex, 0, results.getCalculationResults().getRowCount(), "rowIndex");
+    CalculationFunctions functions = results.getCalculationFunctions();
+    return evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex));
+  }
+
   // Tokens always has at least one token
   private static <T> Result<?> evaluate(
       CalculationFunctions functions,
@@ -137,14 +169,13 @@ public final class ValuePathEvaluator {
   }
 
   //-------------------------------------------------------------------------
-  // splits a value path into tokens for processing
-  private static List<String> tokenize(String valuePath) {
-    String[] tokens = valuePath.split(PATH_SEPARATOR);
-    return ImmutableList.copyOf(tokens);
+  // finds the evaluator for the type, caching the result
+  private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATORS_BY_TYPE.computeIfAbsent(targetClass, ValuePathEvaluator::findEvaluator);
   }
 
   @SuppressWarnings("unchecked")
-  private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.framework.expression.ValuePath;
+import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the results arrive.
+ * <p>
+ * {@link TradeReportRunner} builds a {@link TradeReport} holding every result in memory.
+ * By contrast, this listener writes each row of the report as soon as all the calculation results
+ * for the row have been received. Only the results of rows that are incomplete, or that are waiting
+ * for an earlier row to complete, are held in memory.
+ * The output is the same as that produced by {@link TradeReport#writeCsv(OutputStream)}.
+ * <p>
+ * The columns of the report are defined by a {@link TradeReportTemplate}. The calculation columns
+ * passed to the calculation runner must include the measures required by the template,
+ * as returned by {@link TradeReportRunner#requirements(TradeReportTemplate)}.
+ * <p>
+ * The rows are written in the order of the calculation targets.
+ * The output is flushed when the calculations are complete.
+ * <p>
+ * As with all listeners, an instance should not be used for multiple sets of calculations.
+ */
+public final class TradeReportCsvListener implements CalculationListener {
+
+  /**
+   * The report template columns.
+   */
+  private final List<TradeReportColumn> reportColumns;
+  /**
+   * The parsed value paths, one for each report template column.
+   */
+  private final List<Optional<ValuePath>> valuePaths;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The calculation functions.
+   */
+  private final CalculationFunctions calculationFunctions;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The underlying destination.
+   */
+  private final Appendable underlying;
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput csvOutput;
+  /**
+   * The incomplete rows, keyed by row index.
+   */
+  private final Map<Integer, Result<?>[]> pendingRows = new HashMap<>();
+  /**
+   * The number of results received for each incomplete row, keyed by row index.
+   */
+  private final Map<Integer, Integer> pendingCounts = new HashMap<>();
+  /**
+   * The complete rows that cannot be written until an earlier row is complete, keyed by row index.
+   */
+  private final Map<Integer, Result<?>[]> completeRows = new HashMap<>();
+  /**
+   * The calculation targets.
+   */
+  private List<CalculationTarget> targets;
+  /**
+   * The calculation columns.
+   */
+  private List<Column> columns;
+  /**
+   * The calculation column headers.
+   */
+  private List<ColumnHeader> columnHeaders;
+  /**
+   * The index of the next row to be written.
+   */
+  private int nextRowIndex;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener that writes to an appendable.
+   * <p>
+   * The standard calculation functions and reference data are used to evaluate the report columns.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param out  the destination to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(TradeReportTemplate template, LocalDate valuationDate, Appendable out) {
+    return of(template, valuationDate, StandardComponents.calculationFunctions(), ReferenceData.standard(), out);
+  }
+
+  /**
+   * Obtains a listener that writes to an appendable.
+   * <p>
+   * The calculation functions and reference data must match those used to perform the calculations.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param calculationFunctions  the calculation functions
+   * @param refData  the reference data
+   * @param out  the destination to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      Appendable out) {
+
+    return new TradeReportCsvListener(template, valuationDate, calculationFunctions, refData, out);
+  }
+
+  /**
+   * Obtains a listener that writes to an output stream.
+   * <p>
+   * The output is written using UTF-8.
+   * The calculation functions and reference data must match those used to perform the calculations.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param calculationFunctions  the calculation functions
+   * @param refData  the reference data
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    ArgChecker.notNull(out, "out");
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    return new TradeReportCsvListener(template, valuationDate, calculationFunctions, refData, writer);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      Appendable underlying) {
+
+    ArgChecker.notNull(template, "template");
+    this.reportColumns = template.getColumns();
+    this.valuePaths = reportColumns.stream()
+        .map(column -> column.getValue().map(ValuePath::parse))
+        .collect(toImmutableList());
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.calculationFunctions = ArgChecker.notNull(calculationFunctions, "calculationFunctions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.underlying = ArgChecker.notNull(underlying, "underlying");
+    this.csvOutput = CsvOutput.safe(underlying);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = ImmutableList.copyOf(targets);
+    this.columns = ImmutableList.copyOf(columns);
+    this.columnHeaders = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    csvOutput.writeLine(reportColumns.stream().map(TradeReportColumn::getHeader).collect(toImmutableList()));
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    Result<?>[] row = pendingRows.computeIfAbsent(rowIndex, i -> new Result<?>[columns.size()]);
+    row[result.getColumnIndex()] = result.getResult();
+    int count = pendingCounts.merge(rowIndex, 1, Integer::sum);
+    if (count == columns.size()) {
+      pendingRows.remove(rowIndex);
+      pendingCounts.remove(rowIndex);
+      completeRows.put(rowIndex, row);
+      writeCompleteRows();
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    // all rows are expected to be complete, but write any partial rows rather than lose them
+    completeRows.putAll(pendingRows);
+    pendingRows.clear();
+    pendingCounts.clear();
+    completeRows.keySet().stream().sorted().collect(toImmutableList())
+        .forEach(rowIndex -> writeRow(rowIndex, completeRows.remove(rowIndex)));
+    if (underlying instanceof Writer) {
+      Unchecked.wrap(((Writer) underlying)::flush);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the complete rows that are next in order
+  private void writeCompleteRows() {
+    Result<?>[] row = completeRows.remove(nextRowIndex);
+    while (row != null) {
+      writeRow(nextRowIndex, row);
+      row = completeRows.remove(nextRowIndex);
+    }
+  }
+
+  // evaluates and writes a row
+  private void writeRow(int rowIndex, Result<?>[] row) {
+    List<Result<?>> rowResults = new ArrayList<>(row.length);
+    for (Result<?> result : row) {
+      rowResults.add(result != null ? result : Result.failure(FailureReason.MISSING_DATA, "No result received"));
+    }
+    ReportCalculationResults rowCalculationResults = ReportCalculationResults.of(
+        valuationDate,
+        ImmutableList.of(targets.get(rowIndex)),
+        columns,
+        Results.of(columnHeaders, rowResults),
+        calculationFunctions,
+        refData);
+    List<String> line = new ArrayList<>(reportColumns.size());
+    for (int i = 0; i < reportColumns.size(); i++) {
+      Optional<ValuePath> valuePath = valuePaths.get(i);
+      Result<?> result = valuePath.isPresent() ?
+          ValuePathEvaluator.evaluate(valuePath.get(), rowCalculationResults, 0) :
+          Result.failure(FailureReason.INVALID, "No value specified in report template");
+      line.add(TradeReportFormatter.INSTANCE.formatResult(reportColumns.get(i), result, ReportOutputFormat.CSV));
+    }
+    csvOutput.writeLine(line);
+    nextRowIndex = rowIndex + 1;
+  }
+
+}
@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableTable;
@@ -19,6 +20,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.report.ReportCalculationResults;
 import com.opengamma.strata.report.ReportRequirements;
 import com.opengamma.strata.report.ReportRunner;
+import com.opengamma.strata.report.framework.expression.ValuePath;
 import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
 
 /**
@@ -46,7 +48,8 @@ public final class TradeReportRunner
     List<Column> measureRequirements = reportTemplate.getColumns().stream()
         .map(TradeReportColumn::getValue)
         .flatMap(Guavate::stream)
-        .map(ValuePathEvaluator::measure)
+        .map(ValuePath::parse)
+        .map(ValuePath::measure)
         .flatMap(Guavate::stream)
         .map(Column::of)
         .collect(toImmutableList());
@@ -57,13 +60,17 @@ public final class TradeReportRunner
   @Override
   public TradeReport runReport(ReportCalculationResults results, TradeReportTemplate reportTemplate) {
     ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
+    // parse each value path once, with evaluation caching the lookups needed for each type of object
+    List<Optional<ValuePath>> valuePaths = reportTemplate.getColumns().stream()
+        .map(column -> column.getValue().map(ValuePath::parse))
+        .collect(toImmutableList());
 
     for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
-      TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
+      Optional<ValuePath> valuePath = valuePaths.get(reportColumnIdx);
       List<Result<?>> columnResults;
 
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
+      if (valuePath.isPresent()) {
+        columnResults = ValuePathEvaluator.evaluate(valuePath.get(), results);
       } else {
         columnResults = IntStream.range(0, results.getTargets().size())
             .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
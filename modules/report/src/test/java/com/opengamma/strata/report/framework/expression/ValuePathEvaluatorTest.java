@@ -128,6 +128,42 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  @Test
+  public void parsedPath() {
+    ReportCalculationResults reportResults = reportResults();
+    ValuePath valuePath = ValuePath.parse("Trade.Counterparty.Value");
+
+    List<Result<?>> expectedCounterparties = ImmutableList.of(
+        Result.success("cpty1"),
+        Result.success("cpty2"),
+        Result.success("cpty3"));
+    assertThat(ValuePathEvaluator.evaluate(valuePath, reportResults)).isEqualTo(expectedCounterparties);
+    // evaluating again uses the cached lookups
+    assertThat(ValuePathEvaluator.evaluate(valuePath, reportResults)).isEqualTo(expectedCounterparties);
+  }
+
+  @Test
+  public void parsedPath_manyRows() {
+    int rowCount = 1000;
+    Measure measure = Measure.of("PresentValue");
+    Column column = Column.of(measure);
+    ImmutableList.Builder<Result<?>> resultValues = ImmutableList.builder();
+    ImmutableList.Builder<Trade> trades = ImmutableList.builder();
+    ImmutableList.Builder<Result<?>> expected = ImmutableList.builder();
+    for (int i = 0; i < rowCount; i++) {
+      resultValues.add(Result.success(CurrencyAmount.of(Currency.GBP, i)));
+      trades.add(trade("cpty" + i, i));
+      expected.add(Result.success((double) i));
+    }
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues.build());
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades.build(), ImmutableList.of(column), results);
+
+    List<Result<?>> notionalResults =
+        ValuePathEvaluator.evaluate(ValuePath.parse("Product.notional"), reportResults);
+    assertThat(notionalResults).isEqualTo(expected.build());
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
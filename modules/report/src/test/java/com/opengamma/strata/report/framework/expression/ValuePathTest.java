@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * Test {@link ValuePath}.
+ */
+public class ValuePathTest {
+
+  @Test
+  public void test_parse() {
+    ValuePath test = ValuePath.parse("Product.index.name");
+    assertThat(test.getTokens()).containsExactly("Product", "index", "name");
+    assertThat(test.toString()).isEqualTo("Product.index.name");
+  }
+
+  @Test
+  public void test_measure() {
+    assertThat(ValuePath.parse("Measures.PresentValue").measure()).isEqualTo(Optional.of(Measure.of("PresentValue")));
+    assertThat(ValuePath.parse("Measures.PresentValue.Amount").measure())
+        .isEqualTo(Optional.of(Measure.of("PresentValue")));
+    assertThat(ValuePath.parse("Measures").measure()).isEqualTo(Optional.empty());
+    assertThat(ValuePath.parse("Measures.Wibble").measure()).isEqualTo(Optional.empty());
+    assertThat(ValuePath.parse("Product.index").measure()).isEqualTo(Optional.empty());
+    assertThat(ValuePath.parse("Unknown.index").measure()).isEqualTo(Optional.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_equalsHashCode() {
+    ValuePath test = ValuePath.parse("Product.index");
+    assertThat(test).isEqualTo(ValuePath.parse("Product.index"));
+    assertThat(test.hashCode()).isEqualTo(ValuePath.parse("Product.index").hashCode());
+    assertThat(test).isNotEqualTo(ValuePath.parse("Product.notional"));
+    assertThat(test.equals(test)).isTrue();
+    assertThat(test.equals("")).isFalse();
+    assertThat(test.equals(null)).isFalse();
+  }
+
+}
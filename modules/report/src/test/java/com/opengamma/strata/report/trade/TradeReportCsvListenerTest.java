@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2021 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+public class TradeReportCsvListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 8, 3);
+  private static final Column PV = Column.of(Measure.of("PresentValue"));
+  private static final Column PAR_RATE = Column.of(Measure.of("ParRate"));
+  private static final List<Column> COLUMNS = ImmutableList.of(PV, PAR_RATE);
+  private static final List<CalculationTarget> TRADES = ImmutableList.of(
+      trade("cpty1", 1_000_000),
+      trade("cpty2", 10_000_000),
+      trade("cpty3", 100_000_000));
+  private static final List<Result<?>> RESULTS = ImmutableList.of(
+      Result.success(CurrencyAmount.of(Currency.GBP, 2d)),
+      Result.success(0.01d),
+      Result.success(CurrencyAmount.of(Currency.GBP, 3d)),
+      Result.failure(FailureReason.CALCULATION_FAILED, "Failed"),
+      Result.success(CurrencyAmount.of(Currency.GBP, 4.5d)),
+      Result.success(0.03d));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.counterparty.value").build(),
+          TradeReportColumn.builder().header("Notional").value("Product.notional").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build(),
+          TradeReportColumn.builder().header("Par Rate Ignored").value("Measures.ParRate").ignoreFailures(true).build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_inOrder() {
+    StringBuilder buf = new StringBuilder();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, buf);
+    test.calculationsStarted(TRADES, COLUMNS);
+    for (int i = 0; i < RESULTS.size(); i++) {
+      int rowIndex = i / COLUMNS.size();
+      test.resultReceived(TRADES.get(rowIndex), CalculationResult.of(rowIndex, i % COLUMNS.size(), RESULTS.get(i)));
+    }
+    test.calculationsComplete();
+    assertThat(buf.toString()).isEqualTo(expected());
+  }
+
+  @Test
+  public void test_outOfOrder() {
+    StringBuilder buf = new StringBuilder();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, buf);
+    test.calculationsStarted(TRADES, COLUMNS);
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 1, RESULTS.get(5)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, RESULTS.get(2)));
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, RESULTS.get(4)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 1, RESULTS.get(3)));
+    // only the header is written until the first row is complete
+    assertThat(buf.toString().split("\n")).hasSize(1);
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 1, RESULTS.get(1)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 0, RESULTS.get(0)));
+    assertThat(buf.toString()).isEqualTo(expected());
+    test.calculationsComplete();
+    assertThat(buf.toString()).isEqualTo(expected());
+  }
+
+  @Test
+  public void test_outputStream() {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(
+        TEMPLATE, VAL_DATE, StandardComponents.calculationFunctions(), ReferenceData.standard(), baos);
+    test.calculationsStarted(TRADES, COLUMNS);
+    for (int i = 0; i < RESULTS.size(); i++) {
+      int rowIndex = i / COLUMNS.size();
+      test.resultReceived(TRADES.get(rowIndex), CalculationResult.of(rowIndex, i % COLUMNS.size(), RESULTS.get(i)));
+    }
+    test.calculationsComplete();
+    assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected());
+  }
+
+  //-------------------------------------------------------------------------
+  // the output of the non-streaming report
+  private static String expected() {
+    Results results = Results.of(ImmutableList.of(PV.toHeader(), PAR_RATE.toHeader()), RESULTS);
+    ReportCalculationResults reportResults = ReportCalculationResults.of(VAL_DATE, TRADES, COLUMNS, results);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(reportResults, TEMPLATE);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    report.writeCsv(baos);
+    return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static FraTrade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}